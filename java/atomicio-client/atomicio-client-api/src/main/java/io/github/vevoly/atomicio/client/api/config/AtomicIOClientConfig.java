@@ -1,6 +1,7 @@
 package io.github.vevoly.atomicio.client.api.config;
 
 import io.github.vevoly.atomicio.client.api.constants.AtomicIOClientConfigDefaultValue;
+import io.github.vevoly.atomicio.common.api.config.TransportType;
 import lombok.Data;
 import lombok.experimental.Accessors;
 
@@ -37,6 +38,11 @@ public class AtomicIOClientConfig {
      */
     private int connectTimeoutMillis = AtomicIOClientConfigDefaultValue.DEFAULT_CONNECT_TIMEOUT_MILLIS;
 
+    /**
+     * 传输层类型，默认 AUTO：Linux 上自动使用原生 epoll / io_uring，否则使用 NIO
+     */
+    private TransportType transport = TransportType.AUTO;
+
     /**
      * 消息最大长度
      * 一定要与服务器端保持一致，否则会出现问题
@@ -5,15 +5,14 @@ import io.github.vevoly.atomicio.client.api.codec.AtomicIOClientCodecProvider;
 import io.github.vevoly.atomicio.client.api.config.AtomicIOClientConfig;
 import io.github.vevoly.atomicio.client.core.handler.*;
 import io.github.vevoly.atomicio.client.core.internal.AtomicIOClientRequestManager;
+import io.github.vevoly.atomicio.client.core.internal.AtomicIOClientTransport;
 import io.github.vevoly.atomicio.protocol.api.AtomicIOCommand;
 import io.github.vevoly.atomicio.protocol.api.message.AtomicIOMessage;
 import io.github.vevoly.atomicio.protocol.api.result.AuthResult;
 import io.github.vevoly.atomicio.protocol.api.result.GeneralResult;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.*;
-import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
-import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslContextBuilder;
 import io.netty.handler.timeout.IdleStateHandler;
@@ -89,11 +88,12 @@ public class DefaultAtomicIOClient implements AtomicIOClient {
             throw new RuntimeException("Failed to build client SslContext", e);
         }
 
-        this.eventLoopGroup = new NioEventLoopGroup();
+        AtomicIOClientTransport transport = AtomicIOClientTransport.resolve(config.getTransport());
+        this.eventLoopGroup = transport.newEventLoopGroup();
         this.bootstrap = new Bootstrap();
 
         bootstrap.group(eventLoopGroup)
-                .channel(NioSocketChannel.class)
+                .channel(transport.socketChannelClass())
                 .option(ChannelOption.TCP_NODELAY, true)
                 .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, config.getConnectTimeoutMillis());
 
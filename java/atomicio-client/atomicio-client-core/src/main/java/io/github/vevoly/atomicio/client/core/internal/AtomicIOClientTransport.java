@@ -0,0 +1,79 @@
+package io.github.vevoly.atomicio.client.core.internal;
+
+import io.github.vevoly.atomicio.common.api.config.TransportType;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.IoHandlerFactory;
+import io.netty.channel.MultiThreadIoEventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollIoHandler;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.nio.NioIoHandler;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.channel.uring.IoUring;
+import io.netty.channel.uring.IoUringIoHandler;
+import io.netty.channel.uring.IoUringSocketChannel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 客户端传输层选择
+ * 与服务端规则一致：Linux 上优先原生 epoll，其次 io_uring，都不可用时回退到 NIO
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+@Slf4j
+public final class AtomicIOClientTransport {
+
+    @Getter
+    private final TransportType type;
+
+    private AtomicIOClientTransport(TransportType type) {
+        this.type = type;
+    }
+
+    public static AtomicIOClientTransport resolve(TransportType requested) {
+        TransportType type = requested == null ? TransportType.AUTO : requested;
+        TransportType resolved = select(type);
+        if (type != TransportType.AUTO && resolved != type) {
+            // 与服务端一致，显式指定的传输层不可用时提示实际使用的传输层
+            Throwable cause = type == TransportType.IO_URING ? IoUring.unavailabilityCause() : Epoll.unavailabilityCause();
+            log.warn("Client transport {} is not available ({}), falling back to {}.",
+                    type, cause != null ? cause.getMessage() : "unknown", resolved);
+        }
+        return new AtomicIOClientTransport(resolved);
+    }
+
+    private static TransportType select(TransportType type) {
+        if (type == TransportType.IO_URING && IoUring.isAvailable()) {
+            return TransportType.IO_URING;
+        }
+        if (type != TransportType.NIO) {
+            if (Epoll.isAvailable()) {
+                return TransportType.EPOLL;
+            }
+            if (type == TransportType.AUTO && IoUring.isAvailable()) {
+                return TransportType.IO_URING;
+            }
+        }
+        return TransportType.NIO;
+    }
+
+    public EventLoopGroup newEventLoopGroup() {
+        IoHandlerFactory factory = switch (type) {
+            case EPOLL -> EpollIoHandler.newFactory();
+            case IO_URING -> IoUringIoHandler.newFactory();
+            default -> NioIoHandler.newFactory();
+        };
+        return new MultiThreadIoEventLoopGroup(factory);
+    }
+
+    public Class<? extends SocketChannel> socketChannelClass() {
+        return switch (type) {
+            case EPOLL -> EpollSocketChannel.class;
+            case IO_URING -> IoUringSocketChannel.class;
+            default -> NioSocketChannel.class;
+        };
+    }
+}
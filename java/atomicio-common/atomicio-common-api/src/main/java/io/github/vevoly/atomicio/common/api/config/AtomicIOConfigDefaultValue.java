@@ -26,14 +26,57 @@ public class AtomicIOConfigDefaultValue {
     public static final int DEFAULT_RATE_LIMIT_PERIOD_SECONDS = 60;
     public static final int DEFAULT_OVERLOAD_TOTAL_CONNECT = 100000;
     public static final int DEFAULT_OVERLOAD_QUEUE_MIN_PERCENT = 20;
+    public static final long DEFAULT_OVERLOAD_QUEUE_WAIT_MILLIS = 0;
     public static final String DEFAULT_CLUSTER_MODE = "redis";
     public static final int DEFAULT_READ_IDLE_SECONDS = 600;
     public static final int DEFAULT_WRITE_IDLE_SECONDS = 0;
     public static final int DEFAULT_ALL_IDLE_SECONDS = 0;
+    public static final long DEFAULT_IDLE_CHECK_INTERVAL_MILLIS = 1000L;
+    public static final int DEFAULT_IDLE_WHEEL_SIZE = 512;
     public static final String DEFAULT_ID_GEN_TYPE = AtomicIOIdGeneratorType.SNOWFLAKE.name();
     public static final long DEFAULT_ID_GEN_SNOWFLAKE_EPOCH = 1704067200000L;
     public static final int DEFAULT_ID_GEN_SNOWFLAKE_WORKER_ID = 0;
     public static final int DEFAULT_ID_GEN_SNOWFLAKE_DATACENTER_ID = 0;
     public static final String DEFAULT_NODE_ID = "AUTO";
     public static final int DEFAULT_LOGIN_LIMItED_DEVICE = 5;
+    public static final int DEFAULT_DISRUPTOR_BUFFER_SIZE = 65536;
+    public static final int DEFAULT_DISRUPTOR_SHARDS = 1;
+    public static final long DEFAULT_DISRUPTOR_PHASED_SPIN_MICROS = 10;
+    public static final long DEFAULT_DISRUPTOR_PHASED_YIELD_MICROS = 100;
+    public static final long DEFAULT_DISRUPTOR_OVERFLOW_SPIN_MICROS = 50;
+    public static final int DEFAULT_DISRUPTOR_MESSAGE_BATCH_MAX_SIZE = 1024;
+    public static final int DEFAULT_DISRUPTOR_SESSION_MAILBOX_CAPACITY = 1024;
+    public static final int DEFAULT_DISRUPTOR_CONTROL_BUFFER_SIZE = 4096;
+    public static final int DEFAULT_DISRUPTOR_CLUSTER_BUFFER_SIZE = 65536;
+    public static final int DEFAULT_SOCKET_BACKLOG = 1024;
+    public static final int DEFAULT_SOCKET_WRITE_BUFFER_LOW_WATER_MARK = 32 * 1024;
+    public static final int DEFAULT_SOCKET_WRITE_BUFFER_HIGH_WATER_MARK = 64 * 1024;
+    public static final int DEFAULT_SOCKET_FLUSH_CONSOLIDATION_LIMIT = 256;
+    public static final int DEFAULT_SLOW_CONSUMER_MAX_PENDING_MESSAGES = 1024;
+    public static final int DEFAULT_SLOW_CONSUMER_MAX_PENDING_BYTES = 1024 * 1024;
+    public static final long DEFAULT_SLOW_CONSUMER_GRACE_MILLIS = 30_000L;
+    public static final int DEFAULT_WEBSOCKET_PORT = 8309;
+    public static final String DEFAULT_WEBSOCKET_PATH = "/ws";
+    public static final int DEFAULT_WEBSOCKET_HANDSHAKE_TIMEOUT_MILLIS = 10_000;
+    public static final String DEFAULT_DOMAIN_SOCKET_PATH = "/tmp/atomicio.sock";
+    public static final int DEFAULT_KCP_PORT = 8310;
+    public static final int DEFAULT_KCP_WINDOW_SIZE = 128;
+    public static final int DEFAULT_KCP_MTU = 1400;
+    public static final int DEFAULT_KCP_INTERVAL = 10;
+    public static final int DEFAULT_KCP_DEAD_LINK = 20;
+    public static final long DEFAULT_KCP_SESSION_TIMEOUT_MILLIS = 60_000L;
+    public static final int DEFAULT_KCP_MAX_CONNECTIONS = 100_000;
+    public static final int DEFAULT_KCP_MAX_CONNECTIONS_PER_IP = 64;
+    public static final String DEFAULT_GATEWAY_LINK_HOST = "127.0.0.1";
+    public static final int DEFAULT_GATEWAY_LINK_PORT = 8320;
+    public static final int DEFAULT_GATEWAY_LINKS_PER_NODE = 2;
+    public static final int DEFAULT_GATEWAY_FLUSH_CONSOLIDATION_LIMIT = 256;
+    public static final long DEFAULT_GATEWAY_RECONNECT_INTERVAL_MILLIS = 1000L;
+    public static final int DEFAULT_GATEWAY_MAX_FRAME_LENGTH = 10 * 1024 * 1024;
+    public static final String CONFIG_PREFIX_PUSH_INGRESS = CONFIG_PREFIX + ".push-ingress";
+    public static final String DEFAULT_PUSH_INGRESS_HOST = "127.0.0.1";
+    public static final int DEFAULT_PUSH_INGRESS_PORT = 8330;
+    public static final int DEFAULT_PUSH_INGRESS_MAX_FRAME_LENGTH = 16 * 1024 * 1024;
+    public static final int DEFAULT_PUSH_INGRESS_MAX_BATCH_RECORDS = 10_000;
+    public static final int DEFAULT_PUSH_INGRESS_THREADS = 2;
 }
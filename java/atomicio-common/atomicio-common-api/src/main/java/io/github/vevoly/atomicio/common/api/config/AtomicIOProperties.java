@@ -1,9 +1,16 @@
 package io.github.vevoly.atomicio.common.api.config;
 
 import io.github.vevoly.atomicio.protocol.api.codec.AtomicIOCodecType;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * AtomicIO 配置文件类
  *
@@ -37,6 +44,536 @@ public class AtomicIOProperties {
      */
     private int workerThreads = AtomicIOConfigDefaultValue.DEFAULT_WORKER_THREADS;
 
+    /**
+     * 传输层类型
+     * 默认值：AUTO，Linux 上自动使用原生 epoll / io_uring，否则使用 NIO
+     */
+    private TransportType transport = TransportType.AUTO;
+
+    /**
+     * 是否开启 SO_REUSEPORT (仅 epoll / io_uring)
+     * 开启后按 Boss 线程数绑定多个监听 Socket 到同一端口，由内核在多个 acceptor 线程之间分摊新连接
+     * 默认值：false
+     */
+    private boolean reusePort = false;
+
+    /**
+     * Socket 与内存分配配置
+     */
+    private Socket socket = new Socket();
+
+    @Data
+    public static class Socket {
+
+        /**
+         * 场景预设，非 CUSTOM 时覆盖下面的同名配置
+         * 默认值：CUSTOM
+         */
+        private SocketProfileType profile = SocketProfileType.CUSTOM;
+
+        /**
+         * 监听 Socket 的 accept 队列长度 (SO_BACKLOG)，实际值受内核 somaxconn 限制
+         * 默认值：1024
+         */
+        private int backlog = AtomicIOConfigDefaultValue.DEFAULT_SOCKET_BACKLOG;
+
+        /**
+         * 是否开启 TCP keepalive
+         * 默认值：true
+         */
+        private boolean keepAlive = true;
+
+        /**
+         * 是否关闭 Nagle 算法 (TCP_NODELAY)
+         * 默认值：true
+         */
+        private boolean tcpNoDelay = true;
+
+        /**
+         * 接收缓冲区大小 (SO_RCVBUF)，0 表示使用系统默认并由内核自动调节
+         * 默认值：0
+         */
+        private int receiveBufferSize = 0;
+
+        /**
+         * 发送缓冲区大小 (SO_SNDBUF)，0 表示使用系统默认并由内核自动调节
+         * 默认值：0
+         */
+        private int sendBufferSize = 0;
+
+        /**
+         * 写缓冲低水位，待发送数据降到该值以下时 Channel 重新变为可写
+         * 默认值：32KB
+         */
+        private int writeBufferLowWaterMark = AtomicIOConfigDefaultValue.DEFAULT_SOCKET_WRITE_BUFFER_LOW_WATER_MARK;
+
+        /**
+         * 写缓冲高水位，待发送数据超过该值时 Channel 变为不可写
+         * 默认值：64KB
+         */
+        private int writeBufferHighWaterMark = AtomicIOConfigDefaultValue.DEFAULT_SOCKET_WRITE_BUFFER_HIGH_WATER_MARK;
+
+        /**
+         * TCP 连接的出站刷写模式，WebSocket / Domain Socket 未单独配置时也使用该值
+         * 默认值：IMMEDIATE
+         */
+        private OutboundFlushMode flushMode = OutboundFlushMode.IMMEDIATE;
+
+        /**
+         * CONSOLIDATED 模式下连续合并多少次 flush 后强制刷写一次
+         * 默认值：256
+         */
+        private int flushConsolidationLimit = AtomicIOConfigDefaultValue.DEFAULT_SOCKET_FLUSH_CONSOLIDATION_LIMIT;
+
+        /**
+         * 精简连接模式，面向海量空闲连接 (按每个空闲连接的内存规划容量的 IoT 场景)：
+         * 读缓冲从很小的尺寸开始自适应，停在半包上的空闲连接只占住一个小缓冲区，
+         * 会话 ID 使用进程内的数字 ID，不生成 Channel 的长文本 ID
+         * 默认值：false
+         */
+        private boolean leanConnection = false;
+
+        /**
+         * ByteBuf 分配器
+         */
+        private Allocator allocator = new Allocator();
+
+        public int resolveBacklog() {
+            return profile != null && profile.getBacklog() != null ? profile.getBacklog() : backlog;
+        }
+
+        public boolean resolveTcpNoDelay() {
+            return profile != null && profile.getTcpNoDelay() != null ? profile.getTcpNoDelay() : tcpNoDelay;
+        }
+
+        public int resolveReceiveBufferSize() {
+            return profile != null && profile.getReceiveBufferSize() != null ? profile.getReceiveBufferSize() : receiveBufferSize;
+        }
+
+        public int resolveSendBufferSize() {
+            return profile != null && profile.getSendBufferSize() != null ? profile.getSendBufferSize() : sendBufferSize;
+        }
+
+        public int resolveWriteBufferLowWaterMark() {
+            return profile != null && profile.getWriteBufferLowWaterMark() != null
+                    ? profile.getWriteBufferLowWaterMark() : writeBufferLowWaterMark;
+        }
+
+        public int resolveWriteBufferHighWaterMark() {
+            return profile != null && profile.getWriteBufferHighWaterMark() != null
+                    ? profile.getWriteBufferHighWaterMark() : writeBufferHighWaterMark;
+        }
+
+        public boolean resolveLeanConnection() {
+            return profile != null && profile.getLeanConnection() != null ? profile.getLeanConnection() : leanConnection;
+        }
+
+        public ByteBufAllocatorType resolveAllocatorType() {
+            return profile != null && profile.getAllocator() != null ? profile.getAllocator() : allocator.getType();
+        }
+
+        @Data
+        public static class Allocator {
+
+            /**
+             * 分配器类型
+             * 默认值：ADAPTIVE
+             */
+            private ByteBufAllocatorType type = ByteBufAllocatorType.ADAPTIVE;
+
+            /**
+             * 池化分配器的 arena 数量，0 表示 Netty 默认 (CPU 核心数 * 2)
+             * 连接多、线程少时可以调小以减少预留内存
+             */
+            private int arenas = 0;
+
+            /**
+             * 池化分配器的页大小，0 表示 Netty 默认 (8KB)
+             */
+            private int pageSize = 0;
+
+            /**
+             * 池化分配器的 maxOrder，chunk 大小 = pageSize << maxOrder，-1 表示 Netty 默认
+             */
+            private int maxOrder = -1;
+
+            /**
+             * 池化分配器线程本地缓存的 small 规格缓存数量，-1 表示 Netty 默认
+             */
+            private int smallCacheSize = -1;
+
+            /**
+             * 池化分配器线程本地缓存的 normal 规格缓存数量，-1 表示 Netty 默认
+             */
+            private int normalCacheSize = -1;
+
+            /**
+             * 非 EventLoop 线程 (如 Disruptor 消费者) 是否也使用线程本地缓存
+             * 默认值：true
+             */
+            private boolean useCacheForAllThreads = true;
+        }
+    }
+
+    /**
+     * WebSocket 监听配置
+     */
+    private WebSocket webSocket = new WebSocket();
+
+    @Data
+    public static class WebSocket {
+
+        /**
+         * 是否开启 WebSocket 监听
+         * 与 TCP 端口共用线程组、编解码器、会话、限流和指令调度，只在协议层多了 HTTP 握手和 WebSocket 帧的拆装
+         */
+        private boolean enabled = false;
+
+        /**
+         * WebSocket 监听端口
+         * 默认值：8309
+         */
+        private int port = AtomicIOConfigDefaultValue.DEFAULT_WEBSOCKET_PORT;
+
+        /**
+         * 握手路径
+         * 默认值：/ws
+         */
+        private String path = AtomicIOConfigDefaultValue.DEFAULT_WEBSOCKET_PATH;
+
+        /**
+         * 子协议，多个用逗号分隔，为空表示不协商
+         */
+        private String subprotocols;
+
+        /**
+         * 单个 WebSocket 帧的最大载荷长度
+         * 默认值：64KB
+         */
+        private int maxFramePayloadLength = AtomicIOConfigDefaultValue.DEFAULT_MAX_FRAME_LENGTH;
+
+        /**
+         * 握手超时时间
+         * 单位：毫秒，默认值：10000
+         */
+        private long handshakeTimeoutMillis = AtomicIOConfigDefaultValue.DEFAULT_WEBSOCKET_HANDSHAKE_TIMEOUT_MILLIS;
+
+        /**
+         * WebSocket 连接的出站刷写模式
+         * 默认值：空，与 TCP 相同 (atomicio.socket.flush-mode)
+         */
+        private OutboundFlushMode flushMode;
+
+        public OutboundFlushMode resolveFlushMode(Socket socket) {
+            return flushMode != null ? flushMode : socket.getFlushMode();
+        }
+    }
+
+    /**
+     * Unix Domain Socket 监听配置
+     */
+    private DomainSocket domainSocket = new DomainSocket();
+
+    @Data
+    public static class DomainSocket {
+
+        /**
+         * 是否开启 Unix Domain Socket 监听
+         * 供同机部署的网关、边车和内部推送服务使用，与 TCP 共用线程组、编解码器、会话和指令调度，省去回环 TCP 协议栈的开销
+         */
+        private boolean enabled = false;
+
+        /**
+         * Socket 文件路径
+         * 启动时删除上次异常退出残留的 Socket 文件 (已有进程在监听或路径不是 Socket 文件时拒绝启动)，关闭时删除
+         * 默认值：/tmp/atomicio.sock
+         */
+        private String path = AtomicIOConfigDefaultValue.DEFAULT_DOMAIN_SOCKET_PATH;
+
+        /**
+         * 是否信任本机对端
+         * 为 true 时不经过 IP 限流和 IP 连接数限制 (访问控制由 Socket 文件权限负责)；
+         * 为 false 时所有 Domain Socket 连接被当作同一个对端参与 IP 准入控制
+         */
+        private boolean trusted = true;
+
+        /**
+         * Domain Socket 连接的出站刷写模式
+         * 默认值：空，与 TCP 相同 (atomicio.socket.flush-mode)
+         */
+        private OutboundFlushMode flushMode;
+
+        public OutboundFlushMode resolveFlushMode(Socket socket) {
+            return flushMode != null ? flushMode : socket.getFlushMode();
+        }
+    }
+
+    /**
+     * KCP (可靠 UDP) 监听配置
+     */
+    private Kcp kcp = new Kcp();
+
+    @Data
+    public static class Kcp {
+
+        /**
+         * 是否开启 KCP 监听
+         * 每个 UDP 对端是一个独立的连接，与 TCP 使用相同的编解码器、会话、分组和指令调度
+         */
+        private boolean enabled = false;
+
+        /**
+         * KCP 监听的 UDP 端口
+         * 默认值：8310
+         */
+        private int port = AtomicIOConfigDefaultValue.DEFAULT_KCP_PORT;
+
+        /**
+         * 工作模式预设
+         * 默认值：FAST
+         */
+        private KcpModeType mode = KcpModeType.FAST;
+
+        /**
+         * 是否开启 nodelay：0 关闭，1 开启，2 开启且按当前 RTO 退避 (CUSTOM 模式下生效)
+         */
+        private int nodelay = 1;
+
+        /**
+         * 内部时钟间隔，单位：毫秒 (CUSTOM 模式下生效)
+         * 默认值：10
+         */
+        private int interval = AtomicIOConfigDefaultValue.DEFAULT_KCP_INTERVAL;
+
+        /**
+         * 快速重传阈值，0 表示关闭 (CUSTOM 模式下生效)
+         */
+        private int fastResend = 2;
+
+        /**
+         * 是否关闭拥塞控制 (CUSTOM 模式下生效)
+         */
+        private boolean noCongestionWindow = true;
+
+        /**
+         * 发送窗口 (报文段数)
+         * 默认值：128
+         */
+        private int sendWindow = AtomicIOConfigDefaultValue.DEFAULT_KCP_WINDOW_SIZE;
+
+        /**
+         * 接收窗口 (报文段数)，不能小于 128
+         * 默认值：128
+         */
+        private int receiveWindow = AtomicIOConfigDefaultValue.DEFAULT_KCP_WINDOW_SIZE;
+
+        /**
+         * 单个 UDP 报文的最大长度
+         * 默认值：1400
+         */
+        private int mtu = AtomicIOConfigDefaultValue.DEFAULT_KCP_MTU;
+
+        /**
+         * 同一报文段重传多少次后判定连接已断开
+         * 默认值：20
+         */
+        private int deadLink = AtomicIOConfigDefaultValue.DEFAULT_KCP_DEAD_LINK;
+
+        /**
+         * 收到数据后是否立即回复 ACK，而不是等下一个时钟周期
+         * 默认值：true
+         */
+        private boolean ackNoDelay = true;
+
+        /**
+         * UDP 没有断开信号，超过该时间没有收到对端任何报文即关闭连接
+         * 单位：毫秒，默认值：60000
+         */
+        private long sessionTimeoutMillis = AtomicIOConfigDefaultValue.DEFAULT_KCP_SESSION_TIMEOUT_MILLIS;
+
+        /**
+         * 最大 KCP 连接数，达到上限后新对端的报文直接丢弃
+         * UDP 源地址可以伪造，必须有上限，0 或负数表示不限制
+         * 默认值：100000
+         */
+        private int maxConnections = AtomicIOConfigDefaultValue.DEFAULT_KCP_MAX_CONNECTIONS;
+
+        /**
+         * 单个 IP 的最大 KCP 连接数 (不同端口算不同连接)，0 或负数表示不限制
+         * 与 ip-security 的限制同时生效
+         * 默认值：64
+         */
+        private int maxConnectionsPerIp = AtomicIOConfigDefaultValue.DEFAULT_KCP_MAX_CONNECTIONS_PER_IP;
+
+        public int resolveNodelay() {
+            return mode != null && mode.getNodelay() != null ? mode.getNodelay() : nodelay;
+        }
+
+        public int resolveInterval() {
+            return mode != null && mode.getInterval() != null ? mode.getInterval() : interval;
+        }
+
+        public int resolveFastResend() {
+            return mode != null && mode.getFastResend() != null ? mode.getFastResend() : fastResend;
+        }
+
+        public boolean resolveNoCongestionWindow() {
+            return mode != null && mode.getNoCongestionWindow() != null ? mode.getNoCongestionWindow() : noCongestionWindow;
+        }
+    }
+
+    /**
+     * 网关 (边缘 / 逻辑节点分离) 配置
+     */
+    private Gateway gateway = new Gateway();
+
+    @Data
+    public static class Gateway {
+
+        /**
+         * 部署模式
+         * 默认值：NONE (连接和业务在同一节点)
+         */
+        private GatewayMode mode = GatewayMode.NONE;
+
+        /**
+         * 逻辑节点地址列表，格式 host:port (EDGE 模式下生效)
+         */
+        private List<String> logicNodes = new ArrayList<>();
+
+        /**
+         * 逻辑节点监听边缘网关连接的地址 (LOGIC 模式下生效)，只面向内网的边缘网关
+         * 边缘网关部署在其他机器上时改为内网地址，并且必须配置 linkToken，否则逻辑节点拒绝启动
+         * 默认值：127.0.0.1
+         */
+        private String linkHost = AtomicIOConfigDefaultValue.DEFAULT_GATEWAY_LINK_HOST;
+
+        /**
+         * 逻辑节点监听边缘网关连接的端口 (LOGIC 模式下生效)
+         * 默认值：8320
+         */
+        private int linkPort = AtomicIOConfigDefaultValue.DEFAULT_GATEWAY_LINK_PORT;
+
+        /**
+         * 链路认证令牌，边缘网关和逻辑节点配置相同的值
+         * 配置后链路的第一个帧必须是携带相同令牌的 AUTH 帧，之前的 OPEN / FORWARD 帧会导致链路被关闭
+         * (链路上的 OPEN 帧直接指定会话的用户身份，不能让未认证的连接发送)
+         */
+        private String linkToken;
+
+        /**
+         * 边缘网关到每个逻辑节点建立的连接数
+         * 每个客户端会话固定使用其中一条，保证同一会话的消息顺序
+         * 默认值：2
+         */
+        private int linksPerNode = AtomicIOConfigDefaultValue.DEFAULT_GATEWAY_LINKS_PER_NODE;
+
+        /**
+         * 链路上连续 flush 合并的上限，达到上限时强制刷写一次
+         * 同一条链路上的多个会话的消息合并为一次系统调用
+         * 默认值：256
+         */
+        private int flushConsolidationLimit = AtomicIOConfigDefaultValue.DEFAULT_GATEWAY_FLUSH_CONSOLIDATION_LIMIT;
+
+        /**
+         * 链路断开后的重连间隔 (EDGE 模式下生效)
+         * 单位：毫秒，默认值：1000
+         */
+        private long reconnectIntervalMillis = AtomicIOConfigDefaultValue.DEFAULT_GATEWAY_RECONNECT_INTERVAL_MILLIS;
+
+        /**
+         * 链路上单个帧的最大长度
+         * 默认值：10 MB
+         */
+        private int maxFrameLength = AtomicIOConfigDefaultValue.DEFAULT_GATEWAY_MAX_FRAME_LENGTH;
+    }
+
+    /**
+     * 后端服务批量推送入口配置 (需要引入 atomicio-server-extension-push)
+     */
+    private PushIngress pushIngress = new PushIngress();
+
+    @Data
+    public static class PushIngress {
+
+        /**
+         * 是否开启推送入口
+         * 默认值：false
+         */
+        private boolean enabled = false;
+
+        /**
+         * 监听地址，只面向内网的后端服务
+         * 后端服务部署在其他机器上时改为内网地址，并且必须配置 token，否则拒绝启动
+         * 默认值：127.0.0.1
+         */
+        private String host = AtomicIOConfigDefaultValue.DEFAULT_PUSH_INGRESS_HOST;
+
+        /**
+         * 监听端口
+         * 默认值：8330
+         */
+        private int port = AtomicIOConfigDefaultValue.DEFAULT_PUSH_INGRESS_PORT;
+
+        /**
+         * 认证令牌，配置后连接的第一个帧必须是携带相同令牌的 AUTH 帧
+         */
+        private String token;
+
+        /**
+         * 单个批次帧的最大长度
+         * 默认值：16 MB
+         */
+        private int maxFrameLength = AtomicIOConfigDefaultValue.DEFAULT_PUSH_INGRESS_MAX_FRAME_LENGTH;
+
+        /**
+         * 单个批次的最大记录数，超过时整个批次被拒绝
+         * 默认值：10000
+         */
+        private int maxBatchRecords = AtomicIOConfigDefaultValue.DEFAULT_PUSH_INGRESS_MAX_BATCH_RECORDS;
+
+        /**
+         * 处理后端服务连接的线程数，一个连接上的批次总在同一个线程上处理
+         * 后端服务的连接很少，不需要和客户端 Worker 一样多的线程
+         * 默认值：2
+         */
+        private int threads = AtomicIOConfigDefaultValue.DEFAULT_PUSH_INGRESS_THREADS;
+    }
+
+    /**
+     * 慢消费者 (出站队列) 配置
+     */
+    private SlowConsumer slowConsumer = new SlowConsumer();
+
+    @Data
+    public static class SlowConsumer {
+
+        /**
+         * 慢消费者处理策略
+         * 默认值：NONE (不限制)
+         */
+        private SlowConsumerPolicy policy = SlowConsumerPolicy.NONE;
+
+        /**
+         * 单个会话 Channel 不可写期间最多排队的消息数
+         * 默认值：1024
+         */
+        private int maxPendingMessages = AtomicIOConfigDefaultValue.DEFAULT_SLOW_CONSUMER_MAX_PENDING_MESSAGES;
+
+        /**
+         * 单个会话 Channel 不可写期间最多排队的字节数
+         * 只对能估算大小的消息 (ByteBuf、预编码的集群消息) 准确，其他消息按 Netty 的默认估算值计算
+         * 默认值：1MB
+         */
+        private int maxPendingBytes = AtomicIOConfigDefaultValue.DEFAULT_SLOW_CONSUMER_MAX_PENDING_BYTES;
+
+        /**
+         * DISCONNECT 策略下 Channel 持续不可写多久后断开连接
+         * 单位：毫秒，默认值：30000
+         */
+        private long graceMillis = AtomicIOConfigDefaultValue.DEFAULT_SLOW_CONSUMER_GRACE_MILLIS;
+    }
+
     /**
      * IP 安全配置
      */
@@ -86,6 +623,235 @@ public class AtomicIOProperties {
          * 单台服务器IO事件队列最容量告警阈值 (百分比)
          */
         private int queueMinPercent = AtomicIOConfigDefaultValue.DEFAULT_OVERLOAD_QUEUE_MIN_PERCENT;
+
+        /**
+         * 客户端 IO 事件排队时间告警阈值 (毫秒)
+         * 排队时间的滑动平均超过该值且队列仍有积压时，拒绝新连接；需要开启 disruptor.metricsEnabled
+         * 0 表示不检查
+         * 默认值：0
+         */
+        private long queueWaitMillis = AtomicIOConfigDefaultValue.DEFAULT_OVERLOAD_QUEUE_WAIT_MILLIS;
+    }
+
+    /**
+     * Disruptor 事件队列配置
+     */
+    private Disruptor disruptor = new Disruptor();
+
+    @Data
+    public static class Disruptor {
+
+        /**
+         * 每个分片 RingBuffer 的大小
+         * 必须是 2 的幂，否则向上取整到最近的 2 的幂
+         * 默认值：65536
+         */
+        private int bufferSize = AtomicIOConfigDefaultValue.DEFAULT_DISRUPTOR_BUFFER_SIZE;
+
+        /**
+         * 分片数量，每个分片拥有独立的 RingBuffer 和消费者线程
+         * 事件按 Session / 用户哈希路由到固定分片，保证同一会话内的事件顺序
+         * 0 或负数 表示使用 CPU 核心数
+         * 默认值：1 (单消费者)
+         */
+        private int shards = AtomicIOConfigDefaultValue.DEFAULT_DISRUPTOR_SHARDS;
+
+        /**
+         * 场景预设
+         * 非 CUSTOM 时覆盖下面的 waitStrategy 与 producerType
+         * 可选值请查看 DisruptorProfileType 枚举类
+         */
+        private DisruptorProfileType profile = DisruptorProfileType.CUSTOM;
+
+        /**
+         * 消费者等待策略
+         * 默认值：BLOCKING
+         */
+        private DisruptorWaitStrategyType waitStrategy = DisruptorWaitStrategyType.BLOCKING;
+
+        /**
+         * 生产者类型
+         * 默认值：MULTI
+         */
+        private DisruptorProducerType producerType = DisruptorProducerType.MULTI;
+
+        /**
+         * PHASED_BACKOFF 策略的自旋阶段时长
+         * 单位：微秒
+         */
+        private long phasedSpinMicros = AtomicIOConfigDefaultValue.DEFAULT_DISRUPTOR_PHASED_SPIN_MICROS;
+
+        /**
+         * PHASED_BACKOFF 策略的 yield 阶段时长，之后转入阻塞等待
+         * 单位：微秒
+         */
+        private long phasedYieldMicros = AtomicIOConfigDefaultValue.DEFAULT_DISRUPTOR_PHASED_YIELD_MICROS;
+
+        /**
+         * 连接生命周期事件 (CONNECT / DISCONNECT / ERROR / IDLE) 的溢出策略
+         * 丢失 DISCONNECT 会导致业务侧状态泄漏，默认阻塞
+         * 默认值：BLOCK
+         */
+        private DisruptorOverflowPolicy lifecycleOverflowPolicy = DisruptorOverflowPolicy.BLOCK;
+
+        /**
+         * 客户端消息的溢出策略
+         * 默认阻塞 IO 线程，消息不丢失；需要过载时快速失败的可以配置为 REJECT (回复服务器繁忙)
+         * 默认值：BLOCK
+         */
+        private DisruptorOverflowPolicy messageOverflowPolicy = DisruptorOverflowPolicy.BLOCK;
+
+        /**
+         * 集群消息的溢出策略
+         * 默认阻塞订阅线程，跨节点推送不丢失；集群扇出量大、能接受丢消息的可以配置为 SPIN_THEN_DROP
+         * 默认值：BLOCK
+         */
+        private DisruptorOverflowPolicy clusterOverflowPolicy = DisruptorOverflowPolicy.BLOCK;
+
+        /**
+         * SPIN_THEN_DROP 策略的最长自旋时间
+         * 单位：微秒
+         */
+        private long overflowSpinMicros = AtomicIOConfigDefaultValue.DEFAULT_DISRUPTOR_OVERFLOW_SPIN_MICROS;
+
+        /**
+         * 批次内延迟刷写
+         * 开启后，消费者线程在一个 Disruptor 批次内发送的数据只 write，批次结束时每个 Channel flush 一次
+         * 开启前需确认监听器不会同步等待 session.send 返回的 Future (sync / await / get)，否则消费者线程会永久卡住
+         * 默认值：false
+         */
+        private boolean batchFlush = false;
+
+        /**
+         * 批量消息监听器单次回调的最大消息数
+         * Disruptor 批次可能和 RingBuffer 一样大，超过该值时提前提交一次
+         * 默认值：1024
+         */
+        private int messageBatchMaxSize = AtomicIOConfigDefaultValue.DEFAULT_DISRUPTOR_MESSAGE_BATCH_MAX_SIZE;
+
+        /**
+         * 监听器执行方式
+         * VIRTUAL_THREAD 模式下监听器在虚拟线程上执行，每个会话一个串行邮箱
+         * 默认值：DISRUPTOR
+         */
+        private ListenerExecutionMode listenerExecution = ListenerExecutionMode.DISRUPTOR;
+
+        /**
+         * VIRTUAL_THREAD 模式下每个会话邮箱最多积压的消息数，超过后丢弃新消息
+         * 生命周期事件不受限制
+         * 默认值：1024
+         */
+        private int sessionMailboxCapacity = AtomicIOConfigDefaultValue.DEFAULT_DISRUPTOR_SESSION_MAILBOX_CAPACITY;
+
+        /**
+         * 是否开启优先级通道
+         * 开启后控制指令 (踢人) 、集群投递、客户端 IO 事件分别进入独立的 RingBuffer 和消费者，
+         * 集群广播风暴不会拖慢登录和踢人。上面的 bufferSize / shards 作用于客户端 IO 通道。
+         * 开启后多出控制和集群两组消费者线程，不同类型事件之间不再按发布顺序处理；DEDICATED 指令策略需要开启才有独立通道
+         * 默认值：false，所有事件进入同一组 RingBuffer，与之前的行为一致
+         */
+        private boolean lanesEnabled = false;
+
+        /**
+         * 控制通道 (KICK_OUT 等)
+         */
+        private Lane controlLane = new Lane(AtomicIOConfigDefaultValue.DEFAULT_DISRUPTOR_CONTROL_BUFFER_SIZE, 1);
+
+        /**
+         * 集群投递通道 (SEND_TO_USER / SEND_TO_GROUP / BROADCAST 等)
+         */
+        private Lane clusterLane = new Lane(AtomicIOConfigDefaultValue.DEFAULT_DISRUPTOR_CLUSTER_BUFFER_SIZE, 1);
+
+        /**
+         * 控制指令的溢出策略
+         * 默认值：BLOCK
+         */
+        private DisruptorOverflowPolicy controlOverflowPolicy = DisruptorOverflowPolicy.BLOCK;
+
+        /**
+         * 按 commandId 配置的执行策略，未配置的指令使用 DISRUPTOR
+         * 例：command-policies: {1001: INLINE, 2001: DEDICATED}
+         * 也可以通过 AtomicIOEngine.setCommandExecutionPolicy 在启动前注册
+         */
+        private Map<Integer, CommandExecutionPolicy> commandPolicies = new HashMap<>();
+
+        /**
+         * 专用通道 (DEDICATED 策略的指令)
+         * 只有开启优先级通道且存在 DEDICATED 指令时才会启动
+         */
+        private Lane dedicatedLane = new Lane(AtomicIOConfigDefaultValue.DEFAULT_DISRUPTOR_BUFFER_SIZE, 1);
+
+        /**
+         * 是否开启队列指标
+         * 开启后记录每个事件的排队时间、处理时间和通道积压高水位，每个事件多两次 System.nanoTime 调用
+         * 默认值：false
+         */
+        private boolean metricsEnabled = false;
+
+        /**
+         * 解析预设后实际生效的等待策略
+         */
+        public DisruptorWaitStrategyType resolveWaitStrategy() {
+            return profile != null && profile.getWaitStrategy() != null ? profile.getWaitStrategy() : waitStrategy;
+        }
+
+        /**
+         * 解析预设后实际生效的生产者类型
+         */
+        public DisruptorProducerType resolveProducerType() {
+            return profile != null && profile.getProducerType() != null ? profile.getProducerType() : producerType;
+        }
+
+        @Data
+        @NoArgsConstructor
+        @AllArgsConstructor
+        public static class Lane {
+
+            /**
+             * 通道中每个分片 RingBuffer 的大小，必须是 2 的幂
+             */
+            private int bufferSize;
+
+            /**
+             * 通道的分片数量，0 或负数 表示使用 CPU 核心数
+             */
+            private int shards;
+        }
+    }
+
+    /**
+     * CPU 亲和性 (线程绑核) 配置
+     * 需要在 classpath 中引入 net.openhft:affinity，否则只给线程命名，不绑核
+     */
+    private Affinity affinity = new Affinity();
+
+    @Data
+    public static class Affinity {
+
+        /**
+         * 是否开启线程绑核
+         * 开启后 Boss、Worker、Disruptor 消费者线程在启动时各自锁定一个 CPU，不再被操作系统调度迁移
+         */
+        private boolean enabled = false;
+
+        /**
+         * Boss 线程可用的 CPU 列表，如 "0" 或 "0,1"
+         * 为空时从 affinity 的保留 CPU (-Daffinity.reserved 或 isolcpus) 中任选
+         */
+        private String bossCpus = "";
+
+        /**
+         * Worker 线程可用的 CPU 列表，如 "2-5"，列表长度应不少于 Worker 线程数
+         * KCP 的 UDP 线程、网关逻辑节点的链路线程、推送入口的线程接着 Worker 线程往后分配，列表长度应再加上这些线程数
+         */
+        private String workerCpus = "";
+
+        /**
+         * Disruptor 消费者线程可用的 CPU 列表，如 "6-9"
+         * 按 客户端 IO、控制、集群、专用 通道的启动顺序依次分配，列表长度应不少于消费者线程总数
+         * BUSY_SPIN / YIELDING 等待策略必须配合绑核使用，否则自旋线程会和其他线程争抢核心
+         */
+        private String disruptorCpus = "";
     }
 
     /**
@@ -168,6 +934,17 @@ public class AtomicIOProperties {
          * 读写空闲时间
          */
         private int allIdleSeconds = AtomicIOConfigDefaultValue.DEFAULT_ALL_IDLE_SECONDS;
+
+        /**
+         * 空闲检测时间轮的刻度 (毫秒)
+         * 所有连接共用一个时间轮，空闲事件可能比设定时间晚一到两个刻度触发，刻度应远小于空闲时间
+         */
+        private long idleCheckIntervalMillis = AtomicIOConfigDefaultValue.DEFAULT_IDLE_CHECK_INTERVAL_MILLIS;
+
+        /**
+         * 空闲检测时间轮的槽数
+         */
+        private int idleWheelSize = AtomicIOConfigDefaultValue.DEFAULT_IDLE_WHEEL_SIZE;
     }
 
     /**
@@ -0,0 +1,34 @@
+package io.github.vevoly.atomicio.common.api.config;
+
+/**
+ * Netty ByteBuf 分配器类型
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+public enum ByteBufAllocatorType {
+
+    /**
+     * 自适应分配器 (Netty 4.2 默认)
+     * 按实际使用的大小动态伸缩，空闲连接多时内存占用最低
+     */
+    ADAPTIVE,
+
+    /**
+     * 池化直接内存分配器
+     * 按 arena 预分配 chunk，分配最快、延迟最稳定，内存占用较高
+     */
+    POOLED_DIRECT,
+
+    /**
+     * 池化堆内存分配器
+     */
+    POOLED_HEAP,
+
+    /**
+     * 非池化分配器，仅用于排查问题
+     */
+    UNPOOLED,
+
+    ;
+}
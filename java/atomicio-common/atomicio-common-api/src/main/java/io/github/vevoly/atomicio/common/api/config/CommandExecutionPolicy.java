@@ -0,0 +1,37 @@
+package io.github.vevoly.atomicio.common.api.config;
+
+/**
+ * 业务指令的执行策略
+ * 按 commandId 配置，决定消息在哪个线程上交给 MessageEventListener
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+public enum CommandExecutionPolicy {
+
+    /**
+     * 直接在连接所在的 Netty EventLoop 上执行监听器，不经过 Disruptor
+     * 省去一次线程切换，只适合非阻塞、耗时极短的处理 (如游戏位置同步)
+     * 限制：
+     * 1. 不与生命周期事件排队：CONNECT 监听器在 Disruptor 上异步执行，INLINE 消息可能先于 CONNECT 监听器执行，
+     *    监听器不能依赖 CONNECT 中初始化的状态；
+     * 2. 不会触发批量监听器 (BatchMessageEventListener)，也不计入 Disruptor 指标；
+     * 3. VIRTUAL_THREAD 模式下同样在 IO 线程上执行，不经过会话邮箱，与同一会话其他消息的监听器可能并发执行
+     */
+    INLINE,
+
+    /**
+     * 默认：进入客户端 IO 通道，由 Disruptor 消费者异步执行
+     */
+    DISRUPTOR,
+
+    /**
+     * 进入独立的专用通道，与默认通道的消息互不排队
+     * 适合耗时较长、不希望拖慢其他指令的消息；同一会话在两个通道之间的消息不保证顺序，
+     * 也不保证在 CONNECT 监听器之后执行；DISCONNECT 会等两个通道里该会话之前的消息都处理完再触发
+     * 需要开启 disruptor.lanes-enabled，否则与 DISRUPTOR 一样进入客户端 IO 通道
+     */
+    DEDICATED,
+
+    ;
+}
@@ -0,0 +1,36 @@
+package io.github.vevoly.atomicio.common.api.config;
+
+/**
+ * Disruptor 队列满时的溢出策略
+ * 决定发布线程 (Netty IO 线程 / 集群订阅线程) 在 RingBuffer 没有空位时的行为
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+public enum DisruptorOverflowPolicy {
+
+    /**
+     * 阻塞等待空位
+     * 不丢事件，但会卡住发布线程，以及该线程上的所有连接
+     */
+    BLOCK,
+
+    /**
+     * 立即丢弃，并计数
+     */
+    DROP,
+
+    /**
+     * 立即丢弃，并向客户端回复服务器繁忙
+     * 只对客户端消息有意义，其他事件源等同于 DROP
+     */
+    REJECT,
+
+    /**
+     * 短暂自旋等待空位，超时后丢弃
+     * 自旋时长由 overflowSpinMicros 控制
+     */
+    SPIN_THEN_DROP,
+
+    ;
+}
@@ -0,0 +1,25 @@
+package io.github.vevoly.atomicio.common.api.config;
+
+/**
+ * Disruptor 生产者类型
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+public enum DisruptorProducerType {
+
+    /**
+     * 多生产者
+     * 多个 Netty EventLoop 以及集群订阅线程会同时发布事件，这是默认且安全的选择
+     */
+    MULTI,
+
+    /**
+     * 单生产者
+     * 省去了发布时的 CAS，但只有在确定只有一个线程发布事件时才安全
+     * (例如 workerThreads = 1 且未开启集群)，否则会破坏 RingBuffer
+     */
+    SINGLE,
+
+    ;
+}
@@ -0,0 +1,48 @@
+package io.github.vevoly.atomicio.common.api.config;
+
+import lombok.Getter;
+
+/**
+ * Disruptor 预设配置
+ * 把等待策略和生产者类型打包成面向场景的预设，选择了预设后会覆盖单独配置的 waitStrategy 与 producerType
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+@Getter
+public enum DisruptorProfileType {
+
+    /**
+     * 自定义
+     * 使用单独配置的 waitStrategy 与 producerType
+     */
+    CUSTOM(null, null),
+
+    /**
+     * 低延迟游戏
+     * 消费者线程自旋等待，延迟最低，每个分片独占一个核心
+     */
+    LOW_LATENCY_GAME(DisruptorWaitStrategyType.BUSY_SPIN, DisruptorProducerType.MULTI),
+
+    /**
+     * 均衡 IM
+     * 有流量时自旋/让出，空闲时退化为阻塞，兼顾延迟和 CPU
+     */
+    BALANCED_IM(DisruptorWaitStrategyType.PHASED_BACKOFF, DisruptorProducerType.MULTI),
+
+    /**
+     * 低功耗 IoT
+     * 阻塞等待，空闲时几乎不占 CPU，适合海量低频设备
+     */
+    LOW_CPU_IOT(DisruptorWaitStrategyType.BLOCKING, DisruptorProducerType.MULTI),
+
+    ;
+
+    private final DisruptorWaitStrategyType waitStrategy;
+    private final DisruptorProducerType producerType;
+
+    DisruptorProfileType(DisruptorWaitStrategyType waitStrategy, DisruptorProducerType producerType) {
+        this.waitStrategy = waitStrategy;
+        this.producerType = producerType;
+    }
+}
@@ -0,0 +1,43 @@
+package io.github.vevoly.atomicio.common.api.config;
+
+/**
+ * Disruptor 消费者等待策略类型
+ * 决定消费者线程在队列为空时如何等待，是延迟与 CPU 占用之间的取舍
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+public enum DisruptorWaitStrategyType {
+
+    /**
+     * 锁 + 条件变量
+     * 空闲时几乎不占 CPU，唤醒延迟最高（数十微秒级）
+     */
+    BLOCKING,
+
+    /**
+     * 先自旋，再 Thread.yield，最后 LockSupport.parkNanos
+     * 延迟与 CPU 占用较为均衡，适合大多数后台服务
+     */
+    SLEEPING,
+
+    /**
+     * 自旋后 Thread.yield
+     * 低延迟，但空闲时仍会持续占用 CPU
+     */
+    YIELDING,
+
+    /**
+     * 纯自旋
+     * 延迟最低，每个消费者线程独占一个核心，需要配合 CPU 绑核使用
+     */
+    BUSY_SPIN,
+
+    /**
+     * 分阶段退避：自旋 -> yield -> 阻塞
+     * 负载高时接近 YIELDING 的延迟，空闲时退化为 BLOCKING 的 CPU 占用
+     */
+    PHASED_BACKOFF,
+
+    ;
+}
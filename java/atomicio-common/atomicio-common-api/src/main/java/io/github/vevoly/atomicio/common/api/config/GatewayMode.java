@@ -0,0 +1,31 @@
+package io.github.vevoly.atomicio.common.api.config;
+
+/**
+ * 网关部署模式
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+public enum GatewayMode {
+
+    /**
+     * 单体模式
+     * 节点既持有客户端连接，也执行业务监听器
+     */
+    NONE,
+
+    /**
+     * 边缘网关
+     * 只负责客户端连接、编解码和框架指令 (登录、心跳、加入分组等)，
+     * 业务消息通过少量多路复用的长连接转发给逻辑节点，不执行业务消息监听器
+     */
+    EDGE,
+
+    /**
+     * 逻辑节点
+     * 不持有客户端连接，只接收边缘网关转发的业务消息并执行业务监听器，回复按会话原路推回边缘网关
+     */
+    LOGIC,
+
+    ;
+}
@@ -0,0 +1,47 @@
+package io.github.vevoly.atomicio.common.api.config;
+
+import lombok.Getter;
+
+/**
+ * KCP 工作模式预设
+ * 对应 ikcp_nodelay 的四个参数，选择了预设后会覆盖 kcp 下单独配置的同名项 (null 表示不覆盖)
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+@Getter
+public enum KcpModeType {
+
+    /**
+     * 自定义
+     * 使用 kcp 下单独配置的各项
+     */
+    CUSTOM(null, null, null, null),
+
+    /**
+     * 普通模式
+     * 与 TCP 类似的保守重传：最小 RTO 100ms，超时 RTO 翻倍，开启拥塞控制
+     */
+    NORMAL(0, 40, 0, false),
+
+    /**
+     * 快速模式
+     * 最小 RTO 30ms，超时 RTO 只乘 1.5，2 次 ACK 跨越立即快速重传，关闭拥塞控制；
+     * 以带宽换延迟，适合移动弱网下的游戏帧同步与状态同步
+     */
+    FAST(1, 10, 2, true),
+
+    ;
+
+    private final Integer nodelay;
+    private final Integer interval;
+    private final Integer fastResend;
+    private final Boolean noCongestionWindow;
+
+    KcpModeType(Integer nodelay, Integer interval, Integer fastResend, Boolean noCongestionWindow) {
+        this.nodelay = nodelay;
+        this.interval = interval;
+        this.fastResend = fastResend;
+        this.noCongestionWindow = noCongestionWindow;
+    }
+}
@@ -0,0 +1,24 @@
+package io.github.vevoly.atomicio.common.api.config;
+
+/**
+ * 事件监听器的执行方式
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+public enum ListenerExecutionMode {
+
+    /**
+     * 直接在 Disruptor 消费者线程上执行监听器
+     * 延迟最低，但监听器中的阻塞调用 (JDBC / HTTP) 会卡住整个分片
+     */
+    DISRUPTOR,
+
+    /**
+     * 消费者线程只负责把事件投递到会话的串行邮箱，由虚拟线程执行监听器
+     * 同一会话的事件按顺序执行，不同会话之间并发，适合监听器中有阻塞调用的场景
+     */
+    VIRTUAL_THREAD,
+
+    ;
+}
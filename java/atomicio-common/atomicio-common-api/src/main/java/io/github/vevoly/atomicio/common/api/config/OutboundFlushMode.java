@@ -0,0 +1,25 @@
+package io.github.vevoly.atomicio.common.api.config;
+
+/**
+ * 出站刷写模式
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+public enum OutboundFlushMode {
+
+    /**
+     * 每次发送立即 flush，一条消息一次系统调用
+     * (开启 batchFlush 时 Disruptor 批次内的发送仍会合并)
+     */
+    IMMEDIATE,
+
+    /**
+     * 合并刷写：发送时立即 write，同一个 Channel 在一次 EventLoop 循环内的多次 flush 合并为一次，
+     * 读事件处理期间的 flush 推迟到 channelReadComplete；连续 flush 达到上限时强制刷写一次
+     * 适合群组扇出等同一连接短时间内收到大量消息的场景
+     */
+    CONSOLIDATED,
+
+    ;
+}
@@ -0,0 +1,34 @@
+package io.github.vevoly.atomicio.common.api.config;
+
+/**
+ * 慢消费者处理策略
+ * Channel 不可写 (待发送数据超过写缓冲高水位) 后，新的出站消息先在会话的待发送队列中排队，
+ * 队列超过上限时按该策略处理。
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+public enum SlowConsumerPolicy {
+
+    /**
+     * 不做限制，消息全部写入 Netty 的出站缓冲区 (旧版本行为)
+     */
+    NONE,
+
+    /**
+     * 丢弃新消息，保留已排队的消息
+     */
+    DROP_NEW,
+
+    /**
+     * 丢弃最早排队的消息，适合行情、状态同步等只关心最新数据的场景
+     */
+    DROP_OLDEST,
+
+    /**
+     * 超出上限的消息丢弃，Channel 持续不可写超过宽限期后断开连接
+     */
+    DISCONNECT,
+
+    ;
+}
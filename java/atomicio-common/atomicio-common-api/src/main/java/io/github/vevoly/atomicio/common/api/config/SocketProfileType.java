@@ -0,0 +1,64 @@
+package io.github.vevoly.atomicio.common.api.config;
+
+import lombok.Getter;
+
+/**
+ * Socket 预设配置
+ * 把 TCP 选项、收发缓冲区、写缓冲水位、分配器和精简连接模式打包成面向场景的预设，
+ * 选择了预设后会覆盖 socket 下单独配置的同名项 (null 表示不覆盖)
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+@Getter
+public enum SocketProfileType {
+
+    /**
+     * 自定义
+     * 使用 socket 下单独配置的各项
+     */
+    CUSTOM(null, null, null, null, null, null, null, null),
+
+    /**
+     * 低延迟游戏
+     * 关闭 Nagle，缓冲区交给内核自动调节，池化直接内存保证分配延迟稳定
+     */
+    LOW_LATENCY_GAME(1024, true, 0, 0, 32 * 1024, 64 * 1024, ByteBufAllocatorType.POOLED_DIRECT, null),
+
+    /**
+     * 高频 IM
+     * 关闭 Nagle，固定中等缓冲区，写缓冲高水位放宽以容纳群聊突发
+     */
+    CHATTY_IM(4096, true, 64 * 1024, 64 * 1024, 32 * 1024, 128 * 1024, ByteBufAllocatorType.ADAPTIVE, null),
+
+    /**
+     * 海量空闲连接 IoT
+     * 小缓冲区、小写水位、自适应分配器，单机百万连接时每个连接的内核和堆外内存都尽量小；
+     * 更大的 backlog 用于扛住设备批量重连，并开启精简连接模式
+     */
+    IDLE_IOT(8192, false, 4 * 1024, 4 * 1024, 2 * 1024, 8 * 1024, ByteBufAllocatorType.ADAPTIVE, true),
+
+    ;
+
+    private final Integer backlog;
+    private final Boolean tcpNoDelay;
+    private final Integer receiveBufferSize;
+    private final Integer sendBufferSize;
+    private final Integer writeBufferLowWaterMark;
+    private final Integer writeBufferHighWaterMark;
+    private final ByteBufAllocatorType allocator;
+    private final Boolean leanConnection;
+
+    SocketProfileType(Integer backlog, Boolean tcpNoDelay, Integer receiveBufferSize, Integer sendBufferSize,
+                      Integer writeBufferLowWaterMark, Integer writeBufferHighWaterMark, ByteBufAllocatorType allocator,
+                      Boolean leanConnection) {
+        this.backlog = backlog;
+        this.tcpNoDelay = tcpNoDelay;
+        this.receiveBufferSize = receiveBufferSize;
+        this.sendBufferSize = sendBufferSize;
+        this.writeBufferLowWaterMark = writeBufferLowWaterMark;
+        this.writeBufferHighWaterMark = writeBufferHighWaterMark;
+        this.allocator = allocator;
+        this.leanConnection = leanConnection;
+    }
+}
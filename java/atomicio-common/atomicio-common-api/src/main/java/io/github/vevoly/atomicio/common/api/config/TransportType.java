@@ -0,0 +1,32 @@
+package io.github.vevoly.atomicio.common.api.config;
+
+/**
+ * Netty 传输层类型
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+public enum TransportType {
+
+    /**
+     * 自动选择：Linux 上优先 epoll，其次 io_uring，都不可用时回退到 NIO
+     */
+    AUTO,
+
+    /**
+     * JDK NIO，全平台可用
+     */
+    NIO,
+
+    /**
+     * Linux 原生 epoll，支持 SO_REUSEPORT
+     */
+    EPOLL,
+
+    /**
+     * Linux io_uring (内核 5.9+)，支持 SO_REUSEPORT；不可用时回退到 epoll / NIO
+     */
+    IO_URING,
+
+    ;
+}
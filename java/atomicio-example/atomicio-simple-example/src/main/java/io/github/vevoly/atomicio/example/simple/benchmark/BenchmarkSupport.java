@@ -0,0 +1,65 @@
+package io.github.vevoly.atomicio.example.simple.benchmark;
+
+import io.github.vevoly.atomicio.protocol.api.message.AbstractAtomicIOMessage;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+/**
+ * 基准测试公共工具
+ * 引擎由 DefaultAtomicIOEngine.standalone 创建，这里只放统计和消息工具
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+public final class BenchmarkSupport {
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * 进程累计 CPU 时间 (纳秒)
+     */
+    public static long processCpuNanos() {
+        java.lang.management.OperatingSystemMXBean bean = ManagementFactory.getOperatingSystemMXBean();
+        if (bean instanceof com.sun.management.OperatingSystemMXBean sunBean) {
+            return sunBean.getProcessCpuTime();
+        }
+        return -1;
+    }
+
+    /**
+     * 计算百分位 (会对数组排序)
+     */
+    public static long percentile(long[] samples, int count, double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        Arrays.sort(samples, 0, count);
+        int index = (int) Math.ceil(percentile / 100.0 * count) - 1;
+        return samples[Math.max(0, Math.min(index, count - 1))];
+    }
+
+    /**
+     * 用 sequenceId 携带发布时间戳的消息
+     */
+    public static class TimestampMessage extends AbstractAtomicIOMessage {
+
+        private final int commandId;
+
+        public TimestampMessage(int commandId, long publishNanos) {
+            super(publishNanos);
+            this.commandId = commandId;
+        }
+
+        @Override
+        public int getCommandId() {
+            return commandId;
+        }
+
+        @Override
+        public byte[] getPayload() {
+            return new byte[0];
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package io.github.vevoly.atomicio.example.simple.benchmark;
+
+import io.github.vevoly.atomicio.common.api.config.AtomicIOProperties;
+import io.github.vevoly.atomicio.common.api.config.CommandExecutionPolicy;
+import io.github.vevoly.atomicio.core.engine.DefaultAtomicIOEngine;
+import io.github.vevoly.atomicio.core.handler.NettyEventTranslationHandler;
+import io.netty.channel.DefaultChannelId;
+import io.netty.channel.embedded.EmbeddedChannel;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 指令执行策略基准测试
+ * 通过 NettyEventTranslationHandler 写入消息，对比 INLINE / DISRUPTOR / DEDICATED 三种策略下 读取 -> 监听器 的延迟。
+ * 直接运行 main 方法即可，参数：[每种策略的消息数] [发送间隔(us)]
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+@Slf4j
+public class CommandExecutionPolicyBenchmark {
+
+    private static final int WARMUP_MESSAGES = 20_000;
+
+    public static void main(String[] args) throws Exception {
+        int messages = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+        long intervalNanos = TimeUnit.MICROSECONDS.toNanos(args.length > 1 ? Long.parseLong(args[1]) : 20);
+
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%n%-10s %10s %10s %10s%n", "policy", "p50(us)", "p99(us)", "p99.9(us)"));
+        for (CommandExecutionPolicy policy : CommandExecutionPolicy.values()) {
+            long[] latencies = run(policy, messages, intervalNanos);
+            report.append(String.format("%-10s %10.1f %10.1f %10.1f%n", policy,
+                    BenchmarkSupport.percentile(latencies, latencies.length, 50) / 1000.0,
+                    BenchmarkSupport.percentile(latencies, latencies.length, 99) / 1000.0,
+                    BenchmarkSupport.percentile(latencies, latencies.length, 99.9) / 1000.0));
+        }
+        log.info("Command execution policy benchmark, {} messages per policy:{}", messages, report);
+    }
+
+    private static long[] run(CommandExecutionPolicy policy, int messages, long intervalNanos) throws Exception {
+        AtomicIOProperties config = new AtomicIOProperties();
+        config.getDisruptor().setShards(1);
+        // DEDICATED 需要开启优先级通道才有独立的消费者
+        config.getDisruptor().setLanesEnabled(true);
+        config.getDisruptor().getCommandPolicies().put(1, policy);
+        DefaultAtomicIOEngine engine = DefaultAtomicIOEngine.standalone(config, null);
+
+        long[] latencies = new long[messages];
+        int[] received = new int[1];
+        CountDownLatch warmupDone = new CountDownLatch(WARMUP_MESSAGES);
+        CountDownLatch done = new CountDownLatch(messages);
+        engine.onMessage((session, message) -> {
+            long latency = System.nanoTime() - message.getSequenceId();
+            if (warmupDone.getCount() > 0) {
+                warmupDone.countDown();
+                return;
+            }
+            latencies[received[0]++] = latency;
+            done.countDown();
+        });
+        engine.getDisruptorManager().start(engine);
+
+        EmbeddedChannel channel = new EmbeddedChannel(DefaultChannelId.newInstance(), new NettyEventTranslationHandler(engine));
+        send(channel, WARMUP_MESSAGES, intervalNanos);
+        warmupDone.await();
+        send(channel, messages, intervalNanos);
+        done.await();
+
+        channel.close();
+        engine.getDisruptorManager().shutdown();
+        return latencies;
+    }
+
+    private static void send(EmbeddedChannel channel, int count, long intervalNanos) {
+        long next = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            next += intervalNanos;
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            channel.writeInbound(new BenchmarkSupport.TimestampMessage(1, System.nanoTime()));
+        }
+    }
+}
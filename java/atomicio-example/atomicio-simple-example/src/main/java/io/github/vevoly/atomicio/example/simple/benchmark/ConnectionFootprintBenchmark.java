@@ -0,0 +1,175 @@
+package io.github.vevoly.atomicio.example.simple.benchmark;
+
+import io.github.vevoly.atomicio.common.api.config.AtomicIOProperties;
+import io.github.vevoly.atomicio.core.engine.DefaultAtomicIOEngine;
+import io.github.vevoly.atomicio.core.handler.AtomicIOCommandDispatcher;
+import io.github.vevoly.atomicio.core.handler.DefaultExceptionHandler;
+import io.github.vevoly.atomicio.core.handler.PipelineExceptionHandler;
+import io.github.vevoly.atomicio.core.manager.NettyTransportManager;
+import io.github.vevoly.atomicio.protocol.api.constants.AtomicIOSessionAttributes;
+import io.github.vevoly.atomicio.server.api.session.AtomicIOSession;
+import io.github.vevoly.atomicio.server.codec.text.TextPayloadParser;
+import io.github.vevoly.atomicio.server.codec.text.TextServerCodecProvider;
+import io.netty.util.internal.PlatformDependent;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 空闲连接内存占用基准测试
+ * 在本机启动一个文本协议引擎，由子进程建立 N 个回环连接并登录 (跳过登录流程直接绑定用户) 后保持空闲，
+ * 统计服务端进程每个连接占用的堆内存和堆外内存 (Full GC 之后的增量)，分别测试默认模式和精简连接模式。
+ * 客户端在子进程中，统计结果只包含服务端。可选让每个客户端发送半个帧，模拟停在半包上的设备。
+ * 连接数超过单个源地址的临时端口数时客户端会轮流绑定 127.0.0.x，百万连接需要调大 ulimit -n 和 net.ipv4.ip_local_port_range。
+ * 直接运行 main 方法即可，参数：[连接数] [是否发送半包 true/false]
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+@Slf4j
+public class ConnectionFootprintBenchmark {
+
+    private static final int PORT = 18360;
+    private static final int CONNECTIONS_PER_SOURCE_ADDRESS = 20_000;
+    private static final String CLIENT_FLAG = "--clients";
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && CLIENT_FLAG.equals(args[0])) {
+            runClients(Integer.parseInt(args[1]), Boolean.parseBoolean(args[2]));
+            return;
+        }
+        int connections = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        boolean partialFrame = args.length > 1 && Boolean.parseBoolean(args[1]);
+
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%n%-10s %12s %14s %16s%n", "mode", "connections", "heap/conn(B)", "direct/conn(B)"));
+        for (boolean lean : new boolean[]{false, true}) {
+            long[] footprint = measure(connections, partialFrame, lean);
+            report.append(String.format("%-10s %12d %14d %16d%n", lean ? "lean" : "default", footprint[0],
+                    footprint[1], footprint[2]));
+        }
+        log.info("Idle connection footprint, server side only, partial frame {}:{}", partialFrame, report);
+    }
+
+    /**
+     * @return {实际连接数, 每个连接的堆内存, 每个连接的堆外内存}
+     */
+    private static long[] measure(int connections, boolean partialFrame, boolean lean) throws Exception {
+        AtomicIOProperties config = new AtomicIOProperties();
+        config.setPort(PORT);
+        config.setBossThreads(1);
+        config.setWorkerThreads(1);
+        // 所有客户端都来自回环地址，关闭 IP 准入控制
+        config.getIpSecurity().setMaxConnect(0);
+        config.getIpSecurity().setRateLimitCount(0);
+        config.getSocket().setBacklog(8192);
+        config.getSocket().setLeanConnection(lean);
+
+        DefaultAtomicIOEngine engine = DefaultAtomicIOEngine.standalone(config, new TextServerCodecProvider());
+        Semaphore connected = new Semaphore(0);
+        AtomicInteger userIndex = new AtomicInteger();
+        Queue<AtomicIOSession> sessions = new ConcurrentLinkedQueue<>();
+        engine.onConnect(session -> {
+            // 跳过登录流程，直接绑定用户
+            int index = userIndex.getAndIncrement();
+            engine.getSessionManager().bindLocalSession(session.getId(), "user-" + index, "device-" + index);
+            sessions.add(session);
+            connected.release();
+        });
+        engine.getDisruptorManager().start(engine);
+        NettyTransportManager transport = new NettyTransportManager(engine,
+                new AtomicIOCommandDispatcher(engine, new TextPayloadParser(), null),
+                new PipelineExceptionHandler(new DefaultExceptionHandler(engine)));
+        transport.start().get();
+
+        long[] before = usedMemory();
+        Process clients = new ProcessBuilder(
+                ProcessHandle.current().info().command().orElse("java"),
+                "-Xmx512m", "-cp", System.getProperty("java.class.path"),
+                ConnectionFootprintBenchmark.class.getName(), CLIENT_FLAG,
+                String.valueOf(connections), String.valueOf(partialFrame))
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        BufferedReader clientOutput = new BufferedReader(new InputStreamReader(clients.getInputStream()));
+        String ready = clientOutput.readLine();
+        if (!connected.tryAcquire(connections, 120, TimeUnit.SECONDS)) {
+            log.warn("Only {} of {} connections were established ({}).", userIndex.get(), connections, ready);
+        }
+        // 等半包到达服务端
+        Thread.sleep(500);
+        long[] after = usedMemory();
+        int established = userIndex.get();
+
+        // 没有 StateManager，断开前先清掉身份，跳过全局状态注销
+        sessions.forEach(session -> session.removeAttribute(AtomicIOSessionAttributes.USER_ID));
+        // 关闭子进程的标准输入，客户端退出并断开所有连接
+        clients.getOutputStream().close();
+        clients.waitFor(60, TimeUnit.SECONDS);
+        transport.stop();
+        engine.getDisruptorManager().shutdown();
+
+        long perConnectionHeap = established == 0 ? 0 : (after[0] - before[0]) / established;
+        long perConnectionDirect = established == 0 ? 0 : (after[1] - before[1]) / established;
+        return new long[]{established, perConnectionHeap, perConnectionDirect};
+    }
+
+    /**
+     * Full GC 之后的 {堆内存, 堆外内存}，堆外内存包括 Netty 直接分配的和 JDK DirectByteBuffer 的
+     */
+    private static long[] usedMemory() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(200);
+        }
+        long heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        long direct = Math.max(0, PlatformDependent.usedDirectMemory());
+        for (BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+            if ("direct".equals(pool.getName())) {
+                direct += pool.getMemoryUsed();
+            }
+        }
+        return new long[]{heap, direct};
+    }
+
+    /**
+     * 子进程：建立连接，全部建立后输出一行，然后保持空闲直到标准输入关闭
+     */
+    private static void runClients(int connections, boolean partialFrame) throws Exception {
+        byte[] half = "0:1000::half-a-fr".getBytes(StandardCharsets.UTF_8);
+        List<SocketChannel> channels = new ArrayList<>(connections);
+        for (int i = 0; i < connections; i++) {
+            SocketChannel channel = SocketChannel.open();
+            int source = i / CONNECTIONS_PER_SOURCE_ADDRESS;
+            if (source > 0) {
+                channel.bind(new InetSocketAddress("127.0.0." + (1 + source), 0));
+            }
+            channel.connect(new InetSocketAddress("127.0.0.1", PORT));
+            if (partialFrame) {
+                channel.write(ByteBuffer.wrap(half));
+            }
+            channels.add(channel);
+        }
+        System.out.println("connected " + channels.size());
+        System.out.flush();
+        while (System.in.read() >= 0) {
+            // 等待父进程关闭标准输入
+        }
+        for (SocketChannel channel : channels) {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package io.github.vevoly.atomicio.example.simple.benchmark;
+
+import io.github.vevoly.atomicio.codec.text.TextMessage;
+import io.github.vevoly.atomicio.common.api.config.AtomicIOProperties;
+import io.github.vevoly.atomicio.common.api.config.CommandExecutionPolicy;
+import io.github.vevoly.atomicio.core.engine.DefaultAtomicIOEngine;
+import io.github.vevoly.atomicio.core.handler.AtomicIOCommandDispatcher;
+import io.github.vevoly.atomicio.core.handler.NettyEventTranslationHandler;
+import io.github.vevoly.atomicio.core.session.NettySession;
+import io.github.vevoly.atomicio.server.codec.text.TextPayloadParser;
+import io.netty.channel.DefaultChannelId;
+import io.netty.channel.embedded.EmbeddedChannel;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 指令调度开销基准测试
+ * 多个 EmbeddedChannel 的 Pipeline 中只有 AtomicIOCommandDispatcher 和 NettyEventTranslationHandler，会话已绑定用户，
+ * 业务指令使用 INLINE 策略，监听器只读取一次 userId，
+ * 轮流向每个连接的 Pipeline 直接触发 channelRead，统计每条消息从调度器到监听器的平均耗时 (不含编解码和网络)。
+ * 直接运行 main 方法即可，参数：[连接数] [每轮消息数]
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+@Slf4j
+public class DispatcherOverheadBenchmark {
+
+    private static final int COMMAND = 1000;
+    private static final int ROUNDS = 8;
+
+    public static void main(String[] args) {
+        int connections = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int messages = args.length > 1 ? Integer.parseInt(args[1]) : 5_000_000;
+
+        AtomicIOProperties config = new AtomicIOProperties();
+        DefaultAtomicIOEngine engine = DefaultAtomicIOEngine.standalone(config, null);
+        engine.setCommandExecutionPolicy(COMMAND, CommandExecutionPolicy.INLINE);
+        long[] bound = new long[1];
+        engine.onMessage((session, message) -> {
+            if (session.getUserId() != null) {
+                bound[0]++;
+            }
+        });
+
+        AtomicIOCommandDispatcher dispatcher = new AtomicIOCommandDispatcher(engine, new TextPayloadParser(), null);
+        NettyEventTranslationHandler translationHandler = new NettyEventTranslationHandler(engine);
+        EmbeddedChannel[] channels = new EmbeddedChannel[connections];
+        for (int i = 0; i < connections; i++) {
+            channels[i] = new EmbeddedChannel(DefaultChannelId.newInstance(), dispatcher, translationHandler);
+            // 跳过登录流程，直接绑定用户
+            engine.getSessionManager().bindLocalSession(NettySession.of(channels[i]).getId(), "user-" + i, "device-" + i);
+        }
+        TextMessage message = new TextMessage(0, COMMAND, null, "x");
+
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%n%-8s %12s %14s%n", "round", "ns/msg", "msgs/s"));
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < messages; i++) {
+                channels[i % connections].pipeline().fireChannelRead(message);
+            }
+            long elapsed = System.nanoTime() - start;
+            // 前一半轮次是预热
+            if (round >= ROUNDS / 2) {
+                report.append(String.format("%-8d %12.1f %14.0f%n", round, (double) elapsed / messages,
+                        messages / (elapsed / 1e9)));
+            }
+        }
+        if (bound[0] != (long) messages * ROUNDS) {
+            log.warn("Listener saw {} bound messages, expected {}", bound[0], (long) messages * ROUNDS);
+        }
+        log.info("Dispatcher overhead, {} connections, {} messages per round, INLINE listener:{}",
+                connections, messages, report);
+    }
+}
@@ -0,0 +1,84 @@
+package io.github.vevoly.atomicio.example.simple.benchmark;
+
+import io.github.vevoly.atomicio.common.api.config.AtomicIOProperties;
+import io.github.vevoly.atomicio.common.api.config.DisruptorOverflowPolicy;
+import io.github.vevoly.atomicio.common.api.config.DisruptorWaitStrategyType;
+import io.github.vevoly.atomicio.core.engine.DefaultAtomicIOEngine;
+import io.github.vevoly.atomicio.protocol.api.message.AtomicIOMessage;
+import io.github.vevoly.atomicio.server.api.constants.AtomicIOEventType;
+import io.github.vevoly.atomicio.server.api.constants.DisruptorEventSource;
+import io.github.vevoly.atomicio.server.api.manager.DisruptorEntryTranslators;
+import io.github.vevoly.atomicio.server.api.manager.DisruptorManager;
+import io.github.vevoly.atomicio.server.api.session.AtomicIOSession;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Disruptor 发布路径内存分配测试
+ * 用 ThreadMXBean.getThreadAllocatedBytes 统计发布线程在发布 N 个事件期间分配的字节数，
+ * 对比静态翻译器与捕获参数的 lambda 两种写法。翻译器路径每个事件应当是 0 字节。
+ * 直接运行 main 方法即可，参数：[事件数]
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+@Slf4j
+public class DisruptorAllocationBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int events = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+
+        AtomicIOProperties config = new AtomicIOProperties();
+        config.getDisruptor().setShards(1);
+        // 阻塞等待策略唤醒消费者时会竞争锁，AQS 可能分配节点，这里只想统计框架自身的分配
+        config.getDisruptor().setWaitStrategy(DisruptorWaitStrategyType.YIELDING);
+        // 让所有事件都进入队列，不走拒绝分支
+        config.getDisruptor().setMessageOverflowPolicy(DisruptorOverflowPolicy.BLOCK);
+        DefaultAtomicIOEngine engine = DefaultAtomicIOEngine.standalone(config, null);
+        engine.onMessage((session, message) -> { });
+        DisruptorManager disruptorManager = engine.getDisruptorManager();
+        disruptorManager.start(engine);
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        Object routingKey = new Object();
+        AtomicIOMessage message = new BenchmarkSupport.TimestampMessage(1, 0);
+
+        // 预热，让 JIT 完成编译
+        publishWithTranslator(disruptorManager, routingKey, null, message, events);
+        publishWithLambda(disruptorManager, routingKey, null, message, events);
+
+        long before = threads.getThreadAllocatedBytes(threadId);
+        publishWithTranslator(disruptorManager, routingKey, null, message, events);
+        long translatorBytes = threads.getThreadAllocatedBytes(threadId) - before;
+
+        before = threads.getThreadAllocatedBytes(threadId);
+        publishWithLambda(disruptorManager, routingKey, null, message, events);
+        long lambdaBytes = threads.getThreadAllocatedBytes(threadId) - before;
+
+        disruptorManager.shutdown();
+        log.info("Disruptor publish allocation, {} events: translator {} bytes ({} B/event), lambda {} bytes ({} B/event)",
+                events, translatorBytes, String.format("%.3f", (double) translatorBytes / events),
+                lambdaBytes, String.format("%.3f", (double) lambdaBytes / events));
+    }
+
+    private static void publishWithTranslator(DisruptorManager disruptorManager, Object routingKey,
+                                              AtomicIOSession session, AtomicIOMessage message, int events) {
+        for (int i = 0; i < events; i++) {
+            disruptorManager.tryPublishEvent(DisruptorEventSource.CLIENT_MESSAGE, routingKey,
+                    DisruptorEntryTranslators.MESSAGE, session, message);
+        }
+    }
+
+    private static void publishWithLambda(DisruptorManager disruptorManager, Object routingKey,
+                                          AtomicIOSession session, AtomicIOMessage message, int events) {
+        for (int i = 0; i < events; i++) {
+            disruptorManager.tryPublish(DisruptorEventSource.CLIENT_MESSAGE, routingKey, e -> {
+                e.setType(AtomicIOEventType.MESSAGE);
+                e.setSession(session);
+                e.setMessage(message);
+            });
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package io.github.vevoly.atomicio.example.simple.benchmark;
+
+import io.github.vevoly.atomicio.common.api.config.AtomicIOProperties;
+import io.github.vevoly.atomicio.common.api.config.DisruptorProfileType;
+import io.github.vevoly.atomicio.core.engine.DefaultAtomicIOEngine;
+import io.github.vevoly.atomicio.server.api.constants.AtomicIOEventType;
+import io.github.vevoly.atomicio.server.api.constants.DisruptorEventSource;
+import io.github.vevoly.atomicio.server.api.manager.DisruptorManager;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Disruptor 预设基准测试
+ * 对每个 DisruptorProfileType 预设，测量 发布 -> 监听器 的延迟分布，以及消费者线程在有负载和空闲时的 CPU 占用。
+ * 直接运行 main 方法即可，参数：[每秒消息数] [消息总数]
+ * 注意：自旋类策略需要消费者独占核心，在核心数不足的机器上 (发布线程与消费者线程争抢同一个核心) 结果没有参考意义。
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+@Slf4j
+public class DisruptorProfileBenchmark {
+
+    private static final int WARMUP_MESSAGES = 20_000;
+
+    public static void main(String[] args) throws Exception {
+        int ratePerSecond = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int messages = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%n%-18s %10s %10s %10s %14s %12s%n",
+                "profile", "p50(us)", "p99(us)", "p99.9(us)", "load CPU(%)", "idle CPU(%)"));
+        for (DisruptorProfileType profile : DisruptorProfileType.values()) {
+            if (profile == DisruptorProfileType.CUSTOM) {
+                continue;
+            }
+            Result r = run(profile, ratePerSecond, messages);
+            report.append(String.format("%-18s %10.1f %10.1f %10.1f %14.1f %12.1f%n",
+                    profile, r.p50Nanos / 1000.0, r.p99Nanos / 1000.0, r.p999Nanos / 1000.0,
+                    r.loadCpuPercent, r.idleCpuPercent));
+        }
+        log.info("Disruptor profile benchmark, {} msg/s, {} messages:{}", ratePerSecond, messages, report);
+    }
+
+    private static Result run(DisruptorProfileType profile, int ratePerSecond, int messages) throws Exception {
+        AtomicIOProperties config = new AtomicIOProperties();
+        config.getDisruptor().setShards(1);
+        config.getDisruptor().setProfile(profile);
+        DefaultAtomicIOEngine engine = DefaultAtomicIOEngine.standalone(config, null);
+        DisruptorManager disruptorManager = engine.getDisruptorManager();
+
+        long[] samples = new long[messages];
+        int[] received = new int[1];
+        Thread[] consumer = new Thread[1];
+        CountDownLatch warmupDone = new CountDownLatch(WARMUP_MESSAGES);
+        CountDownLatch measureDone = new CountDownLatch(messages);
+        engine.onMessage((session, message) -> {
+            long latency = System.nanoTime() - message.getSequenceId();
+            if (message.getCommandId() == 0) {
+                consumer[0] = Thread.currentThread();
+                warmupDone.countDown();
+                return;
+            }
+            samples[received[0]++] = latency;
+            measureDone.countDown();
+        });
+        disruptorManager.start(engine);
+
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        publish(disruptorManager, 0, WARMUP_MESSAGES, intervalNanos);
+        warmupDone.await();
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long consumerId = consumer[0].getId();
+
+        long cpuStart = threads.getThreadCpuTime(consumerId);
+        long wallStart = System.nanoTime();
+        publish(disruptorManager, 1, messages, intervalNanos);
+        measureDone.await();
+        double loadCpu = percent(threads.getThreadCpuTime(consumerId) - cpuStart, System.nanoTime() - wallStart);
+
+        cpuStart = threads.getThreadCpuTime(consumerId);
+        wallStart = System.nanoTime();
+        Thread.sleep(2000);
+        double idleCpu = percent(threads.getThreadCpuTime(consumerId) - cpuStart, System.nanoTime() - wallStart);
+
+        disruptorManager.shutdown();
+
+        Result result = new Result();
+        result.p50Nanos = BenchmarkSupport.percentile(samples, received[0], 50);
+        result.p99Nanos = BenchmarkSupport.percentile(samples, received[0], 99);
+        result.p999Nanos = BenchmarkSupport.percentile(samples, received[0], 99.9);
+        result.loadCpuPercent = loadCpu;
+        result.idleCpuPercent = idleCpu;
+        return result;
+    }
+
+    private static void publish(DisruptorManager disruptorManager, int commandId, int count, long intervalNanos) {
+        long next = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            next += intervalNanos;
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            disruptorManager.tryPublish(DisruptorEventSource.CLIENT_MESSAGE, null, e -> {
+                e.setType(AtomicIOEventType.MESSAGE);
+                e.setMessage(new BenchmarkSupport.TimestampMessage(commandId, System.nanoTime()));
+            });
+        }
+    }
+
+    private static double percent(long cpuNanos, long wallNanos) {
+        return wallNanos > 0 ? cpuNanos * 100.0 / wallNanos : 0;
+    }
+
+    private static class Result {
+        long p50Nanos;
+        long p99Nanos;
+        long p999Nanos;
+        double loadCpuPercent;
+        double idleCpuPercent;
+    }
+}
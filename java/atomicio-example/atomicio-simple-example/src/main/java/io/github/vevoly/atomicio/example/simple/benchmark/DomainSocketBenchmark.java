@@ -0,0 +1,170 @@
+package io.github.vevoly.atomicio.example.simple.benchmark;
+
+import io.github.vevoly.atomicio.common.api.config.AtomicIOProperties;
+import io.github.vevoly.atomicio.common.api.config.CommandExecutionPolicy;
+import io.github.vevoly.atomicio.common.api.config.TransportType;
+import io.github.vevoly.atomicio.core.engine.DefaultAtomicIOEngine;
+import io.github.vevoly.atomicio.core.handler.AtomicIOCommandDispatcher;
+import io.github.vevoly.atomicio.core.handler.DefaultExceptionHandler;
+import io.github.vevoly.atomicio.core.handler.PipelineExceptionHandler;
+import io.github.vevoly.atomicio.core.manager.NettyTransportManager;
+import io.github.vevoly.atomicio.core.utils.NettyTransport;
+import io.github.vevoly.atomicio.protocol.api.constants.AtomicIOSessionAttributes;
+import io.github.vevoly.atomicio.server.codec.text.TextPayloadParser;
+import io.github.vevoly.atomicio.server.codec.text.TextServerCodecProvider;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.*;
+import io.netty.channel.epoll.EpollDomainSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.socket.nio.NioDomainSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.codec.LineBasedFrameDecoder;
+import io.netty.util.ReferenceCountUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unix Domain Socket 与回环 TCP 单条消息开销对比
+ * 在本机启动真实的 NettyTransportManager (文本协议)，同时监听 TCP 端口和 Domain Socket，两者共用会话和指令调度。
+ * 客户端使用与服务端相同的传输层 (epoll 可用时为 epoll，否则 NIO)，以 ping-pong 方式逐条发送，
+ * 服务端 INLINE 执行监听器原样回显，统计往返延迟和每次往返的进程 CPU (客户端与服务端之和)。
+ * 直接运行 main 方法即可，参数：[往返次数] [消息内容大小(字节)] [传输层 AUTO/NIO/EPOLL]
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+@Slf4j
+public class DomainSocketBenchmark {
+
+    private static final int TCP_PORT = 18330;
+    private static final String SOCKET_PATH = "/tmp/atomicio-bench.sock";
+    private static final int ECHO_COMMAND = 1000;
+    private static final int WARMUP_ROUNDS = 20_000;
+
+    public static void main(String[] args) throws Exception {
+        int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+        int contentSize = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+        TransportType transportType = args.length > 2 ? TransportType.valueOf(args[2]) : TransportType.AUTO;
+        // io_uring 的客户端 Channel 与 epoll 不同，这里只对比 epoll 和 NIO
+        NettyTransport transport = NettyTransport.resolve(
+                transportType == TransportType.NIO ? TransportType.NIO : TransportType.EPOLL);
+
+        AtomicIOProperties config = new AtomicIOProperties();
+        config.setPort(TCP_PORT);
+        config.setBossThreads(1);
+        config.setWorkerThreads(1);
+        config.setTransport(transport.getType());
+        config.getDomainSocket().setEnabled(true);
+        config.getDomainSocket().setPath(SOCKET_PATH);
+
+        DefaultAtomicIOEngine engine = DefaultAtomicIOEngine.standalone(config, new TextServerCodecProvider());
+        engine.setCommandExecutionPolicy(ECHO_COMMAND, CommandExecutionPolicy.INLINE);
+        CountDownLatch connected = new CountDownLatch(2);
+        engine.onConnect(session -> {
+            // 跳过登录流程，直接标记为已认证
+            session.setAttribute(AtomicIOSessionAttributes.USER_ID, "bench-" + session.getId());
+            connected.countDown();
+        });
+        engine.onMessage((session, message) -> session.send(message));
+        engine.getDisruptorManager().start(engine);
+        NettyTransportManager transportManager = new NettyTransportManager(engine,
+                new AtomicIOCommandDispatcher(engine, new TextPayloadParser(), null),
+                new PipelineExceptionHandler(new DefaultExceptionHandler(engine)));
+        transportManager.start().get();
+
+        boolean epoll = transport.getType() == TransportType.EPOLL;
+        EventLoopGroup clientGroup = transport.newEventLoopGroup(1, null);
+        Client tcp = new Client("TCP loopback", clientGroup,
+                epoll ? EpollSocketChannel.class : NioSocketChannel.class, new InetSocketAddress("127.0.0.1", TCP_PORT));
+        Client domain = new Client("Domain socket", clientGroup,
+                epoll ? EpollDomainSocketChannel.class : NioDomainSocketChannel.class, transport.domainSocketAddress(SOCKET_PATH));
+        connected.await(10, TimeUnit.SECONDS);
+
+        byte[] request = ("0:" + ECHO_COMMAND + "::" + "x".repeat(contentSize) + "\n").getBytes(StandardCharsets.UTF_8);
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%n%-14s %10s %10s %14s%n", "transport", "p50(us)", "p99(us)", "CPU(us)/rtt"));
+        for (Client client : new Client[]{tcp, domain}) {
+            Result r = run(client, request, rounds);
+            report.append(String.format("%-14s %10.1f %10.1f %14.2f%n", client.name,
+                    r.p50Nanos / 1000.0, r.p99Nanos / 1000.0, r.cpuNanosPerRound / 1000.0));
+        }
+        log.info("Loopback TCP vs unix domain socket echo ({}), {} round trips, {} bytes per request:{}",
+                transport.getType(), rounds, request.length, report);
+
+        tcp.channel.close().sync();
+        domain.channel.close().sync();
+        clientGroup.shutdownGracefully(0, 1, TimeUnit.SECONDS).sync();
+        transportManager.stop();
+        engine.getDisruptorManager().shutdown();
+    }
+
+    private static Result run(Client client, byte[] request, int rounds) throws Exception {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            client.roundTrip(request);
+        }
+        long[] samples = new long[rounds];
+        long cpuStart = BenchmarkSupport.processCpuNanos();
+        for (int i = 0; i < rounds; i++) {
+            long start = System.nanoTime();
+            client.roundTrip(request);
+            samples[i] = System.nanoTime() - start;
+        }
+        long cpu = BenchmarkSupport.processCpuNanos() - cpuStart;
+
+        Result result = new Result();
+        result.p50Nanos = BenchmarkSupport.percentile(samples, rounds, 50);
+        result.p99Nanos = BenchmarkSupport.percentile(samples, rounds, 99);
+        result.cpuNanosPerRound = cpu / (double) rounds;
+        return result;
+    }
+
+    /**
+     * 同步的 ping-pong 客户端
+     */
+    private static class Client {
+
+        final String name;
+        final SynchronousQueue<Object> replies = new SynchronousQueue<>();
+        final Channel channel;
+
+        Client(String name, EventLoopGroup group, Class<? extends Channel> channelClass, SocketAddress address) throws Exception {
+            this.name = name;
+            this.channel = new Bootstrap().group(group).channel(channelClass)
+                    .handler(new ChannelInitializer<>() {
+                        @Override
+                        protected void initChannel(Channel ch) {
+                            ch.pipeline().addLast(new LineBasedFrameDecoder(65536));
+                            ch.pipeline().addLast(new ChannelInboundHandlerAdapter() {
+                                @Override
+                                public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+                                    ReferenceCountUtil.release(msg);
+                                    replies.put(Boolean.TRUE);
+                                }
+                            });
+                        }
+                    })
+                    .connect(address).sync().channel();
+            if (channel.config().getOptions().containsKey(ChannelOption.TCP_NODELAY)) {
+                channel.config().setOption(ChannelOption.TCP_NODELAY, true);
+            }
+        }
+
+        void roundTrip(byte[] request) throws InterruptedException {
+            channel.writeAndFlush(Unpooled.wrappedBuffer(request));
+            replies.take();
+        }
+    }
+
+    private static class Result {
+        long p50Nanos;
+        long p99Nanos;
+        double cpuNanosPerRound;
+    }
+}
@@ -0,0 +1,95 @@
+package io.github.vevoly.atomicio.example.simple.benchmark;
+
+import io.github.vevoly.atomicio.codec.text.TextMessage;
+import io.github.vevoly.atomicio.common.api.config.AtomicIOProperties;
+import io.github.vevoly.atomicio.core.engine.DefaultAtomicIOEngine;
+import io.github.vevoly.atomicio.core.handler.NettyEventTranslationHandler;
+import io.github.vevoly.atomicio.core.session.NettySession;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.DefaultChannelId;
+import io.netty.channel.embedded.EmbeddedChannel;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 本地扇出分配量基准测试
+ * 为 N 个用户各建立一个 EmbeddedChannel 会话，出站写在 Pipeline 最前面被直接丢弃，
+ * 然后反复调用 engine.sendToUsers 向 N 个用户 (其中一部分不在本节点) 推送同一条消息，
+ * 统计每次调用在调用线程上分配的字节数和耗时。写入本身 (ChannelPromise 等) 的分配也计算在内，对比时看差值。
+ * 直接运行 main 方法即可，参数：[目标用户数] [在线比例 0-100] [调用次数]
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+@Slf4j
+public class FanOutAllocationBenchmark {
+
+    private static final int ROUNDS = 6;
+
+    public static void main(String[] args) {
+        int targets = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int onlinePercent = args.length > 1 ? Integer.parseInt(args[1]) : 80;
+        int calls = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+
+        AtomicIOProperties config = new AtomicIOProperties();
+        DefaultAtomicIOEngine engine = DefaultAtomicIOEngine.standalone(config, null);
+        NettyEventTranslationHandler translationHandler = new NettyEventTranslationHandler(engine);
+        WriteSink sink = new WriteSink();
+        List<String> userIds = new ArrayList<>(targets);
+        List<EmbeddedChannel> channels = new ArrayList<>();
+        for (int i = 0; i < targets; i++) {
+            String userId = "user-" + i;
+            userIds.add(userId);
+            if (i % 100 < onlinePercent) {
+                EmbeddedChannel channel = new EmbeddedChannel(DefaultChannelId.newInstance(), sink, translationHandler);
+                // 跳过登录流程，直接绑定用户
+                engine.getSessionManager().bindLocalSession(NettySession.of(channel).getId(), userId, "device-" + i);
+                channels.add(channel);
+            }
+        }
+        TextMessage message = new TextMessage(0, 1000, null, "x");
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%n%-8s %14s %16s %12s%n", "round", "bytes/call", "bytes/target", "us/call"));
+        for (int round = 0; round < ROUNDS; round++) {
+            long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            for (int i = 0; i < calls; i++) {
+                engine.sendToUsers(userIds, message);
+            }
+            long elapsed = System.nanoTime() - start;
+            long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+            // 前一半轮次是预热
+            if (round >= ROUNDS / 2) {
+                report.append(String.format("%-8d %14d %16.1f %12.1f%n", round, allocated / calls,
+                        (double) allocated / calls / targets, elapsed / 1e3 / calls));
+            }
+        }
+        log.info("Local fan-out, {} targets, {}% online ({} sessions), sendToUsers per call:{}",
+                targets, onlinePercent, channels.size(), report);
+    }
+
+    /**
+     * 丢弃所有出站写，让统计只包含路由和查找
+     */
+    @ChannelHandler.Sharable
+    private static class WriteSink extends ChannelOutboundHandlerAdapter {
+
+        @Override
+        public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+            // 丢弃
+        }
+
+        @Override
+        public void flush(ChannelHandlerContext ctx) {
+            // 丢弃
+        }
+    }
+}
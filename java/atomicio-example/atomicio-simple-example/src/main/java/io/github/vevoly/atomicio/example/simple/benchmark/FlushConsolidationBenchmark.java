@@ -0,0 +1,198 @@
+package io.github.vevoly.atomicio.example.simple.benchmark;
+
+import io.github.vevoly.atomicio.common.api.config.AtomicIOProperties;
+import io.github.vevoly.atomicio.common.api.config.OutboundFlushMode;
+import io.github.vevoly.atomicio.common.api.config.TransportType;
+import io.github.vevoly.atomicio.core.engine.DefaultAtomicIOEngine;
+import io.github.vevoly.atomicio.core.session.NettySession;
+import io.github.vevoly.atomicio.core.utils.NettyTransport;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.*;
+import io.netty.handler.flush.FlushConsolidationHandler;
+import io.netty.util.ReferenceCountUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 出站合并刷写基准测试
+ * 在本机回环上建立若干真实 TCP 连接，模拟群组扇出：一个业务线程 (非 EventLoop、非 Disruptor 批次) 依次向组内所有会话发送消息，
+ * 对比 IMMEDIATE 与 CONSOLIDATED 两种刷写模式下每条消息的 flush 次数和写系统调用次数。
+ * 写系统调用数取自 /proc/self/io 的 syscw (仅 Linux)，只统计经过 VFS 的 write / writev，即 NIO 传输；
+ * epoll 的 send 与 io_uring 的提交不计入，这两种传输以 flush/msg 为准 (每次 flush 至少一次写系统调用)。
+ * 直接运行 main 方法即可，参数：[组成员数] [每个成员的消息数] [消息大小(字节)] [传输层 AUTO/NIO/EPOLL/IO_URING]
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+@Slf4j
+public class FlushConsolidationBenchmark {
+
+    private static final int PORT = 18309;
+
+    public static void main(String[] args) throws Exception {
+        int members = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int messagesPerMember = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+        int messageSize = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+        TransportType transportType = args.length > 3 ? TransportType.valueOf(args[3]) : TransportType.AUTO;
+
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%n%-14s %12s %14s %14s %12s%n",
+                "flushMode", "messages", "flush/msg", "syscw/msg", "msg/s"));
+        for (OutboundFlushMode mode : OutboundFlushMode.values()) {
+            Result r = run(mode, transportType, members, messagesPerMember, messageSize);
+            report.append(String.format("%-14s %12d %14.3f %14s %12.0f%n", mode, r.messages,
+                    r.flushes / (double) r.messages,
+                    r.syscalls >= 0 ? String.format("%.3f", r.syscalls / (double) r.messages) : "n/a",
+                    r.messages * 1e9 / r.elapsedNanos));
+        }
+        log.info("Group fan-out ({}), {} members x {} messages of {} bytes:{}",
+                NettyTransport.resolve(transportType).getType(), members, messagesPerMember, messageSize, report);
+    }
+
+    private static Result run(OutboundFlushMode mode, TransportType transportType,
+                              int members, int messagesPerMember, int messageSize) throws Exception {
+        AtomicIOProperties config = new AtomicIOProperties();
+        config.getSocket().setFlushMode(mode);
+        DefaultAtomicIOEngine engine = DefaultAtomicIOEngine.standalone(config, null);
+        NettyTransport transport = NettyTransport.resolve(transportType);
+        EventLoopGroup serverGroup = transport.newEventLoopGroup(1, null);
+        EventLoopGroup clientGroup = transport.newEventLoopGroup(1, null);
+
+        AtomicLong flushes = new AtomicLong();
+        List<NettySession> sessions = new ArrayList<>(members);
+        CountDownLatch accepted = new CountDownLatch(members);
+        Channel server = new ServerBootstrap()
+                .group(serverGroup)
+                .channel(transport.serverChannelClass())
+                .childHandler(new ChannelInitializer<>() {
+                    @Override
+                    protected void initChannel(Channel ch) {
+                        // 与 NettyTransportManager 相同：合并刷写处理器位于最靠近 Socket 的位置，计数器在它之前
+                        ch.pipeline().addLast(new FlushCounter(flushes));
+                        if (mode == OutboundFlushMode.CONSOLIDATED) {
+                            ch.pipeline().addLast(new FlushConsolidationHandler(
+                                    config.getSocket().getFlushConsolidationLimit(), true));
+                        }
+                        synchronized (sessions) {
+                            sessions.add(new NettySession(ch, engine));
+                        }
+                        accepted.countDown();
+                    }
+                })
+                .bind(PORT).sync().channel();
+
+        long expectedBytes = (long) members * messagesPerMember * messageSize;
+        AtomicLong receivedBytes = new AtomicLong();
+        CountDownLatch received = new CountDownLatch(1);
+        Bootstrap client = new Bootstrap()
+                .group(clientGroup)
+                .channel(clientChannelClass(transport))
+                .handler(new ChannelInboundHandlerAdapter() {
+                    @Override
+                    public boolean isSharable() {
+                        return true;
+                    }
+
+                    @Override
+                    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+                        long total = receivedBytes.addAndGet(((ByteBuf) msg).readableBytes());
+                        ReferenceCountUtil.release(msg);
+                        if (total >= expectedBytes) {
+                            received.countDown();
+                        }
+                    }
+                });
+        List<Channel> clients = new ArrayList<>(members);
+        for (int i = 0; i < members; i++) {
+            clients.add(client.connect(new InetSocketAddress("127.0.0.1", PORT)).sync().channel());
+        }
+        accepted.await();
+
+        ByteBuf payload = Unpooled.unreleasableBuffer(Unpooled.directBuffer(messageSize).writeZero(messageSize));
+        long messages = (long) members * messagesPerMember;
+        flushes.set(0);
+        long syscallsStart = writeSyscalls();
+        long start = System.nanoTime();
+        for (int m = 0; m < messagesPerMember; m++) {
+            for (NettySession session : sessions) {
+                session.send(payload.duplicate());
+            }
+        }
+        if (!received.await(60, TimeUnit.SECONDS)) {
+            log.warn("Timed out, received {} of {} bytes.", receivedBytes.get(), expectedBytes);
+        }
+        long elapsed = System.nanoTime() - start;
+        long syscallsEnd = writeSyscalls();
+
+        Result result = new Result();
+        result.messages = messages;
+        result.flushes = flushes.get();
+        result.syscalls = syscallsStart >= 0 && syscallsEnd >= 0 ? syscallsEnd - syscallsStart : -1;
+        result.elapsedNanos = elapsed;
+
+        clients.forEach(Channel::close);
+        server.close().sync();
+        serverGroup.shutdownGracefully(0, 1, TimeUnit.SECONDS).sync();
+        clientGroup.shutdownGracefully(0, 1, TimeUnit.SECONDS).sync();
+        return result;
+    }
+
+    private static Class<? extends Channel> clientChannelClass(NettyTransport transport) {
+        return switch (transport.getType()) {
+            case EPOLL -> io.netty.channel.epoll.EpollSocketChannel.class;
+            case IO_URING -> io.netty.channel.uring.IoUringSocketChannel.class;
+            default -> io.netty.channel.socket.nio.NioSocketChannel.class;
+        };
+    }
+
+    /**
+     * 进程累计的写类系统调用次数，非 Linux 返回 -1
+     */
+    private static long writeSyscalls() {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc/self/io"))) {
+                if (line.startsWith("syscw:")) {
+                    return Long.parseLong(line.substring(6).trim());
+                }
+            }
+        } catch (Exception ignored) {
+        }
+        return -1;
+    }
+
+    /**
+     * 统计真正到达 Socket 的 flush 次数
+     */
+    private static class FlushCounter extends ChannelOutboundHandlerAdapter {
+
+        private final AtomicLong flushes;
+
+        FlushCounter(AtomicLong flushes) {
+            this.flushes = flushes;
+        }
+
+        @Override
+        public void flush(ChannelHandlerContext ctx) throws Exception {
+            flushes.incrementAndGet();
+            super.flush(ctx);
+        }
+    }
+
+    private static class Result {
+        long messages;
+        long flushes;
+        long syscalls;
+        long elapsedNanos;
+    }
+}
@@ -0,0 +1,276 @@
+package io.github.vevoly.atomicio.example.simple.benchmark;
+
+import io.github.vevoly.atomicio.common.api.config.AtomicIOProperties;
+import io.github.vevoly.atomicio.common.api.config.CommandExecutionPolicy;
+import io.github.vevoly.atomicio.common.api.config.GatewayMode;
+import io.github.vevoly.atomicio.core.engine.DefaultAtomicIOEngine;
+import io.github.vevoly.atomicio.core.gateway.GatewayEdgeConnector;
+import io.github.vevoly.atomicio.core.gateway.GatewayLogicServer;
+import io.github.vevoly.atomicio.core.handler.AtomicIOCommandDispatcher;
+import io.github.vevoly.atomicio.core.handler.DefaultExceptionHandler;
+import io.github.vevoly.atomicio.core.handler.PipelineExceptionHandler;
+import io.github.vevoly.atomicio.core.manager.IdleSweeper;
+import io.github.vevoly.atomicio.core.manager.NettyTransportManager;
+import io.github.vevoly.atomicio.protocol.api.constants.AtomicIOSessionAttributes;
+import io.github.vevoly.atomicio.server.api.manager.TransportManager;
+import io.github.vevoly.atomicio.server.codec.text.TextPayloadParser;
+import io.github.vevoly.atomicio.server.codec.text.TextServerCodecProvider;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.*;
+import io.netty.channel.nio.NioIoHandler;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.codec.LineBasedFrameDecoder;
+import io.netty.util.ReferenceCountUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 网关模式验证：单体节点 vs 边缘网关 + 逻辑节点
+ * 在本机启动三个引擎 (文本协议)：一个单体节点，一个 EDGE 模式的边缘网关，一个 LOGIC 模式的逻辑节点。
+ * 只有单体节点和逻辑节点注册了回显监听器，边缘网关只做连接、解码和框架指令，业务消息经 2 条链路转发给逻辑节点，
+ * 逻辑节点的回复按会话 ID 推回边缘网关再写给客户端。
+ * 客户端建立多个连接，每个连接保持固定数量的在途消息，统计吞吐、往返延迟，以及两个节点各自持有的连接数。
+ * 直接运行 main 方法即可，参数：[连接数] [每个连接的消息数] [每个连接的在途消息数]
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+@Slf4j
+public class GatewayBenchmark {
+
+    private static final int STANDALONE_PORT = 18340;
+    private static final int EDGE_PORT = 18341;
+    private static final int LINK_PORT = 18342;
+    private static final int ECHO_COMMAND = 1000;
+    private static final int LINKS = 2;
+
+    public static void main(String[] args) throws Exception {
+        int connections = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int messagesPerConnection = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+        int inFlight = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+
+        // 单体节点
+        Node standalone = new Node(config(GatewayMode.NONE, STANDALONE_PORT), true);
+        // 逻辑节点：不监听客户端端口
+        Node logic = new Node(config(GatewayMode.LOGIC, 0), true);
+        // 边缘网关：不注册业务监听器
+        Node edge = new Node(config(GatewayMode.EDGE, EDGE_PORT), false);
+        standalone.start();
+        logic.start();
+        edge.start();
+
+        EventLoopGroup clientGroup = new MultiThreadIoEventLoopGroup(1, NioIoHandler.newFactory());
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%n%-22s %12s %10s %10s %12s %12s%n",
+                "mode", "msgs/s", "p50(ms)", "p99(ms)", "client conns", "logic conns"));
+        for (int i = 0; i < 2; i++) {
+            // 第一轮是预热
+            boolean warmup = i == 0;
+            Result direct = run(clientGroup, standalone, STANDALONE_PORT, connections, messagesPerConnection, inFlight);
+            Result gateway = run(clientGroup, edge, EDGE_PORT, connections, messagesPerConnection, inFlight);
+            if (!warmup) {
+                report.append(row("standalone", direct, connections, connections));
+                report.append(row("edge -> logic", gateway, connections, LINKS));
+            }
+        }
+        log.info("Gateway echo, {} connections x {} messages, {} in flight per connection, {} links edge -> logic:{}",
+                connections, messagesPerConnection, inFlight, LINKS, report);
+
+        clientGroup.shutdownGracefully(0, 1, TimeUnit.SECONDS).sync();
+        edge.stop();
+        logic.stop();
+        standalone.stop();
+    }
+
+    private static String row(String mode, Result r, int clientConnections, int logicConnections) {
+        return String.format("%-22s %12.0f %10.2f %10.2f %12d %12d%n", mode, r.messagesPerSecond,
+                r.p50Nanos / 1e6, r.p99Nanos / 1e6, clientConnections, logicConnections);
+    }
+
+    private static AtomicIOProperties config(GatewayMode mode, int port) {
+        AtomicIOProperties config = new AtomicIOProperties();
+        config.setPort(port);
+        config.setBossThreads(1);
+        config.setWorkerThreads(1);
+        // 所有客户端都来自回环地址，关闭 IP 准入控制
+        config.getIpSecurity().setMaxConnect(0);
+        config.getIpSecurity().setRateLimitCount(0);
+        config.getGateway().setMode(mode);
+        config.getGateway().setLinkPort(LINK_PORT);
+        config.getGateway().setLinksPerNode(LINKS);
+        config.getGateway().setLogicNodes(List.of("127.0.0.1:" + LINK_PORT));
+        config.getGateway().setLinkToken("benchmark-link-token");
+        return config;
+    }
+
+    private static Result run(EventLoopGroup group, Node node, int port, int connections, int messages, int inFlight)
+            throws Exception {
+        node.connected.drainPermits();
+        List<Client> clients = new ArrayList<>(connections);
+        for (int i = 0; i < connections; i++) {
+            clients.add(new Client(group, port, messages, inFlight));
+        }
+        // 等 onConnect 标记完认证状态后再发送业务消息
+        node.connected.tryAcquire(connections, 30, TimeUnit.SECONDS);
+
+        long start = System.nanoTime();
+        for (Client client : clients) {
+            client.start();
+        }
+        for (Client client : clients) {
+            client.done.await(120, TimeUnit.SECONDS);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        long[] samples = new long[connections * messages];
+        int n = 0;
+        for (Client client : clients) {
+            System.arraycopy(client.rtt, 0, samples, n, client.received.get());
+            n += client.received.get();
+            client.channel.close().sync();
+        }
+        Result result = new Result();
+        result.messagesPerSecond = n / (elapsed / 1e9);
+        result.p50Nanos = BenchmarkSupport.percentile(samples, n, 50);
+        result.p99Nanos = BenchmarkSupport.percentile(samples, n, 99);
+        return result;
+    }
+
+    /**
+     * 一个完整的引擎节点
+     */
+    private static class Node {
+
+        final Semaphore connected = new Semaphore(0);
+        final DefaultAtomicIOEngine engine;
+        final TransportManager transport;
+        GatewayEdgeConnector gatewayConnector;
+        IdleSweeper idleSweeper;
+
+        Node(AtomicIOProperties config, boolean echo) {
+            engine = DefaultAtomicIOEngine.standalone(config, new TextServerCodecProvider());
+            engine.setCommandExecutionPolicy(ECHO_COMMAND, CommandExecutionPolicy.INLINE);
+            engine.onConnect(session -> {
+                // 跳过登录流程，直接标记为已认证 (逻辑节点上的会话由边缘网关带来 userId)
+                if (session.getUserId() == null) {
+                    session.setAttribute(AtomicIOSessionAttributes.USER_ID, "bench-" + session.getId());
+                    connected.release();
+                }
+            });
+            if (echo) {
+                engine.onMessage((session, message) -> session.send(message));
+            }
+            AtomicIOCommandDispatcher dispatcher = new AtomicIOCommandDispatcher(engine, new TextPayloadParser(), null);
+            PipelineExceptionHandler exceptionHandler = new PipelineExceptionHandler(new DefaultExceptionHandler(engine));
+            switch (config.getGateway().getMode()) {
+                case LOGIC -> transport = new GatewayLogicServer(engine);
+                case EDGE -> {
+                    gatewayConnector = new GatewayEdgeConnector(engine);
+                    idleSweeper = new IdleSweeper(config.getSession());
+                    transport = new NettyTransportManager(engine, dispatcher, exceptionHandler, idleSweeper, gatewayConnector);
+                }
+                default -> transport = new NettyTransportManager(engine, dispatcher, exceptionHandler);
+            }
+        }
+
+        void start() throws Exception {
+            engine.getDisruptorManager().start(engine);
+            if (gatewayConnector != null) {
+                gatewayConnector.start().get();
+            }
+            transport.start().get();
+        }
+
+        void stop() {
+            transport.stop();
+            if (gatewayConnector != null) {
+                gatewayConnector.stop();
+            }
+            if (idleSweeper != null) {
+                idleSweeper.stop();
+            }
+            engine.getDisruptorManager().shutdown();
+        }
+    }
+
+    /**
+     * 保持固定在途消息数的客户端连接，回复是按顺序到达的
+     */
+    private static class Client extends ChannelInboundHandlerAdapter {
+
+        final Channel channel;
+        final CountDownLatch done = new CountDownLatch(1);
+        final AtomicInteger received = new AtomicInteger();
+        final long[] sentAt;
+        final long[] rtt;
+        private final int messages;
+        private final int inFlight;
+        private final byte[] request = ("0:" + ECHO_COMMAND + "::" + "x".repeat(64) + "\n").getBytes(StandardCharsets.UTF_8);
+        private int sent;
+
+        Client(EventLoopGroup group, int port, int messages, int inFlight) throws Exception {
+            this.messages = messages;
+            this.inFlight = inFlight;
+            this.sentAt = new long[messages];
+            this.rtt = new long[messages];
+            Client handler = this;
+            this.channel = new Bootstrap().group(group).channel(NioSocketChannel.class)
+                    .option(ChannelOption.TCP_NODELAY, true)
+                    .handler(new ChannelInitializer<>() {
+                        @Override
+                        protected void initChannel(Channel ch) {
+                            ch.pipeline().addLast(new LineBasedFrameDecoder(65536));
+                            ch.pipeline().addLast(handler);
+                        }
+                    })
+                    .connect("127.0.0.1", port).sync().channel();
+        }
+
+        void start() {
+            channel.eventLoop().execute(() -> {
+                for (int i = 0; i < inFlight && sent < messages; i++) {
+                    send();
+                }
+                channel.flush();
+            });
+        }
+
+        private void send() {
+            sentAt[sent++] = System.nanoTime();
+            channel.write(Unpooled.wrappedBuffer(request));
+        }
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+            ReferenceCountUtil.release(msg);
+            int index = received.get();
+            rtt[index] = System.nanoTime() - sentAt[index];
+            received.set(index + 1);
+            if (sent < messages) {
+                send();
+            }
+            if (index + 1 == messages) {
+                done.countDown();
+            }
+        }
+
+        @Override
+        public void channelReadComplete(ChannelHandlerContext ctx) {
+            ctx.flush();
+        }
+    }
+
+    private static class Result {
+        double messagesPerSecond;
+        long p50Nanos;
+        long p99Nanos;
+    }
+}
@@ -0,0 +1,168 @@
+package io.github.vevoly.atomicio.example.simple.benchmark;
+
+import io.github.vevoly.atomicio.common.api.config.AtomicIOProperties;
+import io.github.vevoly.atomicio.core.handler.IdleTrackingHandler;
+import io.github.vevoly.atomicio.core.manager.IdleSweeper;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.*;
+import io.netty.channel.local.LocalAddress;
+import io.netty.channel.local.LocalChannel;
+import io.netty.channel.local.LocalIoHandler;
+import io.netty.channel.local.LocalServerChannel;
+import io.netty.handler.timeout.IdleStateEvent;
+import io.netty.handler.timeout.IdleStateHandler;
+import io.netty.util.ReferenceCountUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 空闲检测开销对比：每连接 IdleStateHandler vs 共享时间轮 IdleSweeper
+ * 用进程内的 Local Channel 建立大量连接 (不受端口和文件句柄限制)，服务端 Pipeline 只有空闲检测和一个计数处理器。
+ * 大部分连接周期性发送 1 字节保持活跃，其余连接一直空闲；统计每个连接的堆占用、服务端 EventLoop 线程每秒的 CPU 时间、
+ * 进程每秒的 CPU 时间，以及每秒触发的空闲事件数 (用来确认两种方式检测结果一致)。
+ * 直接运行 main 方法即可，参数：[连接数] [读空闲秒数] [测量秒数]
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+@Slf4j
+public class IdleDetectionBenchmark {
+
+    // 每 10 个连接中有 1 个一直空闲
+    private static final int IDLE_EVERY = 10;
+
+    public static void main(String[] args) throws Exception {
+        int connections = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int readIdleSeconds = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 6;
+
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%n%-18s %14s %18s %18s %14s%n",
+                "mode", "heap(B)/conn", "server loop ms/s", "process ms/s", "idle events/s"));
+        for (boolean sweeper : new boolean[]{false, true}) {
+            Result r = run(sweeper, connections, readIdleSeconds, seconds);
+            report.append(String.format("%-18s %14.0f %18.1f %18.1f %14.0f%n",
+                    sweeper ? "IdleSweeper" : "IdleStateHandler", r.heapPerConnection,
+                    r.serverLoopCpuNanos / 1e6 / seconds, r.processCpuNanos / 1e6 / seconds, r.idleEvents / (double) seconds));
+        }
+        log.info("Idle detection, {} connections ({} kept idle), readIdle {}s, measured {}s:{}",
+                connections, connections / IDLE_EVERY, readIdleSeconds, seconds, report);
+    }
+
+    private static Result run(boolean useSweeper, int connections, int readIdleSeconds, int seconds) throws Exception {
+        AtomicIOProperties.Session session = new AtomicIOProperties.Session();
+        session.setReadIdleSeconds(readIdleSeconds);
+        // 空闲时间很短时刻度取它的 1/10，否则一个刻度的误差会明显拉长重复触发的间隔
+        session.setIdleCheckIntervalMillis(Math.min(session.getIdleCheckIntervalMillis(), readIdleSeconds * 100L));
+        IdleSweeper sweeper = new IdleSweeper(session);
+        EventLoopGroup serverGroup = new MultiThreadIoEventLoopGroup(1, LocalIoHandler.newFactory());
+        EventLoopGroup clientGroup = new MultiThreadIoEventLoopGroup(1, LocalIoHandler.newFactory());
+        AtomicLong idleEvents = new AtomicLong();
+        CountDownLatch accepted = new CountDownLatch(connections);
+        LocalAddress address = new LocalAddress("idle-bench-" + useSweeper);
+
+        Channel server = new ServerBootstrap().group(serverGroup).channel(LocalServerChannel.class)
+                .childHandler(new ChannelInitializer<>() {
+                    @Override
+                    protected void initChannel(Channel ch) {
+                        ch.pipeline().addLast(useSweeper ? new IdleTrackingHandler(sweeper)
+                                : new IdleStateHandler(readIdleSeconds, 0, 0, TimeUnit.SECONDS));
+                        ch.pipeline().addLast(new ChannelInboundHandlerAdapter() {
+                            @Override
+                            public void channelActive(ChannelHandlerContext ctx) {
+                                accepted.countDown();
+                            }
+
+                            @Override
+                            public void channelRead(ChannelHandlerContext ctx, Object msg) {
+                                ReferenceCountUtil.release(msg);
+                            }
+
+                            @Override
+                            public void userEventTriggered(ChannelHandlerContext ctx, Object evt) {
+                                if (evt instanceof IdleStateEvent) {
+                                    idleEvents.incrementAndGet();
+                                }
+                            }
+                        });
+                    }
+                })
+                .bind(address).sync().channel();
+
+        long heapBefore = usedHeap();
+        Bootstrap client = new Bootstrap().group(clientGroup).channel(LocalChannel.class)
+                .handler(new Discard());
+        List<Channel> active = new ArrayList<>(connections);
+        for (int i = 0; i < connections; i++) {
+            Channel ch = client.connect(address).sync().channel();
+            if (i % IDLE_EVERY != 0) {
+                active.add(ch);
+            }
+        }
+        accepted.await(60, TimeUnit.SECONDS);
+        double heapPerConnection = (usedHeap() - heapBefore) / (double) connections;
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long serverThreadId = serverGroup.next().submit(() -> Thread.currentThread().getId()).get();
+        idleEvents.set(0);
+        long loopCpuStart = threads.getThreadCpuTime(serverThreadId);
+        long processCpuStart = BenchmarkSupport.processCpuNanos();
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        // 活跃连接每半个空闲周期发送一次，保证不会触发空闲
+        long period = TimeUnit.SECONDS.toNanos(readIdleSeconds) / 2;
+        while (System.nanoTime() < end) {
+            long next = System.nanoTime() + period;
+            for (Channel ch : active) {
+                ch.writeAndFlush(Unpooled.wrappedBuffer(new byte[]{1}));
+            }
+            long sleep = next - System.nanoTime();
+            if (sleep > 0) {
+                TimeUnit.NANOSECONDS.sleep(sleep);
+            }
+        }
+        Result result = new Result();
+        result.heapPerConnection = heapPerConnection;
+        result.serverLoopCpuNanos = threads.getThreadCpuTime(serverThreadId) - loopCpuStart;
+        result.processCpuNanos = BenchmarkSupport.processCpuNanos() - processCpuStart;
+        result.idleEvents = idleEvents.get();
+
+        server.close().sync();
+        clientGroup.shutdownGracefully(0, 1, TimeUnit.SECONDS).sync();
+        serverGroup.shutdownGracefully(0, 1, TimeUnit.SECONDS).sync();
+        sweeper.stop();
+        return result;
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    @ChannelHandler.Sharable
+    private static class Discard extends ChannelInboundHandlerAdapter {
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+            ReferenceCountUtil.release(msg);
+        }
+    }
+
+    private static class Result {
+        double heapPerConnection;
+        long serverLoopCpuNanos;
+        long processCpuNanos;
+        long idleEvents;
+    }
+}
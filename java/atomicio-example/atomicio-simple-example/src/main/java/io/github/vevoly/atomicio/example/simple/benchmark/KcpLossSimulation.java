@@ -0,0 +1,256 @@
+package io.github.vevoly.atomicio.example.simple.benchmark;
+
+import io.github.vevoly.atomicio.common.api.config.AtomicIOProperties;
+import io.github.vevoly.atomicio.common.api.config.CommandExecutionPolicy;
+import io.github.vevoly.atomicio.core.engine.DefaultAtomicIOEngine;
+import io.github.vevoly.atomicio.core.handler.AtomicIOCommandDispatcher;
+import io.github.vevoly.atomicio.core.handler.DefaultExceptionHandler;
+import io.github.vevoly.atomicio.core.handler.PipelineExceptionHandler;
+import io.github.vevoly.atomicio.core.kcp.Kcp;
+import io.github.vevoly.atomicio.core.manager.KcpTransportManager;
+import io.github.vevoly.atomicio.protocol.api.constants.AtomicIOSessionAttributes;
+import io.github.vevoly.atomicio.server.codec.text.TextPayloadParser;
+import io.github.vevoly.atomicio.server.codec.text.TextServerCodecProvider;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.*;
+import io.netty.channel.nio.NioIoHandler;
+import io.netty.channel.socket.DatagramPacket;
+import io.netty.channel.socket.nio.NioDatagramChannel;
+import io.netty.util.concurrent.ScheduledFuture;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * KCP 丢包模拟
+ * 在本机回环上启动真实的 KcpTransportManager (文本协议)，客户端与服务端之间插入一个按比例随机丢弃 UDP 报文的中继，
+ * 客户端保持固定数量的在途消息连续发送，服务端 INLINE 执行监听器原样回显。
+ * 统计每种丢包率下送达的消息数、是否保持顺序、往返延迟以及两端的超时重传次数。
+ * 直接运行 main 方法即可，参数：[每轮消息数] [消息内容大小(字节)]
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+@Slf4j
+public class KcpLossSimulation {
+
+    private static final int SERVER_PORT = 18320;
+    private static final int RELAY_PORT = 18321;
+    private static final int ECHO_COMMAND = 1000;
+    private static final int IN_FLIGHT = 16;
+    private static final int[] LOSS_PERCENTS = {0, 5, 10, 20};
+
+    public static void main(String[] args) throws Exception {
+        int messages = args.length > 0 ? Integer.parseInt(args[0]) : 2_000;
+        int contentSize = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+
+        AtomicIOProperties config = new AtomicIOProperties();
+        config.setWorkerThreads(1);
+        config.getKcp().setEnabled(true);
+        config.getKcp().setPort(SERVER_PORT);
+
+        DefaultAtomicIOEngine engine = DefaultAtomicIOEngine.standalone(config, new TextServerCodecProvider());
+        engine.setCommandExecutionPolicy(ECHO_COMMAND, CommandExecutionPolicy.INLINE);
+        Semaphore connected = new Semaphore(0);
+        engine.onConnect(session -> {
+            // 跳过登录流程，直接标记为已认证
+            session.setAttribute(AtomicIOSessionAttributes.USER_ID, "kcp-" + session.getId());
+            connected.release();
+        });
+        engine.onMessage((session, message) -> session.send(message));
+        engine.getDisruptorManager().start(engine);
+        KcpTransportManager transport = new KcpTransportManager(engine,
+                new AtomicIOCommandDispatcher(engine, new TextPayloadParser(), null),
+                new PipelineExceptionHandler(new DefaultExceptionHandler(engine)));
+        transport.start().get();
+
+        EventLoopGroup group = new MultiThreadIoEventLoopGroup(1, NioIoHandler.newFactory());
+        LossyRelay relay = new LossyRelay(new InetSocketAddress("127.0.0.1", SERVER_PORT));
+        Channel relayChannel = new Bootstrap().group(group).channel(NioDatagramChannel.class)
+                .handler(relay).bind("127.0.0.1", RELAY_PORT).sync().channel();
+
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%n%-8s %12s %8s %10s %10s %10s %14s%n",
+                "loss", "delivered", "ordered", "p50(ms)", "p99(ms)", "max(ms)", "client rexmit"));
+        int conv = 1;
+        // 预热一轮，不计入结果
+        run(group, config.getKcp(), conv++, connected, messages, contentSize);
+        for (int loss : LOSS_PERCENTS) {
+            relay.lossPercent = loss;
+            Result r = run(group, config.getKcp(), conv++, connected, messages, contentSize);
+            report.append(String.format("%-8s %12s %8s %10.2f %10.2f %10.2f %14d%n", loss + "%",
+                    r.delivered + "/" + messages, r.ordered ? "yes" : "NO",
+                    r.p50Nanos / 1e6, r.p99Nanos / 1e6, r.maxNanos / 1e6, r.retransmits));
+        }
+        log.info("KCP echo over lossy loopback, {} messages per run, payload {} bytes, {} in flight, mode {}:{}",
+                messages, contentSize, IN_FLIGHT, config.getKcp().getMode(), report);
+
+        relayChannel.close().sync();
+        group.shutdownGracefully(0, 1, TimeUnit.SECONDS).sync();
+        transport.stop();
+        engine.getDisruptorManager().shutdown();
+    }
+
+    private static Result run(EventLoopGroup group, AtomicIOProperties.Kcp settings, int conv, Semaphore connected,
+                              int messages, int contentSize) throws Exception {
+        KcpClient client = new KcpClient(messages);
+        Channel channel = new Bootstrap().group(group).channel(NioDatagramChannel.class)
+                .handler(client).bind("127.0.0.1", 0).sync().channel();
+        client.start(channel, settings, conv, new InetSocketAddress("127.0.0.1", RELAY_PORT));
+        // 先发一个空行建立连接 (文本解码器会忽略空行)，等 onConnect 标记完认证状态后再发送业务消息
+        channel.eventLoop().execute(() -> client.send(new byte[]{'\n'}));
+        connected.tryAcquire(10, TimeUnit.SECONDS);
+
+        String padding = "x".repeat(Math.max(0, contentSize - 9));
+        Semaphore window = client.window;
+        for (int seq = 0; seq < messages; seq++) {
+            window.acquire();
+            byte[] request = ("0:" + ECHO_COMMAND + "::#" + String.format("%08d", seq) + padding + "\n")
+                    .getBytes(StandardCharsets.UTF_8);
+            client.sentAt[seq] = System.nanoTime();
+            channel.eventLoop().execute(() -> client.send(request));
+        }
+        boolean finished = client.done.await(60, TimeUnit.SECONDS);
+        channel.eventLoop().submit(client::stop).sync();
+        channel.close().sync();
+
+        Result result = new Result();
+        result.delivered = client.received;
+        result.ordered = finished && client.ordered;
+        result.retransmits = client.retransmits;
+        int n = Math.max(1, client.received);
+        result.p50Nanos = BenchmarkSupport.percentile(client.rtt, n, 50);
+        result.p99Nanos = BenchmarkSupport.percentile(client.rtt, n, 99);
+        result.maxNanos = BenchmarkSupport.percentile(client.rtt, n, 100);
+        return result;
+    }
+
+    /**
+     * UDP 中继：记住第一个非服务端的对端作为客户端，双向转发时按比例随机丢包
+     */
+    private static class LossyRelay extends SimpleChannelInboundHandler<DatagramPacket> {
+
+        private final InetSocketAddress server;
+        private InetSocketAddress client;
+        volatile int lossPercent;
+
+        LossyRelay(InetSocketAddress server) {
+            this.server = server;
+        }
+
+        @Override
+        protected void channelRead0(ChannelHandlerContext ctx, DatagramPacket packet) {
+            InetSocketAddress target;
+            if (packet.sender().equals(server)) {
+                target = client;
+            } else {
+                // 每一轮使用新的客户端端口
+                client = packet.sender();
+                target = server;
+            }
+            if (target == null || ThreadLocalRandom.current().nextInt(100) < lossPercent) {
+                return;
+            }
+            ctx.writeAndFlush(new DatagramPacket(packet.content().retain(), target));
+        }
+    }
+
+    /**
+     * 基于 Kcp 的客户端，所有 Kcp 操作都在 UDP Channel 的 EventLoop 中执行
+     */
+    private static class KcpClient extends SimpleChannelInboundHandler<DatagramPacket> {
+
+        final Semaphore window = new Semaphore(IN_FLIGHT);
+        final CountDownLatch done = new CountDownLatch(1);
+        final long[] sentAt;
+        final long[] rtt;
+        private final int messages;
+        private final StringBuilder pending = new StringBuilder();
+        private Kcp kcp;
+        private ScheduledFuture<?> ticker;
+        volatile int received;
+        volatile boolean ordered = true;
+        volatile long retransmits;
+
+        KcpClient(int messages) {
+            this.messages = messages;
+            this.sentAt = new long[messages];
+            this.rtt = new long[messages];
+        }
+
+        void start(Channel channel, AtomicIOProperties.Kcp settings, int conv, InetSocketAddress relay) throws Exception {
+            channel.eventLoop().submit(() -> {
+                kcp = new Kcp(conv, packet -> channel.writeAndFlush(new DatagramPacket(packet, relay)),
+                        ByteBufAllocator.DEFAULT);
+                kcp.nodelay(settings.resolveNodelay(), settings.resolveInterval(),
+                        settings.resolveFastResend(), settings.resolveNoCongestionWindow());
+                kcp.wndSize(settings.getSendWindow(), settings.getReceiveWindow());
+                kcp.setMtu(settings.getMtu());
+                long interval = settings.resolveInterval();
+                ticker = channel.eventLoop().scheduleAtFixedRate(
+                        () -> kcp.update(System.currentTimeMillis()), interval, interval, TimeUnit.MILLISECONDS);
+            }).sync();
+        }
+
+        void send(byte[] request) {
+            ByteBuf buf = Unpooled.wrappedBuffer(request);
+            kcp.send(buf);
+            buf.release();
+            kcp.flush(System.currentTimeMillis());
+        }
+
+        void stop() {
+            ticker.cancel(false);
+            retransmits = kcp.getRetransmits();
+            kcp.release();
+        }
+
+        @Override
+        protected void channelRead0(ChannelHandlerContext ctx, DatagramPacket packet) {
+            if (kcp.input(packet.content()) < 0) {
+                return;
+            }
+            ByteBuf message;
+            while ((message = kcp.recv()) != null) {
+                pending.append(message.toString(StandardCharsets.UTF_8));
+                message.release();
+            }
+            // ACK 立即回复，不等下一个时钟周期
+            kcp.flush(System.currentTimeMillis());
+            int newline;
+            while ((newline = pending.indexOf("\n")) >= 0) {
+                String line = pending.substring(0, newline);
+                pending.delete(0, newline + 1);
+                int mark = line.indexOf('#');
+                int seq = Integer.parseInt(line.substring(mark + 1, mark + 9));
+                int index = received;
+                if (seq != index) {
+                    ordered = false;
+                }
+                rtt[index] = System.nanoTime() - sentAt[seq];
+                received = index + 1;
+                window.release();
+                if (received == messages) {
+                    done.countDown();
+                }
+            }
+        }
+    }
+
+    private static class Result {
+        int delivered;
+        boolean ordered;
+        long retransmits;
+        long p50Nanos;
+        long p99Nanos;
+        long maxNanos;
+    }
+}
@@ -0,0 +1,111 @@
+package io.github.vevoly.atomicio.example.simple.benchmark;
+
+import io.github.vevoly.atomicio.common.api.config.AtomicIOProperties;
+import io.github.vevoly.atomicio.common.api.config.DisruptorOverflowPolicy;
+import io.github.vevoly.atomicio.core.engine.DefaultAtomicIOEngine;
+import io.github.vevoly.atomicio.core.session.NettySession;
+import io.github.vevoly.atomicio.server.api.cluster.AtomicIOClusterMessage;
+import io.github.vevoly.atomicio.server.api.cluster.AtomicIOClusterMessageType;
+import io.github.vevoly.atomicio.server.api.constants.DisruptorEventSource;
+import io.github.vevoly.atomicio.server.api.manager.DisruptorEntryTranslators;
+import io.github.vevoly.atomicio.server.api.manager.DisruptorManager;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.DefaultChannelId;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.ReferenceCountUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 优先级通道基准测试
+ * 一个线程持续向本地所有会话发起集群广播 (广播风暴)，同时以固定速率发布客户端消息 (模拟登录请求)，
+ * 对比开启 / 关闭优先级通道时客户端消息的 发布 -> 监听器 延迟。
+ * 直接运行 main 方法即可，参数：[本地会话数] [广播条数] [客户端消息数]
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+@Slf4j
+public class PriorityLaneBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int sessions = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int broadcasts = args.length > 1 ? Integer.parseInt(args[1]) : 2_000;
+        int clientMessages = args.length > 2 ? Integer.parseInt(args[2]) : 500;
+
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%n%-10s %10s %10s %10s%n", "lanes", "p50(ms)", "p99(ms)", "max(ms)"));
+        for (boolean lanesEnabled : new boolean[]{false, true}) {
+            long[] latencies = run(lanesEnabled, sessions, broadcasts, clientMessages);
+            report.append(String.format("%-10s %10.2f %10.2f %10.2f%n", lanesEnabled ? "enabled" : "disabled",
+                    BenchmarkSupport.percentile(latencies, latencies.length, 50) / 1e6,
+                    BenchmarkSupport.percentile(latencies, latencies.length, 99) / 1e6,
+                    BenchmarkSupport.percentile(latencies, latencies.length, 100) / 1e6));
+        }
+        log.info("Client message latency during a broadcast storm, {} sessions, {} broadcasts:{}",
+                sessions, broadcasts, report);
+    }
+
+    private static long[] run(boolean lanesEnabled, int sessionCount, int broadcasts, int clientMessages) throws Exception {
+        AtomicIOProperties config = new AtomicIOProperties();
+        config.getDisruptor().setShards(1);
+        config.getDisruptor().setLanesEnabled(lanesEnabled);
+        // 风暴期间不丢集群消息，让它真正占满消费者
+        config.getDisruptor().setClusterOverflowPolicy(DisruptorOverflowPolicy.BLOCK);
+        DefaultAtomicIOEngine engine = DefaultAtomicIOEngine.standalone(config, null);
+        DisruptorManager disruptorManager = engine.getDisruptorManager();
+
+        for (int i = 0; i < sessionCount; i++) {
+            // 丢弃所有写出的数据，只保留广播遍历和写路径的开销
+            EmbeddedChannel channel = new EmbeddedChannel(DefaultChannelId.newInstance(), new DiscardOutboundHandler());
+            engine.getSessionManager().addLocalSession(new NettySession(channel, engine));
+        }
+
+        long[] latencies = new long[clientMessages];
+        CountDownLatch done = new CountDownLatch(clientMessages);
+        int[] received = new int[1];
+        engine.onMessage((session, message) -> {
+            latencies[received[0]++] = System.nanoTime() - message.getSequenceId();
+            done.countDown();
+        });
+        disruptorManager.start(engine);
+
+        AtomicIOClusterMessage broadcast = new AtomicIOClusterMessage();
+        broadcast.setMessageType(AtomicIOClusterMessageType.BROADCAST);
+        broadcast.setPayload(new byte[64]);
+        AtomicBoolean stormRunning = new AtomicBoolean(true);
+        Thread storm = new Thread(() -> {
+            for (int i = 0; i < broadcasts && stormRunning.get(); i++) {
+                disruptorManager.tryPublishEvent(DisruptorEventSource.CLUSTER, null, DisruptorEntryTranslators.CLUSTER, broadcast);
+            }
+        }, "broadcast-storm");
+        storm.start();
+        // 让风暴先积压起来
+        Thread.sleep(200);
+
+        for (int i = 0; i < clientMessages; i++) {
+            disruptorManager.tryPublishEvent(DisruptorEventSource.CLIENT_MESSAGE, null, DisruptorEntryTranslators.MESSAGE,
+                    null, new BenchmarkSupport.TimestampMessage(1, System.nanoTime()));
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        done.await();
+        stormRunning.set(false);
+        storm.join();
+        disruptorManager.shutdown();
+        return latencies;
+    }
+
+    private static class DiscardOutboundHandler extends ChannelOutboundHandlerAdapter {
+        @Override
+        public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+            ReferenceCountUtil.release(msg);
+            promise.setSuccess();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package io.github.vevoly.atomicio.example.simple.benchmark;
+
+import io.github.vevoly.atomicio.common.api.config.AtomicIOProperties;
+import io.github.vevoly.atomicio.core.engine.DefaultAtomicIOEngine;
+import io.github.vevoly.atomicio.core.handler.AtomicIOCommandDispatcher;
+import io.github.vevoly.atomicio.core.handler.DefaultExceptionHandler;
+import io.github.vevoly.atomicio.core.handler.PipelineExceptionHandler;
+import io.github.vevoly.atomicio.core.manager.NettyTransportManager;
+import io.github.vevoly.atomicio.server.codec.text.TextPayloadParser;
+import io.github.vevoly.atomicio.server.codec.text.TextServerCodecProvider;
+import io.github.vevoly.atomicio.server.extension.push.PushBatch;
+import io.github.vevoly.atomicio.server.extension.push.PushIngressClient;
+import io.github.vevoly.atomicio.server.extension.push.PushIngressServer;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.*;
+import io.netty.channel.nio.NioIoHandler;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.codec.LineBasedFrameDecoder;
+import io.netty.util.ReferenceCountUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 推送入口验证：每条推送一次往返 vs 批量流水线
+ * 在本机启动一个文本协议引擎和推送入口，建立多个客户端连接并绑定用户，
+ * 然后由后端客户端通过推送入口发送推送，每条记录推给一个用户，统计客户端实际收到的推送速率：
+ * 批次大小为 1 且等待 ACK 相当于逐条 RPC 推送，之后逐步增加批次大小和在途批次数。
+ * 直接运行 main 方法即可，参数：[客户端连接数] [每轮推送总数]
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+@Slf4j
+public class PushIngressBenchmark {
+
+    private static final int PORT = 18350;
+    private static final int INGRESS_PORT = 18351;
+    private static final int BUSINESS_TYPE = 1;
+
+    public static void main(String[] args) throws Exception {
+        int connections = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int pushes = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+
+        AtomicIOProperties config = new AtomicIOProperties();
+        config.setPort(PORT);
+        config.setBossThreads(1);
+        config.setWorkerThreads(1);
+        // 所有客户端都来自回环地址，关闭 IP 准入控制
+        config.getIpSecurity().setMaxConnect(0);
+        config.getIpSecurity().setRateLimitCount(0);
+        config.getPushIngress().setEnabled(true);
+        config.getPushIngress().setPort(INGRESS_PORT);
+
+        DefaultAtomicIOEngine engine = DefaultAtomicIOEngine.standalone(config, new TextServerCodecProvider());
+        Semaphore connected = new Semaphore(0);
+        AtomicInteger userIndex = new AtomicInteger();
+        engine.onConnect(session -> {
+            // 跳过登录流程，直接绑定用户
+            engine.getSessionManager().bindLocalSession(session.getId(), "user-" + userIndex.getAndIncrement(), null);
+            connected.release();
+        });
+        engine.getDisruptorManager().start(engine);
+        NettyTransportManager transport = new NettyTransportManager(engine,
+                new AtomicIOCommandDispatcher(engine, new TextPayloadParser(), null),
+                new PipelineExceptionHandler(new DefaultExceptionHandler(engine)));
+        transport.start().get();
+        PushIngressServer ingress = new PushIngressServer(engine, null);
+        ingress.start().get();
+
+        AtomicLong delivered = new AtomicLong();
+        EventLoopGroup clientGroup = new MultiThreadIoEventLoopGroup(1, NioIoHandler.newFactory());
+        List<Channel> clients = new ArrayList<>(connections);
+        for (int i = 0; i < connections; i++) {
+            clients.add(connect(clientGroup, delivered));
+        }
+        connected.tryAcquire(connections, 30, TimeUnit.SECONDS);
+        int users = userIndex.get();
+
+        byte[] payload = "x".repeat(64).getBytes(StandardCharsets.UTF_8);
+        int[][] scenarios = {{1, 1}, {1, 64}, {100, 8}, {1000, 4}, {5000, 2}};
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%n%-8s %10s %14s %14s %12s%n", "batch", "in flight", "pushes/s", "round trips", "elapsed(ms)"));
+        try (PushIngressClient client = PushIngressClient.connect("127.0.0.1", INGRESS_PORT, null)) {
+            for (int round = 0; round < 2; round++) {
+                // 第一轮是预热
+                boolean warmup = round == 0;
+                for (int[] scenario : scenarios) {
+                    int batchSize = scenario[0];
+                    int inFlight = scenario[1];
+                    long elapsed = run(client, delivered, users, pushes, batchSize, inFlight, payload);
+                    if (!warmup) {
+                        report.append(String.format("%-8d %10d %14.0f %14d %12.1f%n", batchSize, inFlight,
+                                pushes / (elapsed / 1e9), (pushes + batchSize - 1) / batchSize, elapsed / 1e6));
+                    }
+                }
+            }
+        }
+        log.info("Push ingress, {} connected users, {} pushes per run, one user per record:{}", users, pushes, report);
+
+        for (Channel channel : clients) {
+            channel.close().sync();
+        }
+        clientGroup.shutdownGracefully(0, 1, TimeUnit.SECONDS).sync();
+        ingress.stop();
+        transport.stop();
+        engine.getDisruptorManager().shutdown();
+    }
+
+    private static long run(PushIngressClient client, AtomicLong delivered, int users, int pushes, int batchSize,
+                            int inFlight, byte[] payload) throws Exception {
+        Semaphore window = new Semaphore(inFlight);
+        PushBatch batch = new PushBatch();
+        long target = delivered.get() + pushes;
+        long start = System.nanoTime();
+        int next = 0;
+        while (next < pushes) {
+            window.acquire();
+            batch.clear();
+            for (int i = 0; i < batchSize && next < pushes; i++, next++) {
+                batch.toUser("user-" + (next % users), BUSINESS_TYPE, payload);
+            }
+            client.send(batch).whenComplete((ack, e) -> window.release());
+        }
+        while (delivered.get() < target) {
+            if (System.nanoTime() - start > TimeUnit.SECONDS.toNanos(120)) {
+                log.warn("Timed out, {} of {} pushes delivered.", delivered.get() - target + pushes, pushes);
+                break;
+            }
+            Thread.onSpinWait();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static Channel connect(EventLoopGroup group, AtomicLong delivered) throws InterruptedException {
+        return new Bootstrap().group(group).channel(NioSocketChannel.class)
+                .handler(new ChannelInitializer<>() {
+                    @Override
+                    protected void initChannel(Channel ch) {
+                        ch.pipeline().addLast(new LineBasedFrameDecoder(65536));
+                        ch.pipeline().addLast(new ChannelInboundHandlerAdapter() {
+                            @Override
+                            public void channelRead(ChannelHandlerContext ctx, Object msg) {
+                                ReferenceCountUtil.release(msg);
+                                delivered.incrementAndGet();
+                            }
+                        });
+                    }
+                })
+                .connect("127.0.0.1", PORT).sync().channel();
+    }
+}
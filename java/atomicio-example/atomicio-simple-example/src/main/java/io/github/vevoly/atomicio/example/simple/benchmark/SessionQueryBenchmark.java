@@ -0,0 +1,125 @@
+package io.github.vevoly.atomicio.example.simple.benchmark;
+
+import io.github.vevoly.atomicio.common.api.config.AtomicIOProperties;
+import io.github.vevoly.atomicio.core.engine.DefaultAtomicIOEngine;
+import io.github.vevoly.atomicio.core.session.NettySession;
+import io.github.vevoly.atomicio.server.api.manager.SessionManager;
+import io.github.vevoly.atomicio.server.api.session.AtomicIOSession;
+import io.netty.channel.DefaultEventLoopGroup;
+import io.netty.channel.EventLoop;
+import io.netty.channel.local.LocalChannel;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * 会话条件查询基准测试
+ * 在 N 个 EventLoop 上注册大量会话 (未连接的 LocalChannel，只测扫描和调度)，四分之一标记为 android，
+ * 给所有 android 会话打标签，对比两种做法：
+ * 在一个 EventLoop 任务里串行遍历 (业务代码在监听器里直接遍历的写法)，和 queryLocalSessions 的并行扫描 + 按 EventLoop 分批执行。
+ * 期间探测线程每毫秒向每个 EventLoop 提交一个空任务，统计任务从提交到执行的最大延迟，即 EventLoop 最长被卡住的时间。
+ * 直接运行 main 方法即可，参数：[会话数] [EventLoop 数]
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+@Slf4j
+public class SessionQueryBenchmark {
+
+    private static final String PLATFORM = "platform";
+    private static final String CAMPAIGN = "campaign";
+    private static final int ROUNDS = 6;
+
+    public static void main(String[] args) throws Exception {
+        int sessionCount = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int eventLoops = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+
+        DefaultEventLoopGroup group = new DefaultEventLoopGroup(eventLoops);
+        DefaultAtomicIOEngine engine = DefaultAtomicIOEngine.standalone(new AtomicIOProperties(), null);
+        SessionManager sessionManager = engine.getSessionManager();
+        for (int i = 0; i < sessionCount; i++) {
+            LocalChannel channel = new LocalChannel();
+            group.register(channel).syncUninterruptibly();
+            NettySession session = NettySession.attach(channel, engine);
+            session.setAttribute(PLATFORM, i % 4 == 0 ? "android" : "ios");
+            sessionManager.addLocalSession(session);
+        }
+        Predicate<AtomicIOSession> android = session -> "android".equals(session.getAttribute(PLATFORM));
+        List<AtomicIOSession> all = sessionManager.queryLocalSessions(session -> true).list().get();
+
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%n%-8s %-10s %10s %12s %16s%n", "round", "mode", "matched", "total(ms)", "max stall(ms)"));
+        for (int round = 0; round < ROUNDS; round++) {
+            String tag = "c" + round;
+            Probe probe = new Probe(group);
+            long start = System.nanoTime();
+            CountDownLatch done = new CountDownLatch(1);
+            int[] matched = new int[1];
+            group.next().execute(() -> {
+                for (AtomicIOSession session : all) {
+                    if (android.test(session)) {
+                        session.setAttribute(CAMPAIGN, tag);
+                        matched[0]++;
+                    }
+                }
+                done.countDown();
+            });
+            done.await();
+            long serial = System.nanoTime() - start;
+            long serialStall = probe.stop();
+
+            probe = new Probe(group);
+            start = System.nanoTime();
+            int queried = sessionManager.queryLocalSessions(android).setAttribute(CAMPAIGN, tag).get();
+            long query = System.nanoTime() - start;
+            long queryStall = probe.stop();
+            // 前一半轮次是预热
+            if (round >= ROUNDS / 2) {
+                report.append(String.format("%-8d %-10s %10d %12.1f %16.1f%n", round, "serial", matched[0], serial / 1e6, serialStall / 1e6));
+                report.append(String.format("%-8d %-10s %10d %12.1f %16.1f%n", round, "query", queried, query / 1e6, queryStall / 1e6));
+            }
+        }
+        log.info("Tag android sessions, {} sessions on {} event loops:{}", sessionCount, eventLoops, report);
+        group.shutdownGracefully(0, 1, TimeUnit.SECONDS).syncUninterruptibly();
+    }
+
+    /**
+     * 每毫秒向每个 EventLoop 提交一个空任务，记录最大排队延迟
+     */
+    private static final class Probe {
+
+        private final AtomicLong maxStall = new AtomicLong();
+        private final Thread thread;
+        private volatile boolean running = true;
+
+        Probe(DefaultEventLoopGroup group) {
+            thread = new Thread(() -> {
+                while (running) {
+                    group.forEach(executor -> {
+                        long submitted = System.nanoTime();
+                        ((EventLoop) executor).execute(() -> maxStall.accumulateAndGet(System.nanoTime() - submitted, Math::max));
+                    });
+                    try {
+                        Thread.sleep(1);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            }, "stall-probe");
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        long stop() throws InterruptedException {
+            // 等最后一批探测任务执行完
+            Thread.sleep(20);
+            running = false;
+            thread.join();
+            return maxStall.get();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package io.github.vevoly.atomicio.example.simple.benchmark;
+
+import io.github.vevoly.atomicio.common.api.config.AtomicIOProperties;
+import io.github.vevoly.atomicio.common.api.config.ListenerExecutionMode;
+import io.github.vevoly.atomicio.core.engine.DefaultAtomicIOEngine;
+import io.github.vevoly.atomicio.core.session.NettySession;
+import io.github.vevoly.atomicio.server.api.constants.DisruptorEventSource;
+import io.github.vevoly.atomicio.server.api.manager.DisruptorEntryTranslators;
+import io.github.vevoly.atomicio.server.api.manager.DisruptorManager;
+import io.github.vevoly.atomicio.server.api.session.AtomicIOSession;
+import io.netty.channel.embedded.EmbeddedChannel;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * 虚拟线程监听器基准测试
+ * 监听器每条消息阻塞指定毫秒数 (模拟 JDBC / HTTP 调用)，对比 DISRUPTOR 与 VIRTUAL_THREAD 两种执行方式的吞吐，
+ * 并校验每个会话内的消息顺序。
+ * 直接运行 main 方法即可，参数：[会话数] [每个会话的消息数] [监听器阻塞毫秒数]
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+@Slf4j
+public class VirtualThreadListenerBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int sessions = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        int messagesPerSession = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int blockMillis = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%n%-16s %12s %14s %18s%n", "mode", "elapsed(ms)", "msg/s", "order violations"));
+        for (ListenerExecutionMode mode : ListenerExecutionMode.values()) {
+            Result r = run(mode, sessions, messagesPerSession, blockMillis);
+            report.append(String.format("%-16s %12d %14.0f %18d%n",
+                    mode, r.elapsedMillis, r.messages * 1000.0 / Math.max(1, r.elapsedMillis), r.orderViolations));
+        }
+        log.info("Blocking listener benchmark, {} sessions x {} messages, listener blocks {} ms:{}",
+                sessions, messagesPerSession, blockMillis, report);
+    }
+
+    private static Result run(ListenerExecutionMode mode, int sessionCount, int messagesPerSession, int blockMillis)
+            throws Exception {
+        AtomicIOProperties config = new AtomicIOProperties();
+        config.getDisruptor().setShards(1);
+        config.getDisruptor().setListenerExecution(mode);
+        DefaultAtomicIOEngine engine = DefaultAtomicIOEngine.standalone(config, null);
+        DisruptorManager disruptorManager = engine.getDisruptorManager();
+
+        AtomicIOSession[] sessions = new AtomicIOSession[sessionCount];
+        Map<AtomicIOSession, Integer> indexes = new IdentityHashMap<>();
+        for (int i = 0; i < sessionCount; i++) {
+            sessions[i] = new NettySession(new EmbeddedChannel(), engine);
+            indexes.put(sessions[i], i);
+        }
+
+        int total = sessionCount * messagesPerSession;
+        AtomicIntegerArray lastSeen = new AtomicIntegerArray(sessionCount);
+        AtomicInteger violations = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(total);
+        engine.onMessage((session, message) -> {
+            try {
+                Thread.sleep(blockMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            // commandId 携带会话内序号，从 1 开始
+            int index = indexes.get(session);
+            if (lastSeen.getAndSet(index, message.getCommandId()) != message.getCommandId() - 1) {
+                violations.incrementAndGet();
+            }
+            done.countDown();
+        });
+        disruptorManager.start(engine);
+
+        long start = System.nanoTime();
+        for (int seq = 1; seq <= messagesPerSession; seq++) {
+            for (AtomicIOSession session : sessions) {
+                disruptorManager.tryPublishEvent(DisruptorEventSource.CLIENT_MESSAGE, session,
+                        DisruptorEntryTranslators.MESSAGE, session, new BenchmarkSupport.TimestampMessage(seq, 0));
+            }
+        }
+        done.await();
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        disruptorManager.shutdown();
+
+        Result result = new Result();
+        result.messages = total;
+        result.elapsedMillis = elapsed;
+        result.orderViolations = violations.get();
+        return result;
+    }
+
+    private static class Result {
+        int messages;
+        long elapsedMillis;
+        int orderViolations;
+    }
+}
@@ -0,0 +1,257 @@
+package io.github.vevoly.atomicio.example.simple.benchmark;
+
+import io.github.vevoly.atomicio.common.api.config.AtomicIOProperties;
+import io.github.vevoly.atomicio.common.api.config.CommandExecutionPolicy;
+import io.github.vevoly.atomicio.core.engine.DefaultAtomicIOEngine;
+import io.github.vevoly.atomicio.core.handler.AtomicIOCommandDispatcher;
+import io.github.vevoly.atomicio.core.handler.DefaultExceptionHandler;
+import io.github.vevoly.atomicio.core.handler.PipelineExceptionHandler;
+import io.github.vevoly.atomicio.core.manager.NettyTransportManager;
+import io.github.vevoly.atomicio.protocol.api.constants.AtomicIOSessionAttributes;
+import io.github.vevoly.atomicio.server.codec.text.TextPayloadParser;
+import io.github.vevoly.atomicio.server.codec.text.TextServerCodecProvider;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufHolder;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.*;
+import io.netty.channel.nio.NioIoHandler;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.codec.LineBasedFrameDecoder;
+import io.netty.handler.codec.http.EmptyHttpHeaders;
+import io.netty.handler.codec.http.HttpClientCodec;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.websocketx.BinaryWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.WebSocketClientHandshakerFactory;
+import io.netty.handler.codec.http.websocketx.WebSocketClientProtocolHandler;
+import io.netty.handler.codec.http.websocketx.WebSocketFrame;
+import io.netty.handler.codec.http.websocketx.WebSocketVersion;
+import io.netty.util.ReferenceCountUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * WebSocket 与 TCP 单条消息开销对比
+ * 在本机回环上启动真实的 NettyTransportManager (文本协议)，TCP 与 WebSocket 两个监听共用同一套会话、限流和调度。
+ * 客户端以 ping-pong 方式逐条发送，服务端 INLINE 执行监听器原样回显，统计往返延迟、进程 CPU (客户端与服务端之和)
+ * 以及每条消息在线路上的字节数。
+ * 直接运行 main 方法即可，参数：[往返次数] [消息内容大小(字节)]
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+@Slf4j
+public class WebSocketTransportBenchmark {
+
+    private static final int TCP_PORT = 18310;
+    private static final int WEBSOCKET_PORT = 18311;
+    private static final int ECHO_COMMAND = 1000;
+    private static final int WARMUP_ROUNDS = 20_000;
+
+    public static void main(String[] args) throws Exception {
+        int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+        int contentSize = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+
+        AtomicIOProperties config = new AtomicIOProperties();
+        config.setPort(TCP_PORT);
+        config.setBossThreads(1);
+        config.setWorkerThreads(1);
+        config.getWebSocket().setEnabled(true);
+        config.getWebSocket().setPort(WEBSOCKET_PORT);
+
+        DefaultAtomicIOEngine engine = DefaultAtomicIOEngine.standalone(config, new TextServerCodecProvider());
+        engine.setCommandExecutionPolicy(ECHO_COMMAND, CommandExecutionPolicy.INLINE);
+        CountDownLatch connected = new CountDownLatch(2);
+        engine.onConnect(session -> {
+            // 跳过登录流程，直接标记为已认证
+            session.setAttribute(AtomicIOSessionAttributes.USER_ID, "bench-" + session.getId());
+            connected.countDown();
+        });
+        engine.onMessage((session, message) -> session.send(message));
+        engine.getDisruptorManager().start(engine);
+        NettyTransportManager transport = new NettyTransportManager(engine,
+                new AtomicIOCommandDispatcher(engine, new TextPayloadParser(), null),
+                new PipelineExceptionHandler(new DefaultExceptionHandler(engine)));
+        transport.start().get();
+
+        EventLoopGroup clientGroup = new MultiThreadIoEventLoopGroup(1, NioIoHandler.newFactory());
+        Client tcp = Client.tcp(clientGroup);
+        Client webSocket = Client.webSocket(clientGroup);
+        connected.await(10, TimeUnit.SECONDS);
+
+        byte[] request = ("0:" + ECHO_COMMAND + "::" + "x".repeat(contentSize) + "\n").getBytes(StandardCharsets.UTF_8);
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%n%-10s %10s %10s %14s %14s %14s%n",
+                "transport", "p50(us)", "p99(us)", "CPU(us)/rtt", "wire up(B)", "wire down(B)"));
+        for (Client client : new Client[]{tcp, webSocket}) {
+            Result r = run(client, request, rounds);
+            report.append(String.format("%-10s %10.1f %10.1f %14.2f %14.1f %14.1f%n", client.name,
+                    r.p50Nanos / 1000.0, r.p99Nanos / 1000.0, r.cpuNanosPerRound / 1000.0,
+                    r.bytesUpPerRound, r.bytesDownPerRound));
+        }
+        log.info("TCP vs WebSocket echo, {} round trips, payload {} bytes ({} bytes per request):{}",
+                rounds, contentSize, request.length, report);
+
+        tcp.channel.close().sync();
+        webSocket.channel.close().sync();
+        clientGroup.shutdownGracefully(0, 1, TimeUnit.SECONDS).sync();
+        transport.stop();
+        engine.getDisruptorManager().shutdown();
+    }
+
+    private static Result run(Client client, byte[] request, int rounds) throws Exception {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            client.roundTrip(request);
+        }
+        long[] samples = new long[rounds];
+        client.bytesUp.set(0);
+        client.bytesDown.set(0);
+        long cpuStart = BenchmarkSupport.processCpuNanos();
+        for (int i = 0; i < rounds; i++) {
+            long start = System.nanoTime();
+            client.roundTrip(request);
+            samples[i] = System.nanoTime() - start;
+        }
+        long cpu = BenchmarkSupport.processCpuNanos() - cpuStart;
+
+        Result result = new Result();
+        result.p50Nanos = BenchmarkSupport.percentile(samples, rounds, 50);
+        result.p99Nanos = BenchmarkSupport.percentile(samples, rounds, 99);
+        result.cpuNanosPerRound = cpu / (double) rounds;
+        result.bytesUpPerRound = client.bytesUp.get() / (double) rounds;
+        result.bytesDownPerRound = client.bytesDown.get() / (double) rounds;
+        return result;
+    }
+
+    /**
+     * 同步的 ping-pong 客户端
+     */
+    private static class Client {
+
+        final String name;
+        final SynchronousQueue<Object> replies = new SynchronousQueue<>();
+        final AtomicLong bytesUp = new AtomicLong();
+        final AtomicLong bytesDown = new AtomicLong();
+        final boolean webSocket;
+        Channel channel;
+
+        Client(String name, boolean webSocket) {
+            this.name = name;
+            this.webSocket = webSocket;
+        }
+
+        static Client tcp(EventLoopGroup group) throws Exception {
+            Client client = new Client("TCP", false);
+            client.channel = new Bootstrap().group(group).channel(NioSocketChannel.class)
+                    .option(ChannelOption.TCP_NODELAY, true)
+                    .handler(new ChannelInitializer<>() {
+                        @Override
+                        protected void initChannel(Channel ch) {
+                            ch.pipeline().addLast(new WireCounter(client));
+                            ch.pipeline().addLast(new LineBasedFrameDecoder(65536));
+                            ch.pipeline().addLast(new ReplyHandler(client));
+                        }
+                    })
+                    .connect("127.0.0.1", TCP_PORT).sync().channel();
+            return client;
+        }
+
+        static Client webSocket(EventLoopGroup group) throws Exception {
+            Client client = new Client("WebSocket", true);
+            CountDownLatch handshake = new CountDownLatch(1);
+            URI uri = URI.create("ws://127.0.0.1:" + WEBSOCKET_PORT + "/ws");
+            client.channel = new Bootstrap().group(group).channel(NioSocketChannel.class)
+                    .option(ChannelOption.TCP_NODELAY, true)
+                    .handler(new ChannelInitializer<>() {
+                        @Override
+                        protected void initChannel(Channel ch) {
+                            ch.pipeline().addLast(new WireCounter(client));
+                            ch.pipeline().addLast(new HttpClientCodec());
+                            ch.pipeline().addLast(new HttpObjectAggregator(8192));
+                            ch.pipeline().addLast(new WebSocketClientProtocolHandler(
+                                    WebSocketClientHandshakerFactory.newHandshaker(
+                                            uri, WebSocketVersion.V13, null, false, EmptyHttpHeaders.INSTANCE)));
+                            ch.pipeline().addLast(new ReplyHandler(client) {
+                                @Override
+                                public void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exception {
+                                    if (evt == WebSocketClientProtocolHandler.ClientHandshakeStateEvent.HANDSHAKE_COMPLETE) {
+                                        handshake.countDown();
+                                    }
+                                    super.userEventTriggered(ctx, evt);
+                                }
+                            });
+                        }
+                    })
+                    .connect("127.0.0.1", WEBSOCKET_PORT).sync().channel();
+            handshake.await(10, TimeUnit.SECONDS);
+            return client;
+        }
+
+        void roundTrip(byte[] request) throws InterruptedException {
+            ByteBuf buf = Unpooled.wrappedBuffer(request);
+            channel.writeAndFlush(webSocket ? new BinaryWebSocketFrame(buf) : buf);
+            replies.take();
+        }
+    }
+
+    /**
+     * 统计客户端 Socket 上实际读写的字节数 (包含 WebSocket 帧头和掩码)
+     */
+    private static class WireCounter extends ChannelDuplexHandler {
+
+        private final Client client;
+
+        WireCounter(Client client) {
+            this.client = client;
+        }
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+            client.bytesDown.addAndGet(((ByteBuf) msg).readableBytes());
+            ctx.fireChannelRead(msg);
+        }
+
+        @Override
+        public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+            if (msg instanceof ByteBuf buf) {
+                client.bytesUp.addAndGet(buf.readableBytes());
+            } else if (msg instanceof ByteBufHolder holder) {
+                client.bytesUp.addAndGet(holder.content().readableBytes());
+            }
+            ctx.write(msg, promise);
+        }
+    }
+
+    private static class ReplyHandler extends ChannelInboundHandlerAdapter {
+
+        private final Client client;
+
+        ReplyHandler(Client client) {
+            this.client = client;
+        }
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+            if (msg instanceof WebSocketFrame || msg instanceof ByteBuf) {
+                ReferenceCountUtil.release(msg);
+                client.replies.put(Boolean.TRUE);
+            } else {
+                ReferenceCountUtil.release(msg);
+            }
+        }
+    }
+
+    private static class Result {
+        long p50Nanos;
+        long p99Nanos;
+        double cpuNanosPerRound;
+        double bytesUpPerRound;
+        double bytesDownPerRound;
+    }
+}
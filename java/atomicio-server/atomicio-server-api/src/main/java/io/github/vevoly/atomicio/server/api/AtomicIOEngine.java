@@ -1,6 +1,7 @@
 package io.github.vevoly.atomicio.server.api;
 
 import io.github.vevoly.atomicio.common.api.config.AtomicIOProperties;
+import io.github.vevoly.atomicio.common.api.config.CommandExecutionPolicy;
 import io.github.vevoly.atomicio.protocol.api.message.AtomicIOMessage;
 import io.github.vevoly.atomicio.server.api.cluster.AtomicIOClusterProvider;
 import io.github.vevoly.atomicio.server.api.codec.AtomicIOServerCodecProvider;
@@ -9,12 +10,14 @@ import io.github.vevoly.atomicio.server.api.manager.*;
 import io.github.vevoly.atomicio.server.api.session.AtomicIOBindRequest;
 import io.github.vevoly.atomicio.server.api.session.AtomicIOSession;
 import io.github.vevoly.atomicio.server.api.state.AtomicIOStateProvider;
+import io.netty.buffer.ByteBufAllocator;
 import org.springframework.lang.Nullable;
 
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * AtomicIO 引擎的顶层接口。
@@ -45,6 +48,20 @@ public interface AtomicIOEngine {
      */
     AtomicIOServerCodecProvider getCodecProvider();
 
+    /**
+     * 获取引擎内所有监听 (TCP / WebSocket / UDS / KCP / 网关链路 / 推送入口) 共用的 ByteBuf 分配器
+     * 每个监听各建一个池化分配器会让 arena 和线程缓存成倍增加
+     */
+    ByteBufAllocator getByteBufAllocator();
+
+    /**
+     * 获取绑核时 CPU 列表的分配游标
+     * 从同一个 CPU 列表分配 CPU 的线程组 (Worker、KCP、网关链路、推送入口) 共用一个游标，依次占用列表中不同的 CPU，
+     * 而不是各自从列表的第一个 CPU 开始
+     * @param cpuList CPU 列表，如 "2-5"
+     */
+    AtomicInteger getCpuCursor(String cpuList);
+
     /**
      * 获取集群提供器
      */
@@ -116,6 +133,22 @@ public interface AtomicIOEngine {
      */
     void onMessage(MessageEventListener listener);
 
+    /**
+     * 注册批量 MESSAGE 事件的监听器。
+     * 每个 Disruptor 批次结束时回调一次
+     * @param listener 批量消息事件监听器
+     */
+    void onMessageBatch(BatchMessageEventListener listener);
+
+    /**
+     * 设置业务指令的执行策略
+     * INLINE 在 Netty IO 线程上直接执行监听器，DEDICATED 进入专用 Disruptor 通道，默认 DISRUPTOR
+     * DEDICATED 需要在引擎启动前设置
+     * @param commandId 指令 ID
+     * @param policy    执行策略
+     */
+    void setCommandExecutionPolicy(int commandId, CommandExecutionPolicy policy);
+
     /**
      * 注册 ERROR 事件的监听器。
      * @param listener 异常事件监听器
@@ -135,6 +168,13 @@ public interface AtomicIOEngine {
      */
     void onSessionReplaced(SessionReplacedListener listener);
 
+    /**
+     * 注册 Channel 可写性改变事件的监听器
+     * 会话因待发送数据超过写缓冲高水位变为不可写、以及重新变为可写时触发，可通过 session.isWritable() 获取当前状态
+     * @param listener
+     */
+    void onWritabilityChanged(WritabilityChangedListener listener);
+
     /**
      * 将一个已认证的用户ID与一个Session进行双向绑定。
      * 这个方法应该由认证成功后的业务逻辑来调用。
@@ -44,4 +44,9 @@ public enum AtomicIOEventType {
      * 当用户会话被替换时触发（单点登录）。
      */
     SESSION_REPLACED,
+
+    /**
+     * 当连接的可写性改变时触发（出站背压）。
+     */
+    WRITABILITY_CHANGED,
 }
@@ -0,0 +1,55 @@
+package io.github.vevoly.atomicio.server.api.constants;
+
+/**
+ * Disruptor 事件来源
+ * 每个来源可以单独配置队列满时的溢出策略，并决定事件进入哪个优先级通道
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+public enum DisruptorEventSource {
+
+    /**
+     * 连接生命周期事件：CONNECT / DISCONNECT / ERROR / IDLE
+     */
+    SESSION_LIFECYCLE,
+
+    /**
+     * 客户端上行消息
+     */
+    CLIENT_MESSAGE,
+
+    /**
+     * 集群消息 (来自其他节点的投递)
+     */
+    CLUSTER,
+
+    /**
+     * 控制指令 (踢人)
+     */
+    CONTROL,
+
+    /**
+     * 执行策略为 DEDICATED 的客户端上行消息，溢出策略与 CLIENT_MESSAGE 相同
+     */
+    DEDICATED_MESSAGE,
+
+    /**
+     * 使用过专用通道的会话在专用通道上的 DISCONNECT 屏障，溢出策略与 SESSION_LIFECYCLE 相同
+     */
+    DEDICATED_LIFECYCLE,
+
+    ;
+
+    /**
+     * 事件来源对应的优先级通道
+     */
+    public DisruptorLane lane() {
+        return switch (this) {
+            case CONTROL -> DisruptorLane.CONTROL;
+            case CLUSTER -> DisruptorLane.CLUSTER;
+            case DEDICATED_MESSAGE, DEDICATED_LIFECYCLE -> DisruptorLane.DEDICATED;
+            case SESSION_LIFECYCLE, CLIENT_MESSAGE -> DisruptorLane.CLIENT;
+        };
+    }
+}
@@ -0,0 +1,33 @@
+package io.github.vevoly.atomicio.server.api.constants;
+
+/**
+ * Disruptor 优先级通道
+ * 每个通道拥有独立的 RingBuffer 和消费者线程，互不阻塞
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+public enum DisruptorLane {
+
+    /**
+     * 控制指令：踢人等，量小但要求及时
+     */
+    CONTROL,
+
+    /**
+     * 集群投递：来自其他节点的单发、群发、广播
+     */
+    CLUSTER,
+
+    /**
+     * 客户端 IO：连接生命周期和上行消息，同一会话的事件始终在这个通道内保持顺序
+     */
+    CLIENT,
+
+    /**
+     * 专用通道：执行策略为 DEDICATED 的业务指令
+     */
+    DEDICATED,
+
+    ;
+}
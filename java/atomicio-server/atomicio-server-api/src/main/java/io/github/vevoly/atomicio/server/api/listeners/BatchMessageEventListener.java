@@ -0,0 +1,21 @@
+package io.github.vevoly.atomicio.server.api.listeners;
+
+/**
+ * 批量消息事件监听器
+ * 在一个 Disruptor 批次 (消费者一次取出的所有事件) 处理结束时被调用，参数中是这一批的全部 MESSAGE 事件。
+ * 适合把逐条写库、逐条调用下游改为每批一次。
+ * 与 MessageEventListener 互不影响，可以同时注册。
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+@FunctionalInterface
+public interface BatchMessageEventListener {
+
+    /**
+     * 当一个批次的消息处理完成时被调用。
+     * 同一个会话的消息在批次中保持收到的顺序。
+     * @param batch 本批次的消息，只在本次调用内有效，不要持有它的引用
+     */
+    void onMessages(MessageBatch batch);
+}
@@ -0,0 +1,92 @@
+package io.github.vevoly.atomicio.server.api.listeners;
+
+import io.github.vevoly.atomicio.protocol.api.message.AtomicIOMessage;
+import io.github.vevoly.atomicio.server.api.session.AtomicIOSession;
+
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+/**
+ * 一个 Disruptor 批次中的消息
+ * 由每个消费者线程持有并复用，批次提交后即被清空。
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+public final class MessageBatch {
+
+    private AtomicIOSession[] sessions;
+    private AtomicIOMessage[] messages;
+    private int size;
+
+    public MessageBatch(int initialCapacity) {
+        int capacity = Math.max(16, initialCapacity);
+        this.sessions = new AtomicIOSession[capacity];
+        this.messages = new AtomicIOMessage[capacity];
+    }
+
+    /**
+     * 消息数量
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 第 index 条消息的来源会话
+     */
+    public AtomicIOSession getSession(int index) {
+        checkIndex(index);
+        return sessions[index];
+    }
+
+    /**
+     * 第 index 条消息
+     */
+    public AtomicIOMessage getMessage(int index) {
+        checkIndex(index);
+        return messages[index];
+    }
+
+    /**
+     * 按顺序遍历本批次的消息
+     */
+    public void forEach(BiConsumer<AtomicIOSession, AtomicIOMessage> action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(sessions[i], messages[i]);
+        }
+    }
+
+    /**
+     * 追加一条消息，由框架调用
+     */
+    public void add(AtomicIOSession session, AtomicIOMessage message) {
+        if (size == messages.length) {
+            int capacity = size << 1;
+            sessions = Arrays.copyOf(sessions, capacity);
+            messages = Arrays.copyOf(messages, capacity);
+        }
+        sessions[size] = session;
+        messages[size] = message;
+        size++;
+    }
+
+    /**
+     * 清空批次，释放引用，由框架调用
+     */
+    public void clear() {
+        Arrays.fill(sessions, 0, size, null);
+        Arrays.fill(messages, 0, size, null);
+        size = 0;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for batch size " + size);
+        }
+    }
+}
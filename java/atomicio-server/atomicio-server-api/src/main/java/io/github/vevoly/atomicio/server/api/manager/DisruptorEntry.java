@@ -7,6 +7,8 @@ import io.github.vevoly.atomicio.server.api.constants.IdleState;
 import io.github.vevoly.atomicio.protocol.api.message.AtomicIOMessage;
 import lombok.Data;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * 在 Disruptor 队列中传递的事件对象。
  * 它封装了处理一个事件所需的所有上下文信息。一个 Entry 就是 Disruptor 队列中的一个蹲坑。
@@ -22,6 +24,15 @@ public class DisruptorEntry {
     private Throwable cause;
     private AtomicIOClusterMessage clusterMessage;
     private IdleState idleState;
+    /**
+     * 发布时间 (System.nanoTime)，用于统计排队时间，未开启指标时为 0
+     */
+    private long publishNanos;
+    /**
+     * 跨通道的 DISCONNECT 屏障：同一个 DISCONNECT 发布到客户端通道和专用通道，
+     * 最后一个处理到它的消费者才触发监听器，保证两个通道里该会话之前的消息都已处理；普通事件为 null
+     */
+    private AtomicInteger laneBarrier;
 
     /**
      * 用于在处理完事件后清理对象，以便 Disruptor 复用。
@@ -33,5 +44,7 @@ public class DisruptorEntry {
         this.cause = null;
         this.clusterMessage = null;
         this.idleState = null;
+        this.publishNanos = 0;
+        this.laneBarrier = null;
     }
 }
@@ -0,0 +1,21 @@
+package io.github.vevoly.atomicio.server.api.manager;
+
+/**
+ * 单参数 Entry 翻译器
+ * 参考 Disruptor 的 EventTranslatorOneArg：翻译器本身无状态，参数在发布时传入，
+ * 因此可以声明为静态常量复用，发布路径上不需要为每个事件创建捕获参数的 lambda。
+ *
+ * @param <A> 参数类型
+ * @since 0.6.12
+ * @author vevoly
+ */
+@FunctionalInterface
+public interface DisruptorEntryTranslator<A> {
+
+    /**
+     * 把参数写入 RingBuffer 中的空 Entry
+     * @param entry 待填充的 Entry
+     * @param arg   参数
+     */
+    void translateTo(DisruptorEntry entry, A arg);
+}
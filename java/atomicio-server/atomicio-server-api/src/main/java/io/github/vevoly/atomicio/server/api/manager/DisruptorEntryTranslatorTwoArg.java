@@ -0,0 +1,22 @@
+package io.github.vevoly.atomicio.server.api.manager;
+
+/**
+ * 双参数 Entry 翻译器
+ * 参考 Disruptor 的 EventTranslatorTwoArg，用法同 DisruptorEntryTranslator
+ *
+ * @param <A> 第一个参数类型
+ * @param <B> 第二个参数类型
+ * @since 0.6.12
+ * @author vevoly
+ */
+@FunctionalInterface
+public interface DisruptorEntryTranslatorTwoArg<A, B> {
+
+    /**
+     * 把参数写入 RingBuffer 中的空 Entry
+     * @param entry 待填充的 Entry
+     * @param arg0  第一个参数
+     * @param arg1  第二个参数
+     */
+    void translateTo(DisruptorEntry entry, A arg0, B arg1);
+}
@@ -0,0 +1,92 @@
+package io.github.vevoly.atomicio.server.api.manager;
+
+import io.github.vevoly.atomicio.protocol.api.message.AtomicIOMessage;
+import io.github.vevoly.atomicio.server.api.cluster.AtomicIOClusterMessage;
+import io.github.vevoly.atomicio.server.api.constants.AtomicIOEventType;
+import io.github.vevoly.atomicio.server.api.constants.IdleState;
+import io.github.vevoly.atomicio.server.api.session.AtomicIOSession;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * 框架内置的 Entry 翻译器常量
+ * 全部是无捕获的静态实例，从 Socket 读到写入 RingBuffer 的整条路径不产生额外对象。
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+public final class DisruptorEntryTranslators {
+
+    private DisruptorEntryTranslators() {}
+
+    /**
+     * 连接建立
+     */
+    public static final DisruptorEntryTranslator<AtomicIOSession> CONNECT = (entry, session) -> {
+        entry.setType(AtomicIOEventType.CONNECT);
+        entry.setSession(session);
+    };
+
+    /**
+     * 连接断开
+     */
+    public static final DisruptorEntryTranslator<AtomicIOSession> DISCONNECT = (entry, session) -> {
+        entry.setType(AtomicIOEventType.DISCONNECT);
+        entry.setSession(session);
+    };
+
+    /**
+     * 带跨通道屏障的连接断开，同一个屏障发布到每个需要等待的通道
+     */
+    public static final DisruptorEntryTranslatorTwoArg<AtomicIOSession, AtomicInteger> DISCONNECT_BARRIER = (entry, session, barrier) -> {
+        entry.setType(AtomicIOEventType.DISCONNECT);
+        entry.setSession(session);
+        entry.setLaneBarrier(barrier);
+    };
+
+    /**
+     * 客户端消息
+     */
+    public static final DisruptorEntryTranslatorTwoArg<AtomicIOSession, AtomicIOMessage> MESSAGE = (entry, session, message) -> {
+        entry.setType(AtomicIOEventType.MESSAGE);
+        entry.setSession(session);
+        entry.setMessage(message);
+    };
+
+    /**
+     * 连接异常
+     */
+    public static final DisruptorEntryTranslatorTwoArg<AtomicIOSession, Throwable> ERROR = (entry, session, cause) -> {
+        entry.setType(AtomicIOEventType.ERROR);
+        entry.setSession(session);
+        entry.setCause(cause);
+    };
+
+    /**
+     * 连接空闲
+     */
+    public static final DisruptorEntryTranslatorTwoArg<AtomicIOSession, IdleState> IDLE = (entry, session, idleState) -> {
+        entry.setType(AtomicIOEventType.IDLE);
+        entry.setSession(session);
+        entry.setIdleState(idleState);
+    };
+
+    /**
+     * 连接可写性改变
+     */
+    public static final DisruptorEntryTranslator<AtomicIOSession> WRITABILITY_CHANGED = (entry, session) -> {
+        entry.setType(AtomicIOEventType.WRITABILITY_CHANGED);
+        entry.setSession(session);
+    };
+
+    /**
+     * 集群消息
+     */
+    public static final DisruptorEntryTranslator<AtomicIOClusterMessage> CLUSTER = DisruptorEntry::setClusterMessage;
+
+    /**
+     * 兼容 Consumer 形式的发布：把回调本身当作参数
+     */
+    public static final DisruptorEntryTranslator<Consumer<DisruptorEntry>> CONSUMER = (entry, preparer) -> preparer.accept(entry);
+}
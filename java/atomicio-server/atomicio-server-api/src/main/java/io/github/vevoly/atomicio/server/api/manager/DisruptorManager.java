@@ -1,6 +1,11 @@
 package io.github.vevoly.atomicio.server.api.manager;
 
+import io.github.vevoly.atomicio.common.api.config.CommandExecutionPolicy;
+import io.github.vevoly.atomicio.common.api.config.DisruptorOverflowPolicy;
 import io.github.vevoly.atomicio.server.api.AtomicIOEngine;
+import io.github.vevoly.atomicio.server.api.constants.DisruptorEventSource;
+import io.github.vevoly.atomicio.server.api.constants.DisruptorLane;
+import io.github.vevoly.atomicio.server.api.metrics.DisruptorMetricsSnapshot;
 
 import java.util.function.Consumer;
 
@@ -25,20 +30,176 @@ public interface DisruptorManager {
 
     /**
      * 发布一个事件到 Disruptor 队列中
+     * 没有路由键，事件可能被投递到客户端 IO 通道的任意分片
      * @param entryPreparer
+     * @deprecated 使用 {@link #tryPublish(DisruptorEventSource, Object, Consumer)} 并指明事件来源
      */
-    void publish(Consumer<DisruptorEntry> entryPreparer);
+    @Deprecated
+    default void publish(Consumer<DisruptorEntry> entryPreparer) {
+        publish(null, entryPreparer);
+    }
 
     /**
-     * 获取缓冲区大小
+     * 按路由键发布一个事件到客户端 IO 通道中
+     * 相同路由键的事件总是进入同一个分片，由同一个消费者线程按发布顺序处理。
+     * 按 SESSION_LIFECYCLE 来源发布，和其他发布路径一样经过通道选择和该来源的溢出策略 (默认 BLOCK，即队列满时阻塞)
+     *
+     * @param routingKey    路由键，通常是 Session 或 userId；为 null 时不保证分片
+     * @param entryPreparer 负责填充 Entry 的回调
+     * @deprecated 使用 {@link #tryPublish(DisruptorEventSource, Object, Consumer)} 并指明事件来源
+     */
+    @Deprecated
+    default void publish(Object routingKey, Consumer<DisruptorEntry> entryPreparer) {
+        tryPublish(DisruptorEventSource.SESSION_LIFECYCLE, routingKey, entryPreparer);
+    }
+
+    /**
+     * 按事件来源的溢出策略发布事件
+     * 队列满时根据该来源配置的 DisruptorOverflowPolicy 阻塞、丢弃或自旋后丢弃，调用线程不会被无限期卡住 (BLOCK 除外)
+     *
+     * @param source        事件来源，决定使用哪个溢出策略和优先级通道
+     * @param routingKey    路由键，通常是 Session 或 userId；为 null 时不保证分片
+     * @param entryPreparer 负责填充 Entry 的回调
+     * @return 是否发布成功；返回 false 时事件已被丢弃，调用者负责释放资源或回复客户端
+     */
+    default boolean tryPublish(DisruptorEventSource source, Object routingKey, Consumer<DisruptorEntry> entryPreparer) {
+        return tryPublishEvent(source, routingKey, DisruptorEntryTranslators.CONSUMER, entryPreparer);
+    }
+
+    /**
+     * 使用单参数翻译器发布事件
+     * 翻译器应当是静态常量 (见 DisruptorEntryTranslators)，这样发布路径不会产生任何对象分配。
+     * 溢出处理与 tryPublish 相同。
+     *
+     * @param source     事件来源
+     * @param routingKey 路由键
+     * @param translator 翻译器
+     * @param arg        参数
+     * @return 是否发布成功
+     */
+    <A> boolean tryPublishEvent(DisruptorEventSource source, Object routingKey,
+                                DisruptorEntryTranslator<A> translator, A arg);
+
+    /**
+     * 使用双参数翻译器发布事件
+     *
+     * @param source     事件来源
+     * @param routingKey 路由键
+     * @param translator 翻译器
+     * @param arg0       第一个参数
+     * @param arg1       第二个参数
+     * @return 是否发布成功
+     */
+    <A, B> boolean tryPublishEvent(DisruptorEventSource source, Object routingKey,
+                                   DisruptorEntryTranslatorTwoArg<A, B> translator, A arg0, B arg1);
+
+    /**
+     * 获取某个事件来源的溢出策略
+     * @param source
+     * @return
+     */
+    DisruptorOverflowPolicy getOverflowPolicy(DisruptorEventSource source);
+
+    /**
+     * 获取某个事件来源因队列满被丢弃的事件数
+     * @param source
+     * @return
+     */
+    long getDroppedCount(DisruptorEventSource source);
+
+    /**
+     * 获取因队列满被丢弃的事件总数
      * @return
      */
-    long getBufferSize();
+    default long getDroppedCount() {
+        long total = 0;
+        for (DisruptorEventSource source : DisruptorEventSource.values()) {
+            total += getDroppedCount(source);
+        }
+        return total;
+    }
+
+    /**
+     * 获取客户端 IO 通道的分片数量
+     * @return
+     */
+    default int getShardCount() {
+        return getShardCount(DisruptorLane.CLIENT);
+    }
+
+    /**
+     * 获取指定通道的分片数量
+     * @param lane
+     * @return
+     */
+    int getShardCount(DisruptorLane lane);
+
+    /**
+     * 获取客户端 IO 通道的缓冲区大小 (单个分片)
+     * @return
+     */
+    default long getBufferSize() {
+        return getBufferSize(DisruptorLane.CLIENT);
+    }
+
+    /**
+     * 获取指定通道的缓冲区大小 (单个分片)
+     * @param lane
+     * @return
+     */
+    long getBufferSize(DisruptorLane lane);
+
+    /**
+     * 获取客户端 IO 通道的剩余容量
+     * 多分片时返回最繁忙分片的剩余容量
+     * @return
+     */
+    default long getRemainingCapacity() {
+        return getRemainingCapacity(DisruptorLane.CLIENT);
+    }
+
+    /**
+     * 获取指定通道的剩余容量
+     * 多分片时返回最繁忙分片的剩余容量
+     * @param lane
+     * @return
+     */
+    long getRemainingCapacity(DisruptorLane lane);
+
+    /**
+     * 获取指定通道当前的积压 (已发布但还未被消费的序号数)
+     * 多分片时返回最大值
+     * @param lane
+     * @return
+     */
+    long getLag(DisruptorLane lane);
+
+    /**
+     * 获取客户端 IO 通道排队时间的指数滑动平均 (纳秒)
+     * 未开启指标时返回 0
+     * @return
+     */
+    long getQueueWaitEwmaNanos();
+
+    /**
+     * 获取指标快照：按事件类型的排队 / 处理时间分布，各通道积压与高水位
+     * @return
+     */
+    DisruptorMetricsSnapshot getMetrics();
+
+    /**
+     * 注册指令的执行策略，覆盖配置文件中的同名配置
+     * DEDICATED 策略需要在启动前注册，专用通道才会被创建
+     * @param commandId 指令 ID
+     * @param policy    执行策略
+     */
+    void setCommandPolicy(int commandId, CommandExecutionPolicy policy);
 
     /**
-     * 获取剩余容量
+     * 获取指令的执行策略，未配置时返回 DISRUPTOR
+     * @param commandId 指令 ID
      * @return
      */
-    long getRemainingCapacity();
+    CommandExecutionPolicy getCommandPolicy(int commandId);
 
 }
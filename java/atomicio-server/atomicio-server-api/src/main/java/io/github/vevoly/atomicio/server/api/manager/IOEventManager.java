@@ -23,9 +23,11 @@ public interface IOEventManager {
     void onConnect(ConnectEventListener listener);
     void onDisconnect(DisconnectEventListener listener);
     void onMessage(MessageEventListener listener);
+    void onMessageBatch(BatchMessageEventListener listener);
     void onError(ErrorEventListener listener);
     void onIdle(IdleEventListener listener);
     void onSessionReplaced(SessionReplacedListener listener);
+    void onWritabilityChanged(WritabilityChangedListener listener);
 
     // 事件分发接口
     void fireConnectionRejectEvent(Channel channel, ConnectionRejectType rejectType, Throwable cause);
@@ -33,7 +35,10 @@ public interface IOEventManager {
     void fireConnectEvent(AtomicIOSession session);
     void fireDisconnectEvent(AtomicIOSession session);
     void fireMessageEvent(AtomicIOSession session, AtomicIOMessage message);
+    void fireMessageBatchEvent(MessageBatch batch);
+    boolean hasBatchMessageListeners();
     void fireErrorEvent(AtomicIOSession session, Throwable cause);
     void fireIdleEvent(AtomicIOSession session, IdleState state);
     void fireSessionReplacedEvent(AtomicIOSession oldSession, AtomicIOSession newSession);
+    void fireWritabilityChangedEvent(AtomicIOSession session);
 }
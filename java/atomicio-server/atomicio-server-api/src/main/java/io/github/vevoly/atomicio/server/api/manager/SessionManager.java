@@ -2,9 +2,13 @@ package io.github.vevoly.atomicio.server.api.manager;
 
 import io.github.vevoly.atomicio.protocol.api.message.AtomicIOMessage;
 import io.github.vevoly.atomicio.server.api.session.AtomicIOSession;
+import io.github.vevoly.atomicio.server.api.session.SessionQuery;
 import org.springframework.lang.Nullable;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 /**
  * 会话管理器接口
@@ -50,6 +54,39 @@ public interface SessionManager {
      */
     List<AtomicIOSession> getLocalSessionsByUserId(String userId);
 
+    /**
+     * 遍历用户在本节点的所有 Session，不创建中间集合 (扇出推送等热路径用它代替 getLocalSessionsByUserId)
+     * 传入不捕获外部变量的 action 时整个调用没有对象分配
+     * @param userId 用户 ID
+     * @param action 对每个 Session 执行的操作
+     * @return 遍历到的 Session 数量，0 表示该用户不在本节点
+     */
+    default int forEachLocalSession(String userId, Consumer<? super AtomicIOSession> action) {
+        List<AtomicIOSession> sessions = getLocalSessionsByUserId(userId);
+        sessions.forEach(action);
+        return sessions.size();
+    }
+
+    /**
+     * forEachLocalSession 的批量版本
+     * @param userIds         用户 ID 列表
+     * @param action          对每个 Session 执行的操作
+     * @param notFoundLocally 不在本节点的用户 ID 追加到这里，不需要时传 null
+     * @return 遍历到的 Session 总数
+     */
+    default int forEachLocalSession(Collection<String> userIds, Consumer<? super AtomicIOSession> action,
+                                    @Nullable Collection<String> notFoundLocally) {
+        int count = 0;
+        for (String userId : userIds) {
+            int found = forEachLocalSession(userId, action);
+            if (found == 0 && notFoundLocally != null) {
+                notFoundLocally.add(userId);
+            }
+            count += found;
+        }
+        return count;
+    }
+
     /**
      * 根据会话 ID 获取 Session
      * @param sessionId 会话 ID
@@ -70,11 +107,38 @@ public interface SessionManager {
      */
     boolean sendToUserLocally(String userId, Object message);
 
+    /**
+     * 批量本地推送：向多个用户在本节点的连接发送同一条消息
+     * @param userIds         用户 ID 列表
+     * @param message         消息
+     * @param notFoundLocally 不在本节点的用户 ID 追加到这里 (集群路由用)，不需要时传 null
+     * @return 在本节点找到的用户数
+     */
+    default int sendToUsersLocally(Collection<String> userIds, Object message, @Nullable Collection<String> notFoundLocally) {
+        int found = 0;
+        for (String userId : userIds) {
+            if (sendToUserLocally(userId, message)) {
+                found++;
+            } else if (notFoundLocally != null) {
+                notFoundLocally.add(userId);
+            }
+        }
+        return found;
+    }
+
     /**
      * 全局本地广播：向当前节点的所有连接发送消息
      */
     void broadcastLocally(Object message);
 
+    /**
+     * 按条件查询本节点的会话，用于 "断开某个版本的所有连接"、"向所有 Android 会话推送" 这类定向批量操作
+     * 扫描在后台线程并行执行，批量操作在各会话自己的 EventLoop 上分批执行，调用线程不阻塞
+     * @param predicate 会话过滤条件，会在多个线程上并发调用，只应读取会话属性，不能阻塞
+     * @return 查询对象，每次调用终止操作都会重新扫描
+     */
+    SessionQuery queryLocalSessions(Predicate<? super AtomicIOSession> predicate);
+
     /**
      * 本地踢人
      * @param userId            用户 ID
@@ -0,0 +1,19 @@
+package io.github.vevoly.atomicio.server.api.metrics;
+
+import io.github.vevoly.atomicio.server.api.constants.DisruptorLane;
+
+/**
+ * Disruptor 通道状态
+ *
+ * @param lane              通道
+ * @param shards            分片数
+ * @param bufferSize        单个分片的大小
+ * @param lag               当前积压：已发布但还未被消费的序号数，多分片时取最大值
+ * @param highWaterMark     启动以来观察到的最大积压 (发布时采样)
+ * @param remainingCapacity 剩余容量，多分片时取最小值
+ * @since 0.6.12
+ * @author vevoly
+ */
+public record DisruptorLaneStats(DisruptorLane lane, int shards, long bufferSize, long lag,
+                                 long highWaterMark, long remainingCapacity) {
+}
@@ -0,0 +1,30 @@
+package io.github.vevoly.atomicio.server.api.metrics;
+
+import io.github.vevoly.atomicio.server.api.cluster.AtomicIOClusterMessageType;
+import io.github.vevoly.atomicio.server.api.constants.AtomicIOEventType;
+import io.github.vevoly.atomicio.server.api.constants.DisruptorLane;
+
+import java.util.Map;
+
+/**
+ * Disruptor 指标快照
+ * 排队时间 = 发布到消费者开始处理；处理时间 = 消费者处理该事件 (执行监听器) 的耗时。
+ * 两者对比即可判断时间花在排队还是花在监听器上。
+ *
+ * @param queueWaitByEventType     IO 事件的排队时间，按事件类型
+ * @param queueWaitByClusterType   集群消息的排队时间，按集群消息类型
+ * @param handlerTimeByEventType   IO 事件的处理时间，按事件类型
+ * @param handlerTimeByClusterType 集群消息的处理时间，按集群消息类型
+ * @param lanes                    各通道的积压与容量
+ * @param clientQueueWaitEwmaNanos 客户端 IO 通道排队时间的指数滑动平均
+ * @since 0.6.12
+ * @author vevoly
+ */
+public record DisruptorMetricsSnapshot(
+        Map<AtomicIOEventType, LatencySnapshot> queueWaitByEventType,
+        Map<AtomicIOClusterMessageType, LatencySnapshot> queueWaitByClusterType,
+        Map<AtomicIOEventType, LatencySnapshot> handlerTimeByEventType,
+        Map<AtomicIOClusterMessageType, LatencySnapshot> handlerTimeByClusterType,
+        Map<DisruptorLane, DisruptorLaneStats> lanes,
+        long clientQueueWaitEwmaNanos) {
+}
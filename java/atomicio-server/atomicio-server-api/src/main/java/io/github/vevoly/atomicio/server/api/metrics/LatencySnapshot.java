@@ -0,0 +1,19 @@
+package io.github.vevoly.atomicio.server.api.metrics;
+
+/**
+ * 延迟分布快照
+ * 百分位来自对数分桶直方图，误差在 25% 以内，单位均为纳秒
+ *
+ * @param count    样本数
+ * @param meanNanos 平均值
+ * @param p50Nanos  50 分位
+ * @param p99Nanos  99 分位
+ * @param p999Nanos 99.9 分位
+ * @param maxNanos  最大值
+ * @since 0.6.12
+ * @author vevoly
+ */
+public record LatencySnapshot(long count, long meanNanos, long p50Nanos, long p99Nanos, long p999Nanos, long maxNanos) {
+
+    public static final LatencySnapshot EMPTY = new LatencySnapshot(0, 0, 0, 0, 0, 0);
+}
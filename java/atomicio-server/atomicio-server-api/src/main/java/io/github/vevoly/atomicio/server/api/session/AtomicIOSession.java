@@ -42,6 +42,8 @@ public interface AtomicIOSession {
 
     /**
      * 异步地向当前会话发送一条消息。
+     * 开启 atomicio.disruptor.batch-flush 后，在 Disruptor 监听器中调用时数据会在当前批次结束时才 flush，
+     * 此时在监听器里对返回的 Future 调用 sync / await / get 会让消费者线程永久卡住，只能通过 addListener 获取结果。
      * @param message 消息对象
      * @return Future 将在消息被写入传输后通知。
      */
@@ -64,6 +66,13 @@ public interface AtomicIOSession {
      */
     boolean isActive();
 
+    /**
+     * 检查会话当前是否可写。
+     * 待发送数据超过写缓冲高水位时返回 false，此时继续发送的消息会进入出站队列或按慢消费者策略处理。
+     * @return true 如果可以立即写入
+     */
+    boolean isWritable();
+
     /**
      * 获取创建此会话的引擎实例。
      * @return a reference to the AtomicIOEngine.
@@ -85,6 +94,7 @@ public interface AtomicIOSession {
     /**
      * 获取最后一次读或写操作的时间戳。
      * 可用于实现更复杂的空闲检测逻辑。
+     * 读写时间只在开启了空闲检测 (atomicio.session 的任一 idle 配置大于 0) 时记录，否则返回会话创建时间。
      * @return a long value representing the time of the last I/O activity.
      */
     long getLastActivityTime();
@@ -0,0 +1,55 @@
+package io.github.vevoly.atomicio.server.api.session;
+
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * 本节点会话的条件查询
+ * 由 {@code SessionManager.queryLocalSessions(predicate)} 创建，每次调用终止操作都会重新扫描一次会话表：
+ * 扫描在 ForkJoin 公共池中并行进行，不占用调用线程；命中的会话按所在的 EventLoop 分组，
+ * 批量操作在会话自己的 EventLoop 上分批执行，每批之间让出 EventLoop，大规模操作不会长时间卡住 IO。
+ * 例如：向所有 Android 会话推送、断开所有旧版本 App 的连接。
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+public interface SessionQuery {
+
+    /**
+     * 统计命中的会话数
+     */
+    CompletableFuture<Integer> count();
+
+    /**
+     * 命中的会话快照
+     */
+    CompletableFuture<List<AtomicIOSession>> list();
+
+    /**
+     * 向命中的会话发送同一条消息
+     * @return 命中的会话数，所有批次执行完成后返回
+     */
+    CompletableFuture<Integer> send(Object message);
+
+    /**
+     * 关闭命中的会话
+     * @param closeMessage 关闭前发送的最后一条消息，为 null 时直接关闭
+     * @return 命中的会话数，所有批次执行完成后返回
+     */
+    CompletableFuture<Integer> close(@Nullable Object closeMessage);
+
+    /**
+     * 给命中的会话设置属性 (打标签)
+     * @return 命中的会话数，所有批次执行完成后返回
+     */
+    CompletableFuture<Integer> setAttribute(String key, Object value);
+
+    /**
+     * 在每个命中会话的 EventLoop 上执行自定义操作
+     * @return 命中的会话数，所有批次执行完成后返回
+     */
+    CompletableFuture<Integer> forEach(Consumer<? super AtomicIOSession> action);
+}
@@ -33,6 +33,12 @@ import java.util.List;
 @Slf4j
 public class ProtobufServerCodecProvider implements AtomicIOServerCodecProvider {
 
+    // 无状态的 Handler 所有连接共用，每个连接只新建有累积缓冲区的分帧解码器
+    private static final ProtobufDecoder DECODER = new ProtobufDecoder(GenericMessage.getDefaultInstance());
+    private static final ProtobufEncoder ENCODER = new ProtobufEncoder();
+    private static final ProtobufVarint32LengthFieldPrepender PREPENDER = new ProtobufVarint32LengthFieldPrepender();
+    private static final ProtobufAdapterHandler ADAPTER = new ProtobufAdapterHandler();
+
     @Override
     public AtomicIOMessage createResponse(AtomicIOMessage requestMessage, int commandId, Object payload) {
         if (!(payload instanceof Message)) {
@@ -88,8 +94,8 @@ public class ProtobufServerCodecProvider implements AtomicIOServerCodecProvider
     public List<ChannelHandler> getInboundHandlers(AtomicIOProperties config) {
         return List.of(
                 new ProtobufVarint32FrameDecoder(config.getCodec().getMaxFrameLength()),
-                new ProtobufDecoder(GenericMessage.getDefaultInstance()),
-                new ProtobufAdapterHandler()
+                DECODER,
+                ADAPTER
         );
     }
 
@@ -97,9 +103,9 @@ public class ProtobufServerCodecProvider implements AtomicIOServerCodecProvider
     public List<ChannelHandler> getOutboundHandlers(AtomicIOProperties config) {
         return List.of(
                 // Adapter Handler 也是出站的一部分, 它负责将 AtomicIOMessage -> GenericMessage
-                new ProtobufVarint32LengthFieldPrepender(),
-                new ProtobufEncoder(),
-                new ProtobufAdapterHandler()
+                PREPENDER,
+                ENCODER,
+                ADAPTER
         );
     }
 
@@ -1,8 +1,14 @@
 package io.github.vevoly.atomicio.core.engine;
 
 import io.github.vevoly.atomicio.common.api.config.AtomicIOProperties;
+import io.github.vevoly.atomicio.common.api.config.CommandExecutionPolicy;
 import io.github.vevoly.atomicio.core.handler.LoginHandler;
 import io.github.vevoly.atomicio.core.handler.RoutingHandler;
+import io.github.vevoly.atomicio.core.manager.AtomicIOEventManager;
+import io.github.vevoly.atomicio.core.manager.AtomicIOGroupManager;
+import io.github.vevoly.atomicio.core.manager.AtomicIOSessionManager;
+import io.github.vevoly.atomicio.core.manager.DefaultDisruptorManager;
+import io.github.vevoly.atomicio.core.utils.ByteBufAllocators;
 import io.github.vevoly.atomicio.protocol.api.constants.AtomicIOSessionAttributes;
 import io.github.vevoly.atomicio.protocol.api.message.AtomicIOMessage;
 import io.github.vevoly.atomicio.server.api.AtomicIOEngine;
@@ -12,11 +18,13 @@ import io.github.vevoly.atomicio.server.api.cluster.AtomicIOClusterProvider;
 import io.github.vevoly.atomicio.server.api.codec.AtomicIOServerCodecProvider;
 import io.github.vevoly.atomicio.server.api.constants.AtomicIOLifeState;
 import io.github.vevoly.atomicio.server.api.constants.AtomicIOServerConstant;
+import io.github.vevoly.atomicio.server.api.constants.DisruptorEventSource;
 import io.github.vevoly.atomicio.server.api.listeners.*;
 import io.github.vevoly.atomicio.server.api.manager.*;
 import io.github.vevoly.atomicio.server.api.session.AtomicIOBindRequest;
 import io.github.vevoly.atomicio.server.api.session.AtomicIOSession;
 import io.github.vevoly.atomicio.server.api.state.AtomicIOStateProvider;
+import io.netty.buffer.ByteBufAllocator;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.lang.Nullable;
@@ -25,7 +33,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
@@ -62,6 +72,8 @@ public class DefaultAtomicIOEngine implements AtomicIOEngine {
     @Getter
     private final StateManager stateManager; // 状态管理器
     private final TransportManager nettyTransportManager; // 传输层管理器
+    private volatile ByteBufAllocator byteBufAllocator; // 所有监听共用的分配器，第一次使用时按配置创建
+    private final Map<String, AtomicInteger> cpuCursors = new ConcurrentHashMap<>(); // 绑核时按 CPU 列表共用的分配游标
 
     // 处理器
     private final LoginHandler loginHandler; // 登录处理器
@@ -100,6 +112,40 @@ public class DefaultAtomicIOEngine implements AtomicIOEngine {
         this.routingHandler = new RoutingHandler(this);
     }
 
+    /**
+     * 创建一个不含传输层、集群和状态组件的单机引擎
+     * 只组装事件、会话、群组和 Disruptor 管理器，供测试和基准测试使用
+     * 不能调用 start()，Disruptor 和传输层需要调用者自行启动
+     *
+     * @param config        配置
+     * @param codecProvider 编解码提供者，可以为 null
+     */
+    public static DefaultAtomicIOEngine standalone(AtomicIOProperties config, @Nullable AtomicIOServerCodecProvider codecProvider) {
+        AtomicIOSessionManager sessionManager = new AtomicIOSessionManager();
+        return new DefaultAtomicIOEngine(config, null, new DefaultDisruptorManager(), new AtomicIOEventManager(),
+                sessionManager, new AtomicIOGroupManager(sessionManager), codecProvider, null, null, null, null);
+    }
+
+    @Override
+    public ByteBufAllocator getByteBufAllocator() {
+        ByteBufAllocator allocator = byteBufAllocator;
+        if (allocator == null) {
+            synchronized (this) {
+                allocator = byteBufAllocator;
+                if (allocator == null) {
+                    allocator = ByteBufAllocators.create(config.getSocket());
+                    byteBufAllocator = allocator;
+                }
+            }
+        }
+        return allocator;
+    }
+
+    @Override
+    public AtomicInteger getCpuCursor(String cpuList) {
+        return cpuCursors.computeIfAbsent(cpuList != null ? cpuList.trim() : "", k -> new AtomicInteger());
+    }
+
     // -- 生命周期管理 --
 
     @Override
@@ -220,6 +266,14 @@ public class DefaultAtomicIOEngine implements AtomicIOEngine {
         eventManager.onMessage(listener);
     }
     @Override
+    public void onMessageBatch(BatchMessageEventListener listener) {
+        eventManager.onMessageBatch(listener);
+    }
+    @Override
+    public void setCommandExecutionPolicy(int commandId, CommandExecutionPolicy policy) {
+        disruptorManager.setCommandPolicy(commandId, policy);
+    }
+    @Override
     public void onError(ErrorEventListener listener) {
         eventManager.onError(listener);
     }
@@ -231,6 +285,10 @@ public class DefaultAtomicIOEngine implements AtomicIOEngine {
     public void onSessionReplaced(SessionReplacedListener listener) {
         eventManager.onSessionReplaced(listener);
     }
+    @Override
+    public void onWritabilityChanged(WritabilityChangedListener listener) {
+        eventManager.onWritabilityChanged(listener);
+    }
 
     @Override
     public CompletableFuture<Void> bindUser(AtomicIOBindRequest request, AtomicIOSession newSession) {
@@ -257,8 +315,7 @@ public class DefaultAtomicIOEngine implements AtomicIOEngine {
         // 1. 调用 StateManager 进行全局状态更新（入库）
         return stateManager.joinGroup(groupId, userId).thenRun(() -> {
             // 2. 让该用户在本节点的所有物理 Session 加入物理 ChannelGroup
-            List<AtomicIOSession> locals = sessionManager.getLocalSessionsByUserId(userId);
-            locals.forEach(session -> groupManager.joinLocal(groupId, session));
+            sessionManager.forEachLocalSession(userId, session -> groupManager.joinLocal(groupId, session));
         });
     }
 
@@ -267,8 +324,7 @@ public class DefaultAtomicIOEngine implements AtomicIOEngine {
         // 调用逻辑层：全局注销状态
         return stateManager.leaveGroup(groupId, userId).thenRun(() -> {
             // 本地清理：让该用户的所有本地连接退出物理组
-            List<AtomicIOSession> locals = sessionManager.getLocalSessionsByUserId(userId);
-            locals.forEach(session -> groupManager.leaveLocal(groupId, session));
+            sessionManager.forEachLocalSession(userId, session -> groupManager.leaveLocal(groupId, session));
         });
     }
 
@@ -308,8 +364,9 @@ public class DefaultAtomicIOEngine implements AtomicIOEngine {
                     // 集群模式：定向投递（含本地，确保进 Disruptor）
                     clusterManager.publishToNode(targetNodeId, clusterMessage);
                 } else {
-                    // 单机模式：直接推入本地 Disruptor
-                    disruptorManager.publish(e -> e.setClusterMessage(clusterMessage));
+                    // 单机模式：直接推入本地 Disruptor 的控制通道
+                    disruptorManager.tryPublishEvent(DisruptorEventSource.CONTROL, userId,
+                            DisruptorEntryTranslators.CLUSTER, clusterMessage);
                 }
             });
         });
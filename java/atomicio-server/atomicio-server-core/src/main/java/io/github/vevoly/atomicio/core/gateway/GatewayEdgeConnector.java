@@ -0,0 +1,331 @@
+package io.github.vevoly.atomicio.core.gateway;
+
+import io.github.vevoly.atomicio.common.api.config.AtomicIOProperties;
+import io.github.vevoly.atomicio.core.message.RawBytesMessage;
+import io.github.vevoly.atomicio.core.session.NettySession;
+import io.github.vevoly.atomicio.core.utils.NettyTransport;
+import io.github.vevoly.atomicio.protocol.api.AtomicIOCommand;
+import io.github.vevoly.atomicio.protocol.api.message.AtomicIOMessage;
+import io.github.vevoly.atomicio.server.api.AtomicIOEngine;
+import io.github.vevoly.atomicio.server.api.codec.AtomicIOServerCodecProvider;
+import io.github.vevoly.atomicio.server.api.manager.TransportManager;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.channel.*;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
+import io.netty.handler.flush.FlushConsolidationHandler;
+import io.netty.util.AttributeKey;
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 边缘网关到逻辑节点的链路管理
+ * 向每个逻辑节点建立 linksPerNode 条长连接，所有客户端会话复用这些链路：
+ * 会话第一次转发业务消息时以会话的数字 ID 作为链路上的会话 ID，按 ID 固定到一条链路 (保证同一会话的顺序) 并发送 OPEN 帧；
+ * 之后的业务消息编码成 FORWARD 帧写入链路，链路上的 FlushConsolidationHandler 把多个会话的消息合并成一次系统调用。
+ * 逻辑节点回复的 PUSH 帧按会话 ID 找到客户端连接原样写出，一批读取结束时每个客户端只 flush 一次。
+ * 链路断开后按间隔自动重连，固定在断开链路上的会话在下一条消息时重新选择链路并重新 OPEN；
+ * 会话重新绑定了用户 (用户 ID 或设备 ID 变化) 时也重新 OPEN，逻辑节点上的代理会话随之更新。
+ * 配置了 gateway.link-token 时每条链路连上后先发送 AUTH 帧。
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+@Slf4j
+public class GatewayEdgeConnector implements TransportManager {
+
+    private static final AttributeKey<Route> ROUTE = AttributeKey.valueOf("atomicio.gateway.route");
+
+    private final AtomicIOEngine engine;
+    private final AtomicIOProperties config;
+    private final AtomicIOServerCodecProvider codecProvider;
+    private final ForwardHandler forwardHandler = new ForwardHandler();
+
+    private final List<Link> links = new ArrayList<>();
+    private final Map<Long, Channel> clients = new ConcurrentHashMap<>();
+
+    private EventLoopGroup group;
+    private Bootstrap bootstrap;
+    private volatile boolean stopped;
+
+    public GatewayEdgeConnector(AtomicIOEngine engine) {
+        this.engine = engine;
+        this.config = engine.getConfig();
+        this.codecProvider = engine.getCodecProvider();
+    }
+
+    /**
+     * 放在客户端 Pipeline 中指令调度器之后的转发处理器，所有连接共用
+     */
+    public ChannelHandler getForwardHandler() {
+        return forwardHandler;
+    }
+
+    @Override
+    public Future<Void> start() {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        AtomicIOProperties.Gateway gateway = config.getGateway();
+        if (gateway.getLogicNodes().isEmpty()) {
+            future.completeExceptionally(new IllegalStateException("atomicio.gateway.logic-nodes must not be empty in EDGE mode"));
+            return future;
+        }
+        for (String node : gateway.getLogicNodes()) {
+            int colon = node.lastIndexOf(':');
+            InetSocketAddress address = colon > 0
+                    ? InetSocketAddress.createUnresolved(node.substring(0, colon).trim(), Integer.parseInt(node.substring(colon + 1).trim()))
+                    : InetSocketAddress.createUnresolved(node.trim(), gateway.getLinkPort());
+            for (int i = 0; i < Math.max(1, gateway.getLinksPerNode()); i++) {
+                links.add(new Link(address));
+            }
+        }
+
+        NettyTransport transport = NettyTransport.resolve(config.getTransport());
+        group = transport.newEventLoopGroup(Math.min(links.size(), Runtime.getRuntime().availableProcessors()),
+                new DefaultThreadFactory("atomicio-gateway-link", true));
+        bootstrap = new Bootstrap()
+                .group(group)
+                .channel(transport.socketChannelClass())
+                .option(ChannelOption.ALLOCATOR, engine.getByteBufAllocator())
+                .option(ChannelOption.TCP_NODELAY, true)
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .handler(new ChannelInitializer<Channel>() {
+                    @Override
+                    protected void initChannel(Channel ch) {
+                        ChannelPipeline pipeline = ch.pipeline();
+                        pipeline.addLast(new FlushConsolidationHandler(gateway.getFlushConsolidationLimit(), true));
+                        pipeline.addLast(new LengthFieldBasedFrameDecoder(gateway.getMaxFrameLength(), 0, 4, 0, 4));
+                        pipeline.addLast(new GatewayFrameCodec(codecProvider, config));
+                        pipeline.addLast(new EdgeLinkHandler());
+                    }
+                });
+        // 逻辑节点暂时不可用时不阻止边缘网关启动，链路会在后台重连
+        int connected = 0;
+        for (Link link : links) {
+            if (link.connect().awaitUninterruptibly().isSuccess()) {
+                connected++;
+            }
+        }
+        log.info("Gateway edge started: {} logic nodes, {} links ({} connected), transport {}.",
+                gateway.getLogicNodes().size(), links.size(), connected, transport.getType());
+        future.complete(null);
+        return future;
+    }
+
+    @Override
+    public void stop() {
+        log.info("Gateway edge links shutting down...");
+        stopped = true;
+        for (Link link : links) {
+            Channel channel = link.channel;
+            if (channel != null) {
+                channel.close().syncUninterruptibly();
+            }
+        }
+        if (group != null) {
+            group.shutdownGracefully().syncUninterruptibly();
+        }
+        log.info("Gateway edge links shutdown complete.");
+    }
+
+    /**
+     * 为会话选择一条可用链路，从按会话 ID 取模的位置开始找第一条已连接的
+     */
+    private Channel selectLink(long sessionId) {
+        int size = links.size();
+        int start = (int) (sessionId % size);
+        for (int i = 0; i < size; i++) {
+            Channel channel = links.get((start + i) % size).channel;
+            if (channel != null && channel.isActive()) {
+                return channel;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 客户端会话在边缘网关上的路由信息，只在客户端连接的 EventLoop 上访问
+     */
+    private static final class Route {
+        final long sessionId;
+        Channel link;
+        // 上一次 OPEN 帧发送的身份
+        String userId;
+        String deviceId;
+
+        Route(long sessionId) {
+            this.sessionId = sessionId;
+        }
+    }
+
+    /**
+     * 一条到逻辑节点的链路，断开后自动重连
+     */
+    private final class Link {
+
+        private final InetSocketAddress address;
+        private volatile Channel channel;
+
+        Link(InetSocketAddress address) {
+            this.address = address;
+        }
+
+        ChannelFuture connect() {
+            ChannelFuture future = bootstrap.connect(address);
+            future.addListener((ChannelFutureListener) f -> {
+                if (f.isSuccess()) {
+                    String token = config.getGateway().getLinkToken();
+                    if (token != null) {
+                        // 在链路对会话可见之前写入，保证 AUTH 是链路上的第一个帧
+                        f.channel().writeAndFlush(GatewayFrame.auth(token));
+                    }
+                    channel = f.channel();
+                    channel.closeFuture().addListener(closed -> reconnectLater());
+                    log.info("Gateway link to logic node {} connected.", address);
+                } else {
+                    log.warn("Gateway link to logic node {} failed: {}", address, f.cause().getMessage());
+                    reconnectLater();
+                }
+            });
+            return future;
+        }
+
+        private void reconnectLater() {
+            if (stopped || group.isShuttingDown()) {
+                return;
+            }
+            group.schedule(this::connect, config.getGateway().getReconnectIntervalMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * 客户端 Pipeline 上的转发处理器：业务消息转发给逻辑节点，不再交给本地监听器
+     * 框架指令已经在之前的 AtomicIOCommandDispatcher 里处理掉了，到这里的都是已认证会话的业务消息
+     */
+    @ChannelHandler.Sharable
+    private final class ForwardHandler extends ChannelInboundHandlerAdapter {
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+            if (!(msg instanceof AtomicIOMessage)) {
+                ctx.fireChannelRead(msg);
+                return;
+            }
+            Channel client = ctx.channel();
+            Route route = client.attr(ROUTE).get();
+            if (route == null) {
+                // 链路上的会话 ID 直接使用会话的数字 ID，进程内唯一
+                route = new Route(NettySession.of(client).getNumericId());
+                client.attr(ROUTE).set(route);
+                clients.put(route.sessionId, client);
+            }
+            NettySession session = NettySession.of(client);
+            Channel link = route.link;
+            boolean open = false;
+            if (link == null || !link.isActive()) {
+                link = selectLink(route.sessionId);
+                if (link == null) {
+                    reject(ctx, (AtomicIOMessage) msg);
+                    return;
+                }
+                route.link = link;
+                open = true;
+            }
+            String userId = session.getUserId();
+            String deviceId = session.getDeviceId();
+            if (open || !Objects.equals(route.userId, userId) || !Objects.equals(route.deviceId, deviceId)) {
+                // 第一次转发、换了链路，或者连接重新绑定了用户：逻辑节点按新身份重建代理会话
+                route.userId = userId;
+                route.deviceId = deviceId;
+                link.write(GatewayFrame.open(route.sessionId, userId, deviceId, String.valueOf(client.remoteAddress())));
+            }
+            link.writeAndFlush(GatewayFrame.forward(route.sessionId, msg));
+        }
+
+        @Override
+        public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+            Route route = ctx.channel().attr(ROUTE).get();
+            if (route != null) {
+                clients.remove(route.sessionId);
+                if (route.link != null && route.link.isActive()) {
+                    route.link.writeAndFlush(GatewayFrame.close(route.sessionId));
+                }
+            }
+            super.channelInactive(ctx);
+        }
+
+        private void reject(ChannelHandlerContext ctx, AtomicIOMessage message) {
+            log.warn("No gateway link available, message {} from {} rejected.", message.getCommandId(), ctx.channel().remoteAddress());
+            ctx.writeAndFlush(codecProvider.createResponse(message, AtomicIOCommand.SYSTEM_ERROR_NOTIFY, false,
+                    "No logic node available"));
+            ReferenceCountUtil.release(message);
+        }
+    }
+
+    /**
+     * 链路处理器 (每条链路一个实例)：把逻辑节点的回复写给客户端
+     */
+    private final class EdgeLinkHandler extends SimpleChannelInboundHandler<GatewayFrame> {
+
+        private final Set<Channel> dirtyClients = new HashSet<>();
+
+        EdgeLinkHandler() {
+            super(false);
+        }
+
+        @Override
+        protected void channelRead0(ChannelHandlerContext ctx, GatewayFrame frame) {
+            Channel client = clients.get(frame.getSessionId());
+            switch (frame.getType()) {
+                case GatewayFrame.PUSH -> {
+                    ByteBuf content = (ByteBuf) frame.getPayload();
+                    if (client != null) {
+                        // 内容已经是客户端协议的字节，经 RawBytesMessageHandler 写出，不再经过协议编码器
+                        client.write(new RawBytesMessage(ByteBufUtil.getBytes(content)));
+                        dirtyClients.add(client);
+                    }
+                    content.release();
+                }
+                case GatewayFrame.CLOSE -> {
+                    if (client != null) {
+                        dirtyClients.remove(client);
+                        client.flush();
+                        client.close();
+                    }
+                }
+                default -> {
+                    log.warn("Unexpected gateway frame type {} from logic node {}", frame.getType(), ctx.channel().remoteAddress());
+                    ReferenceCountUtil.release(frame.getPayload());
+                }
+            }
+        }
+
+        @Override
+        public void channelReadComplete(ChannelHandlerContext ctx) throws Exception {
+            for (Channel client : dirtyClients) {
+                client.flush();
+            }
+            dirtyClients.clear();
+            super.channelReadComplete(ctx);
+        }
+
+        @Override
+        public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+            log.error("Gateway link {} error, closing.", ctx.channel().remoteAddress(), cause);
+            ctx.close();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package io.github.vevoly.atomicio.core.gateway;
+
+import lombok.Getter;
+
+/**
+ * 网关链路帧
+ * 边缘网关与逻辑节点之间的一条链路上复用了很多客户端会话，每个帧都带有边缘网关分配的数字会话 ID。
+ * 线上格式：[int 长度][byte 类型][long 会话ID][内容]，长度不包含自身的 4 个字节。
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+@Getter
+public final class GatewayFrame {
+
+    /**
+     * 边缘 -> 逻辑：会话第一次转发业务消息前发送，内容是 userId、deviceId、客户端地址
+     */
+    public static final byte OPEN = 1;
+
+    /**
+     * 边缘 -> 逻辑：客户端发来的业务消息，内容是按客户端协议编码的字节
+     */
+    public static final byte FORWARD = 2;
+
+    /**
+     * 逻辑 -> 边缘：发给客户端的消息，内容是按客户端协议编码的字节，边缘网关原样写出
+     */
+    public static final byte PUSH = 3;
+
+    /**
+     * 双向：边缘 -> 逻辑表示客户端已断开；逻辑 -> 边缘表示要求关闭客户端连接
+     */
+    public static final byte CLOSE = 4;
+
+    /**
+     * 边缘 -> 逻辑：链路建立后的第一个帧，内容是认证令牌，会话 ID 为 0
+     */
+    public static final byte AUTH = 5;
+
+    private final byte type;
+    private final long sessionId;
+
+    /**
+     * 出站时是 AtomicIOMessage / RawBytesMessage / ByteBuf (OPEN、AUTH 帧是 String[])；
+     * 入站时是 ByteBuf (OPEN 帧是 String[]，AUTH 帧是 String)
+     */
+    private final Object payload;
+
+    public GatewayFrame(byte type, long sessionId, Object payload) {
+        this.type = type;
+        this.sessionId = sessionId;
+        this.payload = payload;
+    }
+
+    public static GatewayFrame open(long sessionId, String userId, String deviceId, String remoteAddress) {
+        return new GatewayFrame(OPEN, sessionId, new String[]{userId, deviceId, remoteAddress});
+    }
+
+    public static GatewayFrame forward(long sessionId, Object message) {
+        return new GatewayFrame(FORWARD, sessionId, message);
+    }
+
+    public static GatewayFrame push(long sessionId, Object message) {
+        return new GatewayFrame(PUSH, sessionId, message);
+    }
+
+    public static GatewayFrame close(long sessionId) {
+        return new GatewayFrame(CLOSE, sessionId, null);
+    }
+
+    public static GatewayFrame auth(String token) {
+        return new GatewayFrame(AUTH, 0, new String[]{token});
+    }
+}
@@ -0,0 +1,171 @@
+package io.github.vevoly.atomicio.core.gateway;
+
+import io.github.vevoly.atomicio.common.api.config.AtomicIOProperties;
+import io.github.vevoly.atomicio.core.message.RawBytesMessage;
+import io.github.vevoly.atomicio.protocol.api.message.AtomicIOMessage;
+import io.github.vevoly.atomicio.server.api.codec.AtomicIOServerCodecProvider;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.EncoderException;
+import io.netty.handler.codec.MessageToMessageCodec;
+import io.netty.util.ReferenceCountUtil;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * 网关链路帧编解码器 (每条链路一个实例)
+ * 放在 LengthFieldBasedFrameDecoder 之后，入站把一个完整的帧解析成 GatewayFrame，内容保持为 ByteBuf 切片不做拷贝；
+ * 出站把 GatewayFrame 编码成 [长度][类型][会话ID][内容]。
+ * 帧内容使用客户端协议编码：链路上的每个帧都是一条完整的客户端消息，所以这里直接复用编解码提供者的 Handler，
+ * 放在两个常驻的 EmbeddedChannel 里，只在链路的 EventLoop 上使用，不必每条消息新建一个。
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+public class GatewayFrameCodec extends MessageToMessageCodec<ByteBuf, GatewayFrame> {
+
+    /**
+     * 类型 + 会话ID
+     */
+    public static final int HEADER_LENGTH = 1 + 8;
+
+    private static final int NULL_STRING = 0xFFFF;
+
+    private final EmbeddedChannel messageEncoder;
+    private final EmbeddedChannel messageDecoder;
+
+    public GatewayFrameCodec(AtomicIOServerCodecProvider codecProvider, AtomicIOProperties config) {
+        this.messageEncoder = new EmbeddedChannel(codecProvider.getOutboundHandlers(config).toArray(new ChannelHandler[0]));
+        this.messageDecoder = new EmbeddedChannel(codecProvider.getInboundHandlers(config).toArray(new ChannelHandler[0]));
+    }
+
+    @Override
+    protected void encode(ChannelHandlerContext ctx, GatewayFrame frame, List<Object> out) {
+        ByteBuf content = encodePayload(ctx.alloc(), frame.getPayload());
+        ByteBuf header = ctx.alloc().buffer(4 + HEADER_LENGTH);
+        header.writeInt(HEADER_LENGTH + content.readableBytes());
+        header.writeByte(frame.getType());
+        header.writeLong(frame.getSessionId());
+        if (!content.isReadable()) {
+            content.release();
+            out.add(header);
+            return;
+        }
+        CompositeByteBuf composite = ctx.alloc().compositeBuffer(2);
+        composite.addComponents(true, header, content);
+        out.add(composite);
+    }
+
+    @Override
+    protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) {
+        byte type = in.readByte();
+        long sessionId = in.readLong();
+        Object payload = switch (type) {
+            case GatewayFrame.OPEN -> new String[]{readString(in), readString(in), readString(in)};
+            case GatewayFrame.AUTH -> readString(in);
+            default -> in.readRetainedSlice(in.readableBytes());
+        };
+        out.add(new GatewayFrame(type, sessionId, payload));
+    }
+
+    /**
+     * 把帧内容解码成客户端协议的消息，调用后 content 的所有权转交给解码器
+     * 只能在链路的 EventLoop 上调用
+     * @param content 一条完整的客户端消息
+     * @return 解码失败或内容不完整时返回 null
+     */
+    public AtomicIOMessage decodeMessage(ByteBuf content) {
+        messageDecoder.writeInbound(content);
+        Object message = messageDecoder.readInbound();
+        Object extra;
+        while ((extra = messageDecoder.readInbound()) != null) {
+            ReferenceCountUtil.release(extra);
+        }
+        if (message instanceof AtomicIOMessage) {
+            return (AtomicIOMessage) message;
+        }
+        ReferenceCountUtil.release(message);
+        return null;
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
+        messageEncoder.finishAndReleaseAll();
+        messageDecoder.finishAndReleaseAll();
+        super.handlerRemoved(ctx);
+    }
+
+    private ByteBuf encodePayload(ByteBufAllocator alloc, Object payload) {
+        if (payload == null) {
+            return Unpooled.EMPTY_BUFFER;
+        }
+        if (payload instanceof ByteBuf) {
+            return (ByteBuf) payload;
+        }
+        if (payload instanceof String[] fields) {
+            ByteBuf buf = alloc.buffer();
+            for (String field : fields) {
+                writeString(buf, field);
+            }
+            return buf;
+        }
+        if (payload instanceof RawBytesMessage) {
+            // 已经预编码好的消息 (如集群转发)，直接作为内容
+            return Unpooled.wrappedBuffer(((RawBytesMessage) payload).getPayload());
+        }
+        if (payload instanceof AtomicIOMessage) {
+            return encodeMessage(alloc, payload);
+        }
+        ReferenceCountUtil.release(payload);
+        throw new EncoderException("Unsupported gateway payload type: " + payload.getClass().getName());
+    }
+
+    private ByteBuf encodeMessage(ByteBufAllocator alloc, Object message) {
+        if (!messageEncoder.writeOutbound(message)) {
+            throw new EncoderException("Message type not handled by outbound pipeline: " + message.getClass().getName());
+        }
+        ByteBuf first = messageEncoder.readOutbound();
+        if (first == null) {
+            return Unpooled.EMPTY_BUFFER;
+        }
+        ByteBuf next = messageEncoder.readOutbound();
+        if (next == null) {
+            return first;
+        }
+        // 编码器分多次输出 (如先输出长度头)，合并成一个
+        CompositeByteBuf composite = alloc.compositeBuffer();
+        composite.addComponents(true, first, next);
+        while ((next = messageEncoder.readOutbound()) != null) {
+            composite.addComponent(true, next);
+        }
+        return composite;
+    }
+
+    private static void writeString(ByteBuf buf, String value) {
+        if (value == null) {
+            buf.writeShort(NULL_STRING);
+            return;
+        }
+        int lengthIndex = buf.writerIndex();
+        buf.writeShort(0);
+        int length = ByteBufUtil.writeUtf8(buf, value);
+        buf.setShort(lengthIndex, length);
+    }
+
+    private static String readString(ByteBuf buf) {
+        int length = buf.readUnsignedShort();
+        if (length == NULL_STRING) {
+            return null;
+        }
+        String value = buf.toString(buf.readerIndex(), length, StandardCharsets.UTF_8);
+        buf.skipBytes(length);
+        return value;
+    }
+}
@@ -0,0 +1,243 @@
+package io.github.vevoly.atomicio.core.gateway;
+
+import io.github.vevoly.atomicio.common.api.config.AtomicIOProperties;
+import io.github.vevoly.atomicio.core.handler.NettyEventTranslationHandler;
+import io.github.vevoly.atomicio.core.utils.AffinityThreadFactory;
+import io.github.vevoly.atomicio.core.utils.IpUtils;
+import io.github.vevoly.atomicio.core.utils.NettyTransport;
+import io.github.vevoly.atomicio.protocol.api.message.AtomicIOMessage;
+import io.github.vevoly.atomicio.server.api.AtomicIOEngine;
+import io.github.vevoly.atomicio.server.api.constants.DisruptorEventSource;
+import io.github.vevoly.atomicio.server.api.manager.DisruptorEntryTranslators;
+import io.github.vevoly.atomicio.server.api.manager.TransportManager;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.*;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
+import io.netty.handler.flush.FlushConsolidationHandler;
+import io.netty.util.ReferenceCountUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+
+/**
+ * 网关逻辑节点
+ * 不监听客户端端口，只在内网地址 (gateway.link-host) 上接受边缘网关的链路，配置了 gateway.link-token 时链路必须先通过 AUTH 帧认证；
+ * link-host 不是回环地址时必须配置 link-token，否则拒绝启动。
+ * 每条链路上复用了很多客户端会话：
+ * OPEN 帧创建 GatewaySession 代理并发布 CONNECT，FORWARD 帧解码后按指令执行策略交给业务监听器 (与本地连接相同)，
+ * CLOSE 帧或链路断开时发布 DISCONNECT。监听器里对会话的 send 编码成 PUSH 帧原路返回边缘网关。
+ * 代理会话不进入 SessionManager：按用户、分组和广播的推送仍走集群，由持有真实连接的边缘网关投递，避免重复。
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+@Slf4j
+public class GatewayLogicServer implements TransportManager {
+
+    private final AtomicIOEngine engine;
+    private final AtomicIOProperties config;
+    private final NettyEventTranslationHandler messageDispatcher;
+
+    private EventLoopGroup bossGroup;
+    private EventLoopGroup workerGroup;
+    private Channel serverChannel;
+
+    public GatewayLogicServer(AtomicIOEngine engine) {
+        this.engine = engine;
+        this.config = engine.getConfig();
+        this.messageDispatcher = new NettyEventTranslationHandler(engine);
+    }
+
+    @Override
+    public Future<Void> start() {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        AtomicIOProperties.Gateway gateway = config.getGateway();
+        if (gateway.getLinkToken() == null && !IpUtils.isLoopback(gateway.getLinkHost())) {
+            // OPEN 帧直接指定用户身份，不认证的链路端口暴露到回环地址之外，任何能连上的主机都可以冒充任意用户
+            future.completeExceptionally(new IllegalStateException(
+                    "atomicio.gateway.link-token is required when atomicio.gateway.link-host is not a loopback address"));
+            return future;
+        }
+        NettyTransport transport = NettyTransport.resolve(config.getTransport());
+        // 与其他监听共用 CPU 游标，不和已经启动的 Boss / Worker 线程绑到同一个 CPU
+        AtomicIOProperties.Affinity affinity = config.getAffinity();
+        bossGroup = transport.newEventLoopGroup(1, new AffinityThreadFactory(
+                "atomicio-gateway-boss", false, affinity, affinity.getBossCpus(), engine.getCpuCursor(affinity.getBossCpus())));
+        workerGroup = transport.newEventLoopGroup(config.getWorkerThreads(), new AffinityThreadFactory(
+                "atomicio-gateway-link", false, affinity, affinity.getWorkerCpus(), engine.getCpuCursor(affinity.getWorkerCpus())));
+        try {
+            ByteBufAllocator allocator = engine.getByteBufAllocator();
+            ServerBootstrap bootstrap = new ServerBootstrap()
+                    .group(bossGroup, workerGroup)
+                    .channel(transport.serverChannelClass())
+                    .option(ChannelOption.ALLOCATOR, allocator)
+                    .childOption(ChannelOption.ALLOCATOR, allocator)
+                    .childOption(ChannelOption.TCP_NODELAY, true)
+                    .childOption(ChannelOption.SO_KEEPALIVE, true)
+                    .childHandler(new ChannelInitializer<Channel>() {
+                        @Override
+                        protected void initChannel(Channel ch) {
+                            initLinkChannel(ch);
+                        }
+                    });
+            serverChannel = bootstrap.bind(gateway.getLinkHost(), gateway.getLinkPort()).sync().channel();
+            log.info("Gateway logic node listening for edge links on {}:{}, transport {}, auth {}, codec: {}.",
+                    gateway.getLinkHost(), gateway.getLinkPort(), transport.getType(),
+                    gateway.getLinkToken() != null ? "enabled" : "disabled", engine.getCodecProvider().getClass().getSimpleName());
+            future.complete(null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    @Override
+    public void stop() {
+        log.info("Gateway logic node shutting down...");
+        if (serverChannel != null) {
+            serverChannel.close().syncUninterruptibly();
+        }
+        if (bossGroup != null) {
+            bossGroup.shutdownGracefully().syncUninterruptibly();
+        }
+        if (workerGroup != null) {
+            workerGroup.shutdownGracefully().syncUninterruptibly();
+        }
+        log.info("Gateway logic node shutdown complete.");
+    }
+
+    /**
+     * 初始化一条边缘网关链路的 Pipeline
+     */
+    void initLinkChannel(Channel ch) {
+        AtomicIOProperties.Gateway gateway = config.getGateway();
+        ChannelPipeline pipeline = ch.pipeline();
+        pipeline.addLast(new FlushConsolidationHandler(gateway.getFlushConsolidationLimit(), true));
+        pipeline.addLast(new LengthFieldBasedFrameDecoder(gateway.getMaxFrameLength(), 0, 4, 0, 4));
+        GatewayFrameCodec codec = new GatewayFrameCodec(engine.getCodecProvider(), config);
+        pipeline.addLast(codec);
+        pipeline.addLast(new LogicLinkHandler(codec));
+    }
+
+    /**
+     * 一条边缘网关链路 (每条链路一个实例，只在链路的 EventLoop 上执行)
+     */
+    private class LogicLinkHandler extends SimpleChannelInboundHandler<GatewayFrame> {
+
+        private final GatewayFrameCodec codec;
+        private final Map<Long, GatewaySession> sessions = new HashMap<>();
+        private final byte[] token;
+        private boolean authenticated;
+
+        LogicLinkHandler(GatewayFrameCodec codec) {
+            super(false);
+            this.codec = codec;
+            String configured = config.getGateway().getLinkToken();
+            this.token = configured != null ? configured.getBytes(StandardCharsets.UTF_8) : null;
+            this.authenticated = token == null;
+        }
+
+        @Override
+        public void channelActive(ChannelHandlerContext ctx) throws Exception {
+            log.info("Gateway edge link connected: {}", ctx.channel().remoteAddress());
+            super.channelActive(ctx);
+        }
+
+        @Override
+        protected void channelRead0(ChannelHandlerContext ctx, GatewayFrame frame) {
+            if (frame.getType() == GatewayFrame.AUTH) {
+                onAuth(ctx, (String) frame.getPayload());
+                return;
+            }
+            if (!authenticated) {
+                log.warn("Gateway edge link {} sent frame {} before AUTH, closing.", ctx.channel().remoteAddress(), frame.getType());
+                ReferenceCountUtil.release(frame.getPayload());
+                ctx.close();
+                return;
+            }
+            switch (frame.getType()) {
+                case GatewayFrame.FORWARD -> onForward(frame);
+                case GatewayFrame.OPEN -> onOpen(ctx, frame);
+                case GatewayFrame.CLOSE -> onClose(frame.getSessionId());
+                default -> {
+                    log.warn("Unexpected gateway frame type {} from edge {}", frame.getType(), ctx.channel().remoteAddress());
+                    ReferenceCountUtil.release(frame.getPayload());
+                }
+            }
+        }
+
+        private void onAuth(ChannelHandlerContext ctx, String presented) {
+            if (token != null && (presented == null || !MessageDigest.isEqual(token, presented.getBytes(StandardCharsets.UTF_8)))) {
+                log.warn("Gateway edge link {} failed authentication, closing.", ctx.channel().remoteAddress());
+                ctx.close();
+                return;
+            }
+            authenticated = true;
+        }
+
+        private void onOpen(ChannelHandlerContext ctx, GatewayFrame frame) {
+            String[] fields = (String[]) frame.getPayload();
+            GatewaySession previous = sessions.get(frame.getSessionId());
+            GatewaySession session = new GatewaySession(ctx.channel(), frame.getSessionId(),
+                    previous != null ? previous.getGeneration() + 1 : 0, fields[0], fields[1], fields[2], engine);
+            sessions.put(frame.getSessionId(), session);
+            if (previous != null) {
+                // 会话重新绑定了用户：新代理使用新的会话 ID，两者路由到同一个分片，旧代理的 DISCONNECT 先发布
+                disconnect(previous);
+            }
+            engine.getDisruptorManager().tryPublishEvent(DisruptorEventSource.SESSION_LIFECYCLE, session,
+                    DisruptorEntryTranslators.CONNECT, session);
+        }
+
+        private void onForward(GatewayFrame frame) {
+            ByteBuf content = (ByteBuf) frame.getPayload();
+            GatewaySession session = sessions.get(frame.getSessionId());
+            if (session == null) {
+                content.release();
+                log.warn("Gateway forward for unknown session {}, dropped.", frame.getSessionId());
+                return;
+            }
+            AtomicIOMessage message = codec.decodeMessage(content);
+            if (message == null) {
+                log.warn("Gateway forward for session {} could not be decoded, dropped.", session.getId());
+                return;
+            }
+            session.touch();
+            messageDispatcher.dispatchMessage(session, message);
+        }
+
+        private void onClose(long sessionId) {
+            GatewaySession session = sessions.remove(sessionId);
+            if (session != null) {
+                disconnect(session);
+            }
+        }
+
+        private void disconnect(GatewaySession session) {
+            session.markClosed();
+            messageDispatcher.publishDisconnect(session);
+        }
+
+        @Override
+        public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+            log.warn("Gateway edge link {} closed, {} sessions disconnected.", ctx.channel().remoteAddress(), sessions.size());
+            sessions.values().forEach(this::disconnect);
+            sessions.clear();
+            super.channelInactive(ctx);
+        }
+
+        @Override
+        public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+            log.error("Gateway edge link {} error, closing.", ctx.channel().remoteAddress(), cause);
+            ctx.close();
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package io.github.vevoly.atomicio.core.gateway;
+
+import io.github.vevoly.atomicio.core.session.BatchFlushContext;
+import io.github.vevoly.atomicio.core.session.DedicatedLaneTracker;
+import io.github.vevoly.atomicio.protocol.api.constants.AtomicIOSessionAttributes;
+import io.github.vevoly.atomicio.server.api.AtomicIOEngine;
+import io.github.vevoly.atomicio.server.api.session.AtomicIOSession;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+
+import java.nio.channels.ClosedChannelException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 逻辑节点上代表一个远端客户端会话的代理
+ * 客户端连接在边缘网关上，这里只持有它所在的链路和边缘网关分配的会话 ID：
+ * send 把消息编码成 PUSH 帧写回链路，由边缘网关按会话 ID 写给客户端；close 发送 CLOSE 帧。
+ * 属性只保存在逻辑节点本地，不会同步到边缘网关。
+ * 同一个边缘会话重新 OPEN (重新绑定用户) 时创建新的代理，会话 ID 带上打开次数，与旧代理区分；
+ * hashCode 只取决于链路和边缘会话 ID，Disruptor 按它选择分片，新旧代理的事件因此进入同一个分片，旧代理的 DISCONNECT 先于新代理的 CONNECT。
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+public class GatewaySession implements AtomicIOSession, DedicatedLaneTracker {
+
+    private final Channel link;
+    private final long sessionId;
+    private final int generation;
+    private final String id;
+    private final String remoteAddress;
+    private final AtomicIOEngine engine;
+    private final long createTime = System.currentTimeMillis();
+    private final Map<String, Object> attributes = new ConcurrentHashMap<>();
+    private volatile long lastActivityTime = createTime;
+    private volatile boolean closed;
+    // 发送过 DEDICATED 消息，只在链路的 EventLoop 上读写
+    private boolean dedicatedLaneUsed;
+
+    /**
+     * @param generation 同一条链路上这个边缘会话第几次 OPEN，从 0 开始
+     */
+    public GatewaySession(Channel link, long sessionId, int generation, String userId, String deviceId,
+                          String remoteAddress, AtomicIOEngine engine) {
+        this.link = link;
+        this.sessionId = sessionId;
+        this.generation = generation;
+        // 同一个边缘网关的会话 ID 不重复，再用链路区分不同的边缘网关；重新打开的代理加上打开次数
+        String base = link.id().asShortText() + "-" + sessionId;
+        this.id = generation == 0 ? base : base + "-" + generation;
+        this.remoteAddress = remoteAddress;
+        this.engine = engine;
+        if (userId != null) {
+            attributes.put(AtomicIOSessionAttributes.USER_ID, userId);
+        }
+        if (deviceId != null) {
+            attributes.put(AtomicIOSessionAttributes.DEVICE_ID, deviceId);
+        }
+    }
+
+    /**
+     * 边缘网关分配的会话 ID
+     */
+    public long getSessionId() {
+        return sessionId;
+    }
+
+    /**
+     * 同一条链路上这个边缘会话第几次 OPEN
+     */
+    public int getGeneration() {
+        return generation;
+    }
+
+    /**
+     * 所在的链路
+     */
+    public Channel getLink() {
+        return link;
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public String getUserId() {
+        return getAttribute(AtomicIOSessionAttributes.USER_ID);
+    }
+
+    @Override
+    public String getDeviceId() {
+        return getAttribute(AtomicIOSessionAttributes.DEVICE_ID);
+    }
+
+    @Override
+    public boolean isBound() {
+        return attributes.containsKey(AtomicIOSessionAttributes.USER_ID);
+    }
+
+    @Override
+    public ChannelFuture send(Object message) {
+        if (closed) {
+            return link.newFailedFuture(new ClosedChannelException());
+        }
+        GatewayFrame frame = GatewayFrame.push(sessionId, message);
+        BatchFlushContext flushContext = BatchFlushContext.current();
+        if (flushContext != null) {
+            // 在 Disruptor 批次内，同一链路上所有会话的回复在批次结束时一起 flush
+            ChannelFuture future = link.write(frame);
+            flushContext.markDirty(link);
+            return future;
+        }
+        return link.writeAndFlush(frame);
+    }
+
+    @Override
+    public void sendAndClose(Object message) {
+        if (isActive()) {
+            // 同一条链路上的帧按顺序到达，边缘网关会先写出消息再关闭连接
+            send(message);
+            close();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            link.writeAndFlush(GatewayFrame.close(sessionId));
+        }
+    }
+
+    @Override
+    public boolean isActive() {
+        return !closed && link.isActive();
+    }
+
+    @Override
+    public boolean isWritable() {
+        return link.isWritable();
+    }
+
+    @Override
+    public AtomicIOEngine getEngine() {
+        return engine;
+    }
+
+    @Override
+    public String getRemoteAddress() {
+        return remoteAddress;
+    }
+
+    @Override
+    public long getCreateTime() {
+        return createTime;
+    }
+
+    @Override
+    public long getLastActivityTime() {
+        return lastActivityTime;
+    }
+
+    @Override
+    public void setAttribute(String key, Object value) {
+        if (value == null) {
+            attributes.remove(key);
+        } else {
+            attributes.put(key, value);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T getAttribute(String key) {
+        return (T) attributes.get(key);
+    }
+
+    @Override
+    public void removeAttribute(String key) {
+        attributes.remove(key);
+    }
+
+    @Override
+    public boolean isDedicatedLaneUsed() {
+        return dedicatedLaneUsed;
+    }
+
+    @Override
+    public void markDedicatedLaneUsed() {
+        dedicatedLaneUsed = true;
+    }
+
+    /**
+     * 事件路由键：同一个边缘会话的新旧代理相同，equals 仍按对象区分
+     */
+    @Override
+    public int hashCode() {
+        return 31 * link.hashCode() + Long.hashCode(sessionId);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return this == obj;
+    }
+
+    /**
+     * 收到转发消息时由链路处理器调用
+     */
+    void touch() {
+        lastActivityTime = System.currentTimeMillis();
+    }
+
+    /**
+     * 边缘网关通知客户端已断开，或链路断开
+     */
+    void markClosed() {
+        closed = true;
+    }
+}
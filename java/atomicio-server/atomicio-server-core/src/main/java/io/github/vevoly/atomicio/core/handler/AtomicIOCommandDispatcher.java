@@ -1,6 +1,7 @@
 package io.github.vevoly.atomicio.core.handler;
 
 import io.github.vevoly.atomicio.common.api.constants.AtomicIOConstant;
+import io.github.vevoly.atomicio.core.session.NettySession;
 import io.github.vevoly.atomicio.protocol.api.AtomicIOCommand;
 import io.github.vevoly.atomicio.protocol.api.codec.AtomicIOPayloadParser;
 import io.github.vevoly.atomicio.protocol.api.message.AtomicIOMessage;
@@ -39,7 +40,7 @@ public class AtomicIOCommandDispatcher extends SimpleChannelInboundHandler<Atomi
     @Override
     protected void channelRead0(ChannelHandlerContext ctx, AtomicIOMessage message) throws Exception {
         // 1. 获取 Session
-        AtomicIOSession session = engine.getSessionManager().getLocalSessionById(ctx.channel().id().asLongText());
+        AtomicIOSession session = NettySession.of(ctx.channel());
         if (session == null) {
             log.error("Session not found for active channel [{}].", ctx.channel().id());
             ctx.close();
@@ -2,6 +2,7 @@ package io.github.vevoly.atomicio.core.handler;
 
 import io.github.vevoly.atomicio.common.api.constants.AtomicIOConstant;
 import io.github.vevoly.atomicio.common.api.exception.AtomicIOExceptionHandler;
+import io.github.vevoly.atomicio.core.session.NettySession;
 import io.github.vevoly.atomicio.protocol.api.AtomicIOCommand;
 import io.github.vevoly.atomicio.protocol.api.message.AtomicIOMessage;
 import io.github.vevoly.atomicio.server.api.AtomicIOEngine;
@@ -35,7 +36,7 @@ public class DefaultExceptionHandler implements AtomicIOExceptionHandler {
                     ctx.channel().id(), cause.getMessage(), cause);
             try {
                 // 1. 获取与此 Channel 关联的 CodecProvider
-                AtomicIOSession session = engine.getSessionManager().getLocalSessionById(ctx.channel().id().asLongText());
+                AtomicIOSession session = NettySession.of(ctx.channel());
                 if (session == null) {
                     // 如果连 session 都没有，说明异常发生在非常早的阶段，直接关闭
                     ctx.close();
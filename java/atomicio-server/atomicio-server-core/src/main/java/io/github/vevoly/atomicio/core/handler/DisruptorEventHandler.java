@@ -1,53 +1,156 @@
 package io.github.vevoly.atomicio.core.handler;
 
 import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.LifecycleAware;
+import io.github.vevoly.atomicio.common.api.config.AtomicIOProperties;
 import io.github.vevoly.atomicio.core.message.RawBytesMessage;
+import io.github.vevoly.atomicio.core.metrics.DisruptorEventMetrics;
+import io.github.vevoly.atomicio.core.session.BatchFlushContext;
 import io.github.vevoly.atomicio.protocol.api.message.AtomicIOMessage;
 import io.github.vevoly.atomicio.server.api.AtomicIOEngine;
 import io.github.vevoly.atomicio.server.api.cluster.AtomicIOClusterMessage;
+import io.github.vevoly.atomicio.server.api.constants.AtomicIOEventType;
+import io.github.vevoly.atomicio.server.api.constants.IdleState;
+import io.github.vevoly.atomicio.server.api.listeners.MessageBatch;
 import io.github.vevoly.atomicio.server.api.manager.DisruptorEntry;
 import io.github.vevoly.atomicio.server.api.manager.GroupManager;
 import io.github.vevoly.atomicio.server.api.manager.IOEventManager;
 import io.github.vevoly.atomicio.server.api.manager.SessionManager;
+import io.github.vevoly.atomicio.server.api.session.AtomicIOSession;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Disruptor 事件的最终消费者。
  * 这个类的 onEvent 方法会在独立的业务线程中被调用。
+ * VIRTUAL_THREAD 模式下，监听器调用被投递到会话串行邮箱，由虚拟线程执行。
+ * 利用 endOfBatch 标记：批次内的 MESSAGE 事件汇总后交给批量监听器，批次内产生的写操作在批次结束时统一 flush。
  *
  * @since 0.0.3
  * @author vevoly
  */
 @Slf4j
-public class DisruptorEventHandler implements EventHandler<DisruptorEntry> {
+public class DisruptorEventHandler implements EventHandler<DisruptorEntry>, LifecycleAware {
 
     private final IOEventManager eventManager;
     private final SessionManager sessionManager;
     private final GroupManager groupManager;
 
+    // 每个消费者线程独占，无需同步
+    private final MessageBatch messageBatch;
+    private final int messageBatchMaxSize;
+    private final BatchFlushContext flushContext;
+
+    // VIRTUAL_THREAD 模式下的监听器分发器，DISRUPTOR 模式下为 null
+    private final SessionMailboxDispatcher listenerDispatcher;
+
+    // 本消费者的指标，未开启时为 null
+    private final DisruptorEventMetrics metrics;
+
     public DisruptorEventHandler(AtomicIOEngine engine) {
+        this(engine, null, null);
+    }
+
+    public DisruptorEventHandler(AtomicIOEngine engine, SessionMailboxDispatcher listenerDispatcher,
+                                 DisruptorEventMetrics metrics) {
+        this.listenerDispatcher = listenerDispatcher;
+        this.metrics = metrics;
         this.eventManager = engine.getEventManager();
         this.sessionManager = engine.getSessionManager();
         this.groupManager = engine.getGroupManager();
+        AtomicIOProperties.Disruptor config = engine.getConfig().getDisruptor();
+        this.messageBatchMaxSize = Math.max(1, config.getMessageBatchMaxSize());
+        this.messageBatch = new MessageBatch(Math.min(messageBatchMaxSize, 256));
+        this.flushContext = config.isBatchFlush() ? new BatchFlushContext() : null;
+    }
+
+    @Override
+    public void onStart() {
+        // 在消费者线程上绑定刷写上下文
+        if (flushContext != null) {
+            flushContext.bind();
+        }
+    }
+
+    @Override
+    public void onShutdown() {
+        commitMessageBatch();
+        if (flushContext != null) {
+            flushContext.unbind();
+        }
     }
 
     @Override
     public void onEvent(DisruptorEntry entry, long sequence, boolean endOfBatch) throws Exception {
         try {
             if (entry == null) return;
-            if (entry.getClusterMessage() != null) {
-                handleClusterMessage(entry.getClusterMessage());
-            } else if (entry.getType() != null) { // 确保是 IO 事件
+            long startNanos = metrics != null ? System.nanoTime() : 0;
+            AtomicIOClusterMessage clusterMessage = entry.getClusterMessage();
+            AtomicIOEventType type = entry.getType();
+            if (clusterMessage != null) {
+                handleClusterMessage(clusterMessage);
+            } else if (type != null) { // 确保是 IO 事件
                 handleIOEvent(entry);
             }
+            if (metrics != null && entry.getPublishNanos() != 0) {
+                recordMetrics(clusterMessage, type, entry.getPublishNanos(), startNanos);
+            }
         } catch (Throwable throwable) {
             // 捕获 Throwable，防止 Disruptor 消费者线程崩溃退出
             log.error("Disruptor event handling failed at sequence {}", sequence, throwable);
         } finally {
             // 事件处理完成后，清理 Event 对象，以便 Disruptor 复用
             entry.clear();
+            if (endOfBatch) {
+                onEndOfBatch();
+            }
+        }
+    }
+
+    /**
+     * 记录排队时间和处理时间
+     * VIRTUAL_THREAD 模式下处理时间只包含投递到邮箱的耗时
+     */
+    private void recordMetrics(AtomicIOClusterMessage clusterMessage, AtomicIOEventType type, long publishNanos, long startNanos) {
+        long handlerNanos = System.nanoTime() - startNanos;
+        long queueWaitNanos = startNanos - publishNanos;
+        if (clusterMessage != null) {
+            if (clusterMessage.getMessageType() != null) {
+                metrics.recordCluster(clusterMessage.getMessageType(), queueWaitNanos, handlerNanos);
+            }
+        } else if (type != null) {
+            metrics.recordEvent(type, queueWaitNanos, handlerNanos);
+        }
+    }
+
+    /**
+     * 批次结束：提交批量消息，刷写本批次写过的 Channel
+     */
+    private void onEndOfBatch() {
+        try {
+            commitMessageBatch();
+        } finally {
+            if (flushContext != null) {
+                flushContext.flush();
+            }
+        }
+    }
+
+    /**
+     * 把积累的消息交给批量监听器
+     */
+    private void commitMessageBatch() {
+        if (messageBatch.isEmpty()) {
+            return;
+        }
+        try {
+            eventManager.fireMessageBatchEvent(messageBatch);
+        } catch (Throwable throwable) {
+            log.error("Batch message listener failed, {} messages in batch", messageBatch.size(), throwable);
+        } finally {
+            messageBatch.clear();
         }
     }
 
@@ -109,14 +212,8 @@ public class DisruptorEventHandler implements EventHandler<DisruptorEntry> {
         List<String> userIds = clusterMessage.getTargetUserIds();
         if (userIds == null || userIds.isEmpty()) return;
 
-        // 批量场景下，建议对循环体进行异常隔离，防止某一个 Session 故障影响其他用户
-        for (String userId : userIds) {
-            try {
-                sessionManager.sendToUserLocally(userId, message);
-            } catch (Exception e) {
-                log.error("Failed to send batch message to user: {}", userId, e);
-            }
-        }
+        // 批量发送内部按用户做异常隔离，防止某一个 Session 故障影响其他用户
+        sessionManager.sendToUsersLocally(userIds, message, null);
     }
 
     /**
@@ -125,6 +222,26 @@ public class DisruptorEventHandler implements EventHandler<DisruptorEntry> {
      */
     private void handleIOEvent(DisruptorEntry disruptorEntry) {
         if (disruptorEntry == null) return;
+        AtomicInteger laneBarrier = disruptorEntry.getLaneBarrier();
+        if (laneBarrier != null && laneBarrier.decrementAndGet() != 0) {
+            // 另一个通道还没处理到这个 DISCONNECT，由最后到达的消费者触发
+            return;
+        }
+        if (disruptorEntry.getType() == AtomicIOEventType.MESSAGE) {
+            if (eventManager.hasBatchMessageListeners()) {
+                messageBatch.add(disruptorEntry.getSession(), disruptorEntry.getMessage());
+                if (messageBatch.size() >= messageBatchMaxSize) {
+                    commitMessageBatch();
+                }
+            }
+        } else {
+            // 生命周期事件之前先提交已积累的消息，保证批量监听器看到的顺序与事件顺序一致
+            commitMessageBatch();
+        }
+        if (listenerDispatcher != null) {
+            dispatchIOEvent(disruptorEntry);
+            return;
+        }
         switch (disruptorEntry.getType()) {
             case CONNECT:
                 eventManager.fireConnectEvent(disruptorEntry.getSession());
@@ -141,6 +258,44 @@ public class DisruptorEventHandler implements EventHandler<DisruptorEntry> {
             case ERROR:
                 eventManager.fireErrorEvent(disruptorEntry.getSession(), disruptorEntry.getCause());
                 break;
+            case WRITABILITY_CHANGED:
+                eventManager.fireWritabilityChangedEvent(disruptorEntry.getSession());
+                break;
+            default:
+                log.warn("Unhandled event type: {}", disruptorEntry.getType());
+                break;
+        }
+    }
+
+    /**
+     * VIRTUAL_THREAD 模式：把监听器调用投递到会话邮箱
+     * Entry 会被复用，必须先把字段取出来再交给其他线程
+     * @param disruptorEntry IO 事件
+     */
+    private void dispatchIOEvent(DisruptorEntry disruptorEntry) {
+        final AtomicIOSession session = disruptorEntry.getSession();
+        switch (disruptorEntry.getType()) {
+            case CONNECT:
+                listenerDispatcher.dispatch(session, () -> eventManager.fireConnectEvent(session));
+                break;
+            case DISCONNECT:
+                listenerDispatcher.dispatchLast(session, () -> eventManager.fireDisconnectEvent(session));
+                break;
+            case IDLE:
+                final IdleState idleState = disruptorEntry.getIdleState();
+                listenerDispatcher.dispatch(session, () -> eventManager.fireIdleEvent(session, idleState));
+                break;
+            case MESSAGE:
+                final AtomicIOMessage message = disruptorEntry.getMessage();
+                listenerDispatcher.dispatchMessage(session, () -> eventManager.fireMessageEvent(session, message));
+                break;
+            case ERROR:
+                final Throwable cause = disruptorEntry.getCause();
+                listenerDispatcher.dispatch(session, () -> eventManager.fireErrorEvent(session, cause));
+                break;
+            case WRITABILITY_CHANGED:
+                listenerDispatcher.dispatch(session, () -> eventManager.fireWritabilityChangedEvent(session));
+                break;
             default:
                 log.warn("Unhandled event type: {}", disruptorEntry.getType());
                 break;
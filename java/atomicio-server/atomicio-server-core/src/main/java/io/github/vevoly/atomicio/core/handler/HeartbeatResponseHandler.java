@@ -6,6 +6,7 @@ import io.github.vevoly.atomicio.protocol.api.message.AtomicIOMessage;
 import io.github.vevoly.atomicio.server.api.session.AtomicIOSession;
 import io.github.vevoly.atomicio.server.api.codec.AtomicIOServerCodecProvider;
 import io.github.vevoly.atomicio.core.engine.DefaultAtomicIOEngine;
+import io.github.vevoly.atomicio.core.session.NettySession;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
@@ -45,7 +46,7 @@ public class HeartbeatResponseHandler extends SimpleChannelInboundHandler<Atomic
 
     private void handleHeartbeat(ChannelHandlerContext ctx, AtomicIOMessage requestMessage) {
         // 从 Channel 属性中获取 Session
-        final AtomicIOSession session = engine.getSessionManager().getLocalSessionById(ctx.channel().id().asLongText());
+        final AtomicIOSession session = NettySession.of(ctx.channel());
         if (session == null) {
             return;
         }
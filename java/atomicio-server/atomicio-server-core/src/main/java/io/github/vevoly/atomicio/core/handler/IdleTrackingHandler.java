@@ -0,0 +1,184 @@
+package io.github.vevoly.atomicio.core.handler;
+
+import io.github.vevoly.atomicio.core.manager.IdleSweeper;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.timeout.IdleState;
+import io.netty.handler.timeout.IdleStateEvent;
+import io.netty.util.Timeout;
+import io.netty.util.TimerTask;
+
+/**
+ * 空闲检测处理器 (每个连接一个实例，只在开启了空闲检测时添加)
+ * 放在所有协议和业务处理器之前 (合并刷写模式下在 FlushConsolidationHandler 之后)，记录最后一次读和最后一次写的时间：读按批次 (channelReadComplete) 记录，写按 flush 记录，
+ * IO 线程上只有一次时间读取和一次字段写入，不调度任何定时任务。
+ * 到期检查由共享的 IdleSweeper 时间轮完成，空闲时向 Pipeline 发出与 IdleStateHandler 相同的 IdleStateEvent，
+ * 由 NettyEventTranslationHandler 翻译成 IDLE 事件。
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+public class IdleTrackingHandler extends ChannelDuplexHandler implements TimerTask {
+
+    private final IdleSweeper sweeper;
+    private ChannelHandlerContext ctx;
+    private volatile long lastReadTime;
+    private volatile long lastWriteTime;
+    private volatile Timeout timeout;
+    private volatile boolean destroyed;
+    // 只在 IO 线程中访问
+    private boolean reading;
+    // 以下状态只在时间轮线程中访问，记录上一次触发空闲时的时间戳，用来区分 FIRST_xxx 事件
+    private long readerIdleBase = -1;
+    private long writerIdleBase = -1;
+    private long allIdleBase = -1;
+
+    public IdleTrackingHandler(IdleSweeper sweeper) {
+        this.sweeper = sweeper;
+    }
+
+    /**
+     * 最后一次读的时间
+     */
+    public long getLastReadTime() {
+        return lastReadTime;
+    }
+
+    /**
+     * 最后一次写 (flush) 的时间
+     */
+    public long getLastWriteTime() {
+        return lastWriteTime;
+    }
+
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) {
+        this.ctx = ctx;
+        if (ctx.channel().isActive() && ctx.channel().isRegistered()) {
+            initialize();
+        }
+    }
+
+    @Override
+    public void channelActive(ChannelHandlerContext ctx) throws Exception {
+        initialize();
+        super.channelActive(ctx);
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        destroy();
+        super.channelInactive(ctx);
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) {
+        destroy();
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+        reading = true;
+        ctx.fireChannelRead(msg);
+    }
+
+    @Override
+    public void channelReadComplete(ChannelHandlerContext ctx) {
+        if (reading) {
+            reading = false;
+            lastReadTime = System.currentTimeMillis();
+        }
+        ctx.fireChannelReadComplete();
+    }
+
+    @Override
+    public void flush(ChannelHandlerContext ctx) {
+        lastWriteTime = System.currentTimeMillis();
+        ctx.flush();
+    }
+
+    private void initialize() {
+        if (timeout != null || destroyed) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        lastReadTime = now;
+        lastWriteTime = now;
+        if (sweeper.isEnabled()) {
+            timeout = sweeper.schedule(this, nextDelay(now, now, now));
+        }
+    }
+
+    private void destroy() {
+        destroyed = true;
+        Timeout t = timeout;
+        if (t != null) {
+            t.cancel();
+            timeout = null;
+        }
+    }
+
+    /**
+     * 时间轮到期检查，在时间轮线程上执行
+     */
+    @Override
+    public void run(Timeout t) {
+        if (destroyed || !ctx.channel().isOpen()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long lastRead = lastReadTime;
+        long lastWrite = lastWriteTime;
+        long lastAll = Math.max(lastRead, lastWrite);
+
+        if (sweeper.getReaderIdleMillis() > 0 && now - lastRead >= sweeper.getReaderIdleMillis()) {
+            fire(IdleState.READER_IDLE, readerIdleBase != lastRead);
+            readerIdleBase = lastRead;
+        }
+        if (sweeper.getWriterIdleMillis() > 0 && now - lastWrite >= sweeper.getWriterIdleMillis()) {
+            fire(IdleState.WRITER_IDLE, writerIdleBase != lastWrite);
+            writerIdleBase = lastWrite;
+        }
+        if (sweeper.getAllIdleMillis() > 0 && now - lastAll >= sweeper.getAllIdleMillis()) {
+            fire(IdleState.ALL_IDLE, allIdleBase != lastAll);
+            allIdleBase = lastAll;
+        }
+        if (!destroyed) {
+            timeout = sweeper.schedule(this, nextDelay(now, lastRead, lastWrite));
+        }
+    }
+
+    /**
+     * 距离最近一个可能到期的时间点还有多久；已经空闲的类型按一个完整周期后再次检查，与 IdleStateHandler 一致
+     */
+    private long nextDelay(long now, long lastRead, long lastWrite) {
+        long delay = Long.MAX_VALUE;
+        delay = Math.min(delay, remaining(now, lastRead, sweeper.getReaderIdleMillis()));
+        delay = Math.min(delay, remaining(now, lastWrite, sweeper.getWriterIdleMillis()));
+        delay = Math.min(delay, remaining(now, Math.max(lastRead, lastWrite), sweeper.getAllIdleMillis()));
+        return delay;
+    }
+
+    private static long remaining(long now, long last, long idleMillis) {
+        if (idleMillis <= 0) {
+            return Long.MAX_VALUE;
+        }
+        long remaining = last + idleMillis - now;
+        return remaining > 0 ? remaining : idleMillis;
+    }
+
+    private void fire(IdleState state, boolean first) {
+        IdleStateEvent event = switch (state) {
+            case READER_IDLE -> first ? IdleStateEvent.FIRST_READER_IDLE_STATE_EVENT : IdleStateEvent.READER_IDLE_STATE_EVENT;
+            case WRITER_IDLE -> first ? IdleStateEvent.FIRST_WRITER_IDLE_STATE_EVENT : IdleStateEvent.WRITER_IDLE_STATE_EVENT;
+            case ALL_IDLE -> first ? IdleStateEvent.FIRST_ALL_IDLE_STATE_EVENT : IdleStateEvent.ALL_IDLE_STATE_EVENT;
+        };
+        // 连接可能在时间轮检查之后、事件送达之前关闭 (channelInactive 会发布 DISCONNECT)，
+        // 所以在 EventLoop 上再检查一次，关闭后不再发出空闲事件
+        ctx.executor().execute(() -> {
+            if (!destroyed && ctx.channel().isActive()) {
+                ctx.fireUserEventTriggered(event);
+            }
+        });
+    }
+}
@@ -80,4 +80,16 @@ public class IpConnectionLimitHandler extends ChannelInboundHandlerAdapter {
         super.channelInactive(ctx);
     }
 
+    /**
+     * 该 IP 是否还能建立新连接 (只检查，不计数，计数仍在 channelActive 中完成)
+     * KCP 在创建连接之前调用，已达上限的对端不会分配连接
+     */
+    public boolean hasCapacity(String ip) {
+        if (maxConnectionsPerIp <= 0) {
+            return true;
+        }
+        AtomicInteger count = ipConnectionCounts.get(ip);
+        return count == null || count.get() < maxConnectionsPerIp;
+    }
+
 }
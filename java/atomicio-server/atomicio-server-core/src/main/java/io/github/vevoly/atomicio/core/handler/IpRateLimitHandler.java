@@ -47,13 +47,11 @@ public class IpRateLimitHandler extends ChannelInboundHandlerAdapter {
     public void handlerAdded(ChannelHandlerContext ctx) throws Exception {
         String ip = IpUtils.getIp(ctx);
         if (ip == null) {
-            super.channelActive(ctx);
+            super.handlerAdded(ctx);
             return;
         }
 
-        // 如果 key 不存在，则原子地计算并存入
-        AtomicInteger count = ipConnectionRates.get(ip, k -> new AtomicInteger(0));
-        if (count.incrementAndGet() > rateLimitCount) {
+        if (!tryAcquire(ip)) {
             log.warn("IP {} exceeded rate limit of {} conn/{}s. Rejecting connection.", ip, rateLimitCount, rateLimitInterval);
             // 触发通用拒绝事件
             engine.getEventManager().fireConnectionRejectEvent(ctx.channel(), ConnectionRejectType.CONNECTION_RATE_LIMIT_EXCEEDED, null);
@@ -66,4 +64,15 @@ public class IpRateLimitHandler extends ChannelInboundHandlerAdapter {
         }
     }
 
+    /**
+     * 记录一次新连接
+     * KCP 在创建连接之前直接调用，被拒绝的报文不会分配连接
+     * @return 未超过速率限制时返回 true
+     */
+    public boolean tryAcquire(String ip) {
+        // 如果 key 不存在，则原子地计算并存入
+        AtomicInteger count = ipConnectionRates.get(ip, k -> new AtomicInteger(0));
+        return count.incrementAndGet() <= rateLimitCount;
+    }
+
 }
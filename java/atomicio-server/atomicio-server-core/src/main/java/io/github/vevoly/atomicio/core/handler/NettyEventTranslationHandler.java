@@ -1,10 +1,15 @@
 package io.github.vevoly.atomicio.core.handler;
 
+import io.github.vevoly.atomicio.common.api.config.CommandExecutionPolicy;
+import io.github.vevoly.atomicio.common.api.config.DisruptorOverflowPolicy;
+import io.github.vevoly.atomicio.core.session.DedicatedLaneTracker;
 import io.github.vevoly.atomicio.core.session.NettySession;
+import io.github.vevoly.atomicio.protocol.api.AtomicIOCommand;
 import io.github.vevoly.atomicio.protocol.api.message.AtomicIOMessage;
 import io.github.vevoly.atomicio.server.api.AtomicIOEngine;
-import io.github.vevoly.atomicio.server.api.constants.AtomicIOEventType;
+import io.github.vevoly.atomicio.server.api.constants.DisruptorEventSource;
 import io.github.vevoly.atomicio.server.api.constants.IdleState;
+import io.github.vevoly.atomicio.server.api.manager.DisruptorEntryTranslators;
 import io.github.vevoly.atomicio.server.api.manager.DisruptorManager;
 import io.github.vevoly.atomicio.server.api.session.AtomicIOSession;
 import io.netty.channel.ChannelHandler;
@@ -14,10 +19,15 @@ import io.netty.handler.timeout.IdleStateEvent;
 import io.netty.util.ReferenceCountUtil;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * Netty Channel Pipeline 核心事件翻译处理器
  * 它的唯一职责是将 Netty 的底层 I/O 事件，翻译成 DisruptorEntry，
  * 并发布到 Disruptor 中进行异步处理。
+ * 发布时按事件来源的溢出策略处理队列满的情况，避免 IO 线程被 Disruptor 卡住。
+ * 业务消息按指令的执行策略分流：INLINE 直接在 IO 线程上执行监听器，DEDICATED 进入专用通道；
+ * 发送过 DEDICATED 消息的会话，DISCONNECT 同时经过两个通道，两边之前的消息都处理完才触发。
  *
  * @author vevoly
  * @since 0.0.1
@@ -37,7 +47,7 @@ public class NettyEventTranslationHandler extends ChannelInboundHandlerAdapter {
     @Override
     public void handlerAdded(ChannelHandlerContext ctx) throws Exception {
         // 在 Handler 被添加到 Pipeline 时，就创建 Session
-        final AtomicIOSession session = new NettySession(ctx.channel(), engine);
+        final AtomicIOSession session = NettySession.attach(ctx.channel(), engine);
         engine.getSessionManager().addLocalSession(session);
         super.handlerAdded(ctx);
     }
@@ -49,14 +59,12 @@ public class NettyEventTranslationHandler extends ChannelInboundHandlerAdapter {
      */
     @Override
     public void channelActive(ChannelHandlerContext ctx) throws Exception {
-        // 1. 将 Netty Channel 封装成我们的 AtomicIOSession
-        final AtomicIOSession session = engine.getSessionManager().getLocalSessionById(ctx.channel().id().asLongText());
+        // 1. 取出 handlerAdded 时挂在 Channel 上的 Session
+        final AtomicIOSession session = NettySession.of(ctx.channel());
         // 2. 触发引擎的 CONNECT 事件
         if (session != null) {
-            disruptorManager.publish(disruptorEntry -> {
-                disruptorEntry.setType(AtomicIOEventType.CONNECT);
-                disruptorEntry.setSession(session);
-            });
+            disruptorManager.tryPublishEvent(DisruptorEventSource.SESSION_LIFECYCLE, session,
+                    DisruptorEntryTranslators.CONNECT, session);
         }
         super.channelActive(ctx);
     }
@@ -68,15 +76,12 @@ public class NettyEventTranslationHandler extends ChannelInboundHandlerAdapter {
      */
     @Override
     public void channelInactive(ChannelHandlerContext ctx) throws Exception {
-        final AtomicIOSession session = engine.getSessionManager().getLocalSessionById(ctx.channel().id().asLongText());
+        final AtomicIOSession session = NettySession.of(ctx.channel());
         if (session != null) {
             // 1. 立即、同步地执行状态清理 // todo 涉及到 redis 应该修改成异步清理
             engine.clearSession(session);
             // 发布异步 DISCONNECT 事件
-            disruptorManager.publish(disruptorEntry -> {
-                disruptorEntry.setType(AtomicIOEventType.DISCONNECT);
-                disruptorEntry.setSession(session);
-            });
+            publishDisconnect(session);
         }
         super.channelInactive(ctx);
     }
@@ -89,7 +94,10 @@ public class NettyEventTranslationHandler extends ChannelInboundHandlerAdapter {
     @Override
     public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
         // 在 Handler 移除时，进行最终的清理
-        engine.getSessionManager().removeLocalSession(ctx.channel().id().asLongText());
+        final AtomicIOSession session = NettySession.of(ctx.channel());
+        if (session != null) {
+            engine.getSessionManager().removeLocalSession(session.getId());
+        }
         super.handlerRemoved(ctx);
     }
 
@@ -101,14 +109,10 @@ public class NettyEventTranslationHandler extends ChannelInboundHandlerAdapter {
      */
     @Override
     public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
-        final AtomicIOSession session = engine.getSessionManager().getLocalSessionById(ctx.channel().id().asLongText());
+        final AtomicIOSession session = NettySession.of(ctx.channel());
         if (session != null && msg instanceof AtomicIOMessage) {
             // 触发引擎的 MESSAGE 事件
-            disruptorManager.publish(disruptorEntry -> {
-                disruptorEntry.setType(AtomicIOEventType.MESSAGE);
-                disruptorEntry.setSession(session);
-                disruptorEntry.setMessage((AtomicIOMessage) msg);
-            });
+            dispatchMessage(session, (AtomicIOMessage) msg);
         } else {
             log.warn("Received an unhandled message type: {} from session {}",
                     msg.getClass().getName(), session.getId());
@@ -117,6 +121,76 @@ public class NettyEventTranslationHandler extends ChannelInboundHandlerAdapter {
         }
     }
 
+    /**
+     * 按指令的执行策略把业务消息交给监听器
+     * 网关逻辑节点收到的转发消息也经过这里，与本地连接的消息走同一套策略
+     * @param session
+     * @param message
+     */
+    public void dispatchMessage(AtomicIOSession session, AtomicIOMessage message) {
+        final CommandExecutionPolicy policy = disruptorManager.getCommandPolicy(message.getCommandId());
+        if (policy == CommandExecutionPolicy.INLINE) {
+            // 省去一次线程切换，监听器必须是非阻塞的
+            engine.getEventManager().fireMessageEvent(session, message);
+            return;
+        }
+        final DisruptorEventSource source;
+        if (policy == CommandExecutionPolicy.DEDICATED) {
+            source = DisruptorEventSource.DEDICATED_MESSAGE;
+            if (session instanceof DedicatedLaneTracker tracker) {
+                tracker.markDedicatedLaneUsed();
+            }
+        } else {
+            source = DisruptorEventSource.CLIENT_MESSAGE;
+        }
+        boolean published = disruptorManager.tryPublishEvent(source, session,
+                DisruptorEntryTranslators.MESSAGE, session, message);
+        if (!published) {
+            onMessageOverflow(source, session, message);
+        }
+    }
+
+    /**
+     * 发布 DISCONNECT
+     * 发送过 DEDICATED 消息的会话在客户端通道和专用通道上各发布一次，共用一个屏障，
+     * 最后处理到它的消费者才触发监听器，DISCONNECT 不会越过仍在专用通道里排队的消息，
+     * VIRTUAL_THREAD 模式下会话邮箱也只会在两个通道都结束后移除
+     * @param session
+     */
+    public void publishDisconnect(AtomicIOSession session) {
+        if (!(session instanceof DedicatedLaneTracker tracker) || !tracker.isDedicatedLaneUsed()) {
+            disruptorManager.tryPublishEvent(DisruptorEventSource.SESSION_LIFECYCLE, session,
+                    DisruptorEntryTranslators.DISCONNECT, session);
+            return;
+        }
+        AtomicInteger barrier = new AtomicInteger(2);
+        if (!disruptorManager.tryPublishEvent(DisruptorEventSource.DEDICATED_LIFECYCLE, session,
+                DisruptorEntryTranslators.DISCONNECT_BARRIER, session, barrier)) {
+            // 专用通道发布失败，退回只在客户端通道发布
+            disruptorManager.tryPublishEvent(DisruptorEventSource.SESSION_LIFECYCLE, session,
+                    DisruptorEntryTranslators.DISCONNECT, session);
+            return;
+        }
+        disruptorManager.tryPublishEvent(DisruptorEventSource.SESSION_LIFECYCLE, session,
+                DisruptorEntryTranslators.DISCONNECT_BARRIER, session, barrier);
+    }
+
+    /**
+     * 当 Channel 可写性改变时被调用
+     * 待发送数据超过写缓冲高水位变为不可写，降到低水位以下重新变为可写
+     * @param ctx
+     * @throws Exception
+     */
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+        final AtomicIOSession session = NettySession.of(ctx.channel());
+        if (session != null) {
+            disruptorManager.tryPublishEvent(DisruptorEventSource.SESSION_LIFECYCLE, session,
+                    DisruptorEntryTranslators.WRITABILITY_CHANGED, session);
+        }
+        super.channelWritabilityChanged(ctx);
+    }
+
     /**
      * 当发生异常时被调用
      * @param ctx
@@ -125,15 +199,12 @@ public class NettyEventTranslationHandler extends ChannelInboundHandlerAdapter {
      */
     @Override
     public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) throws Exception {
-        final AtomicIOSession session = engine.getSessionManager().getLocalSessionById(ctx.channel().id().asLongText());
+        final AtomicIOSession session = NettySession.of(ctx.channel());
         if (session != null) {
             log.warn("服务器抛出异常 session {}: {}", session.getId(), cause.getMessage());
             // 发布 ERROR 事件
-            disruptorManager.publish(disruptorEntry -> {
-                disruptorEntry.setType(AtomicIOEventType.ERROR);
-                disruptorEntry.setSession(session);
-                disruptorEntry.setCause(cause);
-            });
+            disruptorManager.tryPublishEvent(DisruptorEventSource.SESSION_LIFECYCLE, session,
+                    DisruptorEntryTranslators.ERROR, session, cause);
         } else {
             // session 还没创建就出错（比如 SSL 握手早期）
             log.warn("Session 创建前捕获 channel 异常, channelId: {} : {}", ctx.channel().id(), cause.getMessage());
@@ -150,15 +221,13 @@ public class NettyEventTranslationHandler extends ChannelInboundHandlerAdapter {
     @Override
     public void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exception {
         if (evt instanceof IdleStateEvent) {
-            final AtomicIOSession session = engine.getSessionManager().getLocalSessionById(ctx.channel().id().asLongText());
-            if (session != null) {
+            final AtomicIOSession session = NettySession.of(ctx.channel());
+            // 连接已断开时 DISCONNECT 已经发布，不再发布 IDLE
+            if (session != null && ctx.channel().isActive()) {
                 final IdleState myIdleState = translateIdleState(((IdleStateEvent) evt).state());
                 if (myIdleState != null) {
-                    disruptorManager.publish(disruptorEntry -> {
-                        disruptorEntry.setType(AtomicIOEventType.IDLE);
-                        disruptorEntry.setSession(session);
-                        disruptorEntry.setIdleState(myIdleState);
-                    });
+                    disruptorManager.tryPublishEvent(DisruptorEventSource.SESSION_LIFECYCLE, session,
+                            DisruptorEntryTranslators.IDLE, session, myIdleState);
                 }
             }
         } else {
@@ -166,6 +235,22 @@ public class NettyEventTranslationHandler extends ChannelInboundHandlerAdapter {
         }
     }
 
+    /**
+     * 客户端消息因队列满未能进入 Disruptor
+     * REJECT 策略下回复服务器繁忙，让客户端可以退避重试
+     * @param source
+     * @param session
+     * @param message
+     */
+    private void onMessageOverflow(DisruptorEventSource source, AtomicIOSession session, AtomicIOMessage message) {
+        if (disruptorManager.getOverflowPolicy(source) == DisruptorOverflowPolicy.REJECT
+                && engine.getCodecProvider() != null) {
+            session.send(engine.getCodecProvider()
+                    .createResponse(message, AtomicIOCommand.SYSTEM_ERROR_NOTIFY, false, "Server busy"));
+        }
+        ReferenceCountUtil.release(message);
+    }
+
     /**
      * 翻译空闲状态
      * @param nettyState
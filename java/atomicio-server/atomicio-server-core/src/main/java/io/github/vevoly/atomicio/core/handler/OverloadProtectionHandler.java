@@ -4,11 +4,14 @@ import io.github.vevoly.atomicio.common.api.config.AtomicIOProperties;
 import io.github.vevoly.atomicio.core.engine.DefaultAtomicIOEngine;
 import io.github.vevoly.atomicio.server.api.AtomicIOEngine;
 import io.github.vevoly.atomicio.server.api.constants.ConnectionRejectType;
+import io.github.vevoly.atomicio.server.api.constants.DisruptorLane;
 import io.github.vevoly.atomicio.server.api.manager.DisruptorManager;
 import io.netty.channel.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * 服务器过载保护处理器。
  * 放在 Pipeline 的最前端，负责在连接建立的早期阶段检查系统负载。
@@ -76,6 +79,20 @@ public class OverloadProtectionHandler extends ChannelInboundHandlerAdapter {
                 }
             }
         }
+        // 检查客户端 IO 事件的排队时间：监听器变慢时容量可能还很充足，但事件已经在排队
+        long queueWaitMillis = config.getQueueWaitMillis();
+        if (queueWaitMillis > 0) {
+            DisruptorManager disruptorManager = engine.getDisruptorManager();
+            long ewmaNanos = disruptorManager.getQueueWaitEwmaNanos();
+            // 只有队列仍有积压时才认为过载，避免空闲后滑动平均停留在高位
+            if (ewmaNanos > TimeUnit.MILLISECONDS.toNanos(queueWaitMillis)
+                    && disruptorManager.getLag(DisruptorLane.CLIENT) > 0) {
+                log.warn("Node overloaded: client events wait {} ms in the Disruptor queue on average (threshold: {} ms). Rejecting new connection from {}.",
+                        TimeUnit.NANOSECONDS.toMillis(ewmaNanos), queueWaitMillis, channel.remoteAddress());
+                engine.getEventManager().fireConnectionRejectEvent(channel, ConnectionRejectType.SERVER_OVERLOADED, null);
+                return true;
+            }
+        }
         return false;
     }
 
@@ -11,10 +11,10 @@ import io.github.vevoly.atomicio.server.api.manager.StateManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * 路由处理器
@@ -37,23 +37,24 @@ public class RoutingHandler {
     private boolean isClusterMode() { return clusterManager() != null; }
 
     public void sendToUser(String userId, AtomicIOMessage message) {
-        sendToUsers(Collections.singletonList(userId), message);
+        if (!sessionManager().sendToUserLocally(userId, message) && isClusterMode()) {
+            clusterManager().sendToUsers(Collections.singletonList(userId), message);
+        }
     }
 
     public void sendToUsers(List<String> userIds, AtomicIOMessage message) {
         if (userIds == null || userIds.isEmpty()) return;
 
         // 1. 【本地投递】首先，尝试向所有在本节点的 session 投递
-        List<String> notFoundLocally = userIds.stream()
-                .filter(userId -> !sessionManager().sendToUserLocally(userId, message))
-                .collect(Collectors.toList());
+        // 只有集群模式才需要收集不在本地的用户，单机模式整个扇出不创建中间集合
+        List<String> notFoundLocally = isClusterMode() ? new ArrayList<>() : null;
+        sessionManager().sendToUsersLocally(userIds, message, notFoundLocally);
 
         // 2. 【集群投递】如果开启了集群模式，并且有部分用户不在本地，则启动远程路由
-        if (isClusterMode() && !notFoundLocally.isEmpty()) {
+        if (notFoundLocally != null && !notFoundLocally.isEmpty()) {
             log.debug("Users not found locally: {}. Attempting cluster routing.", notFoundLocally);
             // ★ 完全委托给 ClusterManager 去处理复杂的远程路由
             clusterManager().sendToUsers(notFoundLocally, message);
-            engine.getClusterManager().sendToUsers(notFoundLocally, message);
         }
     }
 
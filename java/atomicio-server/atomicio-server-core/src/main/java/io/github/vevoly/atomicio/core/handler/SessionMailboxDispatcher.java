@@ -0,0 +1,183 @@
+package io.github.vevoly.atomicio.core.handler;
+
+import io.github.vevoly.atomicio.server.api.session.AtomicIOSession;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 基于虚拟线程的会话串行邮箱
+ * 每个会话一个轻量邮箱 (无锁队列 + 计数器)，邮箱有任务时占用一个虚拟线程顺序执行，执行完即释放。
+ * 同一会话的事件严格按投递顺序执行，不同会话之间并发执行，阻塞的监听器不再卡住 Disruptor 消费者。
+ * 会话结束 (DISCONNECT) 或连接已断开的会话，邮箱在排空后从表中移除，迟到的事件不会让邮箱一直留在表里。
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+@Slf4j
+public class SessionMailboxDispatcher {
+
+    private final ExecutorService executor;
+    private final Map<AtomicIOSession, Mailbox> mailboxes = new ConcurrentHashMap<>();
+    private final int messageCapacity;
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    public SessionMailboxDispatcher(int messageCapacity) {
+        this.messageCapacity = messageCapacity > 0 ? messageCapacity : Integer.MAX_VALUE;
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("atomicio-listener-", 0).factory());
+    }
+
+    /**
+     * 投递生命周期事件，不受邮箱容量限制
+     * @param session 会话，为 null 时直接在新的虚拟线程上执行
+     * @param task    监听器调用
+     */
+    public void dispatch(AtomicIOSession session, Runnable task) {
+        if (session == null) {
+            execute(task);
+            return;
+        }
+        enqueue(session, task, false);
+    }
+
+    /**
+     * 投递消息事件，邮箱积压超过容量时丢弃
+     * @param session 会话
+     * @param task    监听器调用
+     * @return 是否投递成功
+     */
+    public boolean dispatchMessage(AtomicIOSession session, Runnable task) {
+        if (session == null) {
+            execute(task);
+            return true;
+        }
+        Mailbox mailbox = mailboxes.get(session);
+        if (mailbox != null && mailbox.pending.get() >= messageCapacity) {
+            long dropped = droppedCount.incrementAndGet();
+            if ((dropped & (dropped - 1)) == 0) {
+                log.warn("Session {} mailbox is full ({} pending), message dropped (total dropped: {}).",
+                        session.getId(), mailbox.pending.get(), dropped);
+            }
+            return false;
+        }
+        enqueue(session, task, false);
+        return true;
+    }
+
+    /**
+     * 投递会话的最后一个事件 (DISCONNECT)，邮箱排空后从表中移除
+     * 已经在邮箱中的任务仍会按顺序执行完
+     * @param session 会话
+     * @param task    监听器调用
+     */
+    public void dispatchLast(AtomicIOSession session, Runnable task) {
+        if (session == null) {
+            execute(task);
+            return;
+        }
+        enqueue(session, task, true);
+    }
+
+    /**
+     * 因邮箱满而丢弃的消息数
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * 当前持有邮箱的会话数
+     */
+    public int getMailboxCount() {
+        return mailboxes.size();
+    }
+
+    /**
+     * 关闭，等待正在执行的监听器结束
+     */
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                log.warn("Virtual thread listeners did not finish in 5 seconds, {} mailbox(es) left.", mailboxes.size());
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+        mailboxes.clear();
+    }
+
+    /**
+     * 放入会话的邮箱，没有时创建
+     * 入队和邮箱排空后的移除都在 compute 内完成，移除时不会有任务刚放进一个已经离开表的邮箱
+     */
+    private void enqueue(AtomicIOSession session, Runnable task, boolean last) {
+        mailboxes.compute(session, (s, mailbox) -> {
+            Mailbox target = mailbox != null ? mailbox : new Mailbox(s);
+            if (last) {
+                target.closed = true;
+            }
+            target.enqueue(task);
+            return target;
+        });
+    }
+
+    private void execute(Runnable task) {
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            log.warn("Listener dispatcher is shut down, event is dropped.");
+        }
+    }
+
+    /**
+     * 会话邮箱
+     * pending 为 0 -> 1 的投递者负责启动一个虚拟线程，该线程把邮箱排空后退出；
+     * 会话已结束或连接已断开时，排空后把邮箱从表中移除
+     */
+    private final class Mailbox implements Runnable {
+
+        private final AtomicIOSession session;
+        private final ConcurrentLinkedQueue<Runnable> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pending = new AtomicInteger();
+        // 已投递 DISCONNECT，只在 compute 内写入
+        private volatile boolean closed;
+
+        Mailbox(AtomicIOSession session) {
+            this.session = session;
+        }
+
+        void enqueue(Runnable task) {
+            queue.offer(task);
+            if (pending.getAndIncrement() == 0) {
+                execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            do {
+                Runnable task = queue.poll();
+                try {
+                    task.run();
+                } catch (Throwable throwable) {
+                    log.error("Listener execution failed on virtual thread", throwable);
+                }
+            } while (pending.decrementAndGet() != 0);
+            if (closed || !session.isActive()) {
+                // 移除前再确认没有新任务，有的话由新启动的虚拟线程排空后再检查
+                mailboxes.computeIfPresent(session, (s, mailbox) -> mailbox == this && pending.get() == 0 ? null : mailbox);
+            }
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package io.github.vevoly.atomicio.core.handler;
+
+import io.github.vevoly.atomicio.common.api.config.AtomicIOProperties;
+import io.github.vevoly.atomicio.common.api.config.SlowConsumerPolicy;
+import io.github.vevoly.atomicio.core.message.RawBytesMessage;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.MessageSizeEstimator;
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.concurrent.ScheduledFuture;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 慢消费者处理器 (每个 Channel 一个实例)
+ * 放在 Pipeline 的最末尾，业务发送的消息最先经过它：Channel 可写时直接放行；
+ * 不可写 (待发送数据超过写缓冲高水位) 时消息在这里排队，不再继续编码、堆进 Netty 的出站缓冲区。
+ * 排队超过消息数 / 字节数上限时按 SlowConsumerPolicy 丢弃新消息、丢弃最早的消息，或在宽限期后断开连接；
+ * Channel 重新可写后按顺序补发排队的消息。
+ * 消息在编码之前被丢弃，开启 SSL 时也不会破坏加密流。
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+@Slf4j
+public class SlowConsumerHandler extends ChannelDuplexHandler {
+
+    /**
+     * 被丢弃消息的 Future 失败原因，共享实例，不填充堆栈
+     */
+    public static final OutboundDroppedException DROPPED = new OutboundDroppedException();
+
+    private final SlowConsumerPolicy policy;
+    private final int maxPendingMessages;
+    private final long maxPendingBytes;
+    private final long graceMillis;
+
+    // 以下状态只在 Channel 所属的 EventLoop 中访问
+    private final ArrayDeque<PendingWrite> pending = new ArrayDeque<>();
+    private long pendingBytes;
+    private long droppedCount;
+    private MessageSizeEstimator.Handle sizeHandle;
+    private ScheduledFuture<?> graceTimer;
+
+    public SlowConsumerHandler(AtomicIOProperties.SlowConsumer config) {
+        this.policy = config.getPolicy();
+        this.maxPendingMessages = Math.max(0, config.getMaxPendingMessages());
+        this.maxPendingBytes = Math.max(0, config.getMaxPendingBytes());
+        this.graceMillis = Math.max(0, config.getGraceMillis());
+    }
+
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) {
+        this.sizeHandle = ctx.channel().config().getMessageSizeEstimator().newHandle();
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+        if (pending.isEmpty() && ctx.channel().isWritable()) {
+            ctx.write(msg, promise);
+            return;
+        }
+        final int size = estimateSize(msg);
+        if (pending.size() >= maxPendingMessages || pendingBytes + size > maxPendingBytes) {
+            if (policy != SlowConsumerPolicy.DROP_OLDEST) {
+                // DROP_NEW / DISCONNECT：保留已排队的消息，DISCONNECT 等宽限期到了再断开
+                drop(ctx, msg, promise);
+                return;
+            }
+            while (!pending.isEmpty()
+                    && (pending.size() >= maxPendingMessages || pendingBytes + size > maxPendingBytes)) {
+                PendingWrite oldest = pending.poll();
+                pendingBytes -= oldest.size;
+                drop(ctx, oldest.msg, oldest.promise);
+            }
+        }
+        pending.add(new PendingWrite(msg, promise, size));
+        pendingBytes += size;
+        if (ctx.channel().isWritable()) {
+            // 重新可写但还有积压 (上一次补发中途又变为不可写)，先补发保证顺序
+            drain(ctx);
+        }
+    }
+
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+        if (ctx.channel().isWritable()) {
+            cancelGraceTimer();
+            if (drain(ctx)) {
+                ctx.flush();
+            }
+        } else if (policy == SlowConsumerPolicy.DISCONNECT && graceTimer == null) {
+            graceTimer = ctx.executor().schedule(() -> {
+                graceTimer = null;
+                if (ctx.channel().isActive() && !ctx.channel().isWritable()) {
+                    log.warn("Slow consumer {} stayed unwritable for {} ms, {} messages pending, {} dropped. Closing connection.",
+                            ctx.channel().remoteAddress(), graceMillis, pending.size(), droppedCount);
+                    ctx.close();
+                }
+            }, graceMillis, TimeUnit.MILLISECONDS);
+        }
+        super.channelWritabilityChanged(ctx);
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        releaseAll();
+        super.channelInactive(ctx);
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) {
+        releaseAll();
+    }
+
+    /**
+     * 补发排队的消息，直到队列清空或 Channel 再次不可写
+     * @param ctx
+     * @return 是否写出了消息
+     */
+    private boolean drain(ChannelHandlerContext ctx) {
+        boolean written = false;
+        while (!pending.isEmpty() && ctx.channel().isWritable()) {
+            PendingWrite write = pending.poll();
+            pendingBytes -= write.size;
+            ctx.write(write.msg, write.promise);
+            written = true;
+        }
+        return written;
+    }
+
+    private void drop(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+        ReferenceCountUtil.release(msg);
+        // VoidPromise 失败会触发 exceptionCaught 导致连接被关闭，丢弃不应该产生这个副作用
+        if (!promise.isVoid()) {
+            promise.tryFailure(DROPPED);
+        }
+        droppedCount++;
+        // 按 2 的幂次打印，避免慢消费者刷屏
+        if ((droppedCount & (droppedCount - 1)) == 0) {
+            log.warn("Slow consumer {}: outbound queue full ({} messages, {} bytes), policy {}, {} messages dropped so far.",
+                    ctx.channel().remoteAddress(), pending.size(), pendingBytes, policy, droppedCount);
+        }
+    }
+
+    private void releaseAll() {
+        cancelGraceTimer();
+        if (pending.isEmpty()) {
+            return;
+        }
+        ClosedChannelException cause = new ClosedChannelException();
+        PendingWrite write;
+        while ((write = pending.poll()) != null) {
+            ReferenceCountUtil.release(write.msg);
+            if (!write.promise.isVoid()) {
+                write.promise.tryFailure(cause);
+            }
+        }
+        pendingBytes = 0;
+    }
+
+    private void cancelGraceTimer() {
+        if (graceTimer != null) {
+            graceTimer.cancel(false);
+            graceTimer = null;
+        }
+    }
+
+    /**
+     * 估算消息大小
+     * 预编码的集群消息直接取字节数；ByteBuf 等由 Netty 的估算器计算；其他未编码的消息对象只能得到一个默认估算值
+     * @param msg
+     * @return
+     */
+    private int estimateSize(Object msg) {
+        if (msg instanceof RawBytesMessage) {
+            byte[] payload = ((RawBytesMessage) msg).getPayload();
+            return payload != null ? payload.length : 0;
+        }
+        return Math.max(0, sizeHandle.size(msg));
+    }
+
+    private static final class PendingWrite {
+        final Object msg;
+        final ChannelPromise promise;
+        final int size;
+
+        PendingWrite(Object msg, ChannelPromise promise, int size) {
+            this.msg = msg;
+            this.promise = promise;
+            this.size = size;
+        }
+    }
+
+    /**
+     * 消息因慢消费者策略被丢弃
+     */
+    public static final class OutboundDroppedException extends RuntimeException {
+
+        private OutboundDroppedException() {
+            super("Outbound message dropped: slow consumer queue is full", null, false, false);
+        }
+    }
+}
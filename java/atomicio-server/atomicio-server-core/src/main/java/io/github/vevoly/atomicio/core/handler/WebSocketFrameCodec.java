@@ -0,0 +1,76 @@
+package io.github.vevoly.atomicio.core.handler;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.handler.codec.http.websocketx.BinaryWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.ContinuationWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.TextWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.WebSocketFrame;
+import io.netty.handler.codec.http.websocketx.WebSocketServerProtocolHandler;
+import io.netty.util.ReferenceCountUtil;
+
+/**
+ * WebSocket 帧与字节流之间的适配器 (每个 Channel 一个实例)
+ * 放在 WebSocketServerProtocolHandler 之后、CodecProvider 的编解码器之前：
+ * - 入站：把数据帧的 content 直接交给后面的帧解码器，不做拷贝，客户端发送的字节与 TCP 完全相同；
+ * - 出站：把编码器产生的 ByteBuf 包装成 BinaryWebSocketFrame，同样不做拷贝。
+ * 握手完成之前吞掉 channelActive，握手完成后再向后传递，CONNECT 事件因此在连接真正可用时才触发。
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+public class WebSocketFrameCodec extends ChannelDuplexHandler {
+
+    private boolean handshakeComplete;
+
+    @Override
+    public void channelActive(ChannelHandlerContext ctx) {
+        // 等待 WebSocket 握手完成
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        // 没有握手成功的连接对后面的处理器来说从未建立过
+        if (handshakeComplete) {
+            super.channelInactive(ctx);
+        }
+    }
+
+    @Override
+    public void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exception {
+        if (evt instanceof WebSocketServerProtocolHandler.HandshakeComplete) {
+            handshakeComplete = true;
+            ctx.fireChannelActive();
+        }
+        super.userEventTriggered(ctx, evt);
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+        if (msg instanceof BinaryWebSocketFrame
+                || msg instanceof ContinuationWebSocketFrame
+                || msg instanceof TextWebSocketFrame) {
+            // 帧与 content 共用引用计数，所有权直接转交
+            ctx.fireChannelRead(((WebSocketFrame) msg).content());
+        } else {
+            ctx.fireChannelRead(msg);
+        }
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+        if (!(msg instanceof ByteBuf)) {
+            ctx.write(msg, promise);
+            return;
+        }
+        if (!handshakeComplete) {
+            // 握手响应还没发出，这时写入的字节会破坏 HTTP 响应
+            ReferenceCountUtil.release(msg);
+            promise.tryFailure(new IllegalStateException("WebSocket handshake not completed"));
+            return;
+        }
+        ctx.write(new BinaryWebSocketFrame((ByteBuf) msg), promise);
+    }
+}
@@ -0,0 +1,731 @@
+package io.github.vevoly.atomicio.core.kcp;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * KCP 协议状态机 (ARQ)
+ * 按 ikcp.c 的算法实现：选择性重传、快速重传、可配置的收发窗口与拥塞控制、nodelay 模式下更激进的 RTO。
+ * 报文格式与 ikcp 相同 (24 字节小端头部)，可以直接与其他语言的 KCP 客户端互通。
+ * 这个类不是线程安全的，所有方法都必须在同一个线程 (Channel 所属的 EventLoop) 中调用。
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+public class Kcp {
+
+    public static final int OVERHEAD = 24;
+
+    private static final int RTO_NDL = 30;      // nodelay 模式的最小 RTO
+    private static final int RTO_MIN = 100;     // 普通模式的最小 RTO
+    private static final int RTO_DEF = 200;
+    private static final int RTO_MAX = 60000;
+    private static final byte CMD_PUSH = 81;    // 数据
+    private static final byte CMD_ACK = 82;     // 确认
+    private static final byte CMD_WASK = 83;    // 询问对端窗口
+    private static final byte CMD_WINS = 84;    // 告知本端窗口
+    private static final int ASK_SEND = 1;
+    private static final int ASK_TELL = 2;
+    private static final int WND_SND = 32;
+    private static final int WND_RCV = 128;     // 不能小于最大分片数
+    private static final int MTU_DEF = 1400;
+    private static final int INTERVAL = 100;
+    private static final int DEADLINK = 20;
+    private static final int THRESH_INIT = 2;
+    private static final int THRESH_MIN = 2;
+    private static final int PROBE_INIT = 7000;
+    private static final int PROBE_LIMIT = 120000;
+    private static final int FASTACK_LIMIT = 5;
+
+    /**
+     * 报文输出回调
+     */
+    @FunctionalInterface
+    public interface Output {
+        /**
+         * @param packet 一个完整的 UDP 报文，所有权转交给回调
+         */
+        void output(ByteBuf packet);
+    }
+
+    private final int conv;
+    private final Output output;
+    private final ByteBufAllocator allocator;
+
+    private int mtu = MTU_DEF;
+    private int mss = MTU_DEF - OVERHEAD;
+    private boolean dead;
+    private int sndUna;
+    private int sndNxt;
+    private int rcvNxt;
+    private int ssthresh = THRESH_INIT;
+    private int rxRttval;
+    private int rxSrtt;
+    private int rxRto = RTO_DEF;
+    private int rxMinrto = RTO_MIN;
+    private int sndWnd = WND_SND;
+    private int rcvWnd = WND_RCV;
+    private int rmtWnd = WND_RCV;
+    private int cwnd;
+    private int probe;
+    private int current;
+    private int interval = INTERVAL;
+    private int tsFlush = INTERVAL;
+    private int nodelay;
+    private boolean updated;
+    private int tsProbe;
+    private int probeWait;
+    private int deadLink = DEADLINK;
+    private int incr;
+    private int fastResend;
+    private int fastLimit = FASTACK_LIMIT;
+    private boolean noCwnd;
+    private long retransmits;
+
+    private final ArrayDeque<Segment> sndQueue = new ArrayDeque<>();
+    private final ArrayDeque<Segment> rcvQueue = new ArrayDeque<>();
+    private final ArrayList<Segment> sndBuf = new ArrayList<>();
+    private final ArrayList<Segment> rcvBuf = new ArrayList<>();
+    // 待发送的 ACK，(sn, ts) 成对存放
+    private int[] ackList = new int[16];
+    private int ackCount;
+
+    public Kcp(int conv, Output output, ByteBufAllocator allocator) {
+        this.conv = conv;
+        this.output = output;
+        this.allocator = allocator;
+    }
+
+    /**
+     * 设置 nodelay 模式
+     * @param nodelay    0 关闭；1 开启 (最小 RTO 30ms，超时后 RTO 乘 1.5 而不是翻倍)；2 在 1 的基础上按当前 RTO 退避
+     * @param interval   内部时钟间隔 (毫秒)，10 ~ 5000
+     * @param resend     快速重传阈值，被跨越多少次 ACK 后立即重传，0 表示关闭
+     * @param noCwnd     是否关闭拥塞控制
+     */
+    public void nodelay(int nodelay, int interval, int resend, boolean noCwnd) {
+        this.nodelay = nodelay;
+        this.rxMinrto = nodelay > 0 ? RTO_NDL : RTO_MIN;
+        this.interval = Math.max(10, Math.min(5000, interval));
+        this.fastResend = Math.max(0, resend);
+        this.noCwnd = noCwnd;
+    }
+
+    /**
+     * 设置收发窗口 (单位：报文段)
+     */
+    public void wndSize(int sndWnd, int rcvWnd) {
+        if (sndWnd > 0) {
+            this.sndWnd = sndWnd;
+        }
+        if (rcvWnd > 0) {
+            this.rcvWnd = Math.max(rcvWnd, WND_RCV);
+        }
+    }
+
+    public void setMtu(int mtu) {
+        if (mtu < 50 || mtu < OVERHEAD) {
+            throw new IllegalArgumentException("mtu too small: " + mtu);
+        }
+        this.mtu = mtu;
+        this.mss = mtu - OVERHEAD;
+    }
+
+    /**
+     * 同一个报文段重传多少次后认为链路已断开
+     */
+    public void setDeadLink(int deadLink) {
+        this.deadLink = Math.max(1, deadLink);
+    }
+
+    public void setFastLimit(int fastLimit) {
+        this.fastLimit = fastLimit;
+    }
+
+    public int getConv() {
+        return conv;
+    }
+
+    public int getInterval() {
+        return interval;
+    }
+
+    public int getSndWnd() {
+        return sndWnd;
+    }
+
+    /**
+     * 是否因重传次数超过 deadLink 判定为断开
+     */
+    public boolean isDead() {
+        return dead;
+    }
+
+    /**
+     * 已发送但未确认、以及还在发送队列中的报文段数
+     */
+    public int waitSnd() {
+        return sndBuf.size() + sndQueue.size();
+    }
+
+    /**
+     * 累计超时重传次数
+     */
+    public long getRetransmits() {
+        return retransmits;
+    }
+
+    /**
+     * 设置初始序号，必须在收发任何报文之前调用，两端使用相同的值 (测试序号回绕用)
+     */
+    void initSequence(int sn) {
+        sndUna = sn;
+        sndNxt = sn;
+        rcvNxt = sn;
+    }
+
+    /**
+     * 读取报文头中的 conv
+     */
+    public static int readConv(ByteBuf packet) {
+        return packet.getIntLE(packet.readerIndex());
+    }
+
+    // ---------------------------------------------------------------------------------------------
+    // 上层收发
+    // ---------------------------------------------------------------------------------------------
+
+    /**
+     * 发送一条消息，超过 mss 时自动分片
+     * 消息内容以切片形式被引用，不拷贝；调用方仍然持有 buf 的一次引用，需要自行释放
+     * @param buf 消息
+     * @return 0 成功；-1 空消息；-2 分片数超过接收窗口
+     */
+    public int send(ByteBuf buf) {
+        int len = buf.readableBytes();
+        if (len == 0) {
+            return -1;
+        }
+        int count = (len + mss - 1) / mss;
+        if (count >= WND_RCV || count > 255) {
+            return -2;
+        }
+        int offset = buf.readerIndex();
+        for (int i = 0; i < count; i++) {
+            int size = Math.min(mss, len);
+            Segment seg = new Segment(buf.retainedSlice(offset, size));
+            seg.frg = count - i - 1;
+            sndQueue.add(seg);
+            offset += size;
+            len -= size;
+        }
+        return 0;
+    }
+
+    /**
+     * 取出一条完整的消息
+     * @return 消息，没有完整消息时返回 null；调用方负责释放
+     */
+    public ByteBuf recv() {
+        if (rcvQueue.isEmpty()) {
+            return null;
+        }
+        Segment first = rcvQueue.peek();
+        int size;
+        if (first.frg == 0) {
+            size = first.data.readableBytes();
+        } else {
+            if (rcvQueue.size() < first.frg + 1) {
+                return null;
+            }
+            size = 0;
+            for (Segment seg : rcvQueue) {
+                size += seg.data.readableBytes();
+                if (seg.frg == 0) {
+                    break;
+                }
+            }
+        }
+        boolean recover = rcvQueue.size() >= rcvWnd;
+
+        ByteBuf result;
+        if (first.frg == 0) {
+            // 单个分片直接转交，不拷贝
+            result = rcvQueue.poll().data;
+        } else {
+            result = allocator.buffer(size);
+            for (;;) {
+                Segment seg = rcvQueue.poll();
+                result.writeBytes(seg.data);
+                seg.data.release();
+                if (seg.frg == 0) {
+                    break;
+                }
+            }
+        }
+        moveToRcvQueue();
+        // 接收窗口从满变为不满，主动告知对端
+        if (rcvQueue.size() < rcvWnd && recover) {
+            probe |= ASK_TELL;
+        }
+        return result;
+    }
+
+    // ---------------------------------------------------------------------------------------------
+    // 下层输入
+    // ---------------------------------------------------------------------------------------------
+
+    /**
+     * 输入一个收到的 UDP 报文
+     * 报文中的数据以切片形式保留，调用方仍然持有 packet 的一次引用，需要自行释放
+     * @param packet 报文
+     * @return 0 成功；-1 conv 不匹配或报文太短；-2 报文长度错误；-3 未知指令
+     */
+    public int input(ByteBuf packet) {
+        int prevUna = sndUna;
+        boolean fastAckFlag = false;
+        int maxAck = 0;
+        if (packet.readableBytes() < OVERHEAD) {
+            return -1;
+        }
+        while (packet.readableBytes() >= OVERHEAD) {
+            int segConv = packet.readIntLE();
+            if (segConv != conv) {
+                return -1;
+            }
+            byte cmd = packet.readByte();
+            int frg = packet.readUnsignedByte();
+            int wnd = packet.readUnsignedShortLE();
+            int ts = packet.readIntLE();
+            int sn = packet.readIntLE();
+            int una = packet.readIntLE();
+            int len = packet.readIntLE();
+            if (len < 0 || packet.readableBytes() < len) {
+                return -2;
+            }
+            if (cmd != CMD_PUSH && cmd != CMD_ACK && cmd != CMD_WASK && cmd != CMD_WINS) {
+                return -3;
+            }
+            rmtWnd = wnd;
+            parseUna(una);
+            shrinkBuf();
+
+            if (cmd == CMD_ACK) {
+                if (current - ts >= 0) {
+                    updateAck(current - ts);
+                }
+                parseAck(sn);
+                shrinkBuf();
+                if (!fastAckFlag) {
+                    fastAckFlag = true;
+                    maxAck = sn;
+                } else if (sn - maxAck > 0) {
+                    maxAck = sn;
+                }
+            } else if (cmd == CMD_PUSH) {
+                if (sn - (rcvNxt + rcvWnd) < 0) {
+                    ackPush(sn, ts);
+                    if (sn - rcvNxt >= 0) {
+                        Segment seg = new Segment(packet.retainedSlice(packet.readerIndex(), len));
+                        seg.cmd = cmd;
+                        seg.frg = frg;
+                        seg.wnd = wnd;
+                        seg.ts = ts;
+                        seg.sn = sn;
+                        seg.una = una;
+                        parseData(seg);
+                    }
+                }
+            } else if (cmd == CMD_WASK) {
+                probe |= ASK_TELL;
+            }
+            packet.skipBytes(len);
+        }
+
+        if (fastAckFlag) {
+            parseFastAck(maxAck);
+        }
+
+        // 拥塞窗口增长：慢启动 + 拥塞避免
+        if (sndUna - prevUna > 0 && cwnd < rmtWnd) {
+            if (cwnd < ssthresh) {
+                cwnd++;
+                incr += mss;
+            } else {
+                if (incr < mss) {
+                    incr = mss;
+                }
+                incr += (mss * mss) / incr + (mss / 16);
+                if ((cwnd + 1) * mss <= incr) {
+                    cwnd = (incr + mss - 1) / mss;
+                }
+            }
+            if (cwnd > rmtWnd) {
+                cwnd = rmtWnd;
+                incr = rmtWnd * mss;
+            }
+        }
+        return 0;
+    }
+
+    private void updateAck(int rtt) {
+        if (rxSrtt == 0) {
+            rxSrtt = rtt;
+            rxRttval = rtt / 2;
+        } else {
+            int delta = Math.abs(rtt - rxSrtt);
+            rxRttval = (3 * rxRttval + delta) / 4;
+            rxSrtt = (7 * rxSrtt + rtt) / 8;
+            if (rxSrtt < 1) {
+                rxSrtt = 1;
+            }
+        }
+        int rto = rxSrtt + Math.max(interval, 4 * rxRttval);
+        rxRto = Math.max(rxMinrto, Math.min(rto, RTO_MAX));
+    }
+
+    private void shrinkBuf() {
+        sndUna = sndBuf.isEmpty() ? sndNxt : sndBuf.get(0).sn;
+    }
+
+    private void parseAck(int sn) {
+        if (sn - sndUna < 0 || sn - sndNxt >= 0) {
+            return;
+        }
+        for (int i = 0; i < sndBuf.size(); i++) {
+            Segment seg = sndBuf.get(i);
+            if (sn == seg.sn) {
+                sndBuf.remove(i);
+                seg.data.release();
+                break;
+            }
+            if (sn - seg.sn < 0) {
+                break;
+            }
+        }
+    }
+
+    private void parseUna(int una) {
+        int count = 0;
+        for (Segment seg : sndBuf) {
+            if (una - seg.sn > 0) {
+                seg.data.release();
+                count++;
+            } else {
+                break;
+            }
+        }
+        if (count > 0) {
+            sndBuf.subList(0, count).clear();
+        }
+    }
+
+    private void parseFastAck(int sn) {
+        if (sn - sndUna < 0 || sn - sndNxt >= 0) {
+            return;
+        }
+        for (Segment seg : sndBuf) {
+            if (sn - seg.sn < 0) {
+                break;
+            } else if (sn != seg.sn) {
+                seg.fastAck++;
+            }
+        }
+    }
+
+    private void ackPush(int sn, int ts) {
+        if (ackCount * 2 + 2 > ackList.length) {
+            int[] grown = new int[ackList.length * 2];
+            System.arraycopy(ackList, 0, grown, 0, ackCount * 2);
+            ackList = grown;
+        }
+        ackList[ackCount * 2] = sn;
+        ackList[ackCount * 2 + 1] = ts;
+        ackCount++;
+    }
+
+    private void parseData(Segment newSeg) {
+        int sn = newSeg.sn;
+        if (sn - (rcvNxt + rcvWnd) >= 0 || sn - rcvNxt < 0) {
+            newSeg.data.release();
+            return;
+        }
+        // rcvBuf 按 sn 有序，从尾部找插入位置
+        int insertAt = rcvBuf.size();
+        boolean repeat = false;
+        for (int i = rcvBuf.size() - 1; i >= 0; i--) {
+            Segment seg = rcvBuf.get(i);
+            if (seg.sn == sn) {
+                repeat = true;
+                break;
+            }
+            if (sn - seg.sn > 0) {
+                break;
+            }
+            insertAt = i;
+        }
+        if (repeat) {
+            newSeg.data.release();
+        } else {
+            rcvBuf.add(insertAt, newSeg);
+        }
+        moveToRcvQueue();
+    }
+
+    private void moveToRcvQueue() {
+        int count = 0;
+        for (Segment seg : rcvBuf) {
+            if (seg.sn == rcvNxt && rcvQueue.size() < rcvWnd) {
+                rcvQueue.add(seg);
+                rcvNxt++;
+                count++;
+            } else {
+                break;
+            }
+        }
+        if (count > 0) {
+            rcvBuf.subList(0, count).clear();
+        }
+    }
+
+    // ---------------------------------------------------------------------------------------------
+    // 时钟与输出
+    // ---------------------------------------------------------------------------------------------
+
+    /**
+     * 驱动内部时钟，按 interval 触发 flush (超时重传、窗口探测)
+     * @param currentMillis 当前时间 (毫秒，只使用低 32 位)
+     */
+    public void update(long currentMillis) {
+        current = (int) currentMillis;
+        if (!updated) {
+            updated = true;
+            tsFlush = current;
+        }
+        int slap = current - tsFlush;
+        if (slap >= 10000 || slap < -10000) {
+            tsFlush = current;
+            slap = 0;
+        }
+        if (slap >= 0) {
+            tsFlush += interval;
+            if (current - tsFlush >= 0) {
+                tsFlush = current + interval;
+            }
+            flush();
+        }
+    }
+
+    /**
+     * 立即输出待发送的 ACK 和数据，不等下一个 interval
+     * @param currentMillis 当前时间 (毫秒)
+     */
+    public void flush(long currentMillis) {
+        current = (int) currentMillis;
+        if (!updated) {
+            updated = true;
+            tsFlush = current + interval;
+        }
+        flush();
+    }
+
+    private void flush() {
+        if (!updated) {
+            return;
+        }
+        int wnd = wndUnused();
+        ByteBuf buffer = null;
+
+        // 1. ACK
+        for (int i = 0; i < ackCount; i++) {
+            buffer = ensureSpace(buffer, OVERHEAD);
+            encodeHeader(buffer, CMD_ACK, 0, wnd, ackList[i * 2 + 1], ackList[i * 2], rcvNxt, 0);
+        }
+        ackCount = 0;
+
+        // 2. 对端接收窗口为 0 时定时探测
+        if (rmtWnd == 0) {
+            if (probeWait == 0) {
+                probeWait = PROBE_INIT;
+                tsProbe = current + probeWait;
+            } else if (current - tsProbe >= 0) {
+                if (probeWait < PROBE_INIT) {
+                    probeWait = PROBE_INIT;
+                }
+                probeWait += probeWait / 2;
+                if (probeWait > PROBE_LIMIT) {
+                    probeWait = PROBE_LIMIT;
+                }
+                tsProbe = current + probeWait;
+                probe |= ASK_SEND;
+            }
+        } else {
+            tsProbe = 0;
+            probeWait = 0;
+        }
+        if ((probe & ASK_SEND) != 0) {
+            buffer = ensureSpace(buffer, OVERHEAD);
+            encodeHeader(buffer, CMD_WASK, 0, wnd, 0, 0, rcvNxt, 0);
+        }
+        if ((probe & ASK_TELL) != 0) {
+            buffer = ensureSpace(buffer, OVERHEAD);
+            encodeHeader(buffer, CMD_WINS, 0, wnd, 0, 0, rcvNxt, 0);
+        }
+        probe = 0;
+
+        // 3. 按窗口把发送队列移入发送缓冲
+        int cwndNow = Math.min(sndWnd, rmtWnd);
+        if (!noCwnd) {
+            cwndNow = Math.min(cwnd, cwndNow);
+        }
+        while (sndNxt - (sndUna + cwndNow) < 0 && !sndQueue.isEmpty()) {
+            Segment seg = sndQueue.poll();
+            seg.cmd = CMD_PUSH;
+            seg.wnd = wnd;
+            seg.ts = current;
+            seg.sn = sndNxt++;
+            seg.una = rcvNxt;
+            seg.resendTs = current;
+            seg.rto = rxRto;
+            seg.fastAck = 0;
+            seg.xmit = 0;
+            sndBuf.add(seg);
+        }
+
+        // 4. 首次发送、超时重传、快速重传
+        int resent = fastResend > 0 ? fastResend : Integer.MAX_VALUE;
+        int rtoMin = nodelay == 0 ? (rxRto >> 3) : 0;
+        boolean change = false;
+        boolean lost = false;
+        for (Segment seg : sndBuf) {
+            boolean needSend = false;
+            if (seg.xmit == 0) {
+                needSend = true;
+                seg.xmit++;
+                seg.rto = rxRto;
+                seg.resendTs = current + seg.rto + rtoMin;
+            } else if (current - seg.resendTs >= 0) {
+                needSend = true;
+                seg.xmit++;
+                retransmits++;
+                if (nodelay == 0) {
+                    seg.rto += Math.max(seg.rto, rxRto);
+                } else {
+                    int step = nodelay < 2 ? seg.rto : rxRto;
+                    seg.rto += step / 2;
+                }
+                seg.resendTs = current + seg.rto;
+                lost = true;
+            } else if (seg.fastAck >= resent) {
+                if (seg.xmit <= fastLimit || fastLimit <= 0) {
+                    needSend = true;
+                    seg.xmit++;
+                    seg.fastAck = 0;
+                    seg.resendTs = current + seg.rto;
+                    change = true;
+                }
+            }
+            if (needSend) {
+                int dataLen = seg.data.readableBytes();
+                buffer = ensureSpace(buffer, OVERHEAD + dataLen);
+                encodeHeader(buffer, CMD_PUSH, seg.frg, wnd, current, seg.sn, rcvNxt, dataLen);
+                buffer.writeBytes(seg.data, seg.data.readerIndex(), dataLen);
+                if (seg.xmit >= deadLink) {
+                    dead = true;
+                }
+            }
+        }
+        if (buffer != null) {
+            if (buffer.isReadable()) {
+                output.output(buffer);
+            } else {
+                buffer.release();
+            }
+        }
+
+        // 5. 拥塞窗口调整
+        if (change) {
+            int inflight = sndNxt - sndUna;
+            ssthresh = Math.max(inflight / 2, THRESH_MIN);
+            cwnd = ssthresh + resent;
+            incr = cwnd * mss;
+        }
+        if (lost) {
+            ssthresh = Math.max(cwnd / 2, THRESH_MIN);
+            cwnd = 1;
+            incr = mss;
+        }
+        if (cwnd < 1) {
+            cwnd = 1;
+            incr = mss;
+        }
+    }
+
+    /**
+     * 当前报文放不下时先输出，再分配一个新的 MTU 大小的报文
+     */
+    private ByteBuf ensureSpace(ByteBuf buffer, int need) {
+        if (buffer != null && buffer.readableBytes() + need > mtu) {
+            output.output(buffer);
+            buffer = null;
+        }
+        if (buffer == null) {
+            buffer = allocator.ioBuffer(mtu);
+        }
+        return buffer;
+    }
+
+    private void encodeHeader(ByteBuf buf, byte cmd, int frg, int wnd, int ts, int sn, int una, int len) {
+        buf.writeIntLE(conv);
+        buf.writeByte(cmd);
+        buf.writeByte(frg);
+        buf.writeShortLE(wnd);
+        buf.writeIntLE(ts);
+        buf.writeIntLE(sn);
+        buf.writeIntLE(una);
+        buf.writeIntLE(len);
+    }
+
+    private int wndUnused() {
+        return Math.max(0, rcvWnd - rcvQueue.size());
+    }
+
+    /**
+     * 释放所有缓冲的报文段
+     */
+    public void release() {
+        releaseAll(sndQueue);
+        releaseAll(rcvQueue);
+        releaseAll(sndBuf);
+        releaseAll(rcvBuf);
+    }
+
+    private static void releaseAll(Collection<Segment> segments) {
+        for (Segment seg : segments) {
+            seg.data.release();
+        }
+        segments.clear();
+    }
+
+    private static final class Segment {
+        final ByteBuf data;
+        byte cmd;
+        int frg;
+        int wnd;
+        int ts;
+        int sn;
+        int una;
+        int resendTs;
+        int rto;
+        int fastAck;
+        int xmit;
+
+        Segment(ByteBuf data) {
+            this.data = data;
+        }
+    }
+}
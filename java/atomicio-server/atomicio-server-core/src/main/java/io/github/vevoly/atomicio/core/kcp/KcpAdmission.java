@@ -0,0 +1,85 @@
+package io.github.vevoly.atomicio.core.kcp;
+
+import io.github.vevoly.atomicio.common.api.config.AtomicIOProperties;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * KCP 连接准入
+ * UDP 没有握手，源地址可以伪造，任何一个数据报文都可能创建连接：
+ * 在分配 KcpChannel 和会话之前检查全局连接数、单个 IP 的连接数和 IP 准入规则 (速率限制、连接数限制)，
+ * 不通过的报文直接丢弃。开启 SO_REUSEPORT 时所有 UDP Socket 共用一个实例。
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+@Slf4j
+public class KcpAdmission {
+
+    private final int maxConnections;
+    private final int maxConnectionsPerIp;
+    private final Predicate<InetSocketAddress> ipAdmission;
+    private final AtomicInteger connections = new AtomicInteger();
+    private final Map<InetAddress, AtomicInteger> ipConnections = new ConcurrentHashMap<>();
+
+    /**
+     * @param settings    KCP 配置
+     * @param ipAdmission IP 准入规则，为 null 时不检查
+     */
+    public KcpAdmission(AtomicIOProperties.Kcp settings, Predicate<InetSocketAddress> ipAdmission) {
+        this.maxConnections = settings.getMaxConnections();
+        this.maxConnectionsPerIp = settings.getMaxConnectionsPerIp();
+        this.ipAdmission = ipAdmission;
+    }
+
+    /**
+     * 为新连接占用一个名额，成功后必须在连接关闭时调用 release
+     * @param sender 对端地址
+     * @return 是否允许创建连接
+     */
+    public boolean tryAcquire(InetSocketAddress sender) {
+        if (connections.incrementAndGet() > maxConnections && maxConnections > 0) {
+            connections.decrementAndGet();
+            log.debug("KCP connection limit {} reached, datagram from {} dropped.", maxConnections, sender);
+            return false;
+        }
+        // 计数和移除都在 compute 内完成，避免 release 移除计数器的同时另一个线程在旧计数器上加一
+        AtomicInteger perIp = ipConnections.compute(sender.getAddress(), (k, v) -> {
+            AtomicInteger count = v != null ? v : new AtomicInteger();
+            count.incrementAndGet();
+            return count;
+        });
+        if (perIp.get() > maxConnectionsPerIp && maxConnectionsPerIp > 0) {
+            release(sender);
+            log.debug("KCP per-ip connection limit {} reached, datagram from {} dropped.", maxConnectionsPerIp, sender);
+            return false;
+        }
+        if (ipAdmission != null && !ipAdmission.test(sender)) {
+            release(sender);
+            log.debug("KCP datagram from {} rejected by ip security.", sender);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 归还 tryAcquire 占用的名额
+     */
+    public void release(InetSocketAddress sender) {
+        connections.decrementAndGet();
+        ipConnections.computeIfPresent(sender.getAddress(), (k, v) -> v.decrementAndGet() <= 0 ? null : v);
+    }
+
+    /**
+     * 当前占用的连接名额
+     */
+    public int getConnectionCount() {
+        return connections.get();
+    }
+}
@@ -0,0 +1,257 @@
+package io.github.vevoly.atomicio.core.kcp;
+
+import io.github.vevoly.atomicio.common.api.config.AtomicIOProperties;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.*;
+import io.netty.channel.socket.DatagramPacket;
+import io.netty.handler.codec.EncoderException;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+
+/**
+ * 一个 KCP 连接
+ * 每个 UDP 对端对应一个 KcpChannel，它是 UDP Channel 的子 Channel，注册在同一个 EventLoop 上。
+ * 对上层来说它和 TCP 连接没有区别：拥有自己的 Pipeline、出站缓冲区和可写性，NettySession / ChannelGroup 可以直接使用。
+ * - 入站：UDP 报文交给 Kcp 状态机，重组出的完整消息依次 fireChannelRead；
+ * - 出站：消息在发送窗口允许时交给 Kcp 分片发送，窗口满时留在出站缓冲区，由 ACK 推进后继续发送，背压因此可以传递到 Channel 的可写性。
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+public class KcpChannel extends AbstractChannel {
+
+    private static final ChannelMetadata METADATA = new ChannelMetadata(false);
+
+    private final ChannelConfig config;
+    private final InetSocketAddress remote;
+    private final Kcp kcp;
+    private final boolean ackNoDelay;
+    private final long sessionTimeoutMillis;
+    private final Runnable onClose;
+
+    private volatile boolean open = true;
+    // 以下状态只在 EventLoop 中访问
+    private boolean outputDirty;
+    private long lastReceiveMillis;
+
+    KcpChannel(Channel parent, InetSocketAddress remote, int conv, AtomicIOProperties.Kcp settings, Runnable onClose) {
+        super(parent);
+        this.remote = remote;
+        this.onClose = onClose;
+        this.config = new DefaultChannelConfig(this);
+        this.config.setAllocator(parent.config().getAllocator());
+        this.kcp = new Kcp(conv, this::output, parent.alloc());
+        this.kcp.nodelay(settings.resolveNodelay(), settings.resolveInterval(),
+                settings.resolveFastResend(), settings.resolveNoCongestionWindow());
+        this.kcp.wndSize(settings.getSendWindow(), settings.getReceiveWindow());
+        this.kcp.setMtu(settings.getMtu());
+        this.kcp.setDeadLink(settings.getDeadLink());
+        this.ackNoDelay = settings.isAckNoDelay();
+        this.sessionTimeoutMillis = settings.getSessionTimeoutMillis();
+        this.lastReceiveMillis = System.currentTimeMillis();
+    }
+
+    public int conv() {
+        return kcp.getConv();
+    }
+
+    /**
+     * 累计超时重传次数
+     */
+    public long getRetransmits() {
+        return kcp.getRetransmits();
+    }
+
+    /**
+     * 输入一个属于本连接的 UDP 报文
+     * @param packet 报文，调用方负责释放
+     * @param now    当前时间
+     */
+    void input(ByteBuf packet, long now) {
+        if (!open) {
+            return;
+        }
+        lastReceiveMillis = now;
+        if (kcp.input(packet) < 0) {
+            return;
+        }
+        boolean read = false;
+        ByteBuf message;
+        while (open && (message = kcp.recv()) != null) {
+            read = true;
+            pipeline().fireChannelRead(message);
+        }
+        if (read) {
+            pipeline().fireChannelReadComplete();
+        }
+        if (!open) {
+            return;
+        }
+        if (ackNoDelay) {
+            kcp.flush(now);
+        }
+        // ACK 推进了发送窗口，继续发送出站缓冲区中剩余的消息
+        resumeWrite();
+        flushOutput();
+    }
+
+    /**
+     * 时钟驱动：超时重传、窗口探测、死链和超时检测
+     * @param now 当前时间
+     */
+    void tick(long now) {
+        if (!open) {
+            return;
+        }
+        if (now - lastReceiveMillis > sessionTimeoutMillis) {
+            close();
+            return;
+        }
+        kcp.update(now);
+        flushOutput();
+        if (kcp.isDead()) {
+            close();
+            return;
+        }
+        resumeWrite();
+    }
+
+    private void resumeWrite() {
+        ChannelOutboundBuffer buffer = unsafe().outboundBuffer();
+        if (buffer != null && !buffer.isEmpty() && kcp.waitSnd() < kcp.getSndWnd() * 2) {
+            ((KcpUnsafe) unsafe()).resumeFlush();
+        }
+    }
+
+    private void output(ByteBuf packet) {
+        parent().write(new DatagramPacket(packet, remote), parent().voidPromise());
+        outputDirty = true;
+    }
+
+    private void flushOutput() {
+        if (outputDirty) {
+            outputDirty = false;
+            parent().flush();
+        }
+    }
+
+    @Override
+    protected void doWrite(ChannelOutboundBuffer in) throws Exception {
+        boolean sent = false;
+        for (;;) {
+            Object msg = in.current();
+            if (msg == null) {
+                break;
+            }
+            // 发送窗口已满，剩余消息留在出站缓冲区，等 ACK 推进后由 resumeWrite 继续
+            if (kcp.waitSnd() >= kcp.getSndWnd() * 2) {
+                break;
+            }
+            if (msg instanceof ByteBuf buf) {
+                if (buf.isReadable() && kcp.send(buf) == -2) {
+                    in.remove(new EncoderException("KCP message too large: " + buf.readableBytes() + " bytes"));
+                    continue;
+                }
+                sent = true;
+                in.remove();
+            } else {
+                in.remove(new UnsupportedOperationException("Unsupported message type: " + msg.getClass().getName()));
+            }
+        }
+        if (sent) {
+            // 不等下一个时钟周期，立即发出新数据
+            kcp.flush(System.currentTimeMillis());
+            flushOutput();
+        }
+    }
+
+    @Override
+    protected Object filterOutboundMessage(Object msg) {
+        if (msg instanceof ByteBuf) {
+            return msg;
+        }
+        throw new UnsupportedOperationException("Unsupported message type: " + msg.getClass().getName());
+    }
+
+    @Override
+    protected void doClose() {
+        if (open) {
+            open = false;
+            kcp.release();
+            onClose.run();
+        }
+    }
+
+    @Override
+    protected void doDisconnect() {
+        doClose();
+    }
+
+    @Override
+    protected void doBind(SocketAddress localAddress) {
+        throw new UnsupportedOperationException("KcpChannel is created by the server, bind is not supported");
+    }
+
+    @Override
+    protected void doBeginRead() {
+        // 报文由父 Channel 推送进来
+    }
+
+    @Override
+    protected boolean isCompatible(EventLoop loop) {
+        return true;
+    }
+
+    @Override
+    protected SocketAddress localAddress0() {
+        return parent().localAddress();
+    }
+
+    @Override
+    protected SocketAddress remoteAddress0() {
+        return remote;
+    }
+
+    @Override
+    protected AbstractUnsafe newUnsafe() {
+        return new KcpUnsafe();
+    }
+
+    @Override
+    public ChannelConfig config() {
+        return config;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return open;
+    }
+
+    @Override
+    public boolean isActive() {
+        return open;
+    }
+
+    @Override
+    public ChannelMetadata metadata() {
+        return METADATA;
+    }
+
+    @Override
+    public InetSocketAddress remoteAddress() {
+        return remote;
+    }
+
+    private final class KcpUnsafe extends AbstractUnsafe {
+
+        @Override
+        public void connect(SocketAddress remoteAddress, SocketAddress localAddress, ChannelPromise promise) {
+            promise.setFailure(new UnsupportedOperationException("KcpChannel is already connected"));
+        }
+
+        void resumeFlush() {
+            flush0();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package io.github.vevoly.atomicio.core.kcp;
+
+import io.github.vevoly.atomicio.common.api.config.AtomicIOProperties;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.socket.DatagramPacket;
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.concurrent.ScheduledFuture;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * KCP 服务端报文分发处理器 (每个 UDP Channel 一个实例)
+ * 按对端地址把 UDP 报文分发给对应的 KcpChannel，第一次收到某个地址的数据报文且通过准入检查时创建连接，
+ * 用 childHandler 初始化它的 Pipeline，并注册到 UDP Channel 所在的 EventLoop；
+ * 同一个 EventLoop 上的所有连接共用一个定时器驱动 KCP 时钟。
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+@Slf4j
+public class KcpServerHandler extends ChannelInboundHandlerAdapter {
+
+    // ikcp 的 IKCP_CMD_PUSH，只有数据报文才能创建新连接，避免迟到的 ACK 复活已关闭的连接
+    private static final byte CMD_PUSH = 81;
+
+    private final AtomicIOProperties.Kcp settings;
+    private final ChannelHandler childHandler;
+    private final KcpAdmission admission;
+    // 只在 UDP Channel 的 EventLoop 中访问
+    private final Map<InetSocketAddress, KcpChannel> children = new HashMap<>();
+    private ScheduledFuture<?> ticker;
+
+    /**
+     * @param admission 连接准入，多个 UDP Socket 共用同一个实例
+     */
+    public KcpServerHandler(AtomicIOProperties.Kcp settings, ChannelHandler childHandler, KcpAdmission admission) {
+        this.settings = settings;
+        this.childHandler = childHandler;
+        this.admission = admission;
+    }
+
+    @Override
+    public void channelActive(ChannelHandlerContext ctx) throws Exception {
+        long interval = settings.resolveInterval();
+        ticker = ctx.executor().scheduleAtFixedRate(this::tick, interval, interval, TimeUnit.MILLISECONDS);
+        super.channelActive(ctx);
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        if (ticker != null) {
+            ticker.cancel(false);
+        }
+        for (KcpChannel child : new ArrayList<>(children.values())) {
+            child.close();
+        }
+        super.channelInactive(ctx);
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+        if (!(msg instanceof DatagramPacket packet)) {
+            ReferenceCountUtil.release(msg);
+            return;
+        }
+        try {
+            ByteBuf content = packet.content();
+            if (content.readableBytes() < Kcp.OVERHEAD) {
+                return;
+            }
+            InetSocketAddress sender = packet.sender();
+            int conv = Kcp.readConv(content);
+            KcpChannel child = children.get(sender);
+            if (child == null || child.conv() != conv) {
+                // 新连接，或者同一地址换了 conv (客户端重新建立了连接)：只有数据报文且通过准入检查才创建，
+                // 否则丢弃，已有的连接不受影响 (旧 conv 迟到的 ACK、伪造源地址的报文都不能关掉它)
+                if (content.getByte(content.readerIndex() + 4) != CMD_PUSH || !admission.tryAcquire(sender)) {
+                    return;
+                }
+                if (child != null) {
+                    log.debug("KCP peer {} changed conv {} -> {}, replacing connection.", sender, child.conv(), conv);
+                    child.close();
+                    children.remove(sender);
+                }
+                child = newChild(ctx, sender, conv);
+            }
+            child.input(content, System.currentTimeMillis());
+        } finally {
+            packet.release();
+        }
+    }
+
+    /**
+     * 当前的 KCP 连接数
+     */
+    public int getConnectionCount() {
+        return children.size();
+    }
+
+    private KcpChannel newChild(ChannelHandlerContext ctx, InetSocketAddress sender, int conv) {
+        KcpChannel[] holder = new KcpChannel[1];
+        // 关闭可能发生在遍历 children 的过程中，延迟到下一个任务再移除；准入名额在关闭时立即归还
+        KcpChannel child = new KcpChannel(ctx.channel(), sender, conv, settings, () -> {
+            admission.release(sender);
+            ctx.executor().execute(() -> children.remove(sender, holder[0]));
+        });
+        holder[0] = child;
+        children.put(sender, child);
+        child.pipeline().addLast(childHandler);
+        // 当前就在 EventLoop 中，注册和 channelActive 同步完成
+        ctx.channel().eventLoop().register(child);
+        return child;
+    }
+
+    private void tick() {
+        long now = System.currentTimeMillis();
+        for (KcpChannel child : children.values()) {
+            child.tick(now);
+        }
+    }
+}
@@ -4,13 +4,16 @@ import com.esotericsoftware.kryo.Kryo;
 import com.esotericsoftware.kryo.io.Input;
 import com.esotericsoftware.kryo.io.Output;
 import io.github.vevoly.atomicio.common.api.config.AtomicIOProperties;
+import io.github.vevoly.atomicio.core.message.RawBytesMessage;
 import io.github.vevoly.atomicio.protocol.api.message.AtomicIOMessage;
 import io.github.vevoly.atomicio.server.api.cluster.AtomicIOClusterMessage;
 import io.github.vevoly.atomicio.server.api.cluster.AtomicIOClusterMessageType;
 import io.github.vevoly.atomicio.server.api.cluster.AtomicIOClusterProvider;
 import io.github.vevoly.atomicio.server.api.codec.AtomicIOServerCodecProvider;
 import io.github.vevoly.atomicio.server.api.constants.AtomicIOServerConstant;
+import io.github.vevoly.atomicio.server.api.constants.DisruptorEventSource;
 import io.github.vevoly.atomicio.server.api.manager.ClusterManager;
+import io.github.vevoly.atomicio.server.api.manager.DisruptorEntryTranslators;
 import io.github.vevoly.atomicio.server.api.manager.DisruptorManager;
 import io.github.vevoly.atomicio.server.api.manager.StateManager;
 import lombok.extern.slf4j.Slf4j;
@@ -118,7 +121,10 @@ public class AtomicIOClusterManager implements ClusterManager {
     @Override
     public AtomicIOClusterMessage buildClusterMessage(AtomicIOMessage message, AtomicIOClusterMessageType messageType, Object target, Set<String> excludeUserIds) {
         byte[] finalPayload = new byte[0];
-        if (message.getPayload() != null) {
+        if (message instanceof RawBytesMessage) {
+            // 已经是客户端协议的最终字节 (如推送入口预编码的消息)，不再重复编码
+            finalPayload = ((RawBytesMessage) message).getPayload();
+        } else if (message.getPayload() != null) {
             try {
                 finalPayload = codecProvider.encodeToBytes(message, config);
             } catch (Exception e) {
@@ -234,6 +240,17 @@ public class AtomicIOClusterManager implements ClusterManager {
         }
     }
 
+    /**
+     * 集群消息的分片路由键
+     * 单用户/单群组消息按目标路由，保证同一目标的投递顺序；批量和广播消息没有顺序要求，随机打散
+     */
+    private Object routingKeyOf(AtomicIOClusterMessage message) {
+        if (message.getTargetUserId() != null) {
+            return message.getTargetUserId();
+        }
+        return message.getTargetGroupId();
+    }
+
     /**
      * 将集群消息序列化为字节数组
      */
@@ -255,8 +272,10 @@ public class AtomicIOClusterManager implements ClusterManager {
         Kryo kryo = kryoThreadLocal.get();
         try (Input input = new Input(data)) {
             AtomicIOClusterMessage message = kryo.readObject(input, AtomicIOClusterMessage.class);
-            // 将反序列化后的 POJO 发布到 Disruptor
-            disruptorManager.publish(disruptorEntry -> disruptorEntry.setClusterMessage(message));
+            // 将反序列化后的 POJO 发布到 Disruptor，踢人走控制通道，其余走集群投递通道
+            DisruptorEventSource source = message.getMessageType() == AtomicIOClusterMessageType.KICK_OUT
+                    ? DisruptorEventSource.CONTROL : DisruptorEventSource.CLUSTER;
+            disruptorManager.tryPublishEvent(source, routingKeyOf(message), DisruptorEntryTranslators.CLUSTER, message);
         } catch (Exception e) {
             log.error("反序列化集群消息失败", e);
         }
@@ -27,9 +27,11 @@ public class AtomicIOEngineLifecycleManager implements SmartLifecycle {
     private final List<ConnectEventListener> connectEventListeners;
     private final List<DisconnectEventListener> disconnectEventListeners;
     private final List<MessageEventListener> messageEventListeners;
+    private final List<BatchMessageEventListener> batchMessageEventListeners;
     private final List<ErrorEventListener> errorEventListeners;
     private final List<IdleEventListener> idleEventListeners;
     private final List<SessionReplacedListener> sessionReplacedListeners;
+    private final List<WritabilityChangedListener> writabilityChangedListeners;
 
     @Override
     public void start() {
@@ -95,13 +97,16 @@ public class AtomicIOEngineLifecycleManager implements SmartLifecycle {
         connectEventListeners.forEach(engine::onConnect);
         disconnectEventListeners.forEach(engine::onDisconnect);
         messageEventListeners.forEach(engine::onMessage);
+        batchMessageEventListeners.forEach(engine::onMessageBatch);
         errorEventListeners.forEach(engine::onError);
         idleEventListeners.forEach(engine::onIdle);
         sessionReplacedListeners.forEach(engine::onSessionReplaced);
-        log.info("已注册监听器: {} EngineReadyListener {} ConnectEventListener, {} DisconnectEventListener, {} MessageEventListener, \n" +
-                        " {} ErrorEventListener, {} IdleEventListener, {} SessionReplacedListener, {} ConnectionRejectListener",
-                engineReadyListeners.size(), connectEventListeners.size(), disconnectEventListeners.size(), messageEventListeners.size(),
-                errorEventListeners.size(), idleEventListeners.size(), sessionReplacedListeners.size(), connectionRejectListeners.size());
+        writabilityChangedListeners.forEach(engine::onWritabilityChanged);
+        log.info("已注册监听器: {} EngineReadyListener {} ConnectEventListener, {} DisconnectEventListener, {} MessageEventListener, {} BatchMessageEventListener, \n" +
+                        " {} ErrorEventListener, {} IdleEventListener, {} SessionReplacedListener, {} ConnectionRejectListener, {} WritabilityChangedListener",
+                engineReadyListeners.size(), connectEventListeners.size(), disconnectEventListeners.size(), messageEventListeners.size(), batchMessageEventListeners.size(),
+                errorEventListeners.size(), idleEventListeners.size(), sessionReplacedListeners.size(), connectionRejectListeners.size(),
+                writabilityChangedListeners.size());
     }
 
 }
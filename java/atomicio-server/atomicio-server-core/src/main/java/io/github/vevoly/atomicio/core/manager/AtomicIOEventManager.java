@@ -29,9 +29,11 @@ public class AtomicIOEventManager implements IOEventManager {
     private final List<ConnectEventListener> connectEventListeners = new CopyOnWriteArrayList<>();
     private final List<DisconnectEventListener> disconnectEventListeners = new CopyOnWriteArrayList<>();
     private final List<MessageEventListener> messageListeners = new CopyOnWriteArrayList<>();
+    private final List<BatchMessageEventListener> batchMessageListeners = new CopyOnWriteArrayList<>();
     private final List<ErrorEventListener> errorListeners = new CopyOnWriteArrayList<>();
     private final List<IdleEventListener> idleEventListeners = new CopyOnWriteArrayList<>();
     private final List<SessionReplacedListener> sessionReplacedListeners = new CopyOnWriteArrayList<>();
+    private final List<WritabilityChangedListener> writabilityChangedListeners = new CopyOnWriteArrayList<>();
 
     // 注册监听器
     @Override
@@ -55,6 +57,10 @@ public class AtomicIOEventManager implements IOEventManager {
         this.messageListeners.add(listener);
     }
     @Override
+    public void onMessageBatch(BatchMessageEventListener listener) {
+        this.batchMessageListeners.add(listener);
+    }
+    @Override
     public void onError(ErrorEventListener listener) {
         this.errorListeners.add(listener);
     }
@@ -66,6 +72,10 @@ public class AtomicIOEventManager implements IOEventManager {
     public void onSessionReplaced(SessionReplacedListener listener) {
         this.sessionReplacedListeners.add(listener);
     }
+    @Override
+    public void onWritabilityChanged(WritabilityChangedListener listener) {
+        this.writabilityChangedListeners.add(listener);
+    }
 
     // 分发方法
     /**
@@ -110,6 +120,23 @@ public class AtomicIOEventManager implements IOEventManager {
         fireEvent(messageListeners, l -> l.onMessage(session, message));
     }
 
+    /**
+     * 触发批量 MESSAGE 事件
+     * @param batch 一个 Disruptor 批次中的消息
+     */
+    @Override
+    public void fireMessageBatchEvent(MessageBatch batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        fireEvent(batchMessageListeners, l -> l.onMessages(batch));
+    }
+
+    @Override
+    public boolean hasBatchMessageListeners() {
+        return !batchMessageListeners.isEmpty();
+    }
+
     /**
      * 触发 ERROR 事件
      * @param session   当前会话
@@ -148,6 +175,15 @@ public class AtomicIOEventManager implements IOEventManager {
         }
     }
 
+    /**
+     * 触发 可写性改变 事件
+     * @param session
+     */
+    @Override
+    public void fireWritabilityChangedEvent(AtomicIOSession session) {
+        fireEvent(writabilityChangedListeners, l -> l.onWritabilityChanged(session));
+    }
+
     /**
      * 公用事件触发器
      * @param listeners 监听器列表
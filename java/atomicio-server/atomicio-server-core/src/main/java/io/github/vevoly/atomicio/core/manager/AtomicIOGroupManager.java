@@ -2,7 +2,6 @@ package io.github.vevoly.atomicio.core.manager;
 
 import io.github.vevoly.atomicio.core.handler.NettyEventTranslationHandler;
 import io.github.vevoly.atomicio.core.session.NettySession;
-import io.github.vevoly.atomicio.protocol.api.constants.AtomicIOSessionAttributes;
 import io.github.vevoly.atomicio.server.api.manager.GroupManager;
 import io.github.vevoly.atomicio.server.api.manager.SessionManager;
 import io.github.vevoly.atomicio.server.api.session.AtomicIOSession;
@@ -40,10 +39,11 @@ public class AtomicIOGroupManager implements GroupManager {
      */
     @Override
     public void joinLocal(String groupId, AtomicIOSession session) {
-        if (session instanceof NettySession) {
+        if (session instanceof NettySession nettySession) {
             ChannelGroup group = localGroups.computeIfAbsent(groupId,
                     k -> new DefaultChannelGroup(GlobalEventExecutor.INSTANCE));
-            group.add(((NettySession) session).getNettyChannel());
+            group.add(nettySession.getNettyChannel());
+            nettySession.addGroupId(groupId);
             log.debug("GroupManager: Session {} 加入本地物理组 {}", session.getId(), groupId);
         }
     }
@@ -53,9 +53,13 @@ public class AtomicIOGroupManager implements GroupManager {
      */
     @Override
     public void leaveLocal(String groupId, AtomicIOSession session) {
+        if (!(session instanceof NettySession nettySession)) {
+            return;
+        }
+        nettySession.removeGroupId(groupId);
         ChannelGroup group = localGroups.get(groupId);
-        if (group != null && session instanceof NettySession) {
-            group.remove(((NettySession) session).getNettyChannel());
+        if (group != null) {
+            group.remove(nettySession.getNettyChannel());
             if (group.isEmpty()) localGroups.remove(groupId);
         }
     }
@@ -66,16 +70,17 @@ public class AtomicIOGroupManager implements GroupManager {
      */
     @Override
     public void unbindGroupsForSession(AtomicIOSession session) {
-        // 从 Session 属性中获取该连接加入的所有群组 ID 集合
-        Set<String> joinedGroupIds = session.getAttribute(AtomicIOSessionAttributes.GROUPS);
-        if (joinedGroupIds != null && !joinedGroupIds.isEmpty()) {
+        if (!(session instanceof NettySession nettySession)) {
+            return;
+        }
+        // joinLocal 时记录在会话上的群组 ID 集合
+        Set<String> joinedGroupIds = nettySession.getGroupIds();
+        if (!joinedGroupIds.isEmpty()) {
             log.info("GroupManager: Session {} 正在退出所有本地物理组 ({})", session.getId(), joinedGroupIds.size());
-            // 遍历并移除物理 Channel 引用
+            // 遍历并移除物理 Channel 引用 (集合是并发的，遍历时可以移除)
             for (String groupId : joinedGroupIds) {
                 leaveLocal(groupId, session);
             }
-            // 清理 Session 上的属性引用
-            session.setAttribute(AtomicIOSessionAttributes.GROUPS, null);
         }
     }
 
@@ -95,9 +100,9 @@ public class AtomicIOGroupManager implements GroupManager {
         if (excludeUserIds != null && excludeUserIds.size() > 0) {
             // 策略 A: 有排除名单，需遍历组内 Channel 进行过滤发送
             group.forEach(channel -> {
-                AtomicIOSession session = sessionManager.getLocalSessionById(channel.id().asLongText());
+                AtomicIOSession session = NettySession.of(channel);
                 if (session != null) {
-                    String userId = session.getAttribute(AtomicIOSessionAttributes.USER_ID);
+                    String userId = session.getUserId();
                     if (userId != null && !excludeUserIds.contains(userId)) {
                         session.send(message);
                     }
@@ -6,13 +6,15 @@ import io.github.vevoly.atomicio.protocol.api.constants.AtomicIOSessionAttribute
 import io.github.vevoly.atomicio.protocol.api.message.AtomicIOMessage;
 import io.github.vevoly.atomicio.server.api.manager.SessionManager;
 import io.github.vevoly.atomicio.server.api.session.AtomicIOSession;
+import io.github.vevoly.atomicio.server.api.session.SessionQuery;
 import io.netty.channel.ChannelFutureListener;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.lang.Nullable;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 /**
  * 会话管理器
@@ -25,10 +27,13 @@ import java.util.stream.Collectors;
 public class AtomicIOSessionManager implements SessionManager {
 
     // 核心物理连接：SessionId -> Session 对象
-    private final Map<String, AtomicIOSession> allSessions = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, AtomicIOSession> allSessions = new ConcurrentHashMap<>();
 
-    // 索引：UserId -> Set<SessionId> (用于本地单人多端推送)
-    private final Map<String, Set<String>> userToSessionIds = new ConcurrentHashMap<>();
+    private static final AtomicIOSession[] NO_SESSIONS = new AtomicIOSession[0];
+
+    // 索引：UserId -> 该用户在本节点的 Session 数组 (用于本地单人多端推送)
+    // 数组只在绑定和清理时整体替换 (写时复制)，扇出推送直接遍历数组，不查 allSessions，也不创建迭代器和中间集合
+    private final Map<String, AtomicIOSession[]> userToSessions = new ConcurrentHashMap<>();
     // 索引：DeviceId -> SessionId (用于处理 StateManager 返回的物理踢人)
     private final Map<String, String> deviceToSessionId = new ConcurrentHashMap<>();
 
@@ -56,15 +61,29 @@ public class AtomicIOSessionManager implements SessionManager {
             log.warn("尝试绑定一个不存在的 session: {}", sessionId);
             return;
         }
+        String previousUserId = session.getUserId();
+        if (previousUserId != null && !previousUserId.equals(userId)) {
+            // 同一个连接换了用户，先从原用户的索引中移除
+            userToSessions.computeIfPresent(previousUserId, (k, sessions) -> without(sessions, session));
+        }
         session.setAttribute(AtomicIOSessionAttributes.USER_ID, userId);
         session.setAttribute(AtomicIOSessionAttributes.DEVICE_ID, deviceId);
         session.setAttribute(AtomicIOSessionAttributes.IS_AUTHENTICATED, true);
         // 建立 UserId 索引
-        userToSessionIds.computeIfAbsent(userId, k -> ConcurrentHashMap.newKeySet()).add(sessionId);
+        userToSessions.compute(userId, (k, sessions) -> with(sessions, session));
         // 建立 DeviceId 索引
         if (deviceId != null) {
             deviceToSessionId.put(deviceId, sessionId);
         }
+        // 绑定期间连接可能已被并发移除 (cleanIndexes 先于上面的 compute 执行)，撤销刚建立的索引，避免残留
+        if (allSessions.get(sessionId) != session) {
+            userToSessions.computeIfPresent(userId, (k, sessions) -> without(sessions, session));
+            if (deviceId != null) {
+                deviceToSessionId.remove(deviceId, sessionId);
+            }
+            log.warn("SessionManager: 绑定期间连接已断开，撤销索引 [User: {}, Session: {}]", userId, sessionId);
+            return;
+        }
         log.info("SessionManager: 身份绑定成功 [User: {}, Device: {}, Session: {}]", userId, deviceId, sessionId);
     }
 
@@ -82,16 +101,23 @@ public class AtomicIOSessionManager implements SessionManager {
 
     /**
      * 仅获取本节点的物理连接
+     * 返回调用者自己的可修改副本，与之前的行为一致；热路径请使用 forEachLocalSession
      */
     @Override
     public List<AtomicIOSession> getLocalSessionsByUserId(String userId) {
-        Set<String> sessionIds = userToSessionIds.get(userId);
-        if (sessionIds == null) return Collections.emptyList();
+        AtomicIOSession[] sessions = userToSessions.get(userId);
+        if (sessions == null) return Collections.emptyList();
+        return new ArrayList<>(Arrays.asList(sessions));
+    }
 
-        return sessionIds.stream()
-                .map(allSessions::get)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
+    @Override
+    public int forEachLocalSession(String userId, Consumer<? super AtomicIOSession> action) {
+        AtomicIOSession[] sessions = userToSessions.get(userId);
+        if (sessions == null) return 0;
+        for (AtomicIOSession session : sessions) {
+            action.accept(session);
+        }
+        return sessions.length;
     }
 
     /**
@@ -148,17 +174,37 @@ public class AtomicIOSessionManager implements SessionManager {
      */
     @Override
     public boolean sendToUserLocally(String userId, Object message) {
-        List<AtomicIOSession> locals = getLocalSessionsByUserId(userId);
-        if (locals.isEmpty()) return false;
+        AtomicIOSession[] sessions = userToSessions.get(userId);
+        if (sessions == null) return false;
 
-        locals.forEach(session -> {
+        for (AtomicIOSession session : sessions) {
             if (session.isActive()) {
                 session.send(message);
             }
-        });
+        }
         return true;
     }
 
+    /**
+     * 批量本地推送，单个用户发送失败只记录日志，不影响其他用户
+     */
+    @Override
+    public int sendToUsersLocally(Collection<String> userIds, Object message, @Nullable Collection<String> notFoundLocally) {
+        int found = 0;
+        for (String userId : userIds) {
+            try {
+                if (sendToUserLocally(userId, message)) {
+                    found++;
+                } else if (notFoundLocally != null) {
+                    notFoundLocally.add(userId);
+                }
+            } catch (Exception e) {
+                log.error("Failed to send batch message to user: {}", userId, e);
+            }
+        }
+        return found;
+    }
+
     /**
      * 全局本地广播：不涉及集群逻辑，仅负责本物理机发送
      */
@@ -171,12 +217,18 @@ public class AtomicIOSessionManager implements SessionManager {
         });
     }
 
+    /**
+     * 条件查询：并行扫描 allSessions，批量操作按 EventLoop 分批执行
+     */
     @Override
-    public void kickOutLocally(String userId, @Nullable AtomicIOMessage kickOutMessage) {
-        List<AtomicIOSession> locals = getLocalSessionsByUserId(userId);
-        if (locals.isEmpty()) return;
+    public SessionQuery queryLocalSessions(Predicate<? super AtomicIOSession> predicate) {
+        return new LocalSessionQuery(allSessions, predicate);
+    }
 
-        for (AtomicIOSession session : locals) {
+    @Override
+    public void kickOutLocally(String userId, @Nullable AtomicIOMessage kickOutMessage) {
+        AtomicIOSession[] sessions = userToSessions.getOrDefault(userId, NO_SESSIONS);
+        for (AtomicIOSession session : sessions) {
             if (!session.isActive()) continue;
             if (kickOutMessage != null) {
                 session.sendAndClose(kickOutMessage);
@@ -216,11 +268,8 @@ public class AtomicIOSessionManager implements SessionManager {
         // 清理 UserId 索引
         String userId = session.getAttribute(AtomicIOSessionAttributes.USER_ID);
         if (userId != null) {
-            Set<String> ids = userToSessionIds.get(userId);
-            if (ids != null) {
-                ids.remove(session.getId());
-                if (ids.isEmpty()) userToSessionIds.remove(userId);
-            }
+            // 最后一个 Session 移除后 computeIfPresent 返回 null，整个条目原子地删除
+            userToSessions.computeIfPresent(userId, (k, sessions) -> without(sessions, session));
         }
         // 清理 DeviceId 索引
         String deviceId = session.getAttribute(AtomicIOSessionAttributes.DEVICE_ID);
@@ -228,4 +277,45 @@ public class AtomicIOSessionManager implements SessionManager {
             deviceToSessionId.remove(deviceId);
         }
     }
+
+    /**
+     * 追加一个 Session，返回新数组；已存在时返回原数组
+     */
+    private static AtomicIOSession[] with(@Nullable AtomicIOSession[] sessions, AtomicIOSession session) {
+        if (sessions == null) {
+            return new AtomicIOSession[]{session};
+        }
+        for (AtomicIOSession existing : sessions) {
+            if (existing == session) {
+                return sessions;
+            }
+        }
+        AtomicIOSession[] copy = Arrays.copyOf(sessions, sessions.length + 1);
+        copy[sessions.length] = session;
+        return copy;
+    }
+
+    /**
+     * 移除一个 Session，返回新数组；移除后为空时返回 null
+     */
+    @Nullable
+    private static AtomicIOSession[] without(AtomicIOSession[] sessions, AtomicIOSession session) {
+        int index = -1;
+        for (int i = 0; i < sessions.length; i++) {
+            if (sessions[i] == session) {
+                index = i;
+                break;
+            }
+        }
+        if (index < 0) {
+            return sessions;
+        }
+        if (sessions.length == 1) {
+            return null;
+        }
+        AtomicIOSession[] copy = new AtomicIOSession[sessions.length - 1];
+        System.arraycopy(sessions, 0, copy, 0, index);
+        System.arraycopy(sessions, index + 1, copy, index, sessions.length - index - 1);
+        return copy;
+    }
 }
@@ -0,0 +1,66 @@
+package io.github.vevoly.atomicio.core.manager;
+
+import io.github.vevoly.atomicio.server.api.manager.TransportManager;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+
+/**
+ * 组合传输管理器
+ * 引擎只持有一个 TransportManager，同时提供多种传输层 (如 TCP + KCP) 时用它包装：
+ * 按顺序启动，任意一个启动失败则整体失败；按相反顺序关闭，全部关闭后执行 afterStop (释放它们共用的资源，如空闲检测时间轮)。
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+@Slf4j
+public class CompositeTransportManager implements TransportManager {
+
+    private final List<TransportManager> transportManagers;
+    private final Runnable afterStop;
+
+    public CompositeTransportManager(List<TransportManager> transportManagers) {
+        this(transportManagers, null);
+    }
+
+    /**
+     * @param afterStop 所有传输层关闭后执行一次，为 null 时不执行
+     */
+    public CompositeTransportManager(List<TransportManager> transportManagers, Runnable afterStop) {
+        this.transportManagers = List.copyOf(transportManagers);
+        this.afterStop = afterStop;
+    }
+
+    @Override
+    public Future<Void> start() {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        try {
+            for (TransportManager transportManager : transportManagers) {
+                transportManager.start().get();
+            }
+            future.complete(null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.completeExceptionally(e);
+        } catch (Exception e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    @Override
+    public void stop() {
+        for (int i = transportManagers.size() - 1; i >= 0; i--) {
+            try {
+                transportManagers.get(i).stop();
+            } catch (Exception e) {
+                log.error("Error stopping transport {}", transportManagers.get(i).getClass().getSimpleName(), e);
+            }
+        }
+        if (afterStop != null) {
+            afterStop.run();
+        }
+    }
+}
@@ -1,20 +1,45 @@
 package io.github.vevoly.atomicio.core.manager;
 
-import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.*;
 import com.lmax.disruptor.dsl.Disruptor;
-import com.lmax.disruptor.util.DaemonThreadFactory;
-import io.github.vevoly.atomicio.core.engine.DefaultAtomicIOEngine;
+import com.lmax.disruptor.dsl.ProducerType;
+import io.github.vevoly.atomicio.common.api.config.AtomicIOConfigDefaultValue;
+import io.github.vevoly.atomicio.common.api.config.AtomicIOProperties;
+import io.github.vevoly.atomicio.common.api.config.CommandExecutionPolicy;
+import io.github.vevoly.atomicio.common.api.config.DisruptorOverflowPolicy;
+import io.github.vevoly.atomicio.common.api.config.DisruptorProducerType;
+import io.github.vevoly.atomicio.common.api.config.DisruptorWaitStrategyType;
+import io.github.vevoly.atomicio.common.api.config.ListenerExecutionMode;
 import io.github.vevoly.atomicio.core.handler.DisruptorEventHandler;
 import io.github.vevoly.atomicio.core.handler.DisruptorExceptionHandler;
+import io.github.vevoly.atomicio.core.handler.SessionMailboxDispatcher;
+import io.github.vevoly.atomicio.core.metrics.DisruptorEventMetrics;
+import io.github.vevoly.atomicio.core.utils.AffinityThreadFactory;
 import io.github.vevoly.atomicio.server.api.AtomicIOEngine;
+import io.github.vevoly.atomicio.server.api.constants.DisruptorEventSource;
+import io.github.vevoly.atomicio.server.api.constants.DisruptorLane;
 import io.github.vevoly.atomicio.server.api.manager.DisruptorEntry;
+import io.github.vevoly.atomicio.server.api.manager.DisruptorEntryTranslator;
+import io.github.vevoly.atomicio.server.api.manager.DisruptorEntryTranslatorTwoArg;
 import io.github.vevoly.atomicio.server.api.manager.DisruptorManager;
+import io.github.vevoly.atomicio.server.api.metrics.DisruptorLaneStats;
+import io.github.vevoly.atomicio.server.api.metrics.DisruptorMetricsSnapshot;
+import io.netty.util.collection.IntObjectHashMap;
+import io.netty.util.collection.IntObjectMap;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.function.Consumer;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 /**
  * 封装 Disruptor 的初始化、关闭和事件发布。
+ * 支持分片模式：N 个独立的 RingBuffer，每个 RingBuffer 一个消费者线程，
+ * 事件按路由键哈希到固定分片，既保证了同一会话内的顺序，又能把监听器的工作分摊到多个核心上。
+ * 支持优先级通道：控制指令、集群投递、客户端 IO 各自拥有独立的分片组，事件按来源进入对应通道。
+ * 同时维护按 commandId 的执行策略表，DEDICATED 指令进入专用通道。
  *
  * @since 0.0.3
  * @author vevoly
@@ -22,79 +47,255 @@ import java.util.function.Consumer;
 @Slf4j
 public class DefaultDisruptorManager implements DisruptorManager {
 
-    private Disruptor<DisruptorEntry> disruptor;
-    private RingBuffer<DisruptorEntry> ringBuffer;
+    // RingBuffer 大小上限，再大 ceilingPowerOfTwo 会溢出成负数
+    private static final int MAX_BUFFER_SIZE = 1 << 30;
+
+    private final List<Disruptor<DisruptorEntry>> disruptors = new ArrayList<>();
+    // 按 DisruptorLane 索引的分片组；关闭优先级通道时所有通道指向同一组；未启动或已关闭时为 null
+    private volatile RingBuffer<DisruptorEntry>[][] laneRingBuffers;
+
+    // 按事件来源索引的溢出策略与丢弃计数
+    private final DisruptorOverflowPolicy[] overflowPolicies = new DisruptorOverflowPolicy[DisruptorEventSource.values().length];
+    private final AtomicLongArray droppedCounts = new AtomicLongArray(DisruptorEventSource.values().length);
+    private long overflowSpinNanos;
+
+    // VIRTUAL_THREAD 模式下所有分片共用的监听器分发器
+    private SessionMailboxDispatcher listenerDispatcher;
+
+    // 指标：每个消费者一份，按通道分组；积压高水位按通道索引
+    private final Map<DisruptorLane, List<DisruptorEventMetrics>> laneMetrics = new EnumMap<>(DisruptorLane.class);
+    private final AtomicLongArray laneHighWaterMarks = new AtomicLongArray(DisruptorLane.values().length);
+    private boolean metricsEnabled;
+    private boolean lanesEnabled;
+    // 所有通道的消费者线程共用一个 CPU 分配游标
+    private AtomicInteger consumerCpuCursor;
+    private AtomicIOProperties.Affinity affinity;
+
+    // 指令执行策略表，写时复制：每条消息都要查询，读路径不加锁、不装箱
+    private volatile IntObjectMap<CommandExecutionPolicy> commandPolicies = new IntObjectHashMap<>();
 
     /**
      * 开启 IO 队列
      * @param engine
      */
     @Override
-    public void start(AtomicIOEngine engine) {
-        // todo 对 Disruptor 进行精细配置
-        // 从配置中读取，如果没有，则默认给 131072
-//        int bufferSize = engine.getConfig().getIoQueueSize() > 0 ?
-//                findNextPositivePowerOfTwo(engine.getConfig().getIoQueueSize()) : 131072;
-
-// 消费者数量建议设置为 CPU 核心数
-//        int workerCount = engine.getConfig().getIoWorkerCount() > 0 ?
-//                engine.getConfig().getIoWorkerCount() : Runtime.getRuntime().availableProcessors();
-//        // 1. 获取 CPU 核心数作为参考
-//        int cpuCores = Runtime.getRuntime().availableProcessors();
-//        // 如果是纯计算，设为 cpuCores；如果有 IO 阻塞，可以设为 cpuCores * 2
-//        int workerCount = Math.max(cpuCores, 4);
-//        // 2. 创建多个消费者实例
-//        DisruptorEventHandler[] workers = new DisruptorEventHandler[workerCount];
-//        for (int i = 0; i < workerCount; i++) {
-//            workers[i] = new DisruptorEventHandler(engine);
-//        }
-//        // 3. 使用 WorkerPool 模式，多个线程共同消费同一个 RingBuffer
-//        // 这样每个 Event 只会被其中一个线程处理（多线程竞争消费）
-//        disruptor.handleEventsWithWorkerPool(workers);
-
-        disruptor = new Disruptor<>(
-                DisruptorEntry::new,         // Event 工厂
-                65536,                       // RingBuffer 大小
-                DaemonThreadFactory.INSTANCE // 线程工厂
-        );
-        // 设置异常处理器
-        disruptor.setDefaultExceptionHandler(new DisruptorExceptionHandler(engine));
-        // 连接消费者
-        disruptor.handleEventsWith(new DisruptorEventHandler(engine));
-        this.ringBuffer = disruptor.start();
+    @SuppressWarnings("unchecked")
+    public synchronized void start(AtomicIOEngine engine) {
+        AtomicIOProperties.Disruptor config = engine.getConfig().getDisruptor();
+        DisruptorWaitStrategyType waitStrategyType = config.resolveWaitStrategy();
+        ProducerType producerType = config.resolveProducerType() == DisruptorProducerType.SINGLE
+                ? ProducerType.SINGLE : ProducerType.MULTI;
+        if (producerType == ProducerType.SINGLE) {
+            log.warn("Disruptor producerType SINGLE is only safe when exactly one thread publishes events. " +
+                    "Netty worker threads and cluster subscribers all publish, make sure that is really the case.");
+        }
+
+        this.listenerDispatcher = config.getListenerExecution() == ListenerExecutionMode.VIRTUAL_THREAD
+                ? new SessionMailboxDispatcher(config.getSessionMailboxCapacity()) : null;
+        this.metricsEnabled = config.isMetricsEnabled();
+        AtomicIOProperties.OverloadProtect overloadProtect = engine.getConfig().getOverloadProtect();
+        if (!metricsEnabled && overloadProtect.isEnabled() && overloadProtect.getQueueWaitMillis() > 0) {
+            log.warn("overload-protect.queue-wait-millis is set but Disruptor metrics are disabled, the queue wait " +
+                    "check never triggers. Enable atomicio.disruptor.metrics-enabled to use it.");
+        }
+        this.lanesEnabled = config.isLanesEnabled();
+        this.affinity = engine.getConfig().getAffinity();
+        this.consumerCpuCursor = new AtomicInteger();
+        if ((waitStrategyType == DisruptorWaitStrategyType.BUSY_SPIN || waitStrategyType == DisruptorWaitStrategyType.YIELDING)
+                && !affinity.isEnabled()) {
+            log.warn("Disruptor waitStrategy {} without CPU affinity: spinning consumers will be migrated and compete " +
+                    "with IO threads, enable atomicio.affinity or use a blocking strategy.", waitStrategyType);
+        }
+        // 配置文件中的策略，不覆盖启动前通过代码注册的策略
+        config.getCommandPolicies().forEach((commandId, policy) -> {
+            if (commandId != null && policy != null && !commandPolicies.containsKey(commandId)) {
+                setCommandPolicy(commandId, policy);
+            }
+        });
+
+        RingBuffer<DisruptorEntry>[][] laneRingBuffers = new RingBuffer[DisruptorLane.values().length][];
+        RingBuffer<DisruptorEntry>[] clientLane = startLane(engine, config, DisruptorLane.CLIENT,
+                config.getBufferSize(), config.getShards(), producerType, waitStrategyType);
+        laneRingBuffers[DisruptorLane.CLIENT.ordinal()] = clientLane;
+        if (lanesEnabled) {
+            AtomicIOProperties.Disruptor.Lane control = config.getControlLane();
+            AtomicIOProperties.Disruptor.Lane cluster = config.getClusterLane();
+            laneRingBuffers[DisruptorLane.CONTROL.ordinal()] = startLane(engine, config, DisruptorLane.CONTROL,
+                    control.getBufferSize(), control.getShards(), producerType, waitStrategyType);
+            laneRingBuffers[DisruptorLane.CLUSTER.ordinal()] = startLane(engine, config, DisruptorLane.CLUSTER,
+                    cluster.getBufferSize(), cluster.getShards(), producerType, waitStrategyType);
+        } else {
+            laneRingBuffers[DisruptorLane.CONTROL.ordinal()] = clientLane;
+            laneRingBuffers[DisruptorLane.CLUSTER.ordinal()] = clientLane;
+            laneMetrics.put(DisruptorLane.CONTROL, laneMetrics.get(DisruptorLane.CLIENT));
+            laneMetrics.put(DisruptorLane.CLUSTER, laneMetrics.get(DisruptorLane.CLIENT));
+        }
+        // 专用通道只在确实有 DEDICATED 指令时启动，否则与客户端 IO 通道共用
+        if (lanesEnabled && commandPolicies.containsValue(CommandExecutionPolicy.DEDICATED)) {
+            AtomicIOProperties.Disruptor.Lane dedicated = config.getDedicatedLane();
+            laneRingBuffers[DisruptorLane.DEDICATED.ordinal()] = startLane(engine, config, DisruptorLane.DEDICATED,
+                    dedicated.getBufferSize(), dedicated.getShards(), producerType, waitStrategyType);
+        } else {
+            if (commandPolicies.containsValue(CommandExecutionPolicy.DEDICATED)) {
+                log.warn("DEDICATED command policies are configured but Disruptor lanes are disabled, " +
+                        "those commands share the client lane. Enable atomicio.disruptor.lanes-enabled to isolate them.");
+            }
+            laneRingBuffers[DisruptorLane.DEDICATED.ordinal()] = clientLane;
+            laneMetrics.put(DisruptorLane.DEDICATED, laneMetrics.get(DisruptorLane.CLIENT));
+        }
+
+        overflowPolicies[DisruptorEventSource.SESSION_LIFECYCLE.ordinal()] = config.getLifecycleOverflowPolicy();
+        overflowPolicies[DisruptorEventSource.CLIENT_MESSAGE.ordinal()] = config.getMessageOverflowPolicy();
+        overflowPolicies[DisruptorEventSource.CLUSTER.ordinal()] = config.getClusterOverflowPolicy();
+        overflowPolicies[DisruptorEventSource.CONTROL.ordinal()] = config.getControlOverflowPolicy();
+        overflowPolicies[DisruptorEventSource.DEDICATED_MESSAGE.ordinal()] = config.getMessageOverflowPolicy();
+        overflowPolicies[DisruptorEventSource.DEDICATED_LIFECYCLE.ordinal()] = config.getLifecycleOverflowPolicy();
+        this.overflowSpinNanos = TimeUnit.MICROSECONDS.toNanos(Math.max(0, config.getOverflowSpinMicros()));
+        this.laneRingBuffers = laneRingBuffers;
+        log.info("Disruptor started: waitStrategy {}, producerType {}, profile {}, listenerExecution {}, lanes {}, command policies {}.",
+                waitStrategyType, producerType, config.getProfile(), config.getListenerExecution(),
+                config.isLanesEnabled() ? "enabled" : "disabled", commandPolicies);
+    }
+
+    /**
+     * 启动一个通道的所有分片
+     * @return 通道的分片
+     */
+    @SuppressWarnings("unchecked")
+    private RingBuffer<DisruptorEntry>[] startLane(AtomicIOEngine engine, AtomicIOProperties.Disruptor config,
+                                                   DisruptorLane lane, int configBufferSize, int configShards,
+                                                   ProducerType producerType, DisruptorWaitStrategyType waitStrategyType) {
+        int bufferSize = ceilingPowerOfTwo(configBufferSize);
+        int shards = configShards > 0 ? configShards : Runtime.getRuntime().availableProcessors();
+        RingBuffer<DisruptorEntry>[] ringBuffers = new RingBuffer[shards];
+        List<DisruptorEventMetrics> metrics = new ArrayList<>(shards);
+        AffinityThreadFactory threadFactory = new AffinityThreadFactory(
+                "atomicio-disruptor-" + lane.name().toLowerCase(), true, affinity, affinity.getDisruptorCpus(), consumerCpuCursor);
+        for (int i = 0; i < shards; i++) {
+            Disruptor<DisruptorEntry> disruptor = new Disruptor<>(
+                    DisruptorEntry::new,          // Event 工厂
+                    bufferSize,                   // RingBuffer 大小
+                    threadFactory,                // 线程工厂，可选绑核
+                    producerType,                 // 生产者类型
+                    createWaitStrategy(waitStrategyType, config) // 等待策略，每个分片独立实例
+            );
+            // 设置异常处理器
+            disruptor.setDefaultExceptionHandler(new DisruptorExceptionHandler(engine));
+            // 每个分片连接一个独立的消费者
+            DisruptorEventMetrics shardMetrics = metricsEnabled ? new DisruptorEventMetrics() : null;
+            if (shardMetrics != null) {
+                metrics.add(shardMetrics);
+            }
+            disruptor.handleEventsWith(new DisruptorEventHandler(engine, listenerDispatcher, shardMetrics));
+            ringBuffers[i] = disruptor.start();
+            disruptors.add(disruptor);
+        }
+        laneMetrics.put(lane, metrics);
+        log.info("Disruptor lane {} started: {} shard(s), bufferSize {} per shard.", lane, shards, bufferSize);
+        return ringBuffers;
     }
 
     /**
      * 关闭队列
      */
     @Override
-    public void shutdown() {
-        if (disruptor != null) {
+    public synchronized void shutdown() {
+        // 先摘掉 RingBuffer，之后的发布直接丢弃，不会在已没有消费者的队列上永久阻塞
+        laneRingBuffers = null;
+        for (Disruptor<DisruptorEntry> disruptor : disruptors) {
             disruptor.shutdown();
         }
+        disruptors.clear();
+        laneMetrics.clear();
+        // 消费者停止后再关闭分发器，让已投递的监听器执行完
+        if (listenerDispatcher != null) {
+            listenerDispatcher.shutdown();
+        }
     }
 
     /**
-     * 通用的发布方法
-     * 调用者负责准备好 Entry，管理器只负责发布。
+     * 使用单参数翻译器，按事件来源的溢出策略发布
+     * 非 BLOCK 策略使用 tryNext 抢占序号，队列满时不会阻塞调用线程
      *
-     * @param entryPreparer 一个 Consumer，它会接收一个 RingBuffer 中的空 Entry，并负责填充数据。
+     * @param source     事件来源
+     * @param routingKey 路由键，相同的键总是落在同一个分片
+     * @param translator 翻译器
+     * @param arg        参数
+     * @return 是否发布成功
      */
     @Override
-    public void publish(Consumer<DisruptorEntry> entryPreparer) {
-        if (ringBuffer == null) {
-            log.warn("Disruptor is not started yet, event is dropped.");
-            return;
+    public <A> boolean tryPublishEvent(DisruptorEventSource source, Object routingKey,
+                                       DisruptorEntryTranslator<A> translator, A arg) {
+        RingBuffer<DisruptorEntry>[][] laneRingBuffers = this.laneRingBuffers;
+        if (laneRingBuffers == null) {
+            log.warn("Disruptor is not running, event is dropped.");
+            return false;
+        }
+        DisruptorLane lane = laneOf(source);
+        RingBuffer<DisruptorEntry> ringBuffer = selectRingBuffer(laneRingBuffers[lane.ordinal()], routingKey);
+        long sequence = claim(source, ringBuffer);
+        if (sequence < 0) {
+            return false;
         }
+        try {
+            DisruptorEntry entry = ringBuffer.get(sequence);
+            translator.translateTo(entry, arg);
+            stamp(lane, ringBuffer, sequence, entry);
+        } finally {
+            ringBuffer.publish(sequence);
+        }
+        return true;
+    }
 
-        long sequence = ringBuffer.next();
+    /**
+     * 使用双参数翻译器，按事件来源的溢出策略发布
+     *
+     * @param source     事件来源
+     * @param routingKey 路由键，相同的键总是落在同一个分片
+     * @param translator 翻译器
+     * @param arg0       第一个参数
+     * @param arg1       第二个参数
+     * @return 是否发布成功
+     */
+    @Override
+    public <A, B> boolean tryPublishEvent(DisruptorEventSource source, Object routingKey,
+                                          DisruptorEntryTranslatorTwoArg<A, B> translator, A arg0, B arg1) {
+        RingBuffer<DisruptorEntry>[][] laneRingBuffers = this.laneRingBuffers;
+        if (laneRingBuffers == null) {
+            log.warn("Disruptor is not running, event is dropped.");
+            return false;
+        }
+        DisruptorLane lane = laneOf(source);
+        RingBuffer<DisruptorEntry> ringBuffer = selectRingBuffer(laneRingBuffers[lane.ordinal()], routingKey);
+        long sequence = claim(source, ringBuffer);
+        if (sequence < 0) {
+            return false;
+        }
         try {
-            DisruptorEntry event = ringBuffer.get(sequence);
-            // 将填充数据的逻辑委托给调用者
-            entryPreparer.accept(event);
+            DisruptorEntry entry = ringBuffer.get(sequence);
+            translator.translateTo(entry, arg0, arg1);
+            stamp(lane, ringBuffer, sequence, entry);
         } finally {
             ringBuffer.publish(sequence);
         }
+        return true;
+    }
+
+    @Override
+    public DisruptorOverflowPolicy getOverflowPolicy(DisruptorEventSource source) {
+        DisruptorOverflowPolicy policy = overflowPolicies[source.ordinal()];
+        return policy != null ? policy : DisruptorOverflowPolicy.BLOCK;
+    }
+
+    @Override
+    public long getDroppedCount(DisruptorEventSource source) {
+        return droppedCounts.get(source.ordinal());
+    }
+
+    @Override
+    public int getShardCount(DisruptorLane lane) {
+        RingBuffer<DisruptorEntry>[][] laneRingBuffers = this.laneRingBuffers;
+        return laneRingBuffers != null ? laneRingBuffers[lane.ordinal()].length : 0;
     }
 
     /**
@@ -102,16 +303,211 @@ public class DefaultDisruptorManager implements DisruptorManager {
      * @return
      */
     @Override
-    public long getBufferSize() {
-        return ringBuffer != null ? ringBuffer.getBufferSize() : -1;
+    public long getBufferSize(DisruptorLane lane) {
+        RingBuffer<DisruptorEntry>[][] laneRingBuffers = this.laneRingBuffers;
+        return laneRingBuffers != null ? laneRingBuffers[lane.ordinal()][0].getBufferSize() : -1;
     }
 
     /**
      * 获取队列剩余容量
+     * 多分片时取最小值，一个热点分片被打满时过载保护同样需要生效
      * @return
      */
     @Override
-    public long getRemainingCapacity() {
-        return ringBuffer != null ? ringBuffer.remainingCapacity() : -1;
+    public long getRemainingCapacity(DisruptorLane lane) {
+        RingBuffer<DisruptorEntry>[][] laneRingBuffers = this.laneRingBuffers;
+        if (laneRingBuffers == null) {
+            return -1;
+        }
+        long min = Long.MAX_VALUE;
+        for (RingBuffer<DisruptorEntry> ringBuffer : laneRingBuffers[lane.ordinal()]) {
+            min = Math.min(min, ringBuffer.remainingCapacity());
+        }
+        return min;
+    }
+
+    @Override
+    public long getLag(DisruptorLane lane) {
+        RingBuffer<DisruptorEntry>[][] laneRingBuffers = this.laneRingBuffers;
+        if (laneRingBuffers == null) {
+            return 0;
+        }
+        long max = 0;
+        for (RingBuffer<DisruptorEntry> ringBuffer : laneRingBuffers[lane.ordinal()]) {
+            max = Math.max(max, ringBuffer.getCursor() - ringBuffer.getMinimumGatingSequence());
+        }
+        return max;
+    }
+
+    /**
+     * 客户端 IO 通道排队时间的滑动平均，多分片时取最大值
+     * @return
+     */
+    @Override
+    public long getQueueWaitEwmaNanos() {
+        List<DisruptorEventMetrics> metrics = laneMetrics.get(DisruptorLane.CLIENT);
+        if (metrics == null) {
+            return 0;
+        }
+        long max = 0;
+        for (DisruptorEventMetrics m : metrics) {
+            max = Math.max(max, m.getQueueWaitEwmaNanos());
+        }
+        return max;
+    }
+
+    @Override
+    public DisruptorMetricsSnapshot getMetrics() {
+        // 关闭优先级通道时各通道共用同一组消费者，去重后再合并
+        Set<DisruptorEventMetrics> all = Collections.newSetFromMap(new IdentityHashMap<>());
+        laneMetrics.values().forEach(all::addAll);
+        Map<DisruptorLane, DisruptorLaneStats> lanes = new EnumMap<>(DisruptorLane.class);
+        for (DisruptorLane lane : DisruptorLane.values()) {
+            lanes.put(lane, new DisruptorLaneStats(lane, getShardCount(lane), getBufferSize(lane), getLag(lane),
+                    laneHighWaterMarks.get(lane.ordinal()), getRemainingCapacity(lane)));
+        }
+        return new DisruptorMetricsSnapshot(
+                DisruptorEventMetrics.queueWaitByEventType(all),
+                DisruptorEventMetrics.queueWaitByClusterType(all),
+                DisruptorEventMetrics.handlerTimeByEventType(all),
+                DisruptorEventMetrics.handlerTimeByClusterType(all),
+                lanes,
+                getQueueWaitEwmaNanos());
+    }
+
+    @Override
+    public synchronized void setCommandPolicy(int commandId, CommandExecutionPolicy policy) {
+        IntObjectMap<CommandExecutionPolicy> copy = new IntObjectHashMap<>(commandPolicies.size() + 1);
+        copy.putAll(commandPolicies);
+        if (policy == null || policy == CommandExecutionPolicy.DISRUPTOR) {
+            copy.remove(commandId);
+        } else {
+            copy.put(commandId, policy);
+        }
+        RingBuffer<DisruptorEntry>[][] laneRingBuffers = this.laneRingBuffers;
+        if (policy == CommandExecutionPolicy.DEDICATED && laneRingBuffers != null
+                && laneRingBuffers[DisruptorLane.DEDICATED.ordinal()] == laneRingBuffers[DisruptorLane.CLIENT.ordinal()]) {
+            log.warn("Command {} is registered as DEDICATED after Disruptor started, it shares the client lane until restart.", commandId);
+        }
+        this.commandPolicies = copy;
+    }
+
+    @Override
+    public CommandExecutionPolicy getCommandPolicy(int commandId) {
+        CommandExecutionPolicy policy = commandPolicies.get(commandId);
+        return policy != null ? policy : CommandExecutionPolicy.DISRUPTOR;
+    }
+
+    /**
+     * 事件来源实际进入的通道，关闭优先级通道时全部进入客户端 IO 通道
+     */
+    private DisruptorLane laneOf(DisruptorEventSource source) {
+        return lanesEnabled ? source.lane() : DisruptorLane.CLIENT;
+    }
+
+    /**
+     * 写入发布时间，并用本次发布的序号采样通道积压高水位
+     */
+    private void stamp(DisruptorLane lane, RingBuffer<DisruptorEntry> ringBuffer, long sequence, DisruptorEntry entry) {
+        if (!metricsEnabled) {
+            return;
+        }
+        entry.setPublishNanos(System.nanoTime());
+        long lag = sequence - ringBuffer.getMinimumGatingSequence();
+        int index = lane.ordinal();
+        if (lag > laneHighWaterMarks.get(index)) {
+            laneHighWaterMarks.accumulateAndGet(index, lag, Math::max);
+        }
+    }
+
+    /**
+     * 根据路由键在通道的分片组中选择分片
+     * @param rings
+     * @param routingKey
+     * @return
+     */
+    private RingBuffer<DisruptorEntry> selectRingBuffer(RingBuffer<DisruptorEntry>[] rings, Object routingKey) {
+        if (rings.length == 1) {
+            return rings[0];
+        }
+        if (routingKey == null) {
+            // 无序事件，随机打散
+            return rings[ThreadLocalRandom.current().nextInt(rings.length)];
+        }
+        int h = routingKey.hashCode();
+        h ^= (h >>> 16); // 扰动，避免低位分布不均
+        return rings[(h & Integer.MAX_VALUE) % rings.length];
+    }
+
+    /**
+     * 按事件来源的溢出策略抢占一个序号
+     * @param source     事件来源
+     * @param ringBuffer 目标分片
+     * @return 序号；事件被丢弃时返回 -1
+     */
+    private long claim(DisruptorEventSource source, RingBuffer<DisruptorEntry> ringBuffer) {
+        DisruptorOverflowPolicy policy = getOverflowPolicy(source);
+        if (policy == DisruptorOverflowPolicy.BLOCK) {
+            return ringBuffer.next();
+        }
+        long spinNanos = policy == DisruptorOverflowPolicy.SPIN_THEN_DROP ? overflowSpinNanos : 0;
+        long deadline = spinNanos > 0 ? System.nanoTime() + spinNanos : 0;
+        while (true) {
+            try {
+                return ringBuffer.tryNext();
+            } catch (InsufficientCapacityException e) {
+                if (spinNanos <= 0 || System.nanoTime() - deadline >= 0) {
+                    onDropped(source, policy);
+                    return -1;
+                }
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    /**
+     * 记录丢弃
+     * 只在 1, 2, 4, 8 ... 次时打印，避免队列满时日志刷屏
+     */
+    private void onDropped(DisruptorEventSource source, DisruptorOverflowPolicy policy) {
+        long dropped = droppedCounts.incrementAndGet(source.ordinal());
+        if ((dropped & (dropped - 1)) == 0) {
+            log.warn("Disruptor ring is full, {} event dropped by policy {} (total dropped for this source: {}).",
+                    source, policy, dropped);
+        }
+    }
+
+    /**
+     * 创建等待策略
+     * @param type   等待策略类型
+     * @param config Disruptor 配置
+     * @return
+     */
+    private static WaitStrategy createWaitStrategy(DisruptorWaitStrategyType type, AtomicIOProperties.Disruptor config) {
+        if (type == null) {
+            return new BlockingWaitStrategy();
+        }
+        return switch (type) {
+            case BUSY_SPIN -> new BusySpinWaitStrategy();
+            case YIELDING -> new YieldingWaitStrategy();
+            case SLEEPING -> new SleepingWaitStrategy();
+            case PHASED_BACKOFF -> PhasedBackoffWaitStrategy.withLock(
+                    config.getPhasedSpinMicros(), config.getPhasedYieldMicros(), TimeUnit.MICROSECONDS);
+            case BLOCKING -> new BlockingWaitStrategy();
+        };
+    }
+
+    /**
+     * RingBuffer 大小必须是 2 的幂，非法值回退到默认大小，超过 2^30 时按 2^30 处理
+     */
+    private static int ceilingPowerOfTwo(int value) {
+        if (value <= 0) {
+            return AtomicIOConfigDefaultValue.DEFAULT_DISRUPTOR_BUFFER_SIZE;
+        }
+        if (value >= MAX_BUFFER_SIZE) {
+            return MAX_BUFFER_SIZE;
+        }
+        int highest = Integer.highestOneBit(value);
+        return highest == value ? value : highest << 1;
     }
 }
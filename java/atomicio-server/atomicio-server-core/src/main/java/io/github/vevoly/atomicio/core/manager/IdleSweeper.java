@@ -0,0 +1,79 @@
+package io.github.vevoly.atomicio.core.manager;
+
+import io.github.vevoly.atomicio.common.api.config.AtomicIOProperties;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.TimerTask;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 空闲检测时间轮
+ * 所有连接共用一个 HashedWheelTimer，代替每个连接一个 IdleStateHandler 在 EventLoop 上反复调度定时任务：
+ * 连接只在可能到期时被检查一次，登记和到期都是 O(1)，检查在时间轮线程上进行，不占用 IO 线程。
+ * 精度是一到两个刻度 (idleCheckIntervalMillis)，对分钟级的空闲检测足够。
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+@Slf4j
+public class IdleSweeper {
+
+    @Getter
+    private final long readerIdleMillis;
+    @Getter
+    private final long writerIdleMillis;
+    @Getter
+    private final long allIdleMillis;
+    private final HashedWheelTimer timer;
+
+    public IdleSweeper(AtomicIOProperties.Session session) {
+        this.readerIdleMillis = TimeUnit.SECONDS.toMillis(Math.max(0, session.getReadIdleSeconds()));
+        this.writerIdleMillis = TimeUnit.SECONDS.toMillis(Math.max(0, session.getWriteIdleSeconds()));
+        this.allIdleMillis = TimeUnit.SECONDS.toMillis(Math.max(0, session.getAllIdleSeconds()));
+        if (isEnabled()) {
+            this.timer = new HashedWheelTimer(new DefaultThreadFactory("atomicio-idle-sweeper", true),
+                    Math.max(1, session.getIdleCheckIntervalMillis()), TimeUnit.MILLISECONDS,
+                    Math.max(1, session.getIdleWheelSize()), false);
+            log.info("Idle sweeper enabled: readerIdle {}s, writerIdle {}s, allIdle {}s, tick {}ms, wheel {}.",
+                    session.getReadIdleSeconds(), session.getWriteIdleSeconds(), session.getAllIdleSeconds(),
+                    session.getIdleCheckIntervalMillis(), session.getIdleWheelSize());
+        } else {
+            this.timer = null;
+        }
+    }
+
+    /**
+     * 是否开启了任意一种空闲检测
+     */
+    public boolean isEnabled() {
+        return readerIdleMillis > 0 || writerIdleMillis > 0 || allIdleMillis > 0;
+    }
+
+    /**
+     * 登记一次检查
+     * @param task        到期时在时间轮线程上执行
+     * @param delayMillis 延迟
+     * @return 可取消的 Timeout；时间轮已停止时返回 null
+     */
+    public Timeout schedule(TimerTask task, long delayMillis) {
+        try {
+            return timer.newTimeout(task, delayMillis, TimeUnit.MILLISECONDS);
+        } catch (IllegalStateException e) {
+            // 时间轮已停止，引擎正在关闭
+            return null;
+        }
+    }
+
+    /**
+     * 停止时间轮，可以重复调用
+     */
+    public void stop() {
+        if (timer != null) {
+            timer.stop();
+        }
+    }
+}
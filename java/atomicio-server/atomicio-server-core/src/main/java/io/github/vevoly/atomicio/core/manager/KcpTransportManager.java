@@ -0,0 +1,222 @@
+package io.github.vevoly.atomicio.core.manager;
+
+import io.github.vevoly.atomicio.common.api.config.AtomicIOProperties;
+import io.github.vevoly.atomicio.common.api.config.SlowConsumerPolicy;
+import io.github.vevoly.atomicio.core.gateway.GatewayEdgeConnector;
+import io.github.vevoly.atomicio.core.handler.*;
+import io.github.vevoly.atomicio.core.kcp.KcpAdmission;
+import io.github.vevoly.atomicio.core.kcp.KcpServerHandler;
+import io.github.vevoly.atomicio.core.utils.AffinityThreadFactory;
+import io.github.vevoly.atomicio.core.utils.NettyTransport;
+import io.github.vevoly.atomicio.server.api.AtomicIOEngine;
+import io.github.vevoly.atomicio.server.api.codec.AtomicIOServerCodecProvider;
+import io.github.vevoly.atomicio.server.api.manager.TransportManager;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.*;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+
+/**
+ * KCP (可靠 UDP) 传输管理器
+ * 在一个 UDP 端口上提供 KCP 连接，每个连接是一个 KcpChannel，Pipeline 与 TCP 连接相同
+ * (空闲检测、准入控制、编解码、框架指令调度、事件翻译)，会话、分组、路由和监听器因此都不需要区分传输层。
+ * 开启 SO_REUSEPORT 时按 worker 线程数绑定多个 UDP Socket，由内核按四元组把对端分摊到各个 EventLoop。
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+@Slf4j
+public class KcpTransportManager implements TransportManager {
+
+    private final AtomicIOEngine engine;
+    private final AtomicIOProperties config;
+    private final AtomicIOServerCodecProvider codecProvider;
+    private final AtomicIOCommandDispatcher commandDispatcher;
+    private final PipelineExceptionHandler globalExceptionHandler;
+
+    private EventLoopGroup group;
+    private final List<Channel> channels = new ArrayList<>();
+    // 所有 UDP Socket 共用一份连接名额
+    private KcpAdmission admission;
+
+    // 共享处理器
+    private OverloadProtectionHandler overloadProtectionHandler;
+    private IpConnectionLimitHandler ipConnectionLimitHandler;
+    private IpRateLimitHandler ipRateLimitHandler;
+    private final RawBytesMessageHandler rawBytesMessageHandler = new RawBytesMessageHandler();
+    private final NettyEventTranslationHandler nettyEventTranslationHandler;
+    private final IdleSweeper idleSweeper;
+    // 时间轮由自己创建时才由自己停止，外部传入的由创建方停止
+    private final boolean ownsIdleSweeper;
+    private final GatewayEdgeConnector gatewayConnector;
+
+    public KcpTransportManager(AtomicIOEngine engine, AtomicIOCommandDispatcher commandDispatcher,
+                               PipelineExceptionHandler globalExceptionHandler) {
+        this(engine, commandDispatcher, globalExceptionHandler, new IdleSweeper(engine.getConfig().getSession()), null, true);
+    }
+
+    /**
+     * @param idleSweeper 空闲检测时间轮，与 TCP 同时开启时传入同一个实例，由创建方负责停止
+     */
+    public KcpTransportManager(AtomicIOEngine engine, AtomicIOCommandDispatcher commandDispatcher,
+                               PipelineExceptionHandler globalExceptionHandler, IdleSweeper idleSweeper) {
+        this(engine, commandDispatcher, globalExceptionHandler, idleSweeper, null);
+    }
+
+    /**
+     * @param gatewayConnector 边缘网关模式下的逻辑节点链路，与 TCP 传入同一个实例；其他模式传 null
+     */
+    public KcpTransportManager(AtomicIOEngine engine, AtomicIOCommandDispatcher commandDispatcher,
+                               PipelineExceptionHandler globalExceptionHandler, IdleSweeper idleSweeper,
+                               GatewayEdgeConnector gatewayConnector) {
+        this(engine, commandDispatcher, globalExceptionHandler, idleSweeper, gatewayConnector, false);
+    }
+
+    private KcpTransportManager(AtomicIOEngine engine, AtomicIOCommandDispatcher commandDispatcher,
+                                PipelineExceptionHandler globalExceptionHandler, IdleSweeper idleSweeper,
+                                GatewayEdgeConnector gatewayConnector, boolean ownsIdleSweeper) {
+        this.engine = engine;
+        this.ownsIdleSweeper = ownsIdleSweeper;
+        this.gatewayConnector = gatewayConnector;
+        this.idleSweeper = idleSweeper;
+        this.config = engine.getConfig();
+        this.codecProvider = engine.getCodecProvider();
+        this.commandDispatcher = commandDispatcher;
+        this.globalExceptionHandler = globalExceptionHandler;
+        if (config.getOverloadProtect().isEnabled()) {
+            this.overloadProtectionHandler = new OverloadProtectionHandler(engine);
+        }
+        if (config.getIpSecurity().getMaxConnect() > 0) {
+            this.ipConnectionLimitHandler = new IpConnectionLimitHandler(engine);
+        }
+        if (config.getIpSecurity().getRateLimitCount() > 0 && config.getIpSecurity().getRateLimitInterval() > 0) {
+            this.ipRateLimitHandler = new IpRateLimitHandler(engine);
+        }
+        this.nettyEventTranslationHandler = new NettyEventTranslationHandler(engine);
+    }
+
+    @Override
+    public Future<Void> start() {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        AtomicIOProperties.Kcp kcp = config.getKcp();
+        NettyTransport transport = NettyTransport.resolve(config.getTransport());
+        boolean reusePort = config.isReusePort() && transport.supportsReusePort();
+        int sockets = reusePort ? Math.max(1, config.getWorkerThreads()) : 1;
+
+        // 与 Worker 线程共用 CPU 游标，接着 Worker 已占用的 CPU 往后分配
+        String workerCpus = config.getAffinity().getWorkerCpus();
+        group = transport.newEventLoopGroup(sockets, new AffinityThreadFactory(
+                "atomicio-kcp", false, config.getAffinity(), workerCpus, engine.getCpuCursor(workerCpus)));
+        try {
+            AtomicIOProperties.Socket socket = config.getSocket();
+            KcpChildInitializer childInitializer = new KcpChildInitializer();
+            admission = new KcpAdmission(kcp,
+                    ipRateLimitHandler != null || ipConnectionLimitHandler != null ? this::admitIp : null);
+            Bootstrap bootstrap = new Bootstrap()
+                    .group(group)
+                    .channel(transport.datagramChannelClass())
+                    .option(ChannelOption.ALLOCATOR, engine.getByteBufAllocator())
+                    .handler(new ChannelInitializer<>() {
+                        @Override
+                        protected void initChannel(Channel ch) {
+                            ch.pipeline().addLast(new KcpServerHandler(kcp, childInitializer, admission));
+                        }
+                    });
+            if (socket.resolveReceiveBufferSize() > 0) {
+                bootstrap.option(ChannelOption.SO_RCVBUF, socket.resolveReceiveBufferSize());
+            }
+            if (socket.resolveSendBufferSize() > 0) {
+                bootstrap.option(ChannelOption.SO_SNDBUF, socket.resolveSendBufferSize());
+            }
+            if (reusePort) {
+                bootstrap.option(transport.reusePortOption(), true);
+            }
+            for (int i = 0; i < sockets; i++) {
+                channels.add(bootstrap.bind(kcp.getPort()).sync().channel());
+            }
+            log.info("KCP listener bound successfully to udp port {}, transport {}, sockets {}, mode {} (nodelay {}, interval {}ms, fastResend {}, noCwnd {}), window {}/{}, mtu {}, maxConnections {}, maxConnectionsPerIp {}.",
+                    kcp.getPort(), transport.getType(), sockets, kcp.getMode(), kcp.resolveNodelay(), kcp.resolveInterval(),
+                    kcp.resolveFastResend(), kcp.resolveNoCongestionWindow(), kcp.getSendWindow(), kcp.getReceiveWindow(), kcp.getMtu(),
+                    kcp.getMaxConnections(), kcp.getMaxConnectionsPerIp());
+            future.complete(null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    @Override
+    public void stop() {
+        log.info("KCP listener shutting down...");
+        for (Channel channel : channels) {
+            channel.close().syncUninterruptibly();
+        }
+        channels.clear();
+        if (group != null) {
+            group.shutdownGracefully().syncUninterruptibly();
+        }
+        if (ownsIdleSweeper) {
+            idleSweeper.stop();
+        }
+        log.info("KCP listener shutdown complete.");
+    }
+
+    /**
+     * 当前占用的 KCP 连接名额，未启动时为 0
+     */
+    public int getConnectionCount() {
+        return admission != null ? admission.getConnectionCount() : 0;
+    }
+
+    /**
+     * IP 准入：在创建 KcpChannel 之前执行，IP 连接数只检查不计数 (计数由连接 Pipeline 中的处理器完成)，
+     * 速率限制在这里计数，连接 Pipeline 中不再重复添加
+     * UDP 没有可以关闭的连接，被拒绝的报文直接丢弃，不触发连接拒绝事件
+     */
+    private boolean admitIp(InetSocketAddress sender) {
+        String ip = sender.getAddress().getHostAddress();
+        if (ipConnectionLimitHandler != null && !ipConnectionLimitHandler.hasCapacity(ip)) {
+            return false;
+        }
+        return ipRateLimitHandler == null || ipRateLimitHandler.tryAcquire(ip);
+    }
+
+    /**
+     * KCP 连接的 Pipeline，与 TCP 连接相比没有 SSL 和合并刷写 (KCP 自己按 MTU 合并输出)
+     */
+    @ChannelHandler.Sharable
+    private class KcpChildInitializer extends ChannelInitializer<Channel> {
+        @Override
+        protected void initChannel(Channel ch) {
+            ChannelPipeline pipeline = ch.pipeline();
+            if (idleSweeper.isEnabled()) {
+                pipeline.addLast(new IdleTrackingHandler(idleSweeper));
+            }
+            if (overloadProtectionHandler != null) {
+                pipeline.addLast(overloadProtectionHandler);
+            }
+            // 速率限制已在创建连接之前检查 (admitIp)
+            if (ipConnectionLimitHandler != null) {
+                pipeline.addLast(ipConnectionLimitHandler);
+            }
+            pipeline.addLast(rawBytesMessageHandler);
+            codecProvider.getOutboundHandlers(config).forEach(pipeline::addLast);
+            codecProvider.getInboundHandlers(config).forEach(pipeline::addLast);
+            pipeline.addLast(commandDispatcher);
+            if (gatewayConnector != null) {
+                pipeline.addLast(gatewayConnector.getForwardHandler());
+            }
+            pipeline.addLast(nettyEventTranslationHandler);
+            pipeline.addLast(globalExceptionHandler);
+            if (config.getSlowConsumer().getPolicy() != SlowConsumerPolicy.NONE) {
+                pipeline.addLast(new SlowConsumerHandler(config.getSlowConsumer()));
+            }
+        }
+    }
+}
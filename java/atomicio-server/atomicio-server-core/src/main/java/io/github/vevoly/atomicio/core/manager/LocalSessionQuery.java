@@ -0,0 +1,190 @@
+package io.github.vevoly.atomicio.core.manager;
+
+import io.github.vevoly.atomicio.core.session.NettySession;
+import io.github.vevoly.atomicio.server.api.session.AtomicIOSession;
+import io.github.vevoly.atomicio.server.api.session.SessionQuery;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * 本节点会话的条件查询
+ * 扫描：ConcurrentHashMap 的并行遍历 (ForkJoin 公共池)，命中的会话按所在的 EventLoop 分桶；
+ * 执行：每个桶提交到自己的 EventLoop，每次最多处理 BATCH_SIZE 个会话，剩余的重新提交到队尾，
+ * 中间排队的 IO 事件和任务可以先执行，几十万会话的批量操作也不会让某个 EventLoop 长时间停顿。
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+@Slf4j
+class LocalSessionQuery implements SessionQuery {
+
+    // 会话数超过这个值时才拆分成多个 ForkJoin 任务并行扫描
+    private static final long SCAN_PARALLELISM_THRESHOLD = 4096;
+    // 每个 EventLoop 任务最多处理的会话数
+    private static final int BATCH_SIZE = 512;
+    // 非 Netty 会话没有 EventLoop，在扫描线程上直接执行
+    private static final Executor DIRECT = Runnable::run;
+
+    private final ConcurrentHashMap<String, AtomicIOSession> sessions;
+    private final Predicate<? super AtomicIOSession> predicate;
+
+    LocalSessionQuery(ConcurrentHashMap<String, AtomicIOSession> sessions, Predicate<? super AtomicIOSession> predicate) {
+        this.sessions = sessions;
+        this.predicate = predicate;
+    }
+
+    @Override
+    public CompletableFuture<Integer> count() {
+        return CompletableFuture.supplyAsync(() -> (int) sessions.reduceValuesToLong(SCAN_PARALLELISM_THRESHOLD,
+                session -> predicate.test(session) ? 1L : 0L, 0L, Long::sum), ForkJoinPool.commonPool());
+    }
+
+    @Override
+    public CompletableFuture<List<AtomicIOSession>> list() {
+        return CompletableFuture.supplyAsync(() -> {
+            Queue<AtomicIOSession> matched = new ConcurrentLinkedQueue<>();
+            sessions.forEachValue(SCAN_PARALLELISM_THRESHOLD, session -> {
+                if (predicate.test(session)) {
+                    matched.add(session);
+                }
+            });
+            return new ArrayList<>(matched);
+        }, ForkJoinPool.commonPool());
+    }
+
+    @Override
+    public CompletableFuture<Integer> send(Object message) {
+        return forEach(session -> {
+            if (session.isActive()) {
+                session.send(message);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Integer> close(@Nullable Object closeMessage) {
+        return forEach(session -> {
+            if (!session.isActive()) return;
+            if (closeMessage != null) {
+                session.sendAndClose(closeMessage);
+            } else {
+                session.close();
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Integer> setAttribute(String key, Object value) {
+        return forEach(session -> session.setAttribute(key, value));
+    }
+
+    @Override
+    public CompletableFuture<Integer> forEach(Consumer<? super AtomicIOSession> action) {
+        return CompletableFuture.supplyAsync(this::scanByEventLoop, ForkJoinPool.commonPool())
+                .thenCompose(buckets -> execute(buckets, action));
+    }
+
+    /**
+     * 并行扫描，命中的会话按 EventLoop 分桶
+     */
+    private Map<Executor, Queue<AtomicIOSession>> scanByEventLoop() {
+        Map<Executor, Queue<AtomicIOSession>> buckets = new ConcurrentHashMap<>();
+        sessions.forEachValue(SCAN_PARALLELISM_THRESHOLD, session -> {
+            if (predicate.test(session)) {
+                buckets.computeIfAbsent(executorOf(session), k -> new ConcurrentLinkedQueue<>()).add(session);
+            }
+        });
+        return buckets;
+    }
+
+    private CompletableFuture<Integer> execute(Map<Executor, Queue<AtomicIOSession>> buckets,
+                                               Consumer<? super AtomicIOSession> action) {
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        if (buckets.isEmpty()) {
+            future.complete(0);
+            return future;
+        }
+        int total = 0;
+        for (Queue<AtomicIOSession> bucket : buckets.values()) {
+            total += bucket.size();
+        }
+        int matched = total;
+        AtomicInteger pending = new AtomicInteger(buckets.size());
+        Runnable onBucketDone = () -> {
+            if (pending.decrementAndGet() == 0) {
+                future.complete(matched);
+            }
+        };
+        buckets.forEach((executor, bucket) ->
+                new Batch(executor, bucket.toArray(new AtomicIOSession[0]), action, onBucketDone).submit());
+        return future;
+    }
+
+    private static Executor executorOf(AtomicIOSession session) {
+        if (session instanceof NettySession nettySession) {
+            return nettySession.getNettyChannel().eventLoop();
+        }
+        return DIRECT;
+    }
+
+    /**
+     * 一个 EventLoop 上的批量任务，每次执行一批后把自己重新提交到队尾
+     */
+    private static final class Batch implements Runnable {
+
+        private final Executor executor;
+        private final AtomicIOSession[] sessions;
+        private final Consumer<? super AtomicIOSession> action;
+        private final Runnable onDone;
+        private int next;
+
+        Batch(Executor executor, AtomicIOSession[] sessions, Consumer<? super AtomicIOSession> action, Runnable onDone) {
+            this.executor = executor;
+            this.sessions = sessions;
+            this.action = action;
+            this.onDone = onDone;
+        }
+
+        void submit() {
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                // EventLoop 已关闭，连接也随之关闭了，剩下的会话跳过
+                log.warn("EventLoop rejected session batch, {} sessions skipped.", sessions.length - next);
+                onDone.run();
+            }
+        }
+
+        @Override
+        public void run() {
+            // 没有 EventLoop 的会话不需要让出，一次执行完
+            int end = executor == DIRECT ? sessions.length : Math.min(next + BATCH_SIZE, sessions.length);
+            for (; next < end; next++) {
+                try {
+                    action.accept(sessions[next]);
+                } catch (Exception e) {
+                    log.error("Session query action failed on session: {}", sessions[next].getId(), e);
+                }
+            }
+            if (next < sessions.length) {
+                submit();
+            } else {
+                onDone.run();
+            }
+        }
+    }
+}
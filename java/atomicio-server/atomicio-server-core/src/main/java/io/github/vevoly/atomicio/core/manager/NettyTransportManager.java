@@ -1,23 +1,40 @@
 package io.github.vevoly.atomicio.core.manager;
 
 import io.github.vevoly.atomicio.common.api.config.AtomicIOProperties;
+import io.github.vevoly.atomicio.common.api.config.OutboundFlushMode;
+import io.github.vevoly.atomicio.common.api.config.SlowConsumerPolicy;
+import io.github.vevoly.atomicio.core.gateway.GatewayEdgeConnector;
 import io.github.vevoly.atomicio.core.handler.*;
 import io.github.vevoly.atomicio.core.ssl.SslContextFactory;
+import io.github.vevoly.atomicio.core.utils.AffinityThreadFactory;
+import io.github.vevoly.atomicio.core.utils.NettyTransport;
 import io.github.vevoly.atomicio.server.api.AtomicIOEngine;
 import io.github.vevoly.atomicio.server.api.codec.AtomicIOServerCodecProvider;
 import io.github.vevoly.atomicio.server.api.manager.TransportManager;
 import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.channel.*;
-import io.netty.channel.nio.NioEventLoopGroup;
-import io.netty.channel.socket.SocketChannel;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.handler.codec.http.websocketx.WebSocketServerProtocolConfig;
+import io.netty.handler.codec.http.websocketx.WebSocketServerProtocolHandler;
+import io.netty.handler.flush.FlushConsolidationHandler;
 import io.netty.handler.ssl.SslContext;
-import io.netty.handler.timeout.IdleStateHandler;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
 
 /**
  * Netty 服务管理器
@@ -28,6 +45,13 @@ import java.util.concurrent.TimeUnit;
 @Slf4j
 public class NettyTransportManager implements TransportManager {
 
+    // WebSocket 握手请求的最大长度
+    private static final int WEBSOCKET_HANDSHAKE_MAX_CONTENT_LENGTH = 8192;
+    // 精简连接模式下的读缓冲：最小 / 初始 / 最大，Netty 默认初始 2KB
+    private static final int LEAN_RECEIVE_BUFFER_MINIMUM = 64;
+    private static final int LEAN_RECEIVE_BUFFER_INITIAL = 128;
+    private static final int LEAN_RECEIVE_BUFFER_MAXIMUM = 64 * 1024;
+
     private final AtomicIOEngine engine; // 核心引擎
     private final AtomicIOProperties config; // 框架配置
     private final AtomicIOServerCodecProvider codecProvider; // 编/解码提供器
@@ -37,7 +61,8 @@ public class NettyTransportManager implements TransportManager {
     // Netty核心组件
     private EventLoopGroup bossGroup;
     private EventLoopGroup workerGroup;
-    private ChannelFuture serverChannelFuture;
+    // 开启 SO_REUSEPORT 时每个 acceptor 线程一个监听 Socket
+    private final List<Channel> serverChannels = new ArrayList<>();
 
     // 共享处理器
     private SslContext sslContext; // ssl 上下文
@@ -48,42 +73,106 @@ public class NettyTransportManager implements TransportManager {
     private OverloadProtectionHandler overloadProtectionHandler; // 服务器负载保护处理器
     private RawBytesMessageHandler rawBytesMessageHandler; // 原生字节消息处理器，绿色通道
     private PipelineExceptionHandler globalExceptionHandler; // 全局异常处理器
+    private final IdleSweeper idleSweeper; // 空闲检测时间轮
+    private final boolean ownsIdleSweeper; // 时间轮由自己创建时才由自己停止，外部传入的由创建方停止
+    private final GatewayEdgeConnector gatewayConnector; // 边缘网关链路，非 EDGE 模式为 null
 
-    private final ChannelInitializer<SocketChannel> childHandlerInitializer;
+    private final ChannelInitializer<Channel> childHandlerInitializer;
+    private final ChannelInitializer<Channel> webSocketChildHandlerInitializer;
+    private final ChannelInitializer<Channel> domainSocketChildHandlerInitializer;
+    private volatile boolean domainSocketBound; // Domain Socket 文件由本实例绑定，关闭时才删除
 
     public NettyTransportManager(AtomicIOEngine engine, AtomicIOCommandDispatcher commandDispatcher,
                                  PipelineExceptionHandler globalExceptionHandler) {
+        this(engine, commandDispatcher, globalExceptionHandler, new IdleSweeper(engine.getConfig().getSession()), null, true);
+    }
+
+    /**
+     * @param idleSweeper 空闲检测时间轮，同时开启多种传输层时传入同一个实例，整个引擎共用一个时间轮，由创建方负责停止
+     */
+    public NettyTransportManager(AtomicIOEngine engine, AtomicIOCommandDispatcher commandDispatcher,
+                                 PipelineExceptionHandler globalExceptionHandler, IdleSweeper idleSweeper) {
+        this(engine, commandDispatcher, globalExceptionHandler, idleSweeper, null);
+    }
+
+    /**
+     * @param gatewayConnector 边缘网关模式下的逻辑节点链路，业务消息经它转发而不是交给本地监听器；其他模式传 null
+     */
+    public NettyTransportManager(AtomicIOEngine engine, AtomicIOCommandDispatcher commandDispatcher,
+                                 PipelineExceptionHandler globalExceptionHandler, IdleSweeper idleSweeper,
+                                 GatewayEdgeConnector gatewayConnector) {
+        this(engine, commandDispatcher, globalExceptionHandler, idleSweeper, gatewayConnector, false);
+    }
+
+    private NettyTransportManager(AtomicIOEngine engine, AtomicIOCommandDispatcher commandDispatcher,
+                                  PipelineExceptionHandler globalExceptionHandler, IdleSweeper idleSweeper,
+                                  GatewayEdgeConnector gatewayConnector, boolean ownsIdleSweeper) {
         this.engine = engine;
+        this.ownsIdleSweeper = ownsIdleSweeper;
+        this.gatewayConnector = gatewayConnector;
         this.config = engine.getConfig();
         this.codecProvider = engine.getCodecProvider();
         this.commandDispatcher = commandDispatcher;
         this.globalExceptionHandler = globalExceptionHandler;
+        this.idleSweeper = idleSweeper;
 
         // 初始化所有需要共享的 Handler 实例
         initializeHandlers();
         // 创建 ChannelInitializer
-        this.childHandlerInitializer = new ServerChannelInitializer();
+        this.childHandlerInitializer = new ServerChannelInitializer(false, false);
+        this.webSocketChildHandlerInitializer = config.getWebSocket().isEnabled() ? new ServerChannelInitializer(true, false) : null;
+        this.domainSocketChildHandlerInitializer = config.getDomainSocket().isEnabled() ? new ServerChannelInitializer(false, true) : null;
     }
 
     @Override
     public Future<Void> start() {
         CompletableFuture<Void> future = new CompletableFuture<>();
 
-        // 初始化 Netty 线程组
-        bossGroup = new NioEventLoopGroup(config.getBossThreads());
-        workerGroup = new NioEventLoopGroup(config.getWorkerThreads());
+        // 选择传输层：Linux 上使用原生 epoll / io_uring，否则 NIO
+        NettyTransport transport = NettyTransport.resolve(config.getTransport());
+        boolean reusePort = config.isReusePort() && transport.supportsReusePort();
+        if (config.isReusePort() && !reusePort) {
+            log.warn("SO_REUSEPORT requires the epoll or io_uring transport, current transport is {}, ignored.", transport.getType());
+        }
+        int acceptors = reusePort ? Math.max(1, config.getBossThreads()) : 1;
+
+        // 初始化 Netty 线程组，开启绑核时每个 EventLoop 线程锁定一个 CPU
+        AtomicIOProperties.Affinity affinity = config.getAffinity();
+        bossGroup = transport.newEventLoopGroup(config.getBossThreads(), new AffinityThreadFactory(
+                "atomicio-boss", false, affinity, affinity.getBossCpus(), engine.getCpuCursor(affinity.getBossCpus())));
+        workerGroup = transport.newEventLoopGroup(config.getWorkerThreads(), new AffinityThreadFactory(
+                "atomicio-worker", false, affinity, affinity.getWorkerCpus(), engine.getCpuCursor(affinity.getWorkerCpus())));
         try {
             // 配置和启动 Netty ServerBootstrap
             ServerBootstrap bootstrap = new ServerBootstrap();
             bootstrap.group(bossGroup, workerGroup)
-                    .channel(NioServerSocketChannel.class)
-                    .option(ChannelOption.SO_BACKLOG, 1024)
-                    .childOption(ChannelOption.SO_KEEPALIVE, true)
+                    .channel(transport.serverChannelClass())
                     .childHandler(this.childHandlerInitializer);
-            log.info("Netty server starting on port {}...", config.getPort());
-            serverChannelFuture = bootstrap.bind(config.getPort()).sync(); // 绑定端口
+            applySocketOptions(bootstrap);
+            if (reusePort) {
+                bootstrap.option(transport.reusePortOption(), true);
+            }
+            log.info("Netty server starting on port {}, transport {}, acceptors {}...",
+                    config.getPort(), transport.getType(), acceptors);
+            // 每次 bind 注册到 bossGroup 的下一个 EventLoop，SO_REUSEPORT 下由内核把新连接分摊到各个监听 Socket
+            for (int i = 0; i < acceptors; i++) {
+                serverChannels.add(bootstrap.bind(config.getPort()).sync().channel()); // 绑定端口
+            }
             log.info("Netty server bound successfully to port {}, codec: {}",
                     config.getPort(), codecProvider.getClass().getSimpleName());
+            if (webSocketChildHandlerInitializer != null) {
+                // WebSocket 监听与 TCP 共用线程组和 Socket 选项，只有 Pipeline 的协议层不同
+                ServerBootstrap webSocketBootstrap = bootstrap.clone().childHandler(webSocketChildHandlerInitializer);
+                for (int i = 0; i < acceptors; i++) {
+                    serverChannels.add(webSocketBootstrap.bind(config.getWebSocket().getPort()).sync().channel());
+                }
+                log.info("WebSocket listener bound successfully to port {}, path {}, flushMode {}.",
+                        config.getWebSocket().getPort(), config.getWebSocket().getPath(),
+                        config.getWebSocket().resolveFlushMode(config.getSocket()));
+            }
+            if (domainSocketChildHandlerInitializer != null) {
+                bindDomainSocket(transport);
+            }
             future.complete(null);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
@@ -96,18 +185,142 @@ public class NettyTransportManager implements TransportManager {
     public void stop() {
         log.info("Netty Server shutting down...");
         // 关闭顺序与启动相反
-        if (serverChannelFuture != null) {
-            serverChannelFuture.channel().close().syncUninterruptibly();
+        for (Channel serverChannel : serverChannels) {
+            serverChannel.close().syncUninterruptibly();
         }
+        serverChannels.clear();
         if (bossGroup != null) {
             bossGroup.shutdownGracefully().syncUninterruptibly();
         }
         if (workerGroup != null) {
             workerGroup.shutdownGracefully().syncUninterruptibly();
         }
+        // 只删除自己绑定的 Socket 文件，启动失败时文件可能属于另一个正在运行的实例
+        if (domainSocketBound) {
+            domainSocketBound = false;
+            deleteDomainSocketFile();
+        }
+        if (ownsIdleSweeper) {
+            idleSweeper.stop();
+        }
         log.info("Netty Server shutdown complete.");
     }
 
+    /**
+     * 绑定 Unix Domain Socket 监听
+     * 与 TCP 共用线程组、分配器和写缓冲水位，TCP 专有的选项 (NODELAY、KEEPALIVE、缓冲区大小) 不适用
+     * @param transport 传输层
+     * @throws InterruptedException
+     */
+    private void bindDomainSocket(NettyTransport transport) throws InterruptedException {
+        AtomicIOProperties.Socket socket = config.getSocket();
+        ByteBufAllocator allocator = engine.getByteBufAllocator();
+        int low = socket.resolveWriteBufferLowWaterMark();
+        int high = Math.max(low, socket.resolveWriteBufferHighWaterMark());
+        String path = config.getDomainSocket().getPath();
+        // 上次进程异常退出残留的 Socket 文件会导致绑定失败，确认没有进程在监听后再删除
+        removeStaleDomainSocketFile(path);
+        ServerBootstrap bootstrap = new ServerBootstrap()
+                .group(bossGroup, workerGroup)
+                .channel(transport.serverDomainSocketChannelClass())
+                .option(ChannelOption.SO_BACKLOG, socket.resolveBacklog())
+                .option(ChannelOption.ALLOCATOR, allocator)
+                .childOption(ChannelOption.ALLOCATOR, allocator)
+                .childOption(ChannelOption.WRITE_BUFFER_WATER_MARK, new WriteBufferWaterMark(low, high))
+                .childHandler(domainSocketChildHandlerInitializer);
+        if (socket.resolveLeanConnection()) {
+            bootstrap.childOption(ChannelOption.RCVBUF_ALLOCATOR, leanReceiveBufferAllocator());
+        }
+        serverChannels.add(bootstrap.bind(transport.domainSocketAddress(path)).sync().channel());
+        domainSocketBound = true;
+        log.info("Unix domain socket listener bound successfully to {}, trusted {}, flushMode {}.",
+                path, config.getDomainSocket().isTrusted(), config.getDomainSocket().resolveFlushMode(socket));
+    }
+
+    /**
+     * 删除残留的 Socket 文件
+     * 路径不是 Socket 文件 (配置错误指向了普通文件) 或者仍有进程在监听时拒绝启动，不会删掉别人的文件
+     * @param path Socket 文件路径
+     */
+    private void removeStaleDomainSocketFile(String path) {
+        Path file = Path.of(path);
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(file, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+        } catch (IOException e) {
+            return; // 文件不存在
+        }
+        // Socket 文件既不是普通文件、目录，也不是符号链接
+        if (!attributes.isOther()) {
+            throw new IllegalStateException("atomicio.domain-socket.path " + path + " exists and is not a socket file");
+        }
+        try (SocketChannel probe = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+            probe.connect(UnixDomainSocketAddress.of(file));
+        } catch (ConnectException e) {
+            // 连接被拒绝：没有进程在监听，是残留文件
+            log.info("Removing stale unix domain socket file {}.", path);
+            deleteDomainSocketFile();
+            return;
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot probe unix domain socket " + path + ": " + e.getMessage(), e);
+        }
+        throw new IllegalStateException("Unix domain socket " + path + " is already in use by another process");
+    }
+
+    private void deleteDomainSocketFile() {
+        try {
+            Files.deleteIfExists(Path.of(config.getDomainSocket().getPath()));
+        } catch (IOException e) {
+            log.warn("Failed to delete unix domain socket file {}: {}", config.getDomainSocket().getPath(), e.getMessage());
+        }
+    }
+
+    /**
+     * 按 socket 配置 (含预设) 设置监听 Socket 与连接 Socket 的选项和分配器
+     * @param bootstrap
+     */
+    private void applySocketOptions(ServerBootstrap bootstrap) {
+        AtomicIOProperties.Socket socket = config.getSocket();
+        ByteBufAllocator allocator = engine.getByteBufAllocator();
+        int backlog = socket.resolveBacklog();
+        int receiveBufferSize = socket.resolveReceiveBufferSize();
+        int sendBufferSize = socket.resolveSendBufferSize();
+        int low = socket.resolveWriteBufferLowWaterMark();
+        int high = Math.max(low, socket.resolveWriteBufferHighWaterMark());
+
+        bootstrap.option(ChannelOption.SO_BACKLOG, backlog)
+                .option(ChannelOption.ALLOCATOR, allocator)
+                .childOption(ChannelOption.ALLOCATOR, allocator)
+                .childOption(ChannelOption.SO_KEEPALIVE, socket.isKeepAlive())
+                .childOption(ChannelOption.TCP_NODELAY, socket.resolveTcpNoDelay())
+                .childOption(ChannelOption.WRITE_BUFFER_WATER_MARK, new WriteBufferWaterMark(low, high));
+        // 接收缓冲区在监听 Socket 上设置，accept 出来的连接会继承，窗口扩大因子才能在握手时协商正确
+        if (receiveBufferSize > 0) {
+            bootstrap.option(ChannelOption.SO_RCVBUF, receiveBufferSize);
+            bootstrap.childOption(ChannelOption.SO_RCVBUF, receiveBufferSize);
+        }
+        if (sendBufferSize > 0) {
+            bootstrap.childOption(ChannelOption.SO_SNDBUF, sendBufferSize);
+        }
+        if (socket.resolveLeanConnection()) {
+            bootstrap.childOption(ChannelOption.RCVBUF_ALLOCATOR, leanReceiveBufferAllocator());
+        }
+        log.info("Socket options: profile {}, backlog {}, tcpNoDelay {}, rcvBuf {}, sndBuf {}, writeWaterMark {}/{}, allocator {}, flushMode {}, lean {}.",
+                socket.getProfile(), backlog, socket.resolveTcpNoDelay(),
+                receiveBufferSize > 0 ? receiveBufferSize : "default", sendBufferSize > 0 ? sendBufferSize : "default",
+                low, high, socket.resolveAllocatorType(), socket.getFlushMode(), socket.resolveLeanConnection());
+    }
+
+    /**
+     * 精简连接模式的读缓冲分配策略
+     * 每次读按上一次读到的字节数自适应，从 128 字节起步：空闲设备偶尔发的小包只占用小缓冲区，
+     * 停在半包上的连接被 ByteToMessageDecoder 留作累积缓冲区的也只是这一个小缓冲区；大流量连接会逐步放大到 64KB
+     */
+    private static RecvByteBufAllocator leanReceiveBufferAllocator() {
+        return new AdaptiveRecvByteBufAllocator(LEAN_RECEIVE_BUFFER_MINIMUM, LEAN_RECEIVE_BUFFER_INITIAL,
+                LEAN_RECEIVE_BUFFER_MAXIMUM);
+    }
+
     /**
      * 初始化处理器
      */
@@ -132,6 +345,11 @@ public class NettyTransportManager implements TransportManager {
         }
         log.info("初始化集群消息直通处理器 ...");
         this.rawBytesMessageHandler = new RawBytesMessageHandler();
+        if (config.getSlowConsumer().getPolicy() != SlowConsumerPolicy.NONE) {
+            log.info("启用慢消费者保护 (policy {}, maxPendingMessages {}, maxPendingBytes {}, graceMillis {}) ...",
+                    config.getSlowConsumer().getPolicy(), config.getSlowConsumer().getMaxPendingMessages(),
+                    config.getSlowConsumer().getMaxPendingBytes(), config.getSlowConsumer().getGraceMillis());
+        }
         log.info("初始化 Netty 事件翻译处理器 ...");
         this.nettyEventTranslationHandler = new NettyEventTranslationHandler(engine);
 
@@ -141,28 +359,82 @@ public class NettyTransportManager implements TransportManager {
      * 私有的内部类来负责 ChannelPipeline 构建
      * 这是整个 Atomicio 服务器网络处理的核心
      */
-    private class ServerChannelInitializer extends ChannelInitializer<SocketChannel> {
+    private class ServerChannelInitializer extends ChannelInitializer<Channel> {
+
+        // 是否是 WebSocket 监听的连接
+        private final boolean webSocket;
+        // 是否是 Unix Domain Socket 监听的连接
+        private final boolean domainSocket;
+
+        ServerChannelInitializer(boolean webSocket, boolean domainSocket) {
+            this.webSocket = webSocket;
+            this.domainSocket = domainSocket;
+        }
+
+        /**
+         * 当前监听的刷写模式，WebSocket / Domain Socket 未单独配置时与 TCP 相同
+         */
+        private OutboundFlushMode resolveFlushMode() {
+            AtomicIOProperties.Socket socket = config.getSocket();
+            if (webSocket) {
+                return config.getWebSocket().resolveFlushMode(socket);
+            }
+            if (domainSocket) {
+                return config.getDomainSocket().resolveFlushMode(socket);
+            }
+            return socket.getFlushMode();
+        }
+
         @Override
-        protected void initChannel(SocketChannel ch) throws Exception {
+        protected void initChannel(Channel ch) throws Exception {
             ChannelPipeline pipeline = ch.pipeline();
 
+            // 合并刷写，放在最靠近 Socket 的位置，所有出站 flush (包括 SSL 的) 都经过它
+            if (resolveFlushMode() == OutboundFlushMode.CONSOLIDATED) {
+                pipeline.addLast(new FlushConsolidationHandler(
+                        Math.max(1, config.getSocket().getFlushConsolidationLimit()), true));
+            }
+
+            // 空闲检测：记录读写时间戳，到期检查交给共享的时间轮；放在合并刷写之后、其他处理器之前，心跳等所有读写都算作活动
+            // 出站 flush 先经过它再到 FlushConsolidationHandler，被合并的 flush 同样记为一次写
+            // 没有开启空闲检测时不添加，每个连接省一个 Handler
+            if (idleSweeper.isEnabled()) {
+                pipeline.addLast(new IdleTrackingHandler(idleSweeper));
+            }
+
             // 过载保护
             if (overloadProtectionHandler != null) {
                 pipeline.addLast(overloadProtectionHandler);
             }
-            // 准入控制层 （IP 过滤）
-            if (ipRateLimitHandler != null) {
+            // 准入控制层 （IP 过滤），受信任的本机 Domain Socket 对端跳过
+            boolean ipAdmission = !domainSocket || !config.getDomainSocket().isTrusted();
+            if (ipAdmission && ipRateLimitHandler != null) {
                 pipeline.addLast(ipRateLimitHandler); // 速率限制
             }
-            if (ipConnectionLimitHandler != null) {
+            if (ipAdmission && ipConnectionLimitHandler != null) {
                 pipeline.addLast(ipConnectionLimitHandler); // 连接数限制
             }
-            // 加密层 (SSL/TLS)
-            if (sslContext != null) {
+            // 加密层 (SSL/TLS)，Domain Socket 不出本机，不加密
+            if (sslContext != null && !domainSocket) {
                 pipeline.addLast(sslContext.newHandler(ch.alloc()));
                 pipeline.addLast(sslExceptionHandler);
             }
 
+            // WebSocket 层：HTTP 握手，之后只做帧的拆装，字节流与 TCP 相同
+            if (webSocket) {
+                AtomicIOProperties.WebSocket ws = config.getWebSocket();
+                pipeline.addLast(new HttpServerCodec());
+                // 只用于聚合握手请求，握手完成后会被移除
+                pipeline.addLast(new HttpObjectAggregator(WEBSOCKET_HANDSHAKE_MAX_CONTENT_LENGTH));
+                pipeline.addLast(new WebSocketServerProtocolHandler(WebSocketServerProtocolConfig.newBuilder()
+                        .websocketPath(ws.getPath())
+                        .subprotocols(ws.getSubprotocols())
+                        .maxFramePayloadLength(ws.getMaxFramePayloadLength())
+                        .handshakeTimeoutMillis(ws.getHandshakeTimeoutMillis())
+                        .build()));
+                pipeline.addLast(new WebSocketFrameCodec());
+            }
+
             // 通信协议层
             {
                 // 绿色通道处理器，必须在常规编码器之前被执行
@@ -175,16 +447,19 @@ public class NettyTransportManager implements TransportManager {
 
             // 框架指令调度层
             pipeline.addLast(commandDispatcher);
-
-            // 空闲状态检测
-            int readerIdleSeconds = config.getSession().getReadIdleSeconds();
-            if (readerIdleSeconds > 0) {
-                pipeline.addLast(new IdleStateHandler(readerIdleSeconds, 0, 0, TimeUnit.SECONDS));
+            // 边缘网关：业务消息转发给逻辑节点
+            if (gatewayConnector != null) {
+                pipeline.addLast(gatewayConnector.getForwardHandler());
             }
+
             // 事件翻译层
             pipeline.addLast(nettyEventTranslationHandler);
             // 全局同步异常处理
             pipeline.addLast(globalExceptionHandler);
+            // 慢消费者保护，放在最末尾让业务发送的消息最先经过它，被丢弃的消息不会再经过全局异常处理
+            if (config.getSlowConsumer().getPolicy() != SlowConsumerPolicy.NONE) {
+                pipeline.addLast(new SlowConsumerHandler(config.getSlowConsumer()));
+            }
         }
     }
 
@@ -0,0 +1,99 @@
+package io.github.vevoly.atomicio.core.metrics;
+
+import io.github.vevoly.atomicio.server.api.cluster.AtomicIOClusterMessageType;
+import io.github.vevoly.atomicio.server.api.constants.AtomicIOEventType;
+import io.github.vevoly.atomicio.server.api.metrics.LatencySnapshot;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * 单个 Disruptor 消费者的事件指标
+ * 按 IO 事件类型和集群消息类型分别记录排队时间与处理时间，并维护排队时间的指数滑动平均。
+ * 由消费者线程独占写入，管理器读取时合并所有消费者的数据。
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+public final class DisruptorEventMetrics {
+
+    private static final AtomicIOEventType[] EVENT_TYPES = AtomicIOEventType.values();
+    private static final AtomicIOClusterMessageType[] CLUSTER_TYPES = AtomicIOClusterMessageType.values();
+    // EWMA 平滑系数 1/16
+    private static final int EWMA_SHIFT = 4;
+
+    private final LatencyHistogram[] queueWaitByEventType = newHistograms(EVENT_TYPES.length);
+    private final LatencyHistogram[] handlerTimeByEventType = newHistograms(EVENT_TYPES.length);
+    private final LatencyHistogram[] queueWaitByClusterType = newHistograms(CLUSTER_TYPES.length);
+    private final LatencyHistogram[] handlerTimeByClusterType = newHistograms(CLUSTER_TYPES.length);
+    private final AtomicLong queueWaitEwma = new AtomicLong();
+
+    public void recordEvent(AtomicIOEventType type, long queueWaitNanos, long handlerNanos) {
+        queueWaitByEventType[type.ordinal()].record(queueWaitNanos);
+        handlerTimeByEventType[type.ordinal()].record(handlerNanos);
+        updateEwma(queueWaitNanos);
+    }
+
+    public void recordCluster(AtomicIOClusterMessageType type, long queueWaitNanos, long handlerNanos) {
+        queueWaitByClusterType[type.ordinal()].record(queueWaitNanos);
+        handlerTimeByClusterType[type.ordinal()].record(handlerNanos);
+        updateEwma(queueWaitNanos);
+    }
+
+    public long getQueueWaitEwmaNanos() {
+        return queueWaitEwma.get();
+    }
+
+    private void updateEwma(long sample) {
+        long current = queueWaitEwma.get();
+        queueWaitEwma.lazySet(current + ((Math.max(0, sample) - current) >> EWMA_SHIFT));
+    }
+
+    /**
+     * 合并多个消费者的排队时间，按 IO 事件类型
+     */
+    public static Map<AtomicIOEventType, LatencySnapshot> queueWaitByEventType(Collection<DisruptorEventMetrics> metrics) {
+        return merge(metrics, EVENT_TYPES, m -> m.queueWaitByEventType, AtomicIOEventType.class);
+    }
+
+    public static Map<AtomicIOEventType, LatencySnapshot> handlerTimeByEventType(Collection<DisruptorEventMetrics> metrics) {
+        return merge(metrics, EVENT_TYPES, m -> m.handlerTimeByEventType, AtomicIOEventType.class);
+    }
+
+    public static Map<AtomicIOClusterMessageType, LatencySnapshot> queueWaitByClusterType(Collection<DisruptorEventMetrics> metrics) {
+        return merge(metrics, CLUSTER_TYPES, m -> m.queueWaitByClusterType, AtomicIOClusterMessageType.class);
+    }
+
+    public static Map<AtomicIOClusterMessageType, LatencySnapshot> handlerTimeByClusterType(Collection<DisruptorEventMetrics> metrics) {
+        return merge(metrics, CLUSTER_TYPES, m -> m.handlerTimeByClusterType, AtomicIOClusterMessageType.class);
+    }
+
+    private static <K extends Enum<K>> Map<K, LatencySnapshot> merge(Collection<DisruptorEventMetrics> metrics, K[] keys,
+                                                                    Function<DisruptorEventMetrics, LatencyHistogram[]> selector,
+                                                                    Class<K> keyType) {
+        Map<K, LatencySnapshot> result = new EnumMap<>(keyType);
+        for (K key : keys) {
+            long[] merged = new long[LatencyHistogram.BUCKETS];
+            long[] totals = new long[2];
+            for (DisruptorEventMetrics m : metrics) {
+                selector.apply(m)[key.ordinal()].mergeInto(merged, totals);
+            }
+            LatencySnapshot snapshot = LatencyHistogram.snapshot(merged, totals);
+            if (snapshot.count() > 0) {
+                result.put(key, snapshot);
+            }
+        }
+        return result;
+    }
+
+    private static LatencyHistogram[] newHistograms(int size) {
+        LatencyHistogram[] histograms = new LatencyHistogram[size];
+        for (int i = 0; i < size; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+        return histograms;
+    }
+}
@@ -0,0 +1,101 @@
+package io.github.vevoly.atomicio.core.metrics;
+
+import io.github.vevoly.atomicio.server.api.metrics.LatencySnapshot;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 单写者对数分桶延迟直方图
+ * 每个 2 的幂区间再分 4 个子桶，记录一次只是一次数组自增，没有锁也没有对象分配。
+ * 只允许一个线程 (Disruptor 消费者) 写入，其他线程可以随时读取合并。
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 2;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    static final int BUCKETS = SUB_BUCKETS + (63 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    // [0]: 总和  [1]: 最大值
+    private final AtomicLongArray totals = new AtomicLongArray(2);
+
+    /**
+     * 记录一个样本，只能由持有者线程调用
+     * @param nanos 纳秒，负数按 0 记录
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        int index = bucketIndex(value);
+        counts.lazySet(index, counts.get(index) + 1);
+        totals.lazySet(0, totals.get(0) + value);
+        if (value > totals.get(1)) {
+            totals.lazySet(1, value);
+        }
+    }
+
+    /**
+     * 把当前计数累加到一个合并缓冲区中
+     * @param merged 长度为 BUCKETS 的计数数组
+     * @param mergedTotals 长度为 2 的数组：总和、最大值
+     */
+    void mergeInto(long[] merged, long[] mergedTotals) {
+        for (int i = 0; i < BUCKETS; i++) {
+            merged[i] += counts.get(i);
+        }
+        mergedTotals[0] += totals.get(0);
+        mergedTotals[1] = Math.max(mergedTotals[1], totals.get(1));
+    }
+
+    /**
+     * 根据合并后的计数生成快照
+     */
+    static LatencySnapshot snapshot(long[] merged, long[] mergedTotals) {
+        long count = 0;
+        for (long c : merged) {
+            count += c;
+        }
+        if (count == 0) {
+            return LatencySnapshot.EMPTY;
+        }
+        long max = mergedTotals[1];
+        return new LatencySnapshot(count, mergedTotals[0] / count,
+                Math.min(max, valueAt(merged, count, 0.50)),
+                Math.min(max, valueAt(merged, count, 0.99)),
+                Math.min(max, valueAt(merged, count, 0.999)),
+                max);
+    }
+
+    private static long valueAt(long[] merged, long count, double quantile) {
+        long rank = (long) Math.ceil(quantile * count);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += merged[i];
+            if (seen >= rank) {
+                return bucketUpperBound(i);
+            }
+        }
+        return bucketUpperBound(BUCKETS - 1);
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int msb = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (msb - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return SUB_BUCKETS + (msb - SUB_BUCKET_BITS) * SUB_BUCKETS + sub;
+    }
+
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int msb = (index - SUB_BUCKETS) / SUB_BUCKETS + SUB_BUCKET_BITS;
+        int sub = (index - SUB_BUCKETS) % SUB_BUCKETS;
+        long lower = (long) (SUB_BUCKETS + sub) << (msb - SUB_BUCKET_BITS);
+        return lower + (1L << (msb - SUB_BUCKET_BITS)) - 1;
+    }
+}
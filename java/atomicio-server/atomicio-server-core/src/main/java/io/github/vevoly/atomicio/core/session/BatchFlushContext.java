@@ -0,0 +1,64 @@
+package io.github.vevoly.atomicio.core.session;
+
+import io.netty.channel.Channel;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 批次刷写上下文
+ * 绑定在 Disruptor 消费者线程上。批次处理期间 NettySession.send 只 write 不 flush，
+ * 并把 Channel 记录下来，批次结束时每个 Channel 只 flush 一次，减少系统调用。
+ * 其他线程 (Netty IO 线程、业务线程池) 上没有上下文，send 行为不变。
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+public final class BatchFlushContext {
+
+    private static final ThreadLocal<BatchFlushContext> CURRENT = new ThreadLocal<>();
+
+    private final Set<Channel> dirtyChannels = new HashSet<>();
+
+    /**
+     * 当前线程的上下文，没有时返回 null
+     */
+    public static BatchFlushContext current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 把上下文绑定到当前线程
+     */
+    public void bind() {
+        CURRENT.set(this);
+    }
+
+    /**
+     * 从当前线程解绑，解绑前先刷出所有待刷写的 Channel
+     */
+    public void unbind() {
+        flush();
+        CURRENT.remove();
+    }
+
+    /**
+     * 记录一个有待刷写数据的 Channel
+     */
+    public void markDirty(Channel channel) {
+        dirtyChannels.add(channel);
+    }
+
+    /**
+     * 刷写所有记录的 Channel
+     */
+    public void flush() {
+        if (dirtyChannels.isEmpty()) {
+            return;
+        }
+        for (Channel channel : dirtyChannels) {
+            channel.flush();
+        }
+        dirtyChannels.clear();
+    }
+}
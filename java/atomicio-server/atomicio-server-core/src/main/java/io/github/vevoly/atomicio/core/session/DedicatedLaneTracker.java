@@ -0,0 +1,16 @@
+package io.github.vevoly.atomicio.core.session;
+
+/**
+ * 记录会话是否发送过 DEDICATED 执行策略的消息
+ * 发送过的会话，DISCONNECT 要同时经过客户端通道和专用通道，不能越过还在专用通道里排队的消息。
+ * 只在会话的 IO 线程上读写，用普通字段保存，不经过会话属性表。
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+public interface DedicatedLaneTracker {
+
+    boolean isDedicatedLaneUsed();
+
+    void markDedicatedLaneUsed();
+}
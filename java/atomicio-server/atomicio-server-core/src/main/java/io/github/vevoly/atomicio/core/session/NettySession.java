@@ -1,5 +1,6 @@
 package io.github.vevoly.atomicio.core.session;
 
+import io.github.vevoly.atomicio.core.handler.IdleTrackingHandler;
 import io.github.vevoly.atomicio.protocol.api.constants.AtomicIOSessionAttributes;
 import io.github.vevoly.atomicio.server.api.AtomicIOEngine;
 import io.github.vevoly.atomicio.server.api.session.AtomicIOSession;
@@ -8,7 +9,13 @@ import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.util.AttributeKey;
 
+import java.net.SocketAddress;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * AtomicIOSession 的默认实现，基于 Netty Channel。
@@ -17,13 +24,49 @@ import java.util.Objects;
  * @since 0.0.1
  * @author vevoly
  */
-public class NettySession implements AtomicIOSession {
+public class NettySession implements AtomicIOSession, DedicatedLaneTracker {
+
+    /**
+     * 会话直接挂在 Channel 上，IO 线程上的 Handler 通过 {@link #of(Channel)} 取得，不再查 SessionManager
+     */
+    private static final AttributeKey<NettySession> SESSION = AttributeKey.valueOf("atomicio.session");
+
+    private static final AtomicLong ID_GENERATOR = new AtomicLong();
 
     /**
      * Netty 的 Channel 是实际的网络连接管道
      */
     private final Channel channel;
 
+    /**
+     * 进程内唯一的数字 ID，供本地热路径和网关链路使用
+     */
+    private final long numericId = ID_GENERATOR.incrementAndGet();
+
+    /**
+     * 字符串 ID，创建时生成一次，供 SessionManager 和管理查询使用
+     * 默认是 Channel 的全局唯一长文本 ID；精简连接模式下是数字 ID 的十进制形式，每个连接少一个 60 字符的字符串
+     */
+    private final String id;
+
+    /**
+     * 读写时间记录器，位于所有协议和业务处理器之前 (合并刷写模式下在 FlushConsolidationHandler 之后)，没有开启空闲检测时为 null
+     */
+    private final IdleTrackingHandler idleTracker;
+
+    /**
+     * 身份和分组是每条消息都要读的属性，直接用字段保存，不经过 AttributeKey 常量池和 Channel 属性表
+     * 通过 setAttribute / getAttribute 使用对应的 {@link AtomicIOSessionAttributes} 键读写的也是这些字段
+     */
+    private volatile String userId;
+    private volatile String deviceId;
+    private volatile Boolean authenticated;
+
+    /**
+     * 加入的本地分组，第一次加入时创建
+     */
+    private volatile Set<String> groupIds;
+
     /**
      * IO 引擎
      * Session 持有 IO 引擎
@@ -32,34 +75,110 @@ public class NettySession implements AtomicIOSession {
 
     private final long createTime = System.currentTimeMillis();
 
+    /**
+     * 发送过 DEDICATED 消息，只在 IO 线程上读写
+     */
+    private boolean dedicatedLaneUsed;
+
     public NettySession(Channel channel, AtomicIOEngine engine) {
         this.channel = Objects.requireNonNull(channel, "Channel cannot be null");
         this.engine = Objects.requireNonNull(engine, "Engine cannot be null");
+        this.id = engine.getConfig().getSocket().resolveLeanConnection()
+                ? Long.toString(numericId) : channel.id().asLongText();
+        this.idleTracker = channel.pipeline().get(IdleTrackingHandler.class);
+    }
+
+    /**
+     * 创建会话并挂到 Channel 上
+     */
+    public static NettySession attach(Channel channel, AtomicIOEngine engine) {
+        NettySession session = new NettySession(channel, engine);
+        channel.attr(SESSION).set(session);
+        return session;
+    }
+
+    /**
+     * Channel 上的会话，还没创建时返回 null
+     */
+    public static NettySession of(Channel channel) {
+        return channel.attr(SESSION).get();
     }
 
     @Override
     public String getId() {
-        // 使用 Netty Channel 的唯一 ID
-        return channel.id().asLongText();
+        return id;
+    }
+
+    public long getNumericId() {
+        return numericId;
     }
 
     @Override
     public String getUserId() {
-        return getAttribute(AtomicIOSessionAttributes.USER_ID);
+        return userId;
     }
 
     @Override
     public String getDeviceId() {
-        return getAttribute(AtomicIOSessionAttributes.DEVICE_ID);
+        return deviceId;
     }
 
     @Override
     public boolean isBound() {
-        return getAttribute(AtomicIOSessionAttributes.USER_ID) != null;
+        return userId != null;
+    }
+
+    @Override
+    public boolean isDedicatedLaneUsed() {
+        return dedicatedLaneUsed;
+    }
+
+    @Override
+    public void markDedicatedLaneUsed() {
+        dedicatedLaneUsed = true;
+    }
+
+    public boolean isAuthenticated() {
+        return Boolean.TRUE.equals(authenticated);
+    }
+
+    /**
+     * 加入的本地分组 ID，没有加入任何分组时返回空集合
+     */
+    public Set<String> getGroupIds() {
+        Set<String> groups = groupIds;
+        return groups != null ? groups : Collections.emptySet();
+    }
+
+    public void addGroupId(String groupId) {
+        Set<String> groups = groupIds;
+        if (groups == null) {
+            synchronized (this) {
+                groups = groupIds;
+                if (groups == null) {
+                    groupIds = groups = ConcurrentHashMap.newKeySet();
+                }
+            }
+        }
+        groups.add(groupId);
+    }
+
+    public void removeGroupId(String groupId) {
+        Set<String> groups = groupIds;
+        if (groups != null) {
+            groups.remove(groupId);
+        }
     }
 
     @Override
     public ChannelFuture send(Object message) {
+        BatchFlushContext flushContext = BatchFlushContext.current();
+        if (flushContext != null) {
+            // 在 Disruptor 批次内，延迟到批次结束再统一 flush
+            ChannelFuture future = channel.write(message);
+            flushContext.markDirty(channel);
+            return future;
+        }
         return channel.writeAndFlush(message);
     }
 
@@ -81,6 +200,11 @@ public class NettySession implements AtomicIOSession {
         return channel != null && channel.isActive();
     }
 
+    @Override
+    public boolean isWritable() {
+        return channel.isWritable();
+    }
+
     @Override
     public AtomicIOEngine getEngine() {
         return this.engine;
@@ -88,7 +212,9 @@ public class NettySession implements AtomicIOSession {
 
     @Override
     public String getRemoteAddress() {
-        return channel.remoteAddress().toString();
+        SocketAddress remoteAddress = channel.remoteAddress();
+        // Unix Domain Socket 的对端通常没有绑定路径，用本端 Socket 文件标识
+        return String.valueOf(remoteAddress != null ? remoteAddress : channel.localAddress());
     }
 
     @Override
@@ -98,31 +224,55 @@ public class NettySession implements AtomicIOSession {
 
     @Override
     public long getLastActivityTime() {
-        // todo 需要配合 Netty 的 IdleStateHandler 或自定义的 Handler 来更新时间戳
-        // 先返回一个简单实现，后续再完善
-        Long lastActivity = getAttribute("lastActivity");
-        return lastActivity != null ? lastActivity : createTime;
+        // 读写时间戳由 IdleTrackingHandler 在 IO 线程上记录，没有开启空闲检测时不记录
+        if (idleTracker == null) {
+            return createTime;
+        }
+        return Math.max(createTime, Math.max(idleTracker.getLastReadTime(), idleTracker.getLastWriteTime()));
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public void setAttribute(String key, Object value) {
-        AttributeKey<Object> attributeKey = AttributeKey.valueOf(key);
-        channel.attr(attributeKey).set(value);
+        switch (key) {
+            case AtomicIOSessionAttributes.USER_ID -> userId = (String) value;
+            case AtomicIOSessionAttributes.DEVICE_ID -> deviceId = (String) value;
+            case AtomicIOSessionAttributes.IS_AUTHENTICATED -> authenticated = (Boolean) value;
+            case AtomicIOSessionAttributes.GROUPS -> groupIds = copyGroupIds((Collection<String>) value);
+            default -> channel.attr(AttributeKey.valueOf(key)).set(value);
+        }
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public <T> T getAttribute(String key) {
-        AttributeKey<Object> attrKey = AttributeKey.valueOf(key);
-        return (T) channel.attr(attrKey).get();
+        return switch (key) {
+            case AtomicIOSessionAttributes.USER_ID -> (T) userId;
+            case AtomicIOSessionAttributes.DEVICE_ID -> (T) deviceId;
+            case AtomicIOSessionAttributes.IS_AUTHENTICATED -> (T) authenticated;
+            case AtomicIOSessionAttributes.GROUPS -> (T) groupIds;
+            default -> (T) channel.attr(AttributeKey.valueOf(key)).get();
+        };
     }
 
     @Override
     public void removeAttribute(String key) {
-        channel.attr(AttributeKey.valueOf(key)).set(null);
+        setAttribute(key, null);
     }
 
     public Channel getNettyChannel() {
         return channel;
     }
+
+    /**
+     * 复制调用者传入的分组集合，分组管理器之后会在其他线程上修改会话的分组，不能引用调用者的集合
+     */
+    private static Set<String> copyGroupIds(Collection<String> value) {
+        if (value == null) {
+            return null;
+        }
+        Set<String> groups = ConcurrentHashMap.newKeySet(value.size());
+        groups.addAll(value);
+        return groups;
+    }
 }
@@ -0,0 +1,120 @@
+package io.github.vevoly.atomicio.core.utils;
+
+import io.github.vevoly.atomicio.common.api.config.AtomicIOProperties;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import lombok.extern.slf4j.Slf4j;
+import net.openhft.affinity.AffinityLock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 支持 CPU 绑核的线程工厂
+ * 基于 Netty 的 DefaultThreadFactory (线程命名、FastThreadLocalThread)，开启绑核时线程启动后先通过
+ * Chronicle affinity 锁定一个 CPU，线程退出时释放。
+ * affinity 是可选依赖，不在 classpath 中时退化为普通的命名线程工厂。
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+@Slf4j
+public class AffinityThreadFactory extends DefaultThreadFactory {
+
+    private static final boolean AFFINITY_AVAILABLE = isAffinityAvailable();
+
+    private final boolean pinned;
+    private final int[] cpus;
+    // 多个工厂共用同一个游标时，CPU 按创建顺序在工厂之间依次分配
+    private final AtomicInteger cpuCursor;
+
+    /**
+     * @param poolName  线程名前缀
+     * @param daemon    是否守护线程
+     * @param affinity  绑核配置
+     * @param cpuList   可用的 CPU 列表，如 "0,2-5"；为空时从保留 CPU 中任选
+     * @param cpuCursor CPU 分配游标
+     */
+    public AffinityThreadFactory(String poolName, boolean daemon, AtomicIOProperties.Affinity affinity,
+                                 String cpuList, AtomicInteger cpuCursor) {
+        super(poolName, daemon);
+        this.pinned = affinity != null && affinity.isEnabled() && AFFINITY_AVAILABLE;
+        this.cpus = parseCpuList(cpuList);
+        this.cpuCursor = cpuCursor;
+        if (affinity != null && affinity.isEnabled() && !AFFINITY_AVAILABLE) {
+            log.warn("CPU affinity is enabled but net.openhft:affinity is not on the classpath, {} threads will not be pinned.", poolName);
+        }
+    }
+
+    public AffinityThreadFactory(String poolName, boolean daemon, AtomicIOProperties.Affinity affinity, String cpuList) {
+        this(poolName, daemon, affinity, cpuList, new AtomicInteger());
+    }
+
+    @Override
+    protected Thread newThread(Runnable r, String name) {
+        if (!pinned) {
+            return super.newThread(r, name);
+        }
+        int cpu = cpus.length > 0 ? cpus[Math.floorMod(cpuCursor.getAndIncrement(), cpus.length)] : -1;
+        return super.newThread(() -> Pinning.run(r, cpu), name);
+    }
+
+    /**
+     * 解析 CPU 列表，支持逗号分隔和区间，如 "0,2-5"
+     * @param cpuList
+     * @return
+     */
+    public static int[] parseCpuList(String cpuList) {
+        if (cpuList == null || cpuList.isBlank()) {
+            return new int[0];
+        }
+        List<Integer> result = new ArrayList<>();
+        for (String part : cpuList.split(",")) {
+            String item = part.trim();
+            if (item.isEmpty()) {
+                continue;
+            }
+            int dash = item.indexOf('-');
+            if (dash > 0) {
+                int from = Integer.parseInt(item.substring(0, dash).trim());
+                int to = Integer.parseInt(item.substring(dash + 1).trim());
+                for (int cpu = from; cpu <= to; cpu++) {
+                    result.add(cpu);
+                }
+            } else {
+                result.add(Integer.parseInt(item));
+            }
+        }
+        return result.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static boolean isAffinityAvailable() {
+        try {
+            Class.forName("net.openhft.affinity.AffinityLock", false, AffinityThreadFactory.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * 只有确认 affinity 在 classpath 中时才会加载这个类
+     */
+    private static final class Pinning {
+
+        static void run(Runnable r, int cpu) {
+            AffinityLock lock = cpu >= 0 ? AffinityLock.acquireLock(cpu) : AffinityLock.acquireLock();
+            try {
+                if (lock.isBound()) {
+                    log.info("Thread {} pinned to CPU {}.", Thread.currentThread().getName(), lock.cpuId());
+                } else {
+                    log.warn("Thread {} could not be pinned (requested CPU {}), no reservable CPU.",
+                            Thread.currentThread().getName(), cpu);
+                }
+                r.run();
+            } finally {
+                lock.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package io.github.vevoly.atomicio.core.utils;
+
+import io.github.vevoly.atomicio.common.api.config.AtomicIOProperties;
+import io.github.vevoly.atomicio.common.api.config.ByteBufAllocatorType;
+import io.netty.buffer.AdaptiveByteBufAllocator;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.UnpooledByteBufAllocator;
+
+/**
+ * 按配置创建 ByteBuf 分配器
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+public final class ByteBufAllocators {
+
+    private ByteBufAllocators() {
+    }
+
+    /**
+     * 创建分配器，引擎只调用一次 (见 AtomicIOEngine.getByteBufAllocator)，所有监听共用
+     * 池化分配器的 arena、页大小、缓存大小未配置时使用 Netty 默认值；
+     * ADAPTIVE 在 Netty 全局默认分配器也是 ADAPTIVE 时直接复用它，不再额外创建
+     * @param socket Socket 配置 (已考虑预设)
+     * @return
+     */
+    public static ByteBufAllocator create(AtomicIOProperties.Socket socket) {
+        ByteBufAllocatorType type = socket.resolveAllocatorType();
+        AtomicIOProperties.Socket.Allocator config = socket.getAllocator();
+        return switch (type) {
+            case POOLED_DIRECT -> pooled(true, config);
+            case POOLED_HEAP -> pooled(false, config);
+            case UNPOOLED -> new UnpooledByteBufAllocator(true);
+            case ADAPTIVE -> ByteBufAllocator.DEFAULT instanceof AdaptiveByteBufAllocator
+                    ? ByteBufAllocator.DEFAULT : new AdaptiveByteBufAllocator();
+        };
+    }
+
+    private static ByteBufAllocator pooled(boolean preferDirect, AtomicIOProperties.Socket.Allocator config) {
+        int arenas = config.getArenas();
+        return new PooledByteBufAllocator(
+                preferDirect,
+                arenas > 0 ? arenas : PooledByteBufAllocator.defaultNumHeapArena(),
+                arenas > 0 ? arenas : PooledByteBufAllocator.defaultNumDirectArena(),
+                config.getPageSize() > 0 ? config.getPageSize() : PooledByteBufAllocator.defaultPageSize(),
+                config.getMaxOrder() >= 0 ? config.getMaxOrder() : PooledByteBufAllocator.defaultMaxOrder(),
+                config.getSmallCacheSize() >= 0 ? config.getSmallCacheSize() : PooledByteBufAllocator.defaultSmallCacheSize(),
+                config.getNormalCacheSize() >= 0 ? config.getNormalCacheSize() : PooledByteBufAllocator.defaultNormalCacheSize(),
+                config.isUseCacheForAllThreads());
+    }
+}
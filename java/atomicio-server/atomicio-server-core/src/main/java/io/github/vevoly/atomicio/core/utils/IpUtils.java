@@ -1,12 +1,24 @@
 package io.github.vevoly.atomicio.core.utils;
 
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.socket.nio.NioDomainSocketChannel;
+import io.netty.channel.unix.DomainSocketChannel;
 
+import java.net.InetAddress;
 import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
 
 public class IpUtils {
 
+    /**
+     * Unix Domain Socket 连接没有 IP，统一当作同一个本机对端
+     */
+    public static final String DOMAIN_SOCKET_PEER = "unix";
+
     public static String getIp(ChannelHandlerContext ctx) {
+        if (ctx.channel() instanceof DomainSocketChannel || ctx.channel() instanceof NioDomainSocketChannel) {
+            return DOMAIN_SOCKET_PEER;
+        }
         try {
             return ((InetSocketAddress) ctx.channel().remoteAddress()).getAddress().getHostAddress();
         } catch (Exception e) {
@@ -14,4 +26,16 @@ public class IpUtils {
         }
     }
 
+    /**
+     * 监听地址是否只在本机可达
+     * 无法解析的地址按不是回环地址处理
+     */
+    public static boolean isLoopback(String host) {
+        try {
+            return InetAddress.getByName(host).isLoopbackAddress();
+        } catch (UnknownHostException e) {
+            return false;
+        }
+    }
+
 }
@@ -0,0 +1,177 @@
+package io.github.vevoly.atomicio.core.utils;
+
+import io.github.vevoly.atomicio.common.api.config.TransportType;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.socket.DatagramChannel;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.IoHandlerFactory;
+import io.netty.channel.MultiThreadIoEventLoopGroup;
+import io.netty.channel.ServerChannel;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.epoll.EpollDatagramChannel;
+import io.netty.channel.epoll.EpollIoHandler;
+import io.netty.channel.epoll.EpollServerDomainSocketChannel;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.nio.NioIoHandler;
+import io.netty.channel.socket.nio.NioDatagramChannel;
+import io.netty.channel.socket.nio.NioServerDomainSocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.channel.uring.IoUring;
+import io.netty.channel.uring.IoUringChannelOption;
+import io.netty.channel.uring.IoUringDatagramChannel;
+import io.netty.channel.uring.IoUringIoHandler;
+import io.netty.channel.uring.IoUringServerDomainSocketChannel;
+import io.netty.channel.uring.IoUringServerSocketChannel;
+import io.netty.channel.uring.IoUringSocketChannel;
+import io.netty.channel.unix.DomainSocketAddress;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.SocketAddress;
+import java.net.UnixDomainSocketAddress;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * 服务端传输层选择
+ * 按配置和运行环境在 epoll / io_uring / NIO 之间选择，统一提供 EventLoopGroup 和 ServerChannel 类型
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+@Slf4j
+public final class NettyTransport {
+
+    @Getter
+    private final TransportType type;
+
+    private NettyTransport(TransportType type) {
+        this.type = type;
+    }
+
+    /**
+     * 解析实际使用的传输层，请求的原生传输不可用时逐级回退
+     * @param requested 配置的传输层类型
+     * @return
+     */
+    public static NettyTransport resolve(TransportType requested) {
+        TransportType type = requested == null ? TransportType.AUTO : requested;
+        if (type == TransportType.IO_URING) {
+            if (IoUring.isAvailable()) {
+                return new NettyTransport(TransportType.IO_URING);
+            }
+            log.warn("io_uring transport is not available ({}), falling back.", IoUring.unavailabilityCause().getMessage());
+        }
+        if (type != TransportType.NIO) {
+            if (Epoll.isAvailable()) {
+                return new NettyTransport(TransportType.EPOLL);
+            }
+            if (type == TransportType.AUTO && IoUring.isAvailable()) {
+                return new NettyTransport(TransportType.IO_URING);
+            }
+            if (type != TransportType.AUTO) {
+                log.warn("Native transport {} is not available ({}), falling back to NIO.",
+                        requested, Epoll.unavailabilityCause().getMessage());
+            }
+        }
+        return new NettyTransport(TransportType.NIO);
+    }
+
+    /**
+     * 创建 EventLoopGroup
+     * @param threads       线程数，0 表示 Netty 默认 (CPU 核心数 * 2)
+     * @param threadFactory 线程工厂
+     * @return
+     */
+    public EventLoopGroup newEventLoopGroup(int threads, ThreadFactory threadFactory) {
+        return new MultiThreadIoEventLoopGroup(threads, threadFactory, ioHandlerFactory());
+    }
+
+    /**
+     * 监听 Socket 的 Channel 类型
+     * @return
+     */
+    public Class<? extends ServerChannel> serverChannelClass() {
+        return switch (type) {
+            case EPOLL -> EpollServerSocketChannel.class;
+            case IO_URING -> IoUringServerSocketChannel.class;
+            default -> NioServerSocketChannel.class;
+        };
+    }
+
+    /**
+     * 客户端 TCP Socket 的 Channel 类型 (如网关到逻辑节点的链路)
+     * @return
+     */
+    public Class<? extends SocketChannel> socketChannelClass() {
+        return switch (type) {
+            case EPOLL -> EpollSocketChannel.class;
+            case IO_URING -> IoUringSocketChannel.class;
+            default -> NioSocketChannel.class;
+        };
+    }
+
+    /**
+     * UDP Socket 的 Channel 类型
+     * @return
+     */
+    public Class<? extends DatagramChannel> datagramChannelClass() {
+        return switch (type) {
+            case EPOLL -> EpollDatagramChannel.class;
+            case IO_URING -> IoUringDatagramChannel.class;
+            default -> NioDatagramChannel.class;
+        };
+    }
+
+    /**
+     * Unix Domain Socket 监听的 Channel 类型，NIO 使用 JDK 16+ 的 UNIX 协议族
+     * @return
+     */
+    public Class<? extends ServerChannel> serverDomainSocketChannelClass() {
+        return switch (type) {
+            case EPOLL -> EpollServerDomainSocketChannel.class;
+            case IO_URING -> IoUringServerDomainSocketChannel.class;
+            default -> NioServerDomainSocketChannel.class;
+        };
+    }
+
+    /**
+     * Unix Domain Socket 地址，原生传输与 NIO 使用的地址类型不同
+     * @param path Socket 文件路径
+     * @return
+     */
+    public SocketAddress domainSocketAddress(String path) {
+        return type == TransportType.NIO ? UnixDomainSocketAddress.of(path) : new DomainSocketAddress(path);
+    }
+
+    /**
+     * 是否支持 SO_REUSEPORT
+     * @return
+     */
+    public boolean supportsReusePort() {
+        return type == TransportType.EPOLL || type == TransportType.IO_URING;
+    }
+
+    /**
+     * SO_REUSEPORT 选项，NIO 不支持时返回 null
+     * @return
+     */
+    public ChannelOption<Boolean> reusePortOption() {
+        return switch (type) {
+            case EPOLL -> EpollChannelOption.SO_REUSEPORT;
+            case IO_URING -> IoUringChannelOption.SO_REUSEPORT;
+            default -> null;
+        };
+    }
+
+    private IoHandlerFactory ioHandlerFactory() {
+        return switch (type) {
+            case EPOLL -> EpollIoHandler.newFactory();
+            case IO_URING -> IoUringIoHandler.newFactory();
+            default -> NioIoHandler.newFactory();
+        };
+    }
+}
@@ -0,0 +1,115 @@
+package io.github.vevoly.atomicio.core;
+
+import io.github.vevoly.atomicio.common.api.config.AtomicIOProperties;
+import io.github.vevoly.atomicio.core.engine.DefaultAtomicIOEngine;
+import io.github.vevoly.atomicio.protocol.api.message.AbstractAtomicIOMessage;
+import io.github.vevoly.atomicio.protocol.api.message.AtomicIOMessage;
+import io.github.vevoly.atomicio.server.api.codec.AtomicIOServerCodecProvider;
+import io.github.vevoly.atomicio.server.api.session.AtomicIOBindRequest;
+import io.netty.channel.ChannelHandler;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 测试公共工具
+ * 不启动 Netty 和 Spring，只组装测试需要的引擎组件
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+public final class TestSupport {
+
+    private TestSupport() {
+    }
+
+    /**
+     * 创建一个只包含事件管理器、会话管理器和 Disruptor 管理器的引擎
+     * Disruptor 需要调用者自行 start
+     */
+    public static DefaultAtomicIOEngine newEngine(AtomicIOProperties config) {
+        return newEngine(config, null);
+    }
+
+    /**
+     * 同上，附带编解码提供者
+     */
+    public static DefaultAtomicIOEngine newEngine(AtomicIOProperties config, AtomicIOServerCodecProvider codecProvider) {
+        return DefaultAtomicIOEngine.standalone(config, codecProvider);
+    }
+
+    /**
+     * 只有指令号的消息，sequenceId 可以用来携带测试数据
+     */
+    public static class TestMessage extends AbstractAtomicIOMessage {
+
+        private final int commandId;
+
+        public TestMessage(int commandId, long sequenceId) {
+            super(sequenceId);
+            this.commandId = commandId;
+        }
+
+        @Override
+        public int getCommandId() {
+            return commandId;
+        }
+
+        @Override
+        public byte[] getPayload() {
+            return new byte[0];
+        }
+    }
+
+    /**
+     * 不做任何协议编解码的编解码提供者，消息以 ByteBuf 原样在 Pipeline 中流动
+     * 可以附带一个入站处理器，每个连接创建一个新实例
+     */
+    public static final class NoopCodecProvider implements AtomicIOServerCodecProvider {
+
+        private final Supplier<ChannelHandler> inboundHandler;
+
+        public NoopCodecProvider() {
+            this(null);
+        }
+
+        public NoopCodecProvider(Supplier<ChannelHandler> inboundHandler) {
+            this.inboundHandler = inboundHandler;
+        }
+
+        @Override
+        public AtomicIOMessage createResponse(AtomicIOMessage requestMessage, int commandId, Object payload) {
+            return null;
+        }
+
+        @Override
+        public AtomicIOMessage createResponse(AtomicIOMessage requestMessage, int commandId, boolean success, String message) {
+            return null;
+        }
+
+        @Override
+        public AtomicIOMessage createResponse(AtomicIOBindRequest request, int commandId, String message) {
+            return null;
+        }
+
+        @Override
+        public AtomicIOMessage createPushMessage(String fromUserId, String fromGroupId, int businessPayloadType, Object businessPayload) {
+            return null;
+        }
+
+        @Override
+        public List<ChannelHandler> getInboundHandlers(AtomicIOProperties config) {
+            return inboundHandler != null ? List.of(inboundHandler.get()) : List.of();
+        }
+
+        @Override
+        public List<ChannelHandler> getOutboundHandlers(AtomicIOProperties config) {
+            return List.of();
+        }
+
+        @Override
+        public byte[] encodeToBytes(AtomicIOMessage message, AtomicIOProperties config) {
+            return new byte[0];
+        }
+    }
+}
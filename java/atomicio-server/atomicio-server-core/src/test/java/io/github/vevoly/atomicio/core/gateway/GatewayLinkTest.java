@@ -0,0 +1,214 @@
+package io.github.vevoly.atomicio.core.gateway;
+
+import io.github.vevoly.atomicio.common.api.config.AtomicIOProperties;
+import io.github.vevoly.atomicio.common.api.config.ListenerExecutionMode;
+import io.github.vevoly.atomicio.core.TestSupport;
+import io.github.vevoly.atomicio.core.engine.DefaultAtomicIOEngine;
+import io.github.vevoly.atomicio.server.api.session.AtomicIOSession;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 网关链路测试：链路帧编解码，逻辑节点对 AUTH 帧的处理，以及会话重新 OPEN 时新旧代理的事件顺序
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+class GatewayLinkTest {
+
+    private final AtomicIOProperties config = new AtomicIOProperties();
+
+    @Test
+    void framesRoundTripThroughTheCodec() {
+        ByteBuf wire = Unpooled.buffer();
+        wire.writeBytes(encode(GatewayFrame.open(7, "用户-1", null, "10.0.0.1:5000")));
+        wire.writeBytes(encode(GatewayFrame.auth("secret")));
+        wire.writeBytes(encode(GatewayFrame.push(8, Unpooled.copiedBuffer("hello", StandardCharsets.UTF_8))));
+        wire.writeBytes(encode(GatewayFrame.close(9)));
+
+        // 按字节逐个写入，帧被任意拆分时仍然按边界解出
+        EmbeddedChannel decoder = new EmbeddedChannel(
+                new LengthFieldBasedFrameDecoder(config.getGateway().getMaxFrameLength(), 0, 4, 0, 4),
+                new GatewayFrameCodec(new TestSupport.NoopCodecProvider(), config));
+        while (wire.isReadable()) {
+            decoder.writeInbound(wire.readRetainedSlice(1));
+        }
+        wire.release();
+
+        GatewayFrame open = decoder.readInbound();
+        assertEquals(GatewayFrame.OPEN, open.getType());
+        assertEquals(7, open.getSessionId());
+        assertArrayEquals(new String[]{"用户-1", null, "10.0.0.1:5000"}, (String[]) open.getPayload());
+
+        GatewayFrame auth = decoder.readInbound();
+        assertEquals(GatewayFrame.AUTH, auth.getType());
+        assertEquals(0, auth.getSessionId());
+        assertEquals("secret", auth.getPayload());
+
+        GatewayFrame push = decoder.readInbound();
+        assertEquals(GatewayFrame.PUSH, push.getType());
+        assertEquals(8, push.getSessionId());
+        ByteBuf content = assertInstanceOf(ByteBuf.class, push.getPayload());
+        assertEquals("hello", content.toString(StandardCharsets.UTF_8));
+        content.release();
+
+        GatewayFrame close = decoder.readInbound();
+        assertEquals(GatewayFrame.CLOSE, close.getType());
+        assertEquals(9, close.getSessionId());
+        assertFalse(((ByteBuf) close.getPayload()).isReadable());
+        ((ByteBuf) close.getPayload()).release();
+
+        assertNull(decoder.readInbound());
+        decoder.finishAndReleaseAll();
+    }
+
+    @Test
+    void linkWithoutTokenAcceptsFramesImmediately() {
+        EmbeddedChannel link = newLink(null);
+        link.writeInbound(encode(GatewayFrame.close(1)));
+        assertTrue(link.isOpen());
+        link.finishAndReleaseAll();
+    }
+
+    @Test
+    void frameBeforeAuthClosesTheLink() {
+        EmbeddedChannel link = newLink("secret");
+        link.writeInbound(encode(GatewayFrame.open(1, "user-1", "device-1", "10.0.0.1:5000")));
+        assertFalse(link.isOpen());
+        link.finishAndReleaseAll();
+    }
+
+    @Test
+    void wrongTokenClosesTheLink() {
+        EmbeddedChannel link = newLink("secret");
+        link.writeInbound(encode(GatewayFrame.auth("guess")));
+        assertFalse(link.isOpen());
+        link.finishAndReleaseAll();
+    }
+
+    @Test
+    void matchingTokenAuthenticatesTheLink() {
+        EmbeddedChannel link = newLink("secret");
+        link.writeInbound(encode(GatewayFrame.auth("secret")));
+        link.writeInbound(encode(GatewayFrame.close(1)));
+        assertTrue(link.isOpen());
+        link.finishAndReleaseAll();
+    }
+
+    @Test
+    void refusesToStartOffLoopbackWithoutToken() {
+        config.getGateway().setLinkHost("0.0.0.0");
+        GatewayLogicServer server = new GatewayLogicServer(TestSupport.newEngine(config, new TestSupport.NoopCodecProvider()));
+        ExecutionException e = assertThrows(ExecutionException.class, () -> server.start().get());
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+        server.stop();
+    }
+
+    @ParameterizedTest
+    @EnumSource(ListenerExecutionMode.class)
+    void reopenedSessionGetsADistinctIdAndDisconnectsBeforeItsReplacementConnects(ListenerExecutionMode mode)
+            throws InterruptedException {
+        config.getDisruptor().setShards(4);
+        config.getDisruptor().setListenerExecution(mode);
+        DefaultAtomicIOEngine engine = TestSupport.newEngine(config, new TestSupport.NoopCodecProvider());
+
+        int sessionCount = 200;
+        // 按执行顺序记录生命周期事件，另外按会话 ID 保存在线会话，模拟业务侧以会话 ID 为键的状态
+        List<String> events = Collections.synchronizedList(new ArrayList<>());
+        Map<String, AtomicIOSession> online = new ConcurrentHashMap<>();
+        CountDownLatch done = new CountDownLatch(sessionCount * 3);
+        engine.onConnect(session -> {
+            events.add("C:" + session.getId());
+            online.put(session.getId(), session);
+            done.countDown();
+        });
+        engine.onDisconnect(session -> {
+            // DISCONNECT 处理得慢，事件被路由到不同分片时新代理的 CONNECT 就会抢在前面
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            events.add("D:" + session.getId());
+            online.remove(session.getId());
+            done.countDown();
+        });
+        engine.getDisruptorManager().start(engine);
+
+        GatewayLogicServer server = new GatewayLogicServer(engine);
+        EmbeddedChannel link = new EmbeddedChannel();
+        server.initLinkChannel(link);
+        try {
+            for (int sid = 0; sid < sessionCount; sid++) {
+                link.writeInbound(encode(GatewayFrame.open(sid, "user-" + sid, null, "10.0.0.1:5000")));
+            }
+            // 每个会话重新绑定到另一个用户
+            for (int sid = 0; sid < sessionCount; sid++) {
+                link.writeInbound(encode(GatewayFrame.open(sid, "other-" + sid, null, "10.0.0.1:5000")));
+            }
+            assertTrue(done.await(30, TimeUnit.SECONDS), "not all lifecycle events reached the listeners");
+
+            assertEquals(sessionCount, online.size(), "re-opened sessions lost their state");
+            String prefix = link.id().asShortText() + "-";
+            for (int sid = 0; sid < sessionCount; sid++) {
+                String oldId = prefix + sid;
+                String newId = prefix + sid + "-1";
+                assertNotEquals(oldId, newId);
+                assertEquals("other-" + sid, online.get(newId).getUserId());
+                assertNull(online.get(oldId));
+                if (mode == ListenerExecutionMode.DISRUPTOR) {
+                    assertTrue(events.indexOf("D:" + oldId) < events.indexOf("C:" + newId),
+                            "CONNECT of the re-opened session " + sid + " ran before the DISCONNECT of the old one");
+                }
+            }
+        } finally {
+            link.finishAndReleaseAll();
+            engine.getDisruptorManager().shutdown();
+        }
+    }
+
+    private EmbeddedChannel newLink(String token) {
+        config.getGateway().setLinkToken(token);
+        GatewayLogicServer server = new GatewayLogicServer(TestSupport.newEngine(config, new TestSupport.NoopCodecProvider()));
+        EmbeddedChannel link = new EmbeddedChannel();
+        server.initLinkChannel(link);
+        return link;
+    }
+
+    private ByteBuf encode(GatewayFrame frame) {
+        EmbeddedChannel encoder = new EmbeddedChannel(new GatewayFrameCodec(new TestSupport.NoopCodecProvider(), config));
+        encoder.writeOutbound(frame);
+        ByteBuf encoded = Unpooled.buffer();
+        ByteBuf part;
+        while ((part = encoder.readOutbound()) != null) {
+            encoded.writeBytes(part);
+            part.release();
+        }
+        encoder.finishAndReleaseAll();
+        return encoded;
+    }
+}
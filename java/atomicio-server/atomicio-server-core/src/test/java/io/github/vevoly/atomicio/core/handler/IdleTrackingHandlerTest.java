@@ -0,0 +1,164 @@
+package io.github.vevoly.atomicio.core.handler;
+
+import io.github.vevoly.atomicio.common.api.config.AtomicIOProperties;
+import io.github.vevoly.atomicio.core.manager.IdleSweeper;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.*;
+import io.netty.channel.local.LocalAddress;
+import io.netty.channel.local.LocalChannel;
+import io.netty.channel.local.LocalIoHandler;
+import io.netty.channel.local.LocalServerChannel;
+import io.netty.handler.timeout.IdleStateEvent;
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.concurrent.SingleThreadEventExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 空闲检测测试：时间轮触发的事件与 IdleStateHandler 一致，有读写的连接不触发，连接关闭后不再触发
+ * 空闲事件由时间轮线程提交到 Channel 的 EventLoop 上执行，所以使用真实 EventLoop 上的 Local Channel
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+class IdleTrackingHandlerTest {
+
+    private final List<IdleStateEvent> events = new CopyOnWriteArrayList<>();
+    // 服务端为每个连接创建的子 Channel
+    private final BlockingQueue<Channel> serverChildren = new LinkedBlockingQueue<>();
+    private IdleSweeper sweeper;
+    private EventLoopGroup group;
+    private Channel server;
+
+    @BeforeEach
+    void start() throws InterruptedException {
+        AtomicIOProperties.Session session = new AtomicIOProperties().getSession();
+        session.setReadIdleSeconds(1);
+        session.setWriteIdleSeconds(0);
+        session.setAllIdleSeconds(0);
+        session.setIdleCheckIntervalMillis(10);
+        sweeper = new IdleSweeper(session);
+
+        group = new MultiThreadIoEventLoopGroup(1, LocalIoHandler.newFactory());
+        server = new ServerBootstrap().group(group).channel(LocalServerChannel.class)
+                .childHandler(new ChannelInitializer<>() {
+                    @Override
+                    protected void initChannel(Channel ch) {
+                        ch.pipeline().addLast(new IdleTrackingHandler(sweeper), new ChannelInboundHandlerAdapter() {
+                            @Override
+                            public void channelActive(ChannelHandlerContext ctx) {
+                                serverChildren.add(ctx.channel());
+                            }
+
+                            @Override
+                            public void channelRead(ChannelHandlerContext ctx, Object msg) {
+                                ReferenceCountUtil.release(msg);
+                            }
+
+                            @Override
+                            public void userEventTriggered(ChannelHandlerContext ctx, Object evt) {
+                                if (evt instanceof IdleStateEvent idle) {
+                                    events.add(idle);
+                                }
+                            }
+                        });
+                    }
+                })
+                .bind(new LocalAddress("idle-tracking-test")).sync().channel();
+    }
+
+    @AfterEach
+    void stop() {
+        server.close().syncUninterruptibly();
+        group.shutdownGracefully(0, 1, TimeUnit.SECONDS).syncUninterruptibly();
+        sweeper.stop();
+    }
+
+    @Test
+    void idleConnectionFiresFirstThenRepeatedReaderIdle() throws InterruptedException {
+        connect();
+
+        waitFor(() -> events.size() >= 2, 5_000);
+        assertEquals(IdleStateEvent.FIRST_READER_IDLE_STATE_EVENT, events.get(0));
+        assertEquals(IdleStateEvent.READER_IDLE_STATE_EVENT, events.get(1));
+    }
+
+    @Test
+    void activeConnectionIsNotReportedIdle() throws InterruptedException {
+        Channel client = connect();
+
+        // 每 200 毫秒读一次，持续超过两个空闲周期
+        for (int i = 0; i < 12; i++) {
+            client.writeAndFlush("ping").sync();
+            Thread.sleep(200);
+        }
+        assertTrue(events.isEmpty(), "active connection reported idle: " + events);
+
+        // 停止读取后按时触发
+        waitFor(() -> !events.isEmpty(), 5_000);
+        assertEquals(IdleStateEvent.FIRST_READER_IDLE_STATE_EVENT, events.get(0));
+    }
+
+    @Test
+    void closedConnectionIsNoLongerChecked() throws InterruptedException {
+        Channel client = connect();
+        client.close().sync();
+
+        Thread.sleep(1_500);
+        assertTrue(events.isEmpty(), "closed connection reported idle: " + events);
+    }
+
+    @Test
+    void connectionClosedAfterTheCheckDoesNotReceiveTheEvent() throws Exception {
+        connect();
+        Channel child = serverChildren.take();
+        EventLoop loop = child.eventLoop();
+        // 先清空 EventLoop 的任务队列，之后排进来的只有空闲事件
+        loop.submit(() -> { }).sync();
+
+        // 占住 EventLoop，让时间轮检查到空闲后提交的事件排在后面；送达之前在 EventLoop 上关闭连接
+        CountDownLatch release = new CountDownLatch(1);
+        loop.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            child.close();
+        });
+        waitFor(() -> ((SingleThreadEventExecutor) loop).pendingTasks() > 0, 5_000);
+        release.countDown();
+        loop.submit(() -> { }).sync();
+
+        assertFalse(child.isOpen());
+        assertTrue(events.isEmpty(), "event delivered after close: " + events);
+    }
+
+    private Channel connect() throws InterruptedException {
+        return new Bootstrap().group(group).channel(LocalChannel.class)
+                .handler(new ChannelInboundHandlerAdapter())
+                .connect(server.localAddress()).sync().channel();
+    }
+
+    private static void waitFor(BooleanSupplier condition, long maxMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + maxMillis;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(condition.getAsBoolean(), "condition not met within " + maxMillis + " ms");
+    }
+}
@@ -0,0 +1,106 @@
+package io.github.vevoly.atomicio.core.handler;
+
+import io.github.vevoly.atomicio.common.api.config.AtomicIOProperties;
+import io.github.vevoly.atomicio.common.api.config.CommandExecutionPolicy;
+import io.github.vevoly.atomicio.core.TestSupport;
+import io.github.vevoly.atomicio.core.engine.DefaultAtomicIOEngine;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 指令执行策略测试：INLINE 在 IO 线程上执行，DISCONNECT 不越过专用通道里排队的消息
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+class NettyEventTranslationHandlerTest {
+
+    private static final int INLINE_COMMAND = 1;
+    private static final int DEDICATED_COMMAND = 2;
+
+    private final AtomicIOProperties config = new AtomicIOProperties();
+    private DefaultAtomicIOEngine engine;
+
+    @AfterEach
+    void shutdown() {
+        if (engine != null) {
+            engine.getDisruptorManager().shutdown();
+        }
+    }
+
+    @Test
+    void inlineCommandRunsOnTheReadingThread() {
+        config.getDisruptor().getCommandPolicies().put(INLINE_COMMAND, CommandExecutionPolicy.INLINE);
+        List<Thread> listenerThreads = new ArrayList<>();
+        engine = TestSupport.newEngine(config);
+        engine.onMessage((session, message) -> listenerThreads.add(Thread.currentThread()));
+        engine.getDisruptorManager().start(engine);
+
+        EmbeddedChannel channel = new EmbeddedChannel(new NettyEventTranslationHandler(engine));
+        channel.writeInbound(new TestSupport.TestMessage(INLINE_COMMAND, 0));
+
+        // 监听器在 writeInbound 返回前已经执行完
+        assertEquals(1, listenerThreads.size());
+        assertSame(Thread.currentThread(), listenerThreads.get(0));
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    void disconnectWaitsForQueuedDedicatedMessages() throws InterruptedException {
+        config.getDisruptor().setShards(1);
+        config.getDisruptor().setLanesEnabled(true);
+        config.getDisruptor().getCommandPolicies().put(DEDICATED_COMMAND, CommandExecutionPolicy.DEDICATED);
+        List<String> events = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch firstMessage = new CountDownLatch(1);
+        CountDownLatch releaseListener = new CountDownLatch(1);
+        CountDownLatch disconnected = new CountDownLatch(1);
+        engine = TestSupport.newEngine(config);
+        engine.onMessage((session, message) -> {
+            firstMessage.countDown();
+            try {
+                releaseListener.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            events.add("message " + message.getSequenceId());
+        });
+        engine.onDisconnect(session -> {
+            events.add("disconnect");
+            disconnected.countDown();
+        });
+        engine.getDisruptorManager().start(engine);
+
+        int messages = 5;
+        EmbeddedChannel channel = new EmbeddedChannel(new NettyEventTranslationHandler(engine));
+        for (int i = 0; i < messages; i++) {
+            channel.writeInbound(new TestSupport.TestMessage(DEDICATED_COMMAND, i));
+        }
+        try {
+            // 专用通道的消费者卡在第一条消息上，此时客户端通道空闲，DISCONNECT 仍然要等专用通道
+            assertTrue(firstMessage.await(5, TimeUnit.SECONDS));
+            channel.close();
+            assertEquals(1, disconnected.getCount(), "DISCONNECT overtook the dedicated lane");
+        } finally {
+            releaseListener.countDown();
+        }
+        assertTrue(disconnected.await(5, TimeUnit.SECONDS));
+
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < messages; i++) {
+            expected.add("message " + i);
+        }
+        expected.add("disconnect");
+        assertEquals(expected, events);
+    }
+}
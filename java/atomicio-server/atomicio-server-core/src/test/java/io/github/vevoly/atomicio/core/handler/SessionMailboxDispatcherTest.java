@@ -0,0 +1,90 @@
+package io.github.vevoly.atomicio.core.handler;
+
+import io.github.vevoly.atomicio.common.api.config.AtomicIOProperties;
+import io.github.vevoly.atomicio.core.TestSupport;
+import io.github.vevoly.atomicio.core.session.NettySession;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 会话邮箱测试：会话结束或连接断开后邮箱在排空时移除，迟到的事件仍按顺序执行且不会留下邮箱
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+class SessionMailboxDispatcherTest {
+
+    private final SessionMailboxDispatcher dispatcher = new SessionMailboxDispatcher(0);
+    private final List<String> calls = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void shutdown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void activeSessionKeepsItsMailboxUntilTheLastEvent() throws InterruptedException {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        NettySession session = new NettySession(channel, TestSupport.newEngine(new AtomicIOProperties()));
+
+        dispatcher.dispatch(session, () -> calls.add("connect"));
+        dispatcher.dispatchMessage(session, () -> calls.add("message"));
+        waitFor(() -> calls.size() == 2);
+        assertEquals(1, dispatcher.getMailboxCount());
+
+        channel.close();
+        dispatcher.dispatchLast(session, () -> calls.add("disconnect"));
+        waitFor(() -> dispatcher.getMailboxCount() == 0);
+        assertEquals(List.of("connect", "message", "disconnect"), calls);
+    }
+
+    @Test
+    void eventsAfterTheLastDoNotLeaveAMailboxBehind() throws InterruptedException {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        NettySession session = new NettySession(channel, TestSupport.newEngine(new AtomicIOProperties()));
+
+        dispatcher.dispatch(session, () -> calls.add("connect"));
+        channel.close();
+        dispatcher.dispatchLast(session, () -> calls.add("disconnect"));
+        // 迟到的事件：DISCONNECT 之后仍有 IDLE、消息投递进来
+        dispatcher.dispatch(session, () -> calls.add("idle"));
+        dispatcher.dispatchMessage(session, () -> calls.add("message"));
+
+        waitFor(() -> calls.size() == 4 && dispatcher.getMailboxCount() == 0);
+        assertEquals(List.of("connect", "disconnect", "idle", "message"), calls);
+
+        // 邮箱已经移除之后再来的事件同样不会留下邮箱
+        dispatcher.dispatch(session, () -> calls.add("late"));
+        waitFor(() -> calls.size() == 5 && dispatcher.getMailboxCount() == 0);
+    }
+
+    @Test
+    void closedConnectionMailboxIsRemovedBeforeTheLastEvent() throws InterruptedException {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        NettySession session = new NettySession(channel, TestSupport.newEngine(new AtomicIOProperties()));
+        channel.close();
+
+        // 连接已断开、DISCONNECT 还没到：ERROR 照常执行，邮箱排空后移除
+        dispatcher.dispatch(session, () -> calls.add("error"));
+        waitFor(() -> calls.size() == 1 && dispatcher.getMailboxCount() == 0);
+        dispatcher.dispatchLast(session, () -> calls.add("disconnect"));
+        waitFor(() -> calls.size() == 2 && dispatcher.getMailboxCount() == 0);
+        assertEquals(List.of("error", "disconnect"), calls);
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(condition.getAsBoolean(), "condition not met within 5000 ms");
+    }
+}
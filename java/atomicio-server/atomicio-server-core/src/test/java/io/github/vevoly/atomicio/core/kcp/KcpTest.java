@@ -0,0 +1,241 @@
+package io.github.vevoly.atomicio.core.kcp;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Kcp 状态机测试
+ * 两个 Kcp 实例通过内存中的模拟链路互连，链路按固定随机种子丢包、随机延迟 (因此乱序)，时钟由测试推进。
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+class KcpTest {
+
+    private static final ByteBufAllocator ALLOC = UnpooledByteBufAllocator.DEFAULT;
+    private static final int CONV = 0x11223344;
+    private static final int STEP = 10;
+
+    private final List<Kcp> endpoints = new ArrayList<>();
+    private final List<ByteBuf> received = new ArrayList<>();
+
+    @AfterEach
+    void releaseAll() {
+        endpoints.forEach(Kcp::release);
+        received.forEach(ByteBuf::release);
+    }
+
+    @Test
+    void deliversInOrderOverLossyReorderingLink() {
+        // 与默认的 FAST 模式相同的参数
+        Link link = new Link(0.2, 5, 80, 42);
+        link.fastMode(128);
+
+        int total = 2000;
+        for (int i = 0; i < total; i++) {
+            // 每 50 条消息有一条需要分片
+            sendMessage(link.sender, i, i % 50 == 0 ? 4000 : 16);
+        }
+        link.runUntil(() -> received.size() == total && link.sender.waitSnd() == 0, 60_000);
+
+        assertEquals(total, received.size());
+        for (int i = 0; i < total; i++) {
+            ByteBuf msg = received.get(i);
+            assertEquals(i, msg.getInt(msg.readerIndex()), "message out of order at " + i);
+            assertEquals(i % 50 == 0 ? 4000 : 16, msg.readableBytes());
+        }
+        assertEquals(0, link.sender.waitSnd());
+        assertTrue(link.sender.getRetransmits() > 0, "the link should have forced retransmissions");
+        assertTrue(link.reordered > 0, "the link should have reordered packets");
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {-200, Integer.MAX_VALUE - 200})
+    void sequenceNumbersWrapAround(int initialSn) {
+        Link link = new Link(0.1, 5, 40, 7);
+        link.fastMode(128);
+        link.sender.initSequence(initialSn);
+        link.receiver.initSequence(initialSn);
+
+        int total = 600;
+        for (int i = 0; i < total; i++) {
+            sendMessage(link.sender, i, 16);
+        }
+        link.runUntil(() -> received.size() == total && link.sender.waitSnd() == 0, 60_000);
+
+        assertEquals(total, received.size());
+        for (int i = 0; i < total; i++) {
+            assertEquals(i, received.get(i).getInt(0), "message out of order at " + i);
+        }
+        assertEquals(0, link.sender.waitSnd());
+    }
+
+    @Test
+    void rejectsEmptyAndOversizedMessages() {
+        Kcp kcp = newKcp(packet -> packet.release());
+        int mss = 1400 - Kcp.OVERHEAD;
+
+        assertEquals(-1, kcp.send(Unpooled.EMPTY_BUFFER));
+
+        ByteBuf oversized = Unpooled.buffer(128 * mss).writerIndex(128 * mss);
+        ByteBuf largest = Unpooled.buffer(127 * mss).writerIndex(127 * mss);
+        try {
+            assertEquals(-2, kcp.send(oversized));
+            assertEquals(0, kcp.waitSnd());
+            assertEquals(0, kcp.send(largest));
+            assertEquals(127, kcp.waitSnd());
+        } finally {
+            oversized.release();
+            largest.release();
+        }
+    }
+
+    @Test
+    void fullReceiveWindowStopsTheSender() {
+        Link link = new Link(0, 5, 5, 1);
+        link.fastMode(16);
+        link.reading = false;
+
+        int total = 1000;
+        for (int i = 0; i < total; i++) {
+            sendMessage(link.sender, i, 16);
+        }
+        // 接收方不读，窗口填满后发送方停下来，剩余的消息留在发送队列里
+        link.run(5_000);
+        int pending = link.sender.waitSnd();
+        assertEquals(total - 128, pending, "receiver should accept exactly one receive window");
+        link.run(5_000);
+        assertEquals(pending, link.sender.waitSnd(), "sender should not make progress while the window is full");
+
+        // 接收方开始读取后窗口重新打开，剩余消息全部送达
+        link.reading = true;
+        link.runUntil(() -> received.size() == total, 60_000);
+        assertEquals(total, received.size());
+        for (int i = 0; i < total; i++) {
+            assertEquals(i, received.get(i).getInt(0), "message out of order at " + i);
+        }
+    }
+
+    private void sendMessage(Kcp kcp, int index, int size) {
+        ByteBuf msg = ALLOC.buffer(size);
+        msg.writeInt(index);
+        msg.writeZero(size - 4);
+        try {
+            assertEquals(0, kcp.send(msg));
+        } finally {
+            msg.release();
+        }
+    }
+
+    private Kcp newKcp(Kcp.Output output) {
+        Kcp kcp = new Kcp(CONV, output, ALLOC);
+        endpoints.add(kcp);
+        return kcp;
+    }
+
+    /**
+     * 模拟的双向链路：每个报文按 lossRate 丢弃，其余的延迟 [minDelay, maxDelay] 毫秒后到达
+     */
+    private final class Link {
+
+        private final double lossRate;
+        private final int minDelay;
+        private final int maxDelay;
+        private final Random random;
+        private final List<InFlight> wire = new ArrayList<>();
+        final Kcp sender;
+        final Kcp receiver;
+        boolean reading = true;
+        int reordered;
+        private long now = 1_000;
+        private long sent;
+        private final long[] lastDelivered = new long[2];
+
+        Link(double lossRate, int minDelay, int maxDelay, long seed) {
+            this.lossRate = lossRate;
+            this.minDelay = minDelay;
+            this.maxDelay = maxDelay;
+            this.random = new Random(seed);
+            this.sender = newKcp(packet -> transmit(packet, true));
+            this.receiver = newKcp(packet -> transmit(packet, false));
+        }
+
+        private void transmit(ByteBuf packet, boolean toReceiver) {
+            if (random.nextDouble() < lossRate) {
+                packet.release();
+                return;
+            }
+            long arrival = now + minDelay + random.nextInt(maxDelay - minDelay + 1);
+            wire.add(new InFlight(packet, toReceiver, arrival, ++sent));
+        }
+
+        void fastMode(int sndWnd) {
+            for (Kcp kcp : List.of(sender, receiver)) {
+                kcp.nodelay(1, STEP, 2, true);
+                kcp.wndSize(sndWnd, 128);
+            }
+        }
+
+        void run(long millis) {
+            runUntil(() -> false, millis);
+        }
+
+        void runUntil(BooleanSupplier done, long maxMillis) {
+            long deadline = now + maxMillis;
+            while (!done.getAsBoolean() && now < deadline) {
+                now += STEP;
+                deliver();
+                sender.update(now);
+                receiver.update(now);
+                if (reading) {
+                    ByteBuf msg;
+                    while ((msg = receiver.recv()) != null) {
+                        received.add(msg);
+                    }
+                }
+            }
+        }
+
+        private void deliver() {
+            wire.sort((a, b) -> Long.compare(a.arrival, b.arrival));
+            Iterator<InFlight> it = wire.iterator();
+            while (it.hasNext()) {
+                InFlight p = it.next();
+                if (p.arrival > now) {
+                    break;
+                }
+                it.remove();
+                // 同一方向上比已经到达的报文发得更早，说明被乱序了
+                int direction = p.toReceiver ? 0 : 1;
+                if (p.seq < lastDelivered[direction]) {
+                    reordered++;
+                }
+                lastDelivered[direction] = Math.max(lastDelivered[direction], p.seq);
+                Kcp target = p.toReceiver ? receiver : sender;
+                try {
+                    assertEquals(0, target.input(p.packet));
+                } finally {
+                    p.packet.release();
+                }
+            }
+        }
+    }
+
+    private record InFlight(ByteBuf packet, boolean toReceiver, long arrival, long seq) {
+    }
+}
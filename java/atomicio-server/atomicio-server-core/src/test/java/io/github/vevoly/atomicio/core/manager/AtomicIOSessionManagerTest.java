@@ -0,0 +1,107 @@
+package io.github.vevoly.atomicio.core.manager;
+
+import io.github.vevoly.atomicio.common.api.config.AtomicIOProperties;
+import io.github.vevoly.atomicio.core.TestSupport;
+import io.github.vevoly.atomicio.core.engine.DefaultAtomicIOEngine;
+import io.github.vevoly.atomicio.core.session.NettySession;
+import io.github.vevoly.atomicio.server.api.session.AtomicIOSession;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 本地会话索引和扇出推送测试
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+class AtomicIOSessionManagerTest {
+
+    private final DefaultAtomicIOEngine engine = TestSupport.newEngine(new AtomicIOProperties());
+    private final AtomicIOSessionManager sessionManager = (AtomicIOSessionManager) engine.getSessionManager();
+    private final List<EmbeddedChannel> channels = new ArrayList<>();
+
+    @AfterEach
+    void close() {
+        channels.forEach(EmbeddedChannel::finishAndReleaseAll);
+    }
+
+    @Test
+    void fanOutReachesEverySessionOfEachUserAndReportsMissingUsers() {
+        EmbeddedChannel phone = bind("u1", "phone");
+        EmbeddedChannel pad = bind("u1", "pad");
+        EmbeddedChannel other = bind("u2", "phone-2");
+
+        List<String> notFound = new ArrayList<>();
+        int found = sessionManager.sendToUsersLocally(List.of("u1", "u2", "u3"), "hello", notFound);
+
+        assertEquals(2, found);
+        assertEquals(List.of("u3"), notFound);
+        for (EmbeddedChannel channel : List.of(phone, pad, other)) {
+            assertEquals("hello", channel.readOutbound());
+            assertNull(channel.readOutbound());
+        }
+        assertEquals(2, sessionManager.forEachLocalSession("u1", session -> { }));
+    }
+
+    @Test
+    void rebindingMovesTheSessionToTheNewUser() {
+        EmbeddedChannel channel = bind("u1", "phone");
+        NettySession session = NettySession.of(channel);
+        sessionManager.bindLocalSession(session.getId(), "u2", "phone");
+
+        assertTrue(sessionManager.getLocalSessionsByUserId("u1").isEmpty());
+        assertEquals(List.of(session), sessionManager.getLocalSessionsByUserId("u2"));
+        assertEquals(0, sessionManager.sendToUsersLocally(List.of("u1"), "stale", null));
+        assertNull(channel.readOutbound());
+    }
+
+    @Test
+    void sessionsByUserIdIsAMutableCopy() {
+        EmbeddedChannel phone = bind("u1", "phone");
+        bind("u1", "pad");
+
+        List<AtomicIOSession> sessions = sessionManager.getLocalSessionsByUserId("u1");
+        sessions.remove(NettySession.of(phone));
+        sessions.clear();
+        assertEquals(2, sessionManager.getLocalSessionsByUserId("u1").size());
+        assertEquals(2, sessionManager.forEachLocalSession("u1", session -> { }));
+    }
+
+    @Test
+    void removedSessionLeavesNoIndexBehind() {
+        EmbeddedChannel phone = bind("u1", "phone");
+        bind("u1", "pad");
+        sessionManager.removeLocalSessionOnly(NettySession.of(phone).getId());
+
+        assertEquals(1, sessionManager.getLocalSessionsByUserId("u1").size());
+        assertNull(sessionManager.getLocalSessionByDeviceId("phone"));
+    }
+
+    @Test
+    void bindingARemovedSessionIsIgnored() {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        channels.add(channel);
+        NettySession session = NettySession.attach(channel, engine);
+        sessionManager.bindLocalSession(session.getId(), "u1", "phone");
+
+        assertTrue(sessionManager.getLocalSessionsByUserId("u1").isEmpty());
+        assertNull(sessionManager.getLocalSessionByDeviceId("phone"));
+    }
+
+    private EmbeddedChannel bind(String userId, String deviceId) {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        channels.add(channel);
+        NettySession session = NettySession.attach(channel, engine);
+        sessionManager.addLocalSession(session);
+        sessionManager.bindLocalSession(session.getId(), userId, deviceId);
+        return channel;
+    }
+}
@@ -0,0 +1,218 @@
+package io.github.vevoly.atomicio.core.manager;
+
+import io.github.vevoly.atomicio.common.api.config.AtomicIOProperties;
+import io.github.vevoly.atomicio.common.api.config.DisruptorOverflowPolicy;
+import io.github.vevoly.atomicio.common.api.config.DisruptorWaitStrategyType;
+import io.github.vevoly.atomicio.common.api.config.ListenerExecutionMode;
+import io.github.vevoly.atomicio.core.TestSupport;
+import io.github.vevoly.atomicio.core.engine.DefaultAtomicIOEngine;
+import io.github.vevoly.atomicio.core.session.NettySession;
+import io.github.vevoly.atomicio.protocol.api.message.AtomicIOMessage;
+import io.github.vevoly.atomicio.server.api.constants.AtomicIOEventType;
+import io.github.vevoly.atomicio.server.api.constants.DisruptorEventSource;
+import io.github.vevoly.atomicio.server.api.manager.DisruptorEntryTranslators;
+import io.github.vevoly.atomicio.server.api.manager.DisruptorManager;
+import io.github.vevoly.atomicio.server.api.session.AtomicIOSession;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Disruptor 管理器测试
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+class DefaultDisruptorManagerTest {
+
+    private final AtomicIOProperties config = new AtomicIOProperties();
+    private DisruptorManager disruptorManager;
+
+    @AfterEach
+    void shutdown() {
+        if (disruptorManager != null) {
+            disruptorManager.shutdown();
+        }
+    }
+
+    @Test
+    void translatorPublishDoesNotAllocate() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean, "thread allocation counter is not available");
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled(),
+                "thread allocation counter is not enabled");
+
+        config.getDisruptor().setShards(1);
+        // 阻塞等待策略唤醒消费者时会竞争锁，AQS 可能分配节点，这里只统计框架自身的分配
+        config.getDisruptor().setWaitStrategy(DisruptorWaitStrategyType.YIELDING);
+        // 让所有事件都进入队列，不走拒绝分支
+        config.getDisruptor().setMessageOverflowPolicy(DisruptorOverflowPolicy.BLOCK);
+        DefaultAtomicIOEngine engine = TestSupport.newEngine(config);
+        engine.onMessage((session, message) -> { });
+        disruptorManager = engine.getDisruptorManager();
+        disruptorManager.start(engine);
+
+        Object routingKey = new Object();
+        AtomicIOMessage message = new TestSupport.TestMessage(1, 0);
+        int events = 200_000;
+        // 预热，让 JIT 完成编译
+        publish(routingKey, message, events);
+
+        long threadId = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        publish(routingKey, message, events);
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        // 计数器本身的调用也有少量分配，平均到每个事件远小于 1 字节
+        assertTrue(allocated < events / 10, "publish path allocated " + allocated + " bytes for " + events + " events");
+    }
+
+    @ParameterizedTest
+    @EnumSource(ListenerExecutionMode.class)
+    void listenerSeesEachSessionsMessagesInOrder(ListenerExecutionMode mode) throws InterruptedException {
+        config.getDisruptor().setShards(2);
+        config.getDisruptor().setListenerExecution(mode);
+        DefaultAtomicIOEngine engine = TestSupport.newEngine(config);
+        disruptorManager = engine.getDisruptorManager();
+
+        int sessionCount = 20;
+        int messagesPerSession = 50;
+        Map<AtomicIOSession, List<Long>> seen = new ConcurrentHashMap<>();
+        CountDownLatch done = new CountDownLatch(sessionCount * messagesPerSession);
+        engine.onMessage((session, message) -> {
+            // 监听器偶尔阻塞，让 VIRTUAL_THREAD 模式下不同会话的虚拟线程交错执行
+            if (message.getSequenceId() % 10 == 0) {
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            // 同一会话的监听器不会并发执行，列表不需要同步
+            seen.computeIfAbsent(session, k -> new ArrayList<>()).add(message.getSequenceId());
+            done.countDown();
+        });
+        disruptorManager.start(engine);
+
+        List<AtomicIOSession> sessions = new ArrayList<>();
+        for (int i = 0; i < sessionCount; i++) {
+            sessions.add(new NettySession(new EmbeddedChannel(), engine));
+        }
+        for (long seq = 0; seq < messagesPerSession; seq++) {
+            for (AtomicIOSession session : sessions) {
+                disruptorManager.tryPublishEvent(DisruptorEventSource.CLIENT_MESSAGE, session,
+                        DisruptorEntryTranslators.MESSAGE, session, new TestSupport.TestMessage(1, seq));
+            }
+        }
+        assertTrue(done.await(30, TimeUnit.SECONDS), "not all messages reached the listener");
+
+        List<Long> expected = new ArrayList<>();
+        for (long seq = 0; seq < messagesPerSession; seq++) {
+            expected.add(seq);
+        }
+        for (AtomicIOSession session : sessions) {
+            assertEquals(expected, seen.get(session), "messages of session " + session.getId() + " out of order");
+        }
+    }
+
+    @Test
+    void controlLaneIsNotBlockedByClientLane() throws InterruptedException {
+        config.getDisruptor().setShards(1);
+        config.getDisruptor().setLanesEnabled(true);
+        DefaultAtomicIOEngine engine = TestSupport.newEngine(config);
+        disruptorManager = engine.getDisruptorManager();
+
+        CountDownLatch clientEntered = new CountDownLatch(1);
+        CountDownLatch releaseClient = new CountDownLatch(1);
+        CountDownLatch controlDelivered = new CountDownLatch(1);
+        engine.onMessage((session, message) -> {
+            if (message.getCommandId() == 1) {
+                clientEntered.countDown();
+                try {
+                    releaseClient.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            } else {
+                controlDelivered.countDown();
+            }
+        });
+        disruptorManager.start(engine);
+
+        try {
+            // 客户端通道的消费者被监听器卡住，控制指令仍然在自己的通道上送达
+            disruptorManager.tryPublishEvent(DisruptorEventSource.CLIENT_MESSAGE, null,
+                    DisruptorEntryTranslators.MESSAGE, null, new TestSupport.TestMessage(1, 0));
+            assertTrue(clientEntered.await(5, TimeUnit.SECONDS));
+            disruptorManager.tryPublishEvent(DisruptorEventSource.CONTROL, null,
+                    DisruptorEntryTranslators.MESSAGE, null, new TestSupport.TestMessage(2, 0));
+            assertTrue(controlDelivered.await(5, TimeUnit.SECONDS), "control event waited behind the client lane");
+        } finally {
+            releaseClient.countDown();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void plainPublishFollowsLifecycleOverflowPolicy() throws InterruptedException {
+        config.getDisruptor().setShards(1);
+        config.getDisruptor().setBufferSize(4);
+        config.getDisruptor().setLifecycleOverflowPolicy(DisruptorOverflowPolicy.DROP);
+        DefaultAtomicIOEngine engine = TestSupport.newEngine(config);
+        disruptorManager = engine.getDisruptorManager();
+
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        engine.onMessage((session, message) -> {
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        disruptorManager.start(engine);
+
+        try {
+            AtomicIOMessage message = new TestSupport.TestMessage(1, 0);
+            disruptorManager.publish(null, e -> {
+                e.setType(AtomicIOEventType.MESSAGE);
+                e.setMessage(message);
+            });
+            assertTrue(entered.await(5, TimeUnit.SECONDS));
+            // 消费者卡在第一个事件上，序号还没有释放，再发布 3 个就填满队列，之后的发布按 SESSION_LIFECYCLE 的 DROP 策略丢弃而不是阻塞
+            for (int i = 0; i < 6; i++) {
+                disruptorManager.publish(null, e -> {
+                    e.setType(AtomicIOEventType.MESSAGE);
+                    e.setMessage(message);
+                });
+            }
+            assertEquals(3, disruptorManager.getDroppedCount(DisruptorEventSource.SESSION_LIFECYCLE));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private void publish(Object routingKey, AtomicIOMessage message, int events) {
+        for (int i = 0; i < events; i++) {
+            disruptorManager.tryPublishEvent(DisruptorEventSource.CLIENT_MESSAGE, routingKey,
+                    DisruptorEntryTranslators.MESSAGE, null, message);
+        }
+    }
+}
@@ -0,0 +1,312 @@
+package io.github.vevoly.atomicio.core.manager;
+
+import io.github.vevoly.atomicio.common.api.config.AtomicIOProperties;
+import io.github.vevoly.atomicio.core.TestSupport;
+import io.github.vevoly.atomicio.core.engine.DefaultAtomicIOEngine;
+import io.github.vevoly.atomicio.core.handler.AtomicIOCommandDispatcher;
+import io.github.vevoly.atomicio.core.handler.DefaultExceptionHandler;
+import io.github.vevoly.atomicio.core.handler.PipelineExceptionHandler;
+import io.github.vevoly.atomicio.core.kcp.Kcp;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.*;
+import io.netty.channel.nio.NioIoHandler;
+import io.netty.channel.socket.DatagramPacket;
+import io.netty.channel.socket.nio.NioDatagramChannel;
+import io.netty.util.concurrent.ScheduledFuture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * KcpTransportManager 回环测试
+ * 在本机回环上绑定真实的 KCP UDP 端口，客户端 (一个 Kcp 实例) 与服务端之间插入按比例丢包的中继，
+ * 服务端连接的 Pipeline 中挂一个原样回显 ByteBuf 的处理器，覆盖报文分发、KcpChannel 的写入与背压、连接关闭和替换时的准入名额归还。
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+class KcpTransportManagerTest {
+
+    private static final long TIMEOUT_MILLIS = 20_000;
+
+    // 服务端为每个 KCP 连接创建的子 Channel，按创建顺序排列
+    private final BlockingQueue<Channel> serverChildren = new LinkedBlockingQueue<>();
+    private final List<KcpClient> clients = new ArrayList<>();
+    private AtomicIOProperties config;
+    private DefaultAtomicIOEngine engine;
+    private KcpTransportManager transport;
+    private EventLoopGroup group;
+    private LossyRelay relay;
+    private Channel relayChannel;
+
+    @BeforeEach
+    void start() throws Exception {
+        config = new AtomicIOProperties();
+        config.setWorkerThreads(1);
+        config.getKcp().setEnabled(true);
+        config.getKcp().setPort(freeUdpPort());
+        engine = TestSupport.newEngine(config, new TestSupport.NoopCodecProvider(EchoHandler::new));
+        engine.getDisruptorManager().start(engine);
+        transport = new KcpTransportManager(engine, new AtomicIOCommandDispatcher(engine, null, null),
+                new PipelineExceptionHandler(new DefaultExceptionHandler(engine)));
+        transport.start().get();
+
+        group = new MultiThreadIoEventLoopGroup(1, NioIoHandler.newFactory());
+        relay = new LossyRelay(new InetSocketAddress("127.0.0.1", config.getKcp().getPort()));
+        relayChannel = new Bootstrap().group(group).channel(NioDatagramChannel.class)
+                .handler(relay).bind("127.0.0.1", 0).sync().channel();
+    }
+
+    @AfterEach
+    void stop() {
+        clients.forEach(KcpClient::close);
+        if (relayChannel != null) {
+            relayChannel.close().syncUninterruptibly();
+        }
+        if (group != null) {
+            group.shutdownGracefully(0, 1, TimeUnit.SECONDS).syncUninterruptibly();
+        }
+        if (transport != null) {
+            transport.stop();
+        }
+        if (engine != null) {
+            engine.getDisruptorManager().shutdown();
+        }
+    }
+
+    @Test
+    void echoesInOrderOverLossyLinkAndReleasesAdmissionOnClose() throws Exception {
+        relay.lossPercent = 10;
+        KcpClient client = connect(1);
+        int total = 300;
+        for (int seq = 0; seq < total; seq++) {
+            client.send(seq, 64);
+        }
+
+        for (int seq = 0; seq < total; seq++) {
+            assertEquals(seq, client.take(), "echo out of order");
+        }
+        assertEquals(1, transport.getConnectionCount());
+
+        // 服务端主动关闭连接，名额归还
+        Channel child = serverChildren.take();
+        child.close().sync();
+        await(() -> transport.getConnectionCount() == 0, "admission slot was not released on close");
+    }
+
+    @Test
+    void fullSendWindowBackPressuresTheChannel() throws Exception {
+        KcpClient client = connect(2);
+        client.send(0, 16);
+        assertEquals(0, client.take());
+        Channel child = serverChildren.take();
+
+        // 下行报文全部丢弃，ACK 回不来，发送窗口会被填满
+        relay.holdDownstream = true;
+        int total = config.getKcp().getSendWindow() * 8;
+        boolean[] writable = new boolean[1];
+        int buffered = child.eventLoop().submit(() -> {
+            child.config().setWriteBufferWaterMark(new WriteBufferWaterMark(8 * 1024, 32 * 1024));
+            for (int seq = 1; seq <= total; seq++) {
+                child.write(child.alloc().buffer(256).writeInt(seq).writeZero(252));
+            }
+            child.flush();
+            writable[0] = child.isWritable();
+            return child.unsafe().outboundBuffer().size();
+        }).get();
+        assertTrue(buffered > 0, "messages beyond the send window should stay in the outbound buffer");
+        assertFalse(writable[0], "the channel should become unwritable while the send window is full");
+
+        // 恢复下行，ACK 推进发送窗口，出站缓冲区中剩余的消息按顺序发完
+        relay.holdDownstream = false;
+        for (int seq = 1; seq <= total; seq++) {
+            assertEquals(seq, client.take(), "message out of order");
+        }
+        await(child::isWritable, "the channel should become writable again");
+        assertEquals(0, (int) child.eventLoop().submit(() -> child.unsafe().outboundBuffer().size()).get());
+    }
+
+    @Test
+    void replacingConvReleasesTheOldAdmissionSlot() throws Exception {
+        KcpClient first = connect(3);
+        first.send(0, 16);
+        assertEquals(0, first.take());
+        Channel firstChild = serverChildren.take();
+        assertEquals(1, transport.getConnectionCount());
+        first.close();
+
+        // 经过同一个中继，服务端看到的是同一个对端地址换了 conv
+        KcpClient second = connect(4);
+        second.send(0, 16);
+        assertEquals(0, second.take());
+        Channel secondChild = serverChildren.take();
+
+        assertTrue(firstChild.closeFuture().await(TIMEOUT_MILLIS), "the old connection should be closed");
+        assertTrue(secondChild.isActive());
+        assertEquals(1, transport.getConnectionCount());
+
+        secondChild.close().sync();
+        await(() -> transport.getConnectionCount() == 0, "admission slot was not released on close");
+    }
+
+    private KcpClient connect(int conv) throws Exception {
+        KcpClient client = new KcpClient(conv);
+        clients.add(client);
+        client.start();
+        return client;
+    }
+
+    private static int freeUdpPort() throws Exception {
+        try (DatagramSocket socket = new DatagramSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static void await(BooleanSupplier condition, String message) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail(message);
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    /**
+     * 服务端连接上的回显处理器，收到的 ByteBuf 原样写回
+     */
+    private class EchoHandler extends ChannelInboundHandlerAdapter {
+
+        @Override
+        public void channelActive(ChannelHandlerContext ctx) throws Exception {
+            serverChildren.add(ctx.channel());
+            super.channelActive(ctx);
+        }
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+            ctx.writeAndFlush(msg);
+        }
+    }
+
+    /**
+     * UDP 中继：记住最近一个非服务端的对端作为客户端，双向转发时按比例丢包，也可以丢弃全部下行报文
+     */
+    private static class LossyRelay extends SimpleChannelInboundHandler<DatagramPacket> {
+
+        private final InetSocketAddress server;
+        private final Random random = new Random(42);
+        private InetSocketAddress client;
+        volatile int lossPercent;
+        volatile boolean holdDownstream;
+
+        LossyRelay(InetSocketAddress server) {
+            this.server = server;
+        }
+
+        @Override
+        protected void channelRead0(ChannelHandlerContext ctx, DatagramPacket packet) {
+            InetSocketAddress target;
+            if (packet.sender().equals(server)) {
+                target = holdDownstream ? null : client;
+            } else {
+                client = packet.sender();
+                target = server;
+            }
+            if (target == null || random.nextInt(100) < lossPercent) {
+                return;
+            }
+            ctx.writeAndFlush(new DatagramPacket(packet.content().retain(), target));
+        }
+    }
+
+    /**
+     * 基于 Kcp 的客户端，所有 Kcp 操作都在 UDP Channel 的 EventLoop 中执行，收到的消息只记录开头的序号
+     */
+    private class KcpClient extends SimpleChannelInboundHandler<DatagramPacket> {
+
+        private final int conv;
+        private final BlockingQueue<Integer> received = new LinkedBlockingQueue<>();
+        private Channel channel;
+        private Kcp kcp;
+        private ScheduledFuture<?> ticker;
+
+        KcpClient(int conv) {
+            this.conv = conv;
+        }
+
+        void start() throws Exception {
+            channel = new Bootstrap().group(group).channel(NioDatagramChannel.class)
+                    .handler(this).bind("127.0.0.1", 0).sync().channel();
+            InetSocketAddress target = (InetSocketAddress) relayChannel.localAddress();
+            AtomicIOProperties.Kcp settings = config.getKcp();
+            channel.eventLoop().submit(() -> {
+                kcp = new Kcp(conv, packet -> channel.writeAndFlush(new DatagramPacket(packet, target)), channel.alloc());
+                kcp.nodelay(settings.resolveNodelay(), settings.resolveInterval(),
+                        settings.resolveFastResend(), settings.resolveNoCongestionWindow());
+                kcp.wndSize(settings.getSendWindow(), settings.getReceiveWindow());
+                kcp.setMtu(settings.getMtu());
+                long interval = settings.resolveInterval();
+                ticker = channel.eventLoop().scheduleAtFixedRate(
+                        () -> kcp.update(System.currentTimeMillis()), interval, interval, TimeUnit.MILLISECONDS);
+            }).sync();
+        }
+
+        void send(int seq, int size) {
+            channel.eventLoop().execute(() -> {
+                ByteBuf buf = channel.alloc().buffer(size).writeInt(seq).writeZero(size - 4);
+                kcp.send(buf);
+                buf.release();
+                kcp.flush(System.currentTimeMillis());
+            });
+        }
+
+        int take() throws InterruptedException {
+            Integer seq = received.poll(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            assertNotNull(seq, "timed out waiting for a message");
+            return seq;
+        }
+
+        void close() {
+            if (channel == null || !channel.isOpen()) {
+                return;
+            }
+            // 先关闭 Channel，之后不会再有报文交给已释放的 Kcp
+            channel.close().syncUninterruptibly();
+            channel.eventLoop().submit(() -> {
+                ticker.cancel(false);
+                kcp.release();
+            }).syncUninterruptibly();
+        }
+
+        @Override
+        protected void channelRead0(ChannelHandlerContext ctx, DatagramPacket packet) {
+            if (kcp.input(packet.content()) < 0) {
+                return;
+            }
+            ByteBuf message;
+            while ((message = kcp.recv()) != null) {
+                received.add(message.getInt(message.readerIndex()));
+                message.release();
+            }
+            kcp.flush(System.currentTimeMillis());
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package io.github.vevoly.atomicio.core.manager;
+
+import io.github.vevoly.atomicio.common.api.config.AtomicIOProperties;
+import io.github.vevoly.atomicio.core.TestSupport;
+import io.github.vevoly.atomicio.core.engine.DefaultAtomicIOEngine;
+import io.github.vevoly.atomicio.core.session.NettySession;
+import io.github.vevoly.atomicio.server.api.session.AtomicIOSession;
+import io.netty.channel.Channel;
+import io.netty.channel.DefaultEventLoopGroup;
+import io.netty.channel.EventLoop;
+import io.netty.channel.local.LocalChannel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 会话条件查询测试：命中结果、在会话自己的 EventLoop 上执行，以及分批让出 EventLoop
+ * 会话使用未连接的 LocalChannel，只注册到 EventLoop
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+class LocalSessionQueryTest {
+
+    private static final String PLATFORM = "platform";
+
+    private final DefaultEventLoopGroup group = new DefaultEventLoopGroup(2);
+    private final DefaultAtomicIOEngine engine = TestSupport.newEngine(new AtomicIOProperties());
+    private final AtomicIOSessionManager sessionManager = (AtomicIOSessionManager) engine.getSessionManager();
+
+    @AfterEach
+    void shutdown() {
+        group.shutdownGracefully(0, 0, TimeUnit.SECONDS).syncUninterruptibly();
+    }
+
+    @Test
+    void countAndListReturnMatchingSessions() throws Exception {
+        register(group, 100);
+
+        assertEquals(25, sessionManager.queryLocalSessions(this::isAndroid).count().get(5, TimeUnit.SECONDS));
+        List<AtomicIOSession> android = sessionManager.queryLocalSessions(this::isAndroid).list().get(5, TimeUnit.SECONDS);
+        assertEquals(25, android.size());
+        assertTrue(android.stream().allMatch(this::isAndroid));
+        assertEquals(0, sessionManager.queryLocalSessions(session -> false).count().get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void forEachRunsOnEachSessionsEventLoop() throws Exception {
+        register(group, 2_000);
+        Set<String> visited = ConcurrentHashMap.newKeySet();
+        AtomicInteger wrongThread = new AtomicInteger();
+
+        int matched = sessionManager.queryLocalSessions(this::isAndroid).forEach(session -> {
+            if (!((NettySession) session).getNettyChannel().eventLoop().inEventLoop()) {
+                wrongThread.incrementAndGet();
+            }
+            visited.add(session.getId());
+        }).get(5, TimeUnit.SECONDS);
+
+        assertEquals(500, matched);
+        assertEquals(500, visited.size());
+        assertEquals(0, wrongThread.get());
+    }
+
+    @Test
+    void setAttributeTagsOnlyMatchingSessions() throws Exception {
+        List<NettySession> sessions = register(group, 40);
+
+        int tagged = sessionManager.queryLocalSessions(this::isAndroid).setAttribute("tag", "beta").get(5, TimeUnit.SECONDS);
+
+        assertEquals(10, tagged);
+        for (NettySession session : sessions) {
+            Object tag = session.getAttribute("tag");
+            if (isAndroid(session)) {
+                assertEquals("beta", tag);
+            } else {
+                assertNull(tag);
+            }
+        }
+    }
+
+    @Test
+    void largeBatchYieldsTheEventLoop() throws Exception {
+        DefaultEventLoopGroup single = new DefaultEventLoopGroup(1);
+        try {
+            int total = 8_000;
+            register(single, total);
+            EventLoop loop = single.next();
+            AtomicInteger processed = new AtomicInteger();
+            AtomicInteger seenByProbe = new AtomicInteger(-1);
+
+            sessionManager.queryLocalSessions(session -> true).forEach(session -> {
+                // 第一个会话执行时向同一个 EventLoop 提交一个任务，它应当在两批之间执行，而不是等所有会话处理完
+                if (processed.getAndIncrement() == 0) {
+                    loop.execute(() -> seenByProbe.set(processed.get()));
+                }
+            }).get(5, TimeUnit.SECONDS);
+
+            assertEquals(total, processed.get());
+            assertTrue(seenByProbe.get() > 0 && seenByProbe.get() < total,
+                    "probe task ran after " + seenByProbe.get() + " of " + total + " sessions");
+        } finally {
+            single.shutdownGracefully(0, 0, TimeUnit.SECONDS).syncUninterruptibly();
+        }
+    }
+
+    /**
+     * 注册 count 个会话，每四个中有一个标记为 android
+     */
+    private List<NettySession> register(DefaultEventLoopGroup loops, int count) {
+        List<NettySession> sessions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Channel channel = new LocalChannel();
+            loops.register(channel).syncUninterruptibly();
+            NettySession session = NettySession.attach(channel, engine);
+            session.setAttribute(PLATFORM, i % 4 == 0 ? "android" : "ios");
+            sessionManager.addLocalSession(session);
+            sessions.add(session);
+        }
+        return sessions;
+    }
+
+    private boolean isAndroid(AtomicIOSession session) {
+        return "android".equals(session.getAttribute(PLATFORM));
+    }
+}
@@ -0,0 +1,83 @@
+package io.github.vevoly.atomicio.core.session;
+
+import io.github.vevoly.atomicio.common.api.config.AtomicIOProperties;
+import io.github.vevoly.atomicio.common.api.config.SocketProfileType;
+import io.github.vevoly.atomicio.core.TestSupport;
+import io.github.vevoly.atomicio.protocol.api.constants.AtomicIOSessionAttributes;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 会话测试：精简连接模式下的会话 ID，没有开启空闲检测时不记录读写时间，以及内置属性的写入
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+class NettySessionTest {
+
+    private final AtomicIOProperties config = new AtomicIOProperties();
+
+    @Test
+    void defaultSessionIdIsTheChannelLongText() {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        NettySession session = new NettySession(channel, TestSupport.newEngine(config));
+        assertEquals(channel.id().asLongText(), session.getId());
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    void leanConnectionUsesTheNumericSessionId() {
+        config.getSocket().setLeanConnection(true);
+        EmbeddedChannel channel = new EmbeddedChannel();
+        NettySession session = new NettySession(channel, TestSupport.newEngine(config));
+        assertEquals(Long.toString(session.getNumericId()), session.getId());
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    void idleIotProfileEnablesLeanConnection() {
+        assertFalse(config.getSocket().resolveLeanConnection());
+        config.getSocket().setProfile(SocketProfileType.IDLE_IOT);
+        assertTrue(config.getSocket().resolveLeanConnection());
+
+        EmbeddedChannel channel = new EmbeddedChannel();
+        NettySession session = new NettySession(channel, TestSupport.newEngine(config));
+        assertEquals(Long.toString(session.getNumericId()), session.getId());
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    void withoutIdleDetectionLastActivityIsTheCreateTime() throws InterruptedException {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        NettySession session = new NettySession(channel, TestSupport.newEngine(config));
+        Thread.sleep(20);
+        channel.writeInbound("ping");
+        assertEquals(session.getCreateTime(), session.getLastActivityTime());
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    void groupsAttributeIsCopiedOnWrite() {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        NettySession session = new NettySession(channel, TestSupport.newEngine(config));
+        Set<String> groups = new HashSet<>(Set.of("a", "b"));
+        session.setAttribute(AtomicIOSessionAttributes.GROUPS, groups);
+
+        // 调用者之后修改自己的集合不影响会话，分组管理器修改会话也不会写回调用者的集合
+        groups.remove("a");
+        session.addGroupId("c");
+        assertEquals(Set.of("a", "b", "c"), session.getGroupIds());
+        assertEquals(Set.of("b"), groups);
+
+        session.removeAttribute(AtomicIOSessionAttributes.GROUPS);
+        assertTrue(session.getGroupIds().isEmpty());
+        channel.finishAndReleaseAll();
+    }
+}
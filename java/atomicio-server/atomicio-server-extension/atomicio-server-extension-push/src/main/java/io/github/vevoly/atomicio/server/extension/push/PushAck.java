@@ -0,0 +1,22 @@
+package io.github.vevoly.atomicio.server.extension.push;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * 批次确认
+ * 接受表示记录已经交给路由 (本地连接已写入、或已发往集群)，不代表客户端已收到。
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class PushAck {
+
+    private final long batchId;
+    private final int accepted;
+    private final int rejected;
+}
@@ -0,0 +1,125 @@
+package io.github.vevoly.atomicio.server.extension.push;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * 一个推送批次 (后端服务侧使用)
+ * 记录在添加时直接编码到堆内存里，{@link #encode} 时加上帧头一次性复制出去；编码后可以继续复用或 {@link #clear()}。
+ * 非线程安全。
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+public class PushBatch {
+
+    private final ByteBuf records = Unpooled.buffer();
+    private int size;
+
+    /**
+     * 推送给一个或多个用户，服务端包装成 PushMessage
+     */
+    public PushBatch toUsers(Collection<String> userIds, int businessType, byte[] payload) {
+        writeUsers(PushIngressProtocol.PAYLOAD_PUSH, userIds, businessType, payload);
+        return this;
+    }
+
+    public PushBatch toUser(String userId, int businessType, byte[] payload) {
+        return toUsers(Collections.singletonList(userId), businessType, payload);
+    }
+
+    /**
+     * 推送给分组，服务端包装成 PushMessage，fromGroupId 为该分组
+     */
+    public PushBatch toGroup(String groupId, Collection<String> excludeUserIds, int businessType, byte[] payload) {
+        writeGroup(PushIngressProtocol.PAYLOAD_PUSH, groupId, excludeUserIds, businessType, payload);
+        return this;
+    }
+
+    public PushBatch broadcast(int businessType, byte[] payload) {
+        writeHeader(PushIngressProtocol.TARGET_BROADCAST, PushIngressProtocol.PAYLOAD_PUSH, businessType);
+        writePayload(payload);
+        return this;
+    }
+
+    /**
+     * 推送给用户，message 已经是一条完整的客户端协议消息
+     */
+    public PushBatch rawToUsers(Collection<String> userIds, byte[] message) {
+        writeUsers(PushIngressProtocol.PAYLOAD_RAW, userIds, 0, message);
+        return this;
+    }
+
+    public PushBatch rawToGroup(String groupId, Collection<String> excludeUserIds, byte[] message) {
+        writeGroup(PushIngressProtocol.PAYLOAD_RAW, groupId, excludeUserIds, 0, message);
+        return this;
+    }
+
+    public PushBatch rawBroadcast(byte[] message) {
+        writeHeader(PushIngressProtocol.TARGET_BROADCAST, PushIngressProtocol.PAYLOAD_RAW, 0);
+        writePayload(message);
+        return this;
+    }
+
+    /**
+     * 记录数
+     */
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        records.clear();
+        size = 0;
+    }
+
+    /**
+     * 编码成一个完整的 BATCH 帧 (含长度字段)
+     */
+    public ByteBuf encode(long batchId, ByteBufAllocator alloc) {
+        int length = 1 + 8 + 4 + records.readableBytes();
+        ByteBuf frame = alloc.buffer(4 + length);
+        frame.writeInt(length);
+        frame.writeByte(PushIngressProtocol.FRAME_BATCH);
+        frame.writeLong(batchId);
+        frame.writeInt(size);
+        frame.writeBytes(records, records.readerIndex(), records.readableBytes());
+        return frame;
+    }
+
+    private void writeUsers(byte payloadType, Collection<String> userIds, int businessType, byte[] payload) {
+        writeHeader(PushIngressProtocol.TARGET_USERS, payloadType, businessType);
+        writeStrings(userIds);
+        writePayload(payload);
+    }
+
+    private void writeGroup(byte payloadType, String groupId, Collection<String> excludeUserIds, int businessType, byte[] payload) {
+        writeHeader(PushIngressProtocol.TARGET_GROUP, payloadType, businessType);
+        PushIngressProtocol.writeString(records, groupId);
+        writeStrings(excludeUserIds == null ? Collections.emptyList() : excludeUserIds);
+        writePayload(payload);
+    }
+
+    private void writeHeader(byte target, byte payloadType, int businessType) {
+        records.writeByte(target);
+        records.writeByte(payloadType);
+        records.writeInt(businessType);
+        size++;
+    }
+
+    private void writeStrings(Collection<String> values) {
+        records.writeInt(values.size());
+        for (String value : values) {
+            PushIngressProtocol.writeString(records, value);
+        }
+    }
+
+    private void writePayload(byte[] payload) {
+        records.writeInt(payload.length);
+        records.writeBytes(payload);
+    }
+}
@@ -0,0 +1,139 @@
+package io.github.vevoly.atomicio.server.extension.push;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.*;
+import io.netty.channel.nio.NioIoHandler;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.channels.ClosedChannelException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 推送入口客户端 (后端服务侧使用)
+ * 一条长连接，{@link #send} 不等待上一个批次的 ACK，批次连续写出，ACK 到达时完成对应的 Future。
+ * 线程安全，多个业务线程可以共用一个客户端。
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+@Slf4j
+public class PushIngressClient implements AutoCloseable {
+
+    private final EventLoopGroup group;
+    private final Channel channel;
+    private final AtomicLong batchIdGenerator = new AtomicLong();
+    private final Map<Long, CompletableFuture<PushAck>> pending = new ConcurrentHashMap<>();
+
+    private PushIngressClient(String host, int port) throws InterruptedException {
+        this.group = new MultiThreadIoEventLoopGroup(1, new DefaultThreadFactory("atomicio-push-client", true),
+                NioIoHandler.newFactory());
+        try {
+            this.channel = new Bootstrap()
+                    .group(group)
+                    .channel(NioSocketChannel.class)
+                    .option(ChannelOption.TCP_NODELAY, true)
+                    .option(ChannelOption.SO_KEEPALIVE, true)
+                    .handler(new ChannelInitializer<Channel>() {
+                        @Override
+                        protected void initChannel(Channel ch) {
+                            ch.pipeline().addLast(new LengthFieldBasedFrameDecoder(1024, 0, 4, 0, 4));
+                            ch.pipeline().addLast(new AckHandler());
+                        }
+                    })
+                    .connect(host, port).sync().channel();
+        } catch (InterruptedException | RuntimeException e) {
+            group.shutdownGracefully(0, 1, TimeUnit.SECONDS);
+            throw e;
+        }
+    }
+
+    /**
+     * 连接推送入口
+     * @param token 服务端配置的认证令牌，未配置时传 null
+     */
+    public static PushIngressClient connect(String host, int port, String token) throws InterruptedException {
+        PushIngressClient client = new PushIngressClient(host, port);
+        if (token != null) {
+            ByteBuf auth = client.channel.alloc().buffer();
+            auth.writeInt(0);
+            auth.writeByte(PushIngressProtocol.FRAME_AUTH);
+            PushIngressProtocol.writeString(auth, token);
+            auth.setInt(0, auth.readableBytes() - 4);
+            client.channel.writeAndFlush(auth);
+        }
+        return client;
+    }
+
+    /**
+     * 发送一个批次，返回的 Future 在收到 ACK 时完成，连接断开时异常完成
+     * 调用返回后批次已经编码完毕，可以立即 clear 复用
+     */
+    public CompletableFuture<PushAck> send(PushBatch batch) {
+        long batchId = batchIdGenerator.incrementAndGet();
+        CompletableFuture<PushAck> future = new CompletableFuture<>();
+        pending.put(batchId, future);
+        channel.writeAndFlush(batch.encode(batchId, channel.alloc())).addListener((ChannelFutureListener) f -> {
+            if (!f.isSuccess()) {
+                fail(batchId, f.cause());
+            }
+        });
+        return future;
+    }
+
+    public boolean isActive() {
+        return channel.isActive();
+    }
+
+    @Override
+    public void close() {
+        channel.close().syncUninterruptibly();
+        group.shutdownGracefully(0, 1, TimeUnit.SECONDS).syncUninterruptibly();
+    }
+
+    private void fail(long batchId, Throwable cause) {
+        CompletableFuture<PushAck> future = pending.remove(batchId);
+        if (future != null) {
+            future.completeExceptionally(cause);
+        }
+    }
+
+    /**
+     * 按批次 ID 完成等待中的 Future
+     */
+    private final class AckHandler extends SimpleChannelInboundHandler<ByteBuf> {
+
+        @Override
+        protected void channelRead0(ChannelHandlerContext ctx, ByteBuf frame) {
+            if (frame.readByte() != PushIngressProtocol.FRAME_ACK) {
+                return;
+            }
+            PushAck ack = new PushAck(frame.readLong(), frame.readInt(), frame.readInt());
+            CompletableFuture<PushAck> future = pending.remove(ack.getBatchId());
+            if (future != null) {
+                future.complete(ack);
+            }
+        }
+
+        @Override
+        public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+            for (Long batchId : pending.keySet()) {
+                fail(batchId, new ClosedChannelException());
+            }
+            super.channelInactive(ctx);
+        }
+
+        @Override
+        public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+            log.error("Push ingress connection {} error, closing.", ctx.channel().remoteAddress(), cause);
+            ctx.close();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package io.github.vevoly.atomicio.server.extension.push;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 推送入口的线上协议
+ * 每个帧：[int 长度][byte 类型][内容]，长度不包含自身的 4 个字节。
+ * <ul>
+ *     <li>AUTH：[string 令牌]</li>
+ *     <li>BATCH：[long 批次ID][int 记录数][记录...]</li>
+ *     <li>ACK：[long 批次ID][int 接受数][int 拒绝数]</li>
+ * </ul>
+ * 记录：[byte 目标类型][byte 内容类型][int 业务类型][目标][int 内容长度][内容]，目标按类型：
+ * USERS 为 [int 数量][string...]，GROUP 为 [string 分组ID][int 排除数量][string...]，BROADCAST 没有目标。
+ * string：[unsigned short 长度][UTF-8]。
+ * 客户端可以连续发送多个批次而不等待 ACK，服务端按接收顺序处理并按顺序回复。
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+public final class PushIngressProtocol {
+
+    public static final byte FRAME_AUTH = 1;
+    public static final byte FRAME_BATCH = 2;
+    public static final byte FRAME_ACK = 3;
+
+    public static final byte TARGET_USERS = 1;
+    public static final byte TARGET_GROUP = 2;
+    public static final byte TARGET_BROADCAST = 3;
+
+    /**
+     * 内容是业务载荷，服务端用编解码提供者包装成 PushMessage
+     */
+    public static final byte PAYLOAD_PUSH = 0;
+
+    /**
+     * 内容已经是一条完整的客户端协议消息，服务端原样写出
+     */
+    public static final byte PAYLOAD_RAW = 1;
+
+    /**
+     * ACK 帧的长度 (不含长度字段)
+     */
+    public static final int ACK_LENGTH = 1 + 8 + 4 + 4;
+
+    private PushIngressProtocol() {
+    }
+
+    public static void writeString(ByteBuf buf, String value) {
+        int lengthIndex = buf.writerIndex();
+        buf.writeShort(0);
+        int length = ByteBufUtil.writeUtf8(buf, value);
+        if (length > 0xFFFF) {
+            throw new IllegalArgumentException("String too long for push ingress: " + length + " bytes");
+        }
+        buf.setShort(lengthIndex, length);
+    }
+
+    public static String readString(ByteBuf buf) {
+        int length = buf.readUnsignedShort();
+        String value = buf.toString(buf.readerIndex(), length, StandardCharsets.UTF_8);
+        buf.skipBytes(length);
+        return value;
+    }
+}
@@ -0,0 +1,352 @@
+package io.github.vevoly.atomicio.server.extension.push;
+
+import io.github.vevoly.atomicio.common.api.config.AtomicIOProperties;
+import io.github.vevoly.atomicio.core.message.RawBytesMessage;
+import io.github.vevoly.atomicio.core.session.BatchFlushContext;
+import io.github.vevoly.atomicio.core.utils.AffinityThreadFactory;
+import io.github.vevoly.atomicio.core.utils.IpUtils;
+import io.github.vevoly.atomicio.core.utils.NettyTransport;
+import io.github.vevoly.atomicio.protocol.api.message.AtomicIOMessage;
+import io.github.vevoly.atomicio.server.api.AtomicIOEngine;
+import io.github.vevoly.atomicio.server.api.codec.AtomicIOServerCodecProvider;
+import io.github.vevoly.atomicio.server.api.manager.TransportManager;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.*;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.DecoderException;
+import io.netty.handler.codec.EncoderException;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+
+/**
+ * 后端服务批量推送入口
+ * 订单、支付、通知等后端服务通过一条长连接发送批次帧，每个批次携带成千上万条 (目标, 载荷) 记录：
+ * 一个批次在连接的 EventLoop 上逐条交给引擎路由 (本地投递 + 集群转发)，期间绑定 {@link BatchFlushContext}，
+ * 同一批次写给同一客户端连接的多条消息只 flush 一次；PUSH 类型的记录只编码一次，所有目标用户共用编码后的字节。
+ * 批次处理完立即写出 ACK，读取结束时统一 flush，客户端可以流水线式地连续发送批次。
+ * 监听地址不是回环地址时必须配置令牌，否则拒绝启动。
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+@Slf4j
+public class PushIngressServer implements TransportManager {
+
+    private static final String PUSH_SENDER = "";
+
+    private final AtomicIOEngine engine;
+    private final AtomicIOProperties config;
+    private final PushPayloadDecoder payloadDecoder;
+
+    private EventLoopGroup bossGroup;
+    private EventLoopGroup workerGroup;
+    private Channel serverChannel;
+
+    public PushIngressServer(AtomicIOEngine engine, PushPayloadDecoder payloadDecoder) {
+        this.engine = engine;
+        this.config = engine.getConfig();
+        this.payloadDecoder = payloadDecoder != null ? payloadDecoder : PushPayloadDecoder.UTF8;
+    }
+
+    @Override
+    public Future<Void> start() {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        AtomicIOProperties.PushIngress ingress = config.getPushIngress();
+        if (ingress.getToken() == null && !IpUtils.isLoopback(ingress.getHost())) {
+            // 批次可以推送给任意用户、分组和全体广播，不认证的端口不能暴露到回环地址之外
+            future.completeExceptionally(new IllegalStateException(
+                    "atomicio.push-ingress.token is required when atomicio.push-ingress.host is not a loopback address"));
+            return future;
+        }
+        NettyTransport transport = NettyTransport.resolve(config.getTransport());
+        // 与其他监听共用 CPU 游标，不和已经启动的 Boss / Worker 线程绑到同一个 CPU
+        AtomicIOProperties.Affinity affinity = config.getAffinity();
+        bossGroup = transport.newEventLoopGroup(1, new AffinityThreadFactory(
+                "atomicio-push-boss", false, affinity, affinity.getBossCpus(), engine.getCpuCursor(affinity.getBossCpus())));
+        workerGroup = transport.newEventLoopGroup(Math.max(1, ingress.getThreads()), new AffinityThreadFactory(
+                "atomicio-push-worker", false, affinity, affinity.getWorkerCpus(), engine.getCpuCursor(affinity.getWorkerCpus())));
+        try {
+            ByteBufAllocator allocator = engine.getByteBufAllocator();
+            ServerBootstrap bootstrap = new ServerBootstrap()
+                    .group(bossGroup, workerGroup)
+                    .channel(transport.serverChannelClass())
+                    .option(ChannelOption.ALLOCATOR, allocator)
+                    .childOption(ChannelOption.ALLOCATOR, allocator)
+                    .childOption(ChannelOption.TCP_NODELAY, true)
+                    .childOption(ChannelOption.SO_KEEPALIVE, true)
+                    .childHandler(new ChannelInitializer<Channel>() {
+                        @Override
+                        protected void initChannel(Channel ch) {
+                            initIngressChannel(ch);
+                        }
+                    });
+            serverChannel = bootstrap.bind(ingress.getHost(), ingress.getPort()).sync().channel();
+            log.info("Push ingress listening on {}:{}, transport {}, auth {}.", ingress.getHost(), ingress.getPort(),
+                    transport.getType(), ingress.getToken() != null ? "enabled" : "disabled");
+            future.complete(null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    @Override
+    public void stop() {
+        log.info("Push ingress shutting down...");
+        if (serverChannel != null) {
+            serverChannel.close().syncUninterruptibly();
+        }
+        if (bossGroup != null) {
+            bossGroup.shutdownGracefully().syncUninterruptibly();
+        }
+        if (workerGroup != null) {
+            workerGroup.shutdownGracefully().syncUninterruptibly();
+        }
+        log.info("Push ingress shutdown complete.");
+    }
+
+    /**
+     * 初始化一条后端服务连接的 Pipeline
+     */
+    void initIngressChannel(Channel ch) {
+        ch.pipeline().addLast(new LengthFieldBasedFrameDecoder(config.getPushIngress().getMaxFrameLength(), 0, 4, 0, 4));
+        ch.pipeline().addLast(new PushIngressHandler());
+    }
+
+    /**
+     * 一条后端服务连接 (每个连接一个实例，只在连接的 EventLoop 上执行)
+     */
+    private class PushIngressHandler extends SimpleChannelInboundHandler<ByteBuf> {
+
+        private final AtomicIOServerCodecProvider codecProvider = engine.getCodecProvider();
+        private final BatchFlushContext flushContext = new BatchFlushContext();
+        private final byte[] token;
+        private boolean authenticated;
+        private EmbeddedChannel messageEncoder;
+
+        PushIngressHandler() {
+            String configured = config.getPushIngress().getToken();
+            this.token = configured != null ? configured.getBytes(StandardCharsets.UTF_8) : null;
+            this.authenticated = token == null;
+        }
+
+        @Override
+        public void channelActive(ChannelHandlerContext ctx) throws Exception {
+            log.info("Push ingress client connected: {}", ctx.channel().remoteAddress());
+            super.channelActive(ctx);
+        }
+
+        @Override
+        protected void channelRead0(ChannelHandlerContext ctx, ByteBuf frame) {
+            byte type = frame.readByte();
+            if (type == PushIngressProtocol.FRAME_AUTH) {
+                onAuth(ctx, PushIngressProtocol.readString(frame));
+                return;
+            }
+            if (!authenticated) {
+                log.warn("Push ingress client {} sent frame {} before AUTH, closing.", ctx.channel().remoteAddress(), type);
+                ctx.close();
+                return;
+            }
+            if (type != PushIngressProtocol.FRAME_BATCH) {
+                throw new DecoderException("Unknown push ingress frame type: " + type);
+            }
+            onBatch(ctx, frame);
+        }
+
+        @Override
+        public void channelReadComplete(ChannelHandlerContext ctx) throws Exception {
+            // 一次读取中所有批次的 ACK 一起刷出
+            ctx.flush();
+            super.channelReadComplete(ctx);
+        }
+
+        @Override
+        public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+            log.info("Push ingress client disconnected: {}", ctx.channel().remoteAddress());
+            if (messageEncoder != null) {
+                messageEncoder.finishAndReleaseAll();
+            }
+            super.channelInactive(ctx);
+        }
+
+        @Override
+        public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+            log.error("Push ingress client {} error, closing.", ctx.channel().remoteAddress(), cause);
+            ctx.close();
+        }
+
+        private void onAuth(ChannelHandlerContext ctx, String presented) {
+            if (token != null && !MessageDigest.isEqual(token, presented.getBytes(StandardCharsets.UTF_8))) {
+                log.warn("Push ingress client {} failed authentication, closing.", ctx.channel().remoteAddress());
+                ctx.close();
+                return;
+            }
+            authenticated = true;
+        }
+
+        private void onBatch(ChannelHandlerContext ctx, ByteBuf in) {
+            long batchId = in.readLong();
+            int count = in.readInt();
+            if (count < 0) {
+                throw new DecoderException("Invalid push batch record count: " + count);
+            }
+            int maxRecords = config.getPushIngress().getMaxBatchRecords();
+            if (count > maxRecords) {
+                log.warn("Push batch {} from {} has {} records, exceeds limit {}, rejected.",
+                        batchId, ctx.channel().remoteAddress(), count, maxRecords);
+                writeAck(ctx, batchId, 0, count);
+                return;
+            }
+            int accepted = 0;
+            flushContext.bind();
+            try {
+                for (int i = 0; i < count; i++) {
+                    if (route(in)) {
+                        accepted++;
+                    }
+                }
+            } finally {
+                // 解绑时每个写入过的客户端连接只 flush 一次
+                flushContext.unbind();
+            }
+            if (accepted < count) {
+                log.warn("Push batch {} from {}: {} of {} records rejected.", batchId, ctx.channel().remoteAddress(),
+                        count - accepted, count);
+            }
+            writeAck(ctx, batchId, accepted, count - accepted);
+        }
+
+        /**
+         * 读取一条记录并交给引擎路由
+         * @return 内容无法转换成消息时返回 false，记录结构错误时抛出 DecoderException 并关闭连接
+         */
+        private boolean route(ByteBuf in) {
+            byte target = in.readByte();
+            byte payloadType = in.readByte();
+            int businessType = in.readInt();
+            List<String> userIds = null;
+            String groupId = null;
+            Set<String> excludeUserIds = null;
+            switch (target) {
+                case PushIngressProtocol.TARGET_USERS -> userIds = readStrings(in);
+                case PushIngressProtocol.TARGET_GROUP -> {
+                    groupId = PushIngressProtocol.readString(in);
+                    List<String> excludes = readStrings(in);
+                    excludeUserIds = excludes.isEmpty() ? null : new HashSet<>(excludes);
+                }
+                case PushIngressProtocol.TARGET_BROADCAST -> {
+                }
+                default -> throw new DecoderException("Unknown push target type: " + target);
+            }
+            int payloadLength = in.readInt();
+            if (payloadLength < 0 || payloadLength > in.readableBytes()) {
+                throw new DecoderException("Invalid push payload length: " + payloadLength);
+            }
+            byte[] payload = new byte[payloadLength];
+            in.readBytes(payload);
+
+            AtomicIOMessage message = toMessage(payloadType, groupId, businessType, payload);
+            if (message == null) {
+                return false;
+            }
+            switch (target) {
+                case PushIngressProtocol.TARGET_USERS -> engine.sendToUsers(userIds, message);
+                case PushIngressProtocol.TARGET_GROUP -> engine.sendToGroup(groupId, message, excludeUserIds);
+                default -> engine.broadcast(message);
+            }
+            return true;
+        }
+
+        /**
+         * 转换成预编码的消息，一条记录无论有多少个目标用户都只编码一次
+         */
+        private AtomicIOMessage toMessage(byte payloadType, String groupId, int businessType, byte[] payload) {
+            if (payloadType == PushIngressProtocol.PAYLOAD_RAW) {
+                return new RawBytesMessage(payload);
+            }
+            if (payloadType != PushIngressProtocol.PAYLOAD_PUSH) {
+                log.debug("Unknown push payload type {}, record rejected.", payloadType);
+                return null;
+            }
+            try {
+                Object businessPayload = payloadDecoder.decode(businessType, payload);
+                AtomicIOMessage push = codecProvider.createPushMessage(PUSH_SENDER, groupId, businessType, businessPayload);
+                return new RawBytesMessage(encode(push));
+            } catch (Exception e) {
+                log.debug("Push record of business type {} could not be encoded: {}", businessType, e.getMessage());
+                return null;
+            }
+        }
+
+        private byte[] encode(AtomicIOMessage message) {
+            if (messageEncoder == null) {
+                messageEncoder = new EmbeddedChannel(codecProvider.getOutboundHandlers(config).toArray(new ChannelHandler[0]));
+            }
+            if (!messageEncoder.writeOutbound(message)) {
+                throw new EncoderException("Message type not handled by outbound pipeline: " + message.getClass().getName());
+            }
+            ByteBuf first = messageEncoder.readOutbound();
+            ByteBuf next = messageEncoder.readOutbound();
+            if (next == null) {
+                return drain(first);
+            }
+            // 编码器分多次输出 (如先输出长度头)，拼接成一个
+            ByteBuf merged = messageEncoder.alloc().heapBuffer(first.readableBytes() + next.readableBytes());
+            merged.writeBytes(first);
+            first.release();
+            do {
+                merged.writeBytes(next);
+                next.release();
+            } while ((next = messageEncoder.readOutbound()) != null);
+            return drain(merged);
+        }
+
+        private void writeAck(ChannelHandlerContext ctx, long batchId, int accepted, int rejected) {
+            ByteBuf ack = ctx.alloc().buffer(4 + PushIngressProtocol.ACK_LENGTH);
+            ack.writeInt(PushIngressProtocol.ACK_LENGTH);
+            ack.writeByte(PushIngressProtocol.FRAME_ACK);
+            ack.writeLong(batchId);
+            ack.writeInt(accepted);
+            ack.writeInt(rejected);
+            ctx.write(ack);
+        }
+    }
+
+    private static List<String> readStrings(ByteBuf in) {
+        int count = in.readInt();
+        if (count < 0 || count > in.readableBytes() / 2) {
+            throw new DecoderException("Invalid push target count: " + count);
+        }
+        List<String> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(PushIngressProtocol.readString(in));
+        }
+        return values;
+    }
+
+    private static byte[] drain(ByteBuf buf) {
+        if (buf == null) {
+            return new byte[0];
+        }
+        try {
+            byte[] bytes = new byte[buf.readableBytes()];
+            buf.readBytes(bytes);
+            return bytes;
+        } finally {
+            buf.release();
+        }
+    }
+}
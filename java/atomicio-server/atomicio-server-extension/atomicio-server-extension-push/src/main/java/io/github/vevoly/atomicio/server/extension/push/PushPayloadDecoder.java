@@ -0,0 +1,21 @@
+package io.github.vevoly.atomicio.server.extension.push;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 把推送记录的业务载荷字节转换成 {@code AtomicIOServerCodecProvider#createPushMessage} 需要的业务对象
+ * 文本协议需要 String，Protobuf 协议需要具体的 Message，由业务按 businessType 解析。
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+@FunctionalInterface
+public interface PushPayloadDecoder {
+
+    /**
+     * 默认按 UTF-8 字符串处理，适用于文本协议
+     */
+    PushPayloadDecoder UTF8 = (businessType, payload) -> new String(payload, StandardCharsets.UTF_8);
+
+    Object decode(int businessType, byte[] payload) throws Exception;
+}
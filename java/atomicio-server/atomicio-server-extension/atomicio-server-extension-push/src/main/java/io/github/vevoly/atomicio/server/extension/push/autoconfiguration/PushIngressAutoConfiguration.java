@@ -0,0 +1,73 @@
+package io.github.vevoly.atomicio.server.extension.push.autoconfiguration;
+
+import io.github.vevoly.atomicio.common.api.config.AtomicIOConfigDefaultValue;
+import io.github.vevoly.atomicio.server.api.AtomicIOEngine;
+import io.github.vevoly.atomicio.server.extension.push.PushIngressServer;
+import io.github.vevoly.atomicio.server.extension.push.PushPayloadDecoder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 推送入口自动装配
+ * 业务可以提供 {@link PushPayloadDecoder} Bean 把业务载荷解析成编解码提供者需要的对象 (如 Protobuf Message)，默认按 UTF-8 字符串处理。
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+@Slf4j
+@Configuration(proxyBeanMethods = false)
+@AutoConfigureAfter(name = "io.github.vevoly.atomicio.starter.autoconfiguration.AtomicIOEngineAutoConfiguration")
+@ConditionalOnBean(AtomicIOEngine.class)
+@ConditionalOnProperty(prefix = AtomicIOConfigDefaultValue.CONFIG_PREFIX_PUSH_INGRESS, name = "enabled", havingValue = "true")
+public class PushIngressAutoConfiguration {
+
+    @Bean
+    public PushIngressServer pushIngressServer(AtomicIOEngine engine, ObjectProvider<PushPayloadDecoder> payloadDecoderProvider) {
+        log.info("AtomicIO: 启用后端服务批量推送入口");
+        return new PushIngressServer(engine, payloadDecoderProvider.getIfAvailable(() -> PushPayloadDecoder.UTF8));
+    }
+
+    /**
+     * 生命周期阶段紧挨着引擎：入口不依赖 Disruptor，直接在自己的 EventLoop 上路由，
+     * 引擎未就绪或已停止时推送只是找不到在线会话
+     */
+    @Bean
+    public SmartLifecycle pushIngressLifecycle(PushIngressServer pushIngressServer) {
+        return new SmartLifecycle() {
+
+            private volatile boolean running;
+
+            @Override
+            public void start() {
+                try {
+                    pushIngressServer.start().get();
+                    running = true;
+                } catch (Exception e) {
+                    throw new IllegalStateException("Failed to start push ingress", e);
+                }
+            }
+
+            @Override
+            public void stop() {
+                running = false;
+                pushIngressServer.stop();
+            }
+
+            @Override
+            public boolean isRunning() {
+                return running;
+            }
+
+            @Override
+            public int getPhase() {
+                return Integer.MAX_VALUE - 1;
+            }
+        };
+    }
+}
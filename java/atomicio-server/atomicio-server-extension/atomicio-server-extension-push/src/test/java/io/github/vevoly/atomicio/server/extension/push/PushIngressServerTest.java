@@ -0,0 +1,283 @@
+package io.github.vevoly.atomicio.server.extension.push;
+
+import io.github.vevoly.atomicio.common.api.config.AtomicIOProperties;
+import io.github.vevoly.atomicio.core.engine.DefaultAtomicIOEngine;
+import io.github.vevoly.atomicio.core.manager.AtomicIOEventManager;
+import io.github.vevoly.atomicio.core.manager.AtomicIOGroupManager;
+import io.github.vevoly.atomicio.core.manager.AtomicIOSessionManager;
+import io.github.vevoly.atomicio.core.manager.DefaultDisruptorManager;
+import io.github.vevoly.atomicio.core.message.RawBytesMessage;
+import io.github.vevoly.atomicio.protocol.api.message.AtomicIOMessage;
+import io.github.vevoly.atomicio.server.api.codec.AtomicIOServerCodecProvider;
+import io.github.vevoly.atomicio.server.api.session.AtomicIOBindRequest;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 推送入口测试：批次解析、路由、ACK，以及令牌认证
+ *
+ * @since 0.6.12
+ * @author vevoly
+ */
+class PushIngressServerTest {
+
+    private static final int UNDECODABLE_TYPE = 99;
+
+    private final AtomicIOProperties config = new AtomicIOProperties();
+    private final List<String> routed = new ArrayList<>();
+
+    @Test
+    void batchRecordsAreRoutedAndAcknowledged() {
+        EmbeddedChannel ingress = newIngress();
+        PushBatch batch = new PushBatch()
+                .rawToUsers(List.of("u1", "用户2"), bytes("a"))
+                .rawToGroup("g1", List.of("u3"), bytes("b"))
+                .rawBroadcast(bytes("c"));
+        ingress.writeInbound(batch.encode(42, ByteBufAllocator.DEFAULT));
+
+        assertEquals(List.of("users[u1, 用户2]:a", "group g1 excluding [u3]:b", "broadcast:c"), routed);
+        assertAck(ingress, 42, 3, 0);
+        assertTrue(ingress.isOpen());
+        ingress.finishAndReleaseAll();
+    }
+
+    @Test
+    void pipelinedBatchesAreAcknowledgedInOrder() {
+        EmbeddedChannel ingress = newIngress();
+        ByteBuf wire = Unpooled.buffer();
+        for (int i = 1; i <= 3; i++) {
+            ByteBuf frame = new PushBatch().rawToUsers(List.of("u" + i), bytes("m" + i)).encode(i, ByteBufAllocator.DEFAULT);
+            wire.writeBytes(frame);
+            frame.release();
+        }
+        // 帧被任意拆分时仍然按边界解出
+        while (wire.isReadable()) {
+            ingress.writeInbound(wire.readRetainedSlice(Math.min(7, wire.readableBytes())));
+        }
+        wire.release();
+
+        assertEquals(List.of("users[u1]:m1", "users[u2]:m2", "users[u3]:m3"), routed);
+        for (int i = 1; i <= 3; i++) {
+            assertAck(ingress, i, 1, 0);
+        }
+        ingress.finishAndReleaseAll();
+    }
+
+    @Test
+    void undecodableRecordIsRejectedWithoutFailingTheBatch() {
+        EmbeddedChannel ingress = newIngress();
+        PushBatch batch = new PushBatch()
+                .toUser("u1", UNDECODABLE_TYPE, bytes("x"))
+                .rawToUsers(List.of("u2"), bytes("y"));
+        ingress.writeInbound(batch.encode(7, ByteBufAllocator.DEFAULT));
+
+        assertEquals(List.of("users[u2]:y"), routed);
+        assertAck(ingress, 7, 1, 1);
+        ingress.finishAndReleaseAll();
+    }
+
+    @Test
+    void oversizedBatchIsRejectedWhole() {
+        config.getPushIngress().setMaxBatchRecords(2);
+        EmbeddedChannel ingress = newIngress();
+        PushBatch batch = new PushBatch().rawBroadcast(bytes("1")).rawBroadcast(bytes("2")).rawBroadcast(bytes("3"));
+        ingress.writeInbound(batch.encode(9, ByteBufAllocator.DEFAULT));
+
+        assertTrue(routed.isEmpty());
+        assertAck(ingress, 9, 0, 3);
+        ingress.finishAndReleaseAll();
+    }
+
+    @Test
+    void negativeRecordCountClosesTheConnection() {
+        EmbeddedChannel ingress = newIngress();
+        ByteBuf frame = new PushBatch().rawBroadcast(bytes("abc")).encode(1, ByteBufAllocator.DEFAULT);
+        // 长度、帧类型、批次 ID 之后是记录数
+        frame.setInt(4 + 1 + 8, -1);
+        ingress.writeInbound(frame);
+
+        assertTrue(routed.isEmpty());
+        assertNull(ingress.readOutbound());
+        assertFalse(ingress.isOpen());
+        ingress.finishAndReleaseAll();
+    }
+
+    @Test
+    void malformedRecordClosesTheConnection() {
+        EmbeddedChannel ingress = newIngress();
+        ByteBuf frame = new PushBatch().rawBroadcast(bytes("abc")).encode(1, ByteBufAllocator.DEFAULT);
+        // 把内容长度改成超出帧的长度
+        frame.setInt(frame.writerIndex() - 3 - 4, 1000);
+        ingress.writeInbound(frame);
+
+        assertTrue(routed.isEmpty());
+        assertFalse(ingress.isOpen());
+        ingress.finishAndReleaseAll();
+    }
+
+    @Test
+    void batchBeforeAuthClosesTheConnection() {
+        config.getPushIngress().setToken("secret");
+        EmbeddedChannel ingress = newIngress();
+        ingress.writeInbound(new PushBatch().rawBroadcast(bytes("a")).encode(1, ByteBufAllocator.DEFAULT));
+
+        assertTrue(routed.isEmpty());
+        assertFalse(ingress.isOpen());
+        ingress.finishAndReleaseAll();
+    }
+
+    @Test
+    void wrongTokenClosesTheConnection() {
+        config.getPushIngress().setToken("secret");
+        EmbeddedChannel ingress = newIngress();
+        ingress.writeInbound(auth("guess"));
+
+        assertFalse(ingress.isOpen());
+        ingress.finishAndReleaseAll();
+    }
+
+    @Test
+    void matchingTokenAuthenticatesTheConnection() {
+        config.getPushIngress().setToken("secret");
+        EmbeddedChannel ingress = newIngress();
+        ingress.writeInbound(auth("secret"));
+        ingress.writeInbound(new PushBatch().rawBroadcast(bytes("a")).encode(1, ByteBufAllocator.DEFAULT));
+
+        assertEquals(List.of("broadcast:a"), routed);
+        assertAck(ingress, 1, 1, 0);
+        ingress.finishAndReleaseAll();
+    }
+
+    @Test
+    void refusesToStartOffLoopbackWithoutToken() {
+        config.getPushIngress().setHost("0.0.0.0");
+        PushIngressServer server = new PushIngressServer(newEngine(), null);
+        ExecutionException e = assertThrows(ExecutionException.class, () -> server.start().get());
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+        server.stop();
+    }
+
+    private EmbeddedChannel newIngress() {
+        PushIngressServer server = new PushIngressServer(newEngine(), (businessType, payload) -> {
+            if (businessType == UNDECODABLE_TYPE) {
+                throw new IllegalArgumentException("undecodable");
+            }
+            return new String(payload, StandardCharsets.UTF_8);
+        });
+        EmbeddedChannel ingress = new EmbeddedChannel();
+        server.initIngressChannel(ingress);
+        return ingress;
+    }
+
+    private DefaultAtomicIOEngine newEngine() {
+        AtomicIOSessionManager sessionManager = new AtomicIOSessionManager() {
+            @Override
+            public int sendToUsersLocally(Collection<String> userIds, Object message, Collection<String> notFoundLocally) {
+                routed.add("users" + userIds + ":" + text(message));
+                return userIds.size();
+            }
+
+            @Override
+            public void broadcastLocally(Object message) {
+                routed.add("broadcast:" + text(message));
+            }
+        };
+        AtomicIOGroupManager groupManager = new AtomicIOGroupManager(sessionManager) {
+            @Override
+            public void sendToGroupLocally(String groupId, Object message, Set<String> excludeUserIds) {
+                routed.add("group " + groupId + " excluding " + excludeUserIds + ":" + text(message));
+            }
+        };
+        return new DefaultAtomicIOEngine(config, null, new DefaultDisruptorManager(), new AtomicIOEventManager(),
+                sessionManager, groupManager, new NoopCodecProvider(), null, null, null, null);
+    }
+
+    private static void assertAck(EmbeddedChannel ingress, long batchId, int accepted, int rejected) {
+        ByteBuf ack = ingress.readOutbound();
+        try {
+            assertEquals(PushIngressProtocol.ACK_LENGTH, ack.readInt());
+            assertEquals(PushIngressProtocol.FRAME_ACK, ack.readByte());
+            assertEquals(batchId, ack.readLong());
+            assertEquals(accepted, ack.readInt(), "accepted");
+            assertEquals(rejected, ack.readInt(), "rejected");
+        } finally {
+            ack.release();
+        }
+    }
+
+    private static ByteBuf auth(String token) {
+        ByteBuf frame = Unpooled.buffer();
+        frame.writeInt(0);
+        frame.writeByte(PushIngressProtocol.FRAME_AUTH);
+        PushIngressProtocol.writeString(frame, token);
+        frame.setInt(0, frame.readableBytes() - 4);
+        return frame;
+    }
+
+    private static String text(Object message) {
+        return new String(((RawBytesMessage) message).getPayload(), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 测试只使用 RAW 记录，用不到客户端协议的编解码
+     */
+    private static final class NoopCodecProvider implements AtomicIOServerCodecProvider {
+
+        @Override
+        public AtomicIOMessage createResponse(AtomicIOMessage requestMessage, int commandId, Object payload) {
+            return null;
+        }
+
+        @Override
+        public AtomicIOMessage createResponse(AtomicIOMessage requestMessage, int commandId, boolean success, String message) {
+            return null;
+        }
+
+        @Override
+        public AtomicIOMessage createResponse(AtomicIOBindRequest request, int commandId, String message) {
+            return null;
+        }
+
+        @Override
+        public AtomicIOMessage createPushMessage(String fromUserId, String fromGroupId, int businessPayloadType, Object businessPayload) {
+            return null;
+        }
+
+        @Override
+        public List<ChannelHandler> getInboundHandlers(AtomicIOProperties config) {
+            return List.of();
+        }
+
+        @Override
+        public List<ChannelHandler> getOutboundHandlers(AtomicIOProperties config) {
+            return List.of();
+        }
+
+        @Override
+        public byte[] encodeToBytes(AtomicIOMessage message, AtomicIOProperties config) {
+            return new byte[0];
+        }
+    }
+}
@@ -2,12 +2,18 @@ package io.github.vevoly.atomicio.starter.autoconfiguration;
 
 import io.github.vevoly.atomicio.common.api.config.AtomicIOConfigDefaultValue;
 import io.github.vevoly.atomicio.common.api.config.AtomicIOProperties;
+import io.github.vevoly.atomicio.common.api.config.GatewayMode;
 import io.github.vevoly.atomicio.common.api.exception.AtomicIOExceptionHandler;
 import io.github.vevoly.atomicio.core.engine.DefaultAtomicIOEngine;
 import io.github.vevoly.atomicio.core.handler.AtomicIOCommandDispatcher;
 import io.github.vevoly.atomicio.core.handler.PipelineExceptionHandler;
+import io.github.vevoly.atomicio.core.gateway.GatewayEdgeConnector;
+import io.github.vevoly.atomicio.core.gateway.GatewayLogicServer;
 import io.github.vevoly.atomicio.core.handler.DefaultExceptionHandler;
 import io.github.vevoly.atomicio.core.listener.WelcomeBannerPrinter;
+import io.github.vevoly.atomicio.core.manager.CompositeTransportManager;
+import io.github.vevoly.atomicio.core.manager.IdleSweeper;
+import io.github.vevoly.atomicio.core.manager.KcpTransportManager;
 import io.github.vevoly.atomicio.core.manager.NettyTransportManager;
 import io.github.vevoly.atomicio.protocol.api.codec.AtomicIOPayloadParser;
 import io.github.vevoly.atomicio.server.api.AtomicIOEngine;
@@ -26,6 +32,9 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * 自动装配
  *
@@ -110,9 +119,29 @@ public class AtomicIOEngineAutoConfiguration {
             AtomicIOCommandDispatcher commandDispatcher,
             PipelineExceptionHandler globalExceptionHandler
     ) {
-        NettyTransportManager transportManager = new NettyTransportManager(engine, commandDispatcher, globalExceptionHandler);
+        GatewayMode gatewayMode = engine.getConfig().getGateway().getMode();
+        if (gatewayMode == GatewayMode.LOGIC) {
+            // 逻辑节点不持有客户端连接，只接受边缘网关的链路
+            return new GatewayLogicServer(engine);
+        }
+        // 边缘网关先连上逻辑节点，再开始接受客户端连接
+        GatewayEdgeConnector gatewayConnector = gatewayMode == GatewayMode.EDGE ? new GatewayEdgeConnector(engine) : null;
+        // 整个引擎共用一个空闲检测时间轮，所有传输层关闭后由 CompositeTransportManager 停止
+        IdleSweeper idleSweeper = new IdleSweeper(engine.getConfig().getSession());
+        NettyTransportManager transportManager = new NettyTransportManager(engine, commandDispatcher, globalExceptionHandler,
+                idleSweeper, gatewayConnector);
 //        ((DefaultAtomicIOEngine) engine).setTransportManager(transportManager);
-        return transportManager;
+        List<TransportManager> transportManagers = new ArrayList<>();
+        if (gatewayConnector != null) {
+            transportManagers.add(gatewayConnector);
+        }
+        transportManagers.add(transportManager);
+        if (engine.getConfig().getKcp().isEnabled()) {
+            // TCP 和 KCP 共用同一套分发器和异常处理器
+            transportManagers.add(new KcpTransportManager(engine, commandDispatcher, globalExceptionHandler,
+                    idleSweeper, gatewayConnector));
+        }
+        return new CompositeTransportManager(transportManagers, idleSweeper::stop);
     }
 
     /**
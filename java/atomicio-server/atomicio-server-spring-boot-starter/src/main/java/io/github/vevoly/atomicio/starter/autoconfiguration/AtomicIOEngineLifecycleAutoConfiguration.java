@@ -39,9 +39,11 @@ public class AtomicIOEngineLifecycleAutoConfiguration {
             ObjectProvider<List<ConnectEventListener>> connectEventListenersProvider,
             ObjectProvider<List<DisconnectEventListener>> disconnectEventListenerProvider,
             ObjectProvider<List<MessageEventListener>> messageEventListenersProvider,
+            ObjectProvider<List<BatchMessageEventListener>> batchMessageEventListenersProvider,
             ObjectProvider<List<ErrorEventListener>> errorEventListenersProvider,
             ObjectProvider<List<IdleEventListener>> idleEventListenersProvider,
-            ObjectProvider<List<SessionReplacedListener>> sessionReplacedListenersProvider
+            ObjectProvider<List<SessionReplacedListener>> sessionReplacedListenersProvider,
+            ObjectProvider<List<WritabilityChangedListener>> writabilityChangedListenersProvider
     ) {
         if (!(engine instanceof DefaultAtomicIOEngine)) {
             return new NoOpSmartLifecycle(); // 返回一个空实现
@@ -54,9 +56,11 @@ public class AtomicIOEngineLifecycleAutoConfiguration {
                 connectEventListenersProvider.getIfAvailable(Collections::emptyList),
                 disconnectEventListenerProvider.getIfAvailable(Collections::emptyList),
                 messageEventListenersProvider.getIfAvailable(Collections::emptyList),
+                batchMessageEventListenersProvider.getIfAvailable(Collections::emptyList),
                 errorEventListenersProvider.getIfAvailable(Collections::emptyList),
                 idleEventListenersProvider.getIfAvailable(Collections::emptyList),
-                sessionReplacedListenersProvider.getIfAvailable(Collections::emptyList)
+                sessionReplacedListenersProvider.getIfAvailable(Collections::emptyList),
+                writabilityChangedListenersProvider.getIfAvailable(Collections::emptyList)
         );
     }
 